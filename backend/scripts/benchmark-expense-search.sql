@@ -0,0 +1,96 @@
+-- ========================================
+-- EXPENSE SEARCH BENCHMARK
+-- ========================================
+-- Compares the LIKE search (nexsplit.expense-search.mode=LIKE) with the
+-- full-text search (the default) on one million expenses.
+--
+-- Run against a scratch database migrated by Flyway to V18 or later:
+--   psql -d nexsplit_bench -f scripts/benchmark-expense-search.sql
+--
+-- Everything runs in one transaction that is rolled back at the end, so the
+-- database is left as it was.
+
+BEGIN;
+
+-- ========================================
+-- DATASET
+-- ========================================
+-- 1 searching user who belongs to 20 of 1000 Nexes, 1000 expenses per Nex
+CREATE TEMP TABLE bench_words(word) ON COMMIT DROP AS
+SELECT unnest(ARRAY['dinner', 'lunch', 'taxi', 'hotel', 'groceries', 'coffee', 'flight', 'rent',
+                    'electricity', 'internet', 'party', 'tickets', 'fuel', 'parking', 'pizza', 'breakfast']);
+
+INSERT INTO users (id, email, username, created_at, modified_at)
+VALUES ('00000000-0000-0000-0000-00000000b001', 'bench@nexsplit.test', 'bench', NOW(), NOW());
+
+INSERT INTO nex (id, name, created_by, created_at, modified_at)
+SELECT 'bench-nex-' || LPAD(n::text, 26, '0'), 'Bench ' || n, '00000000-0000-0000-0000-00000000b001', NOW(), NOW()
+FROM generate_series(1, 1000) AS n;
+
+INSERT INTO nex_members (nex_id, user_id, role, status, created_at, modified_at)
+SELECT 'bench-nex-' || LPAD(n::text, 26, '0'), '00000000-0000-0000-0000-00000000b001', 'MEMBER', 'ACTIVE', NOW(), NOW()
+FROM generate_series(1, 20) AS n;
+
+INSERT INTO categories (id, name, created_by, is_default, created_at, modified_at)
+VALUES ('00000000-0000-0000-0000-00000000c001', 'Bench', '00000000-0000-0000-0000-00000000b001', false, NOW(), NOW());
+
+INSERT INTO expenses (id, title, description, amount, category_id, nex_id, created_by, payer_id,
+                      expense_date, created_at, modified_at)
+SELECT gen_random_uuid()::text,
+       initcap((SELECT word FROM bench_words OFFSET (i * 7) % 16 LIMIT 1)) || ' '
+           || (SELECT word FROM bench_words OFFSET (i * 13 + 5) % 16 LIMIT 1),
+       'Shared ' || (SELECT word FROM bench_words OFFSET (i * 3 + 1) % 16 LIMIT 1) || ' #' || i,
+       (i % 500) + 1,
+       '00000000-0000-0000-0000-00000000c001',
+       'bench-nex-' || LPAD(((i % 1000) + 1)::text, 26, '0'),
+       '00000000-0000-0000-0000-00000000b001',
+       '00000000-0000-0000-0000-00000000b001',
+       NOW() - (i || ' minutes')::interval,
+       NOW() - (i || ' minutes')::interval,
+       NOW()
+FROM generate_series(1, 1000000) AS i;
+
+ANALYZE expenses;
+ANALYZE nex_members;
+
+-- ========================================
+-- LIKE SEARCH
+-- ========================================
+-- Scans every expense and sorts all matches before the caller's access is
+-- checked row by row in the application
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT e.* FROM expenses e
+WHERE (LOWER(e.title) LIKE LOWER(CONCAT('%', 'pizz', '%'))
+    OR LOWER(e.description) LIKE LOWER(CONCAT('%', 'pizz', '%')))
+AND e.is_deleted = false
+ORDER BY e.created_at DESC
+LIMIT 20;
+
+-- ========================================
+-- FULL-TEXT SEARCH
+-- ========================================
+-- Same term as a prefix query, restricted to the user's Nexes and ranked
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT e.* FROM expenses e
+JOIN nex_members nm ON nm.nex_id = e.nex_id
+WHERE nm.user_id = '00000000-0000-0000-0000-00000000b001'
+AND nm.status = 'ACTIVE'
+AND nm.is_deleted = false
+AND e.is_deleted = false
+AND e.search_vector @@ to_tsquery('simple', 'pizz:*')
+ORDER BY ts_rank(e.search_vector, to_tsquery('simple', 'pizz:*')) DESC, e.created_at DESC, e.id
+LIMIT 20;
+
+-- Two-word typeahead query
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT e.* FROM expenses e
+JOIN nex_members nm ON nm.nex_id = e.nex_id
+WHERE nm.user_id = '00000000-0000-0000-0000-00000000b001'
+AND nm.status = 'ACTIVE'
+AND nm.is_deleted = false
+AND e.is_deleted = false
+AND e.search_vector @@ to_tsquery('simple', 'pizza:* & tick:*')
+ORDER BY ts_rank(e.search_vector, to_tsquery('simple', 'pizza:* & tick:*')) DESC, e.created_at DESC, e.id
+LIMIT 20;
+
+ROLLBACK;
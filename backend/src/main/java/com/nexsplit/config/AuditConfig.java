@@ -0,0 +1,76 @@
+package com.nexsplit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for audit event storage.
+ *
+ * This class provides configuration properties for the in-memory queue that
+ * buffers audit events, how the writer batches them, what happens when the
+ * queue is full and how the monthly audit_events partitions are maintained.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nexsplit.audit")
+@Data
+public class AuditConfig {
+
+    /**
+     * Maximum number of audit events waiting to be written (default: 10000).
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * Maximum number of audit events per multi-row insert (default: 500).
+     */
+    private int batchSize = 500;
+
+    /**
+     * How long the writer thread waits for an event before checking whether
+     * it has been stopped, in milliseconds (default: 200). Events are written
+     * as soon as they arrive.
+     */
+    private long flushIntervalMs = 200;
+
+    /**
+     * What happens to an audit event when the queue is full (default:
+     * DROP_NEWEST).
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+
+    /**
+     * Months after the current month for which partitions are created in
+     * advance (default: 3).
+     */
+    private int partitionMonthsAhead = 3;
+
+    /**
+     * Months of audit events kept (default: 0, keep everything). Partitions
+     * of months that ended before this window are dropped.
+     */
+    private int retentionMonths = 0;
+
+    /**
+     * Cron expression of the partition maintenance (default: daily at
+     * 2:15 AM).
+     */
+    private String maintenanceCron = "0 15 2 * * ?";
+
+    /**
+     * Handling of audit events that do not fit in the queue. Dropped events
+     * are still written to the structured log.
+     */
+    public enum OverflowPolicy {
+        /** Discard the new event. */
+        DROP_NEWEST,
+        /** Discard the oldest queued event to make room for the new one. */
+        DROP_OLDEST,
+        /** Write the new event on the caller's thread, slowing the caller down. */
+        CALLER_WRITES
+    }
+}
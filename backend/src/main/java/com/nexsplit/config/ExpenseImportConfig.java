@@ -0,0 +1,39 @@
+package com.nexsplit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for bulk expense import.
+ *
+ * This class provides configuration properties for how many rows a single
+ * import may contain, how many expenses are written per JDBC batch and how
+ * many row errors are reported back to the caller.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nexsplit.expense-import")
+@Data
+public class ExpenseImportConfig {
+
+    /**
+     * Maximum number of data rows accepted in one import (default: 5000).
+     */
+    private int maxRows = 5000;
+
+    /**
+     * Number of expenses written per JDBC batch (default: 500). Their splits
+     * and debts are written in the same chunk.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Maximum number of row errors listed in the import result (default: 100).
+     * Further errors are still counted.
+     */
+    private int maxReportedErrors = 100;
+}
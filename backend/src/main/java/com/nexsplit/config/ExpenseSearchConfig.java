@@ -0,0 +1,46 @@
+package com.nexsplit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for expense search.
+ *
+ * This class selects how expense search matches the search term. Full-text
+ * search is the default. The older LIKE search is kept so the two can be
+ * compared.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nexsplit.expense-search")
+@Data
+public class ExpenseSearchConfig {
+
+    /**
+     * Search implementation (default: FULL_TEXT).
+     */
+    private Mode mode = Mode.FULL_TEXT;
+
+    /**
+     * Maximum number of words of the search term that are matched
+     * (default: 8). Further words are ignored.
+     */
+    private int maxTerms = 8;
+
+    public enum Mode {
+        /**
+         * Ranked match against the expenses' tsvector column, restricted to
+         * the user's Nexes.
+         */
+        FULL_TEXT,
+
+        /**
+         * Case-insensitive substring match on title and description.
+         */
+        LIKE
+    }
+}
@@ -0,0 +1,36 @@
+package com.nexsplit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the Nex analytics rollup.
+ *
+ * This class provides configuration properties for the scheduled re-check
+ * that compares the rollups with the source tables and repairs drift.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nexsplit.nex-analytics")
+@Data
+public class NexAnalyticsConfig {
+
+    /**
+     * Whether this instance runs the consistency re-check (default: true).
+     */
+    private boolean recheckEnabled = true;
+
+    /**
+     * Cron expression of the consistency re-check (default: daily at 4:00 AM).
+     */
+    private String recheckCron = "0 0 4 * * ?";
+
+    /**
+     * Number of Nexes compared per re-check query (default: 500).
+     */
+    private int recheckBatchSize = 500;
+}
@@ -0,0 +1,36 @@
+package com.nexsplit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the Nex balance ledger.
+ *
+ * This class provides configuration properties for the scheduled re-check
+ * that compares the ledger with the unsettled debts and repairs drift.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nexsplit.balance-ledger")
+@Data
+public class NexBalanceLedgerConfig {
+
+    /**
+     * Whether this instance runs the consistency re-check (default: true).
+     */
+    private boolean recheckEnabled = true;
+
+    /**
+     * Cron expression of the consistency re-check (default: daily at 4:30 AM).
+     */
+    private String recheckCron = "0 30 4 * * ?";
+
+    /**
+     * Number of Nexes compared per re-check query (default: 500).
+     */
+    private int recheckBatchSize = 500;
+}
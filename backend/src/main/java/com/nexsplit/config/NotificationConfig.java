@@ -0,0 +1,40 @@
+package com.nexsplit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for notification storage.
+ *
+ * This class provides configuration properties for the monthly partitions
+ * of the notifications table: how far ahead they are created, how long they
+ * are kept and when the maintenance runs.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nexsplit.notifications")
+@Data
+public class NotificationConfig {
+
+    /**
+     * Months after the current month for which partitions are created in
+     * advance (default: 3).
+     */
+    private int partitionMonthsAhead = 3;
+
+    /**
+     * Months of notifications kept (default: 6). Partitions of months that
+     * ended before this window are dropped, read or unread.
+     */
+    private int retentionMonths = 6;
+
+    /**
+     * Cron expression of the partition maintenance (default: daily at
+     * 2:00 AM).
+     */
+    private String maintenanceCron = "0 0 2 * * ?";
+}
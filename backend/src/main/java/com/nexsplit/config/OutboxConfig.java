@@ -0,0 +1,67 @@
+package com.nexsplit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the transactional outbox.
+ *
+ * This class provides configuration properties for how often the outbox is
+ * drained, how many events are dispatched per poll and in parallel, how
+ * failed events are retried and how long processed events are kept.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nexsplit.outbox")
+@Data
+public class OutboxConfig {
+
+    /**
+     * Whether this instance dispatches outbox events (default: true).
+     */
+    private boolean dispatcherEnabled = true;
+
+    /**
+     * Delay between dispatcher polls in milliseconds (default: 500).
+     */
+    private long pollIntervalMs = 500;
+
+    /**
+     * Maximum number of events dispatched per poll (default: 200).
+     */
+    private int batchSize = 200;
+
+    /**
+     * Maximum number of Nexes whose events are dispatched in parallel
+     * (default: 2). A poll uses maxParallelNexes + 1 database connections:
+     * one holds the dispatcher lock for the whole poll and each parallel Nex
+     * takes another. The value is capped at half the primary pool size minus
+     * one, so the dispatcher never takes more than half of the pool.
+     */
+    private int maxParallelNexes = 2;
+
+    /**
+     * Attempts before an event is marked FAILED (default: 10).
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * Delay before the first retry in milliseconds (default: 1000). The
+     * delay doubles with each further attempt.
+     */
+    private long retryBaseDelayMs = 1000;
+
+    /**
+     * Upper bound of the retry delay in milliseconds (default: 5 minutes).
+     */
+    private long retryMaxDelayMs = 300000;
+
+    /**
+     * Days processed events are kept before cleanup (default: 7).
+     */
+    private int retentionDays = 7;
+}
@@ -0,0 +1,48 @@
+package com.nexsplit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration class for per-request query budgets.
+ *
+ * This class provides configuration properties for counting the JDBC
+ * statements of each request, reporting them in response headers and
+ * warning when an endpoint executes more statements than its budget.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nexsplit.query-budget")
+@Data
+public class QueryBudgetConfig {
+
+    /**
+     * Whether statements are counted per request (default: true).
+     */
+    private boolean enabled = true;
+
+    /**
+     * Whether the statement count and database time are returned in the
+     * X-DB-Statement-Count and X-DB-Time headers (default: false). Meant for
+     * development; the headers reveal how much work an endpoint does.
+     */
+    private boolean responseHeaders = false;
+
+    /**
+     * Statement budget of endpoints without their own budget (default: 30).
+     */
+    private int defaultMaxStatements = 30;
+
+    /**
+     * Statement budgets by endpoint, keyed by HTTP method and route pattern,
+     * e.g. "GET /api/v1/nex/{nexId}" (default: none).
+     */
+    private Map<String, Integer> endpoints = new HashMap<>();
+}
@@ -0,0 +1,87 @@
+package com.nexsplit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class for read replica routing.
+ *
+ * This class provides configuration properties for the replica pools that
+ * serve read-only transactions, how their health is checked and how long a
+ * user's reads stay on the primary after the user wrote.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nexsplit.datasource.read-replicas")
+@Data
+public class ReadReplicaConfig {
+
+    /**
+     * Whether read-only transactions are routed to the replicas (default:
+     * false). When disabled, all traffic goes to spring.datasource.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Replica connection settings. Username and password default to those
+     * of spring.datasource.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Maximum pool size of each replica pool (default: 10).
+     */
+    private int maxPoolSize = 10;
+
+    /**
+     * Time to wait for a replica connection in milliseconds before falling
+     * back to the primary (default: 2000).
+     */
+    private long connectionTimeoutMs = 2000;
+
+    /**
+     * Delay between replica health checks in milliseconds (default: 5000).
+     */
+    private long healthCheckIntervalMs = 5000;
+
+    /**
+     * Replication lag in milliseconds above which a replica is taken out of
+     * rotation (default: 10000). Zero disables the lag check.
+     */
+    private long maxLagMs = 10000;
+
+    /**
+     * Time in milliseconds after a committed write during which the user's
+     * read-only transactions stay on the primary (default: 5000).
+     */
+    private long readYourWritesWindowMs = 5000;
+
+    /**
+     * Connection settings of one replica.
+     */
+    @Data
+    public static class Replica {
+
+        /**
+         * JDBC URL of the replica.
+         */
+        private String url;
+
+        /**
+         * Username (default: spring.datasource.username).
+         */
+        private String username;
+
+        /**
+         * Password (default: spring.datasource.password).
+         */
+        private String password;
+    }
+}
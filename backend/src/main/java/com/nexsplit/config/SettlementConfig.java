@@ -0,0 +1,104 @@
+package com.nexsplit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the settlement engine.
+ * 
+ * This class provides configuration properties for how simplified settlements
+ * are computed, including the algorithm and its time budget, for the
+ * settlement plan and balance snapshot caches, for the per-Nex write lanes
+ * and for cross-Nex netting.
+ * 
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nexsplit.settlement")
+@Data
+public class SettlementConfig {
+
+    /**
+     * Algorithm used for SIMPLIFIED settlements (default: MIN_TRANSACTIONS).
+     */
+    private SimplificationAlgorithm simplificationAlgorithm = SimplificationAlgorithm.MIN_TRANSACTIONS;
+
+    /**
+     * Time budget for the minimum-transaction solver in milliseconds
+     * (default: 50). When exceeded the solver falls back to greedy matching
+     * for the members it has not grouped yet.
+     */
+    private long solverTimeBudgetMs = 50;
+
+    /**
+     * Largest number of members searched exhaustively for zero-sum subgroups
+     * (default: 18). Memory grows as 2^n, so keep this small.
+     */
+    private int solverExactSearchLimit = 18;
+
+    /**
+     * Maximum number of cached settlement plans (default: 1000).
+     */
+    private int planCacheMaxEntries = 1000;
+
+    /**
+     * Time-to-live of a cached settlement plan in seconds (default: 5 minutes).
+     */
+    private long planCacheTtlSeconds = 300;
+
+    /**
+     * Maximum number of Nexes whose balance snapshot is cached for what-if
+     * simulations (default: 500).
+     */
+    private int snapshotCacheMaxEntries = 500;
+
+    /**
+     * Time-to-live of a cached balance snapshot in seconds (default: 5
+     * minutes).
+     */
+    private long snapshotCacheTtlSeconds = 300;
+
+    /**
+     * Number of write lanes Nexes are striped over (default: 64). Writes to
+     * Nexes on the same lane run one at a time.
+     */
+    private int writeLaneStripes = 64;
+
+    /**
+     * Maximum time in milliseconds a write waits for its Nex lane before it is
+     * rejected (default: 5 seconds).
+     */
+    private long writeLaneMaxWaitMs = 5000;
+
+    /**
+     * Maximum number of unsettled debts a single cross-Nex netting run may
+     * load (default: 2000). Larger requests are rejected so one user cannot
+     * monopolize the CPU executor.
+     */
+    private int globalNettingMaxDebts = 2000;
+
+    /**
+     * Maximum number of distinct counterparties in a cross-Nex netting run
+     * (default: 200).
+     */
+    private int globalNettingMaxCounterparties = 200;
+
+    /**
+     * Maximum time in milliseconds to wait for a cross-Nex netting plan to be
+     * computed (default: 2 seconds).
+     */
+    private long globalNettingTimeoutMs = 2000;
+
+    /**
+     * Supported simplification algorithms.
+     * 
+     * GREEDY: Largest creditor pays largest debtor until all balances are zero
+     * MIN_TRANSACTIONS: Zero-sum subgroup partitioning with greedy fallback
+     */
+    public enum SimplificationAlgorithm {
+        GREEDY, MIN_TRANSACTIONS
+    }
+}
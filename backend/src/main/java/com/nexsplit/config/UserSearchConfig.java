@@ -0,0 +1,46 @@
+package com.nexsplit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for user search.
+ *
+ * This class provides configuration properties for the shortest accepted
+ * search term, the maximum number of users a search returns and the
+ * short-lived cache of recent search results.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Configuration
+@ConfigurationProperties(prefix = "nexsplit.user-search")
+@Data
+public class UserSearchConfig {
+
+    /**
+     * Minimum length of a search term after trimming (default: 2).
+     */
+    private int minQueryLength = 2;
+
+    /**
+     * Maximum number of users a search returns across all pages
+     * (default: 50).
+     */
+    private int maxResults = 50;
+
+    /**
+     * How long search results are cached, in seconds (default: 30). Users
+     * who sign up or change their name appear in cached searches after this
+     * delay at the latest.
+     */
+    private long cacheTtlSeconds = 30;
+
+    /**
+     * Maximum number of cached searches (default: 1000). The least recently
+     * used search is evicted first.
+     */
+    private int cacheMaxEntries = 1000;
+}
@@ -0,0 +1,86 @@
+package com.nexsplit.config.datasource;
+
+/**
+ * Thread-bound counter of executed JDBC statements and their time.
+ *
+ * {@link StatementCountingDataSource} records every statement executed on a
+ * thread with an open scope. Scopes nest: a statement counts in the current
+ * scope and in every scope around it, so a test can wrap code that opens
+ * its own scope. Statements executed on other threads are not counted.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Start counting on the current thread until the returned scope is
+     * closed.
+     *
+     * @return The new scope
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * @return The innermost open scope of the current thread, or null
+     */
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    static void record(long elapsedNanos) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.record(elapsedNanos);
+        }
+    }
+
+    /**
+     * Statements counted between opening and closing the scope.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private int statementCount;
+        private long elapsedNanos;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public int getStatementCount() {
+            return statementCount;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        private void record(long nanos) {
+            statementCount++;
+            elapsedNanos += nanos;
+            if (parent != null) {
+                parent.record(nanos);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.nexsplit.config.datasource;
+
+import com.nexsplit.config.ReadReplicaConfig;
+import com.nexsplit.config.datasource.ReplicaRoutingDataSource.Replica;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DataSource wiring for read replica routing.
+ *
+ * Active when nexsplit.datasource.read-replicas.enabled is true. The primary
+ * pool is built from spring.datasource as before and also runs Flyway. The
+ * application DataSource is a LazyConnectionDataSourceProxy over
+ * {@link ReplicaRoutingDataSource}, so the connection is chosen on the first
+ * statement, once the transaction and its read-only flag are known.
+ *
+ * Hibernate releases connections after each transaction here. With the
+ * default of holding them for the session, an open-in-view request would
+ * reuse its first connection, and a write following a read in the same
+ * request would go to a replica.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "nexsplit.datasource.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReadReplicaConfig readReplicaConfig) {
+        return new ReadYourWritesTracker(readReplicaConfig.getReadYourWritesWindowMs(), Clock.systemUTC());
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+            DataSourceProperties properties, ReadReplicaConfig readReplicaConfig,
+            ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
+        if (readReplicaConfig.getReplicas().isEmpty()) {
+            throw new IllegalStateException(
+                    "nexsplit.datasource.read-replicas.enabled is true but no replicas are configured");
+        }
+
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < readReplicaConfig.getReplicas().size(); i++) {
+            ReadReplicaConfig.Replica settings = readReplicaConfig.getReplicas().get(i);
+            String name = "replica-" + i;
+
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(settings.getUrl());
+            pool.setUsername(settings.getUsername() != null ? settings.getUsername() : properties.determineUsername());
+            pool.setPassword(settings.getPassword() != null ? settings.getPassword() : properties.determinePassword());
+            pool.setMaximumPoolSize(readReplicaConfig.getMaxPoolSize());
+            pool.setConnectionTimeout(readReplicaConfig.getConnectionTimeoutMs());
+            pool.setReadOnly(true);
+            // Start even if the replica is down; the health check takes it out of rotation
+            pool.setInitializationFailTimeout(-1);
+            replicas.add(new Replica(name, pool));
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesTracker, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(ReplicaRoutingDataSource replicaRoutingDataSource,
+            ReadYourWritesTracker readYourWritesTracker, ReadReplicaConfig readReplicaConfig) {
+        return new ReplicaHealthChecker(replicaRoutingDataSource.getReplicas(), readYourWritesTracker,
+                readReplicaConfig.getMaxLagMs());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.putIfAbsent(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
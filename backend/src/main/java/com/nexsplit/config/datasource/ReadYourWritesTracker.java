@@ -0,0 +1,69 @@
+package com.nexsplit.config.datasource;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently, so their reads can be kept on the
+ * primary until the replicas have caught up.
+ *
+ * Pins are held in memory of this instance only. A user whose next request
+ * lands on another instance is not pinned there.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public class ReadYourWritesTracker {
+
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final long windowMs;
+    private final Clock clock;
+
+    public ReadYourWritesTracker(long windowMs, Clock clock) {
+        this.windowMs = windowMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Pin a user's reads to the primary for the configured window.
+     *
+     * @param userId The user ID
+     */
+    public void recordWrite(String userId) {
+        if (userId == null || windowMs <= 0) {
+            return;
+        }
+        pinnedUntil.put(userId, clock.millis() + windowMs);
+    }
+
+    /**
+     * Check whether a user's reads must go to the primary.
+     *
+     * @param userId The user ID (null for unauthenticated work)
+     * @return true while the user's last write is within the window
+     */
+    public boolean isPinned(String userId) {
+        if (userId == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until <= clock.millis()) {
+            pinnedUntil.remove(userId, until);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Drop pins whose window has passed.
+     */
+    public void evictExpired() {
+        long now = clock.millis();
+        pinnedUntil.values().removeIf(until -> until <= now);
+    }
+}
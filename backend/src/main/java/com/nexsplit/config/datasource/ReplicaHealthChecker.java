@@ -0,0 +1,96 @@
+package com.nexsplit.config.datasource;
+
+import com.nexsplit.config.datasource.ReplicaRoutingDataSource.Replica;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Periodic health check of the read replicas.
+ *
+ * A replica serves reads while it accepts connections and its replication
+ * lag stays within the configured limit. Replicas taken out of rotation,
+ * by this check or by a failed connection attempt, return once they pass a
+ * check again. The check also drops expired read-your-writes pins.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Slf4j
+public class ReplicaHealthChecker {
+
+    /**
+     * Lag is zero when the replica has replayed everything it received, so
+     * an idle primary does not make a replica look stale.
+     */
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000, 0)
+            END
+            """;
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final long maxLagMs;
+
+    public ReplicaHealthChecker(List<Replica> replicas, ReadYourWritesTracker readYourWritesTracker,
+            long maxLagMs) {
+        this.replicas = replicas;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.maxLagMs = maxLagMs;
+    }
+
+    /**
+     * Check every replica and update its place in the rotation.
+     */
+    @Scheduled(fixedDelayString = "${nexsplit.datasource.read-replicas.health-check-interval-ms:5000}")
+    public void check() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.isHealthy();
+            String problem = probe(replica);
+            if (problem == null) {
+                replica.markUp();
+                if (!wasHealthy) {
+                    log.info("Replica {} is healthy again and back in rotation", replica.getName());
+                }
+            } else {
+                replica.markDown();
+                if (wasHealthy) {
+                    log.warn("Replica {} taken out of rotation: {}", replica.getName(), problem);
+                }
+            }
+        }
+        readYourWritesTracker.evictExpired();
+    }
+
+    /**
+     * @return null when the replica is healthy, otherwise the reason it is not
+     */
+    private String probe(Replica replica) {
+        try (Connection connection = replica.getDataSource().getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return "connection is not valid";
+            }
+            if (maxLagMs <= 0) {
+                return null;
+            }
+            try (Statement statement = connection.createStatement();
+                    ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                long lagMs = resultSet.next() ? resultSet.getLong(1) : 0;
+                return lagMs > maxLagMs ? "replication lag " + lagMs + " ms" : null;
+            }
+        } catch (SQLException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.nexsplit.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource that sends read-only transactions to the replicas and
+ * everything else to the primary.
+ *
+ * Connections are handed out round robin over the healthy replicas. Reads
+ * fall back to the primary when no replica is healthy, when a replica
+ * connection cannot be obtained, or while the current user is pinned by
+ * {@link ReadYourWritesTracker} after a write. Writes pin their user once
+ * the transaction commits.
+ *
+ * Routing relies on the transaction being known when the connection is
+ * requested, so this DataSource must be wrapped in a
+ * LazyConnectionDataSourceProxy.
+ *
+ * Metrics: datasource.replicas.healthy and datasource.reads.primary tagged
+ * with the reason a read went to the primary.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter pinnedReads;
+    private final Counter unavailableReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas,
+            ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.pinnedReads = Counter.builder("datasource.reads.primary")
+                .description("Read-only transactions served by the primary")
+                .tag("reason", "pinned")
+                .register(meterRegistry);
+        this.unavailableReads = Counter.builder("datasource.reads.primary")
+                .description("Read-only transactions served by the primary")
+                .tag("reason", "replica_unavailable")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replicas.healthy", this.replicas,
+                list -> list.stream().filter(Replica::isHealthy).count())
+                .description("Replicas currently serving reads")
+                .register(meterRegistry);
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        String userId = currentUserId();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinAfterCommit(userId);
+            return source.get(primary);
+        }
+
+        if (readYourWritesTracker.isPinned(userId)) {
+            pinnedReads.increment();
+            return source.get(primary);
+        }
+
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = nextHealthyReplica();
+            if (replica == null) {
+                break;
+            }
+            try {
+                return source.get(replica.getDataSource());
+            } catch (SQLException e) {
+                replica.markDown();
+                log.warn("Replica {} unavailable, taken out of rotation: {}", replica.getName(), e.getMessage());
+            }
+        }
+
+        unavailableReads.increment();
+        return source.get(primary);
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isHealthy()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pin the user once the current write transaction commits, so the
+     * window starts when the write becomes visible on the primary.
+     */
+    private void pinAfterCommit(String userId) {
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWritesTracker.recordWrite(userId);
+            }
+        });
+    }
+
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close replica {}: {}", replica.getName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+
+    /**
+     * One replica pool and its health.
+     */
+    public static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public void markUp() {
+            healthy = true;
+        }
+
+        public void markDown() {
+            healthy = false;
+        }
+    }
+}
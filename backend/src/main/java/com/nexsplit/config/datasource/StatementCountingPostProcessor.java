@@ -0,0 +1,34 @@
+package com.nexsplit.config.datasource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a {@link StatementCountingDataSource}.
+ *
+ * Only the bean named dataSource is wrapped, which is the one JPA and
+ * JdbcTemplate use. With read replica routing the pools behind it are
+ * separate beans and stay unwrapped, so no statement is counted twice.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "nexsplit.query-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StatementCountingPostProcessor implements BeanPostProcessor {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                && !(bean instanceof StatementCountingDataSource)) {
+            return new StatementCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,128 @@
+package com.nexsplit.config.filter;
+
+import com.nexsplit.config.QueryBudgetConfig;
+import com.nexsplit.config.datasource.QueryCounter;
+import com.nexsplit.util.StructuredLoggingUtil;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Filter that counts the JDBC statements of each request
+ * Reports the count and database time in response headers and structured
+ * logs, and warns when an endpoint exceeds its statement budget
+ * Headers reflect the statements executed before the response was committed;
+ * the log entry has the final figures
+ * Registered ahead of the security chain by {@link QueryBudgetFilterConfig}
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class QueryBudgetFilter implements Filter {
+
+    private static final String STATEMENT_COUNT_HEADER = "X-DB-Statement-Count";
+    private static final String DB_TIME_HEADER = "X-DB-Time";
+    private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
+    private static final String CORRELATION_ID_MDC_KEY = "correlationId";
+
+    private final QueryBudgetConfig queryBudgetConfig;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            HeaderWritingResponse wrappedResponse = new HeaderWritingResponse(httpResponse, scope);
+            try {
+                chain.doFilter(request, wrappedResponse);
+            } finally {
+                wrappedResponse.writeHeaders();
+                report(httpRequest, httpResponse, scope);
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response, QueryCounter.Scope scope) {
+        String endpoint = endpoint(request);
+        int budget = queryBudgetConfig.getEndpoints()
+                .getOrDefault(endpoint, queryBudgetConfig.getDefaultMaxStatements());
+        boolean overBudget = scope.getStatementCount() > budget;
+
+        // CorrelationIdFilter runs inside this filter and has already cleared
+        // the MDC, so the ID is taken from the response header it set
+        String correlationId = response.getHeader(CORRELATION_ID_HEADER);
+        try (MDC.MDCCloseable ignored = correlationId != null
+                ? MDC.putCloseable(CORRELATION_ID_MDC_KEY, correlationId)
+                : null) {
+            log(endpoint, budget, overBudget, response, scope);
+        }
+    }
+
+    private void log(String endpoint, int budget, boolean overBudget, HttpServletResponse response,
+            QueryCounter.Scope scope) {
+        StructuredLoggingUtil.logPerformanceEvent(
+                endpoint,
+                scope.getElapsedMillis(),
+                overBudget ? "OVER_QUERY_BUDGET" : "SUCCESS",
+                Map.of(
+                        "statementCount", scope.getStatementCount(),
+                        "dbTimeMs", scope.getElapsedMillis(),
+                        "statementBudget", budget,
+                        "httpStatus", response.getStatus()));
+
+        if (overBudget) {
+            log.warn("Query budget exceeded - Endpoint: {}, Statements: {}, Budget: {}, DB time: {}ms",
+                    endpoint, scope.getStatementCount(), budget, scope.getElapsedMillis());
+        }
+    }
+
+    /**
+     * Endpoint key as used in the budget configuration, e.g.
+     * "GET /api/v1/nex/{nexId}"; the raw URI when no handler matched
+     */
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    /**
+     * Adds the statement headers just before the response is committed,
+     * since headers cannot be changed afterwards
+     */
+    private final class HeaderWritingResponse extends OnCommittedResponseWrapper {
+
+        private final HttpServletResponse target;
+        private final QueryCounter.Scope scope;
+        private boolean headersWritten;
+
+        private HeaderWritingResponse(HttpServletResponse target, QueryCounter.Scope scope) {
+            super(target);
+            this.target = target;
+            this.scope = scope;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        private void writeHeaders() {
+            if (headersWritten || target.isCommitted() || !queryBudgetConfig.isResponseHeaders()) {
+                return;
+            }
+            headersWritten = true;
+            target.setHeader(STATEMENT_COUNT_HEADER, String.valueOf(scope.getStatementCount()));
+            target.setHeader(DB_TIME_HEADER, scope.getElapsedMillis() + "ms");
+        }
+    }
+}
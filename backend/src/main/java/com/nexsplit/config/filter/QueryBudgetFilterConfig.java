@@ -0,0 +1,32 @@
+package com.nexsplit.config.filter;
+
+import com.nexsplit.config.QueryBudgetConfig;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link QueryBudgetFilter}.
+ *
+ * The filter is ordered just before the Spring Security filter chain, so the
+ * statements of authentication, such as loading the user for a JWT, count
+ * towards the request.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "nexsplit.query-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryBudgetFilterConfig {
+
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(QueryBudgetConfig queryBudgetConfig) {
+        FilterRegistrationBean<QueryBudgetFilter> registration = new FilterRegistrationBean<>(
+                new QueryBudgetFilter(queryBudgetConfig));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
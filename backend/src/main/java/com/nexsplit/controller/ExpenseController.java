@@ -6,9 +6,12 @@ import com.nexsplit.dto.PaginatedResponse;
 import com.nexsplit.dto.expense.CreateExpenseRequest;
 import com.nexsplit.dto.expense.ExpenseDto;
 import com.nexsplit.dto.expense.ExpenseFilter;
+import com.nexsplit.dto.expense.ExpenseImportResult;
 import com.nexsplit.model.view.ExpenseSummaryView;
 import com.nexsplit.dto.expense.UpdateExpenseRequest;
+import com.nexsplit.service.ExpenseImportService;
 import com.nexsplit.service.ExpenseService;
+import com.nexsplit.service.expense.ExpenseImportFormat;
 import com.nexsplit.util.StructuredLoggingUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,6 +22,7 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -26,6 +30,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.format.annotation.DateTimeFormat;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.Map;
 
@@ -41,6 +46,7 @@ import java.util.Map;
 public class ExpenseController {
 
         private final ExpenseService expenseService;
+        private final ExpenseImportService expenseImportService;
 
         @PostMapping
         @Operation(summary = "Create Expense", description = "Create a new expense with automatic split calculation and debt generation", security = @SecurityRequirement(name = "bearerAuth"))
@@ -68,6 +74,22 @@ public class ExpenseController {
                                 .body(ApiResponse.success(expense, "Expense created successfully"));
         }
 
+        @PostMapping(value = "/import", consumes = { "text/csv", "application/x-ndjson" })
+        @Operation(summary = "Import Expenses", description = "Bulk import expenses into a nex from a CSV or NDJSON stream. Invalid rows are skipped and reported; members get one summary notification", security = @SecurityRequirement(name = "bearerAuth"))
+        public ResponseEntity<ApiResponse<ExpenseImportResult>> importExpenses(
+                        @Parameter(description = "Nex to import the expenses into") @RequestParam String nexId,
+                        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                        InputStream body,
+                        @AuthenticationPrincipal UserDetails userDetails) {
+
+                String userId = userDetails.getUsername();
+
+                ExpenseImportResult result = expenseImportService.importExpenses(nexId,
+                                ExpenseImportFormat.fromContentType(contentType), body, userId);
+
+                return ResponseEntity.ok(ApiResponse.success(result, "Expense import completed"));
+        }
+
         @GetMapping("/{expenseId}")
         @Operation(summary = "Get Expense Details", description = "Get detailed information about a specific expense", security = @SecurityRequirement(name = "bearerAuth"))
         public ResponseEntity<ApiResponse<ExpenseDto>> getExpenseById(
@@ -149,6 +171,38 @@ public class ExpenseController {
                 return ResponseEntity.ok(ApiResponse.success(response, "Expenses retrieved successfully"));
         }
 
+        @GetMapping("/nex/{nexId}/feed")
+        @Operation(summary = "Get Expense Feed by Nex", description = "Get expenses for a specific expense group, newest expense date first, paged by cursor", security = @SecurityRequirement(name = "bearerAuth"))
+        public ResponseEntity<ApiResponse<PaginatedResponse<ExpenseDto>>> getExpenseFeedByNexId(
+                        @PathVariable String nexId,
+                        @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Page size") @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+                        @Parameter(description = "Whether to count all expenses of the feed") @RequestParam(defaultValue = "false") boolean includeTotal,
+                        @AuthenticationPrincipal UserDetails userDetails) {
+
+                String userId = userDetails.getUsername();
+
+                PaginatedResponse<ExpenseDto> response = expenseService.getExpenseFeedByNexId(nexId, userId, cursor,
+                                size, includeTotal);
+
+                return ResponseEntity.ok(ApiResponse.success(response, "Expenses retrieved successfully"));
+        }
+
+        @GetMapping("/user/{userId}/involvement/feed")
+        @Operation(summary = "Get Expense Feed by User Involvement", description = "Get expenses where a specific user is involved (as payer or in splits), newest expense date first, paged by cursor", security = @SecurityRequirement(name = "bearerAuth"))
+        public ResponseEntity<ApiResponse<PaginatedResponse<ExpenseDto>>> getExpenseFeedByUserInvolvement(
+                        @PathVariable String userId,
+                        @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Page size") @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+                        @Parameter(description = "Whether to count all expenses of the feed") @RequestParam(defaultValue = "false") boolean includeTotal,
+                        @AuthenticationPrincipal UserDetails userDetails) {
+
+                PaginatedResponse<ExpenseDto> response = expenseService.getExpenseFeedByUserInvolvement(userId,
+                                userDetails.getUsername(), cursor, size, includeTotal);
+
+                return ResponseEntity.ok(ApiResponse.success(response, "Expenses retrieved successfully"));
+        }
+
         @PutMapping("/{expenseId}")
         @Operation(summary = "Update Expense", description = "Update an existing expense. This will recalculate splits and debts if necessary.", security = @SecurityRequirement(name = "bearerAuth"))
         public ResponseEntity<ApiResponse<ExpenseDto>> updateExpense(
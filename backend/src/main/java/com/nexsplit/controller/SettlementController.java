@@ -1,6 +1,7 @@
 package com.nexsplit.controller;
 
 import com.nexsplit.dto.ApiResponse;
+import com.nexsplit.dto.PaginatedResponse;
 import com.nexsplit.model.view.SettlementHistoryView;
 import com.nexsplit.service.SettlementService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,10 +10,6 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -92,35 +89,51 @@ public class SettlementController {
         return ResponseEntity.ok(ApiResponse.success(response, "Available settlements retrieved successfully"));
     }
 
+    /**
+     * Simulate settlements for a specific Nex group under hypothetical
+     * operations. Nothing is written to the database.
+     * 
+     * @param nexId       The Nex group ID
+     * @param request     The scenarios to simulate
+     * @param userDetails The authenticated user
+     * @return Baseline and per-scenario settlement plans
+     */
+    @PostMapping("/simulate")
+    @Operation(summary = "Simulate settlements", description = "Preview settlement plans after hypothetical operations such as removing a member or settling a pair, without executing anything", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ApiResponse<SettlementService.SimulationResponse>> simulateSettlements(
+            @Parameter(description = "Nex group ID") @PathVariable String nexId,
+            @Valid @RequestBody SettlementService.SimulationRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        log.info("Simulating settlements for Nex: {} by user: {}", nexId, userDetails.getUsername());
+
+        SettlementService.SimulationResponse response = settlementService.simulateSettlements(
+                nexId, request, userDetails.getUsername());
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Settlement simulation completed successfully"));
+    }
+
     /**
      * Get settlement history for a specific Nex group.
      * 
      * @param nexId         The Nex group ID
-     * @param page          Page number (0-based)
+     * @param cursor        Cursor from the previous page (omit for the first page)
      * @param size          Page size
-     * @param sortBy        Sort field
-     * @param sortDirection Sort direction (ASC/DESC)
      * @param userDetails   The authenticated user
-     * @return Page of settlement history records
+     * @return Page of settlement history records, newest first, with the cursor
+     *         for the next page
      */
     @GetMapping("/history")
     @Operation(summary = "Get settlement history", description = "Get settlement history for a specific Nex group", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<ApiResponse<Page<SettlementHistoryView>>> getSettlementHistory(
+    public ResponseEntity<ApiResponse<PaginatedResponse<SettlementHistoryView>>> getSettlementHistory(
             @Parameter(description = "Nex group ID") @PathVariable String nexId,
-            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
-            @Parameter(description = "Sort field") @RequestParam(defaultValue = "settledAt") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "DESC") String sortDirection,
             @AuthenticationPrincipal UserDetails userDetails) {
 
         log.info("Getting settlement history for Nex: {} by user: {}", nexId, userDetails.getUsername());
 
-        // Create Pageable with validation
-        Pageable pageable = PageRequest.of(page, size,
-                sortDirection.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending()
-                        : Sort.by(sortBy).ascending());
-
-        Page<SettlementHistoryView> history = settlementService.getSettlementHistoryByNexId(nexId, pageable);
+        PaginatedResponse<SettlementHistoryView> history = settlementService.getSettlementHistoryByNexId(nexId, cursor, size);
 
         return ResponseEntity.ok(ApiResponse.success(history, "Settlement history retrieved successfully"));
     }
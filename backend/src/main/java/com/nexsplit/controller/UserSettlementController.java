@@ -1,7 +1,9 @@
 package com.nexsplit.controller;
 
 import com.nexsplit.dto.ApiResponse;
+import com.nexsplit.dto.PaginatedResponse;
 import com.nexsplit.model.view.SettlementHistoryView;
+import com.nexsplit.service.GlobalNettingService;
 import com.nexsplit.service.SettlementService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -9,10 +11,6 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -39,36 +37,29 @@ import jakarta.validation.constraints.Min;
 public class UserSettlementController {
 
     private final SettlementService settlementService;
+    private final GlobalNettingService globalNettingService;
 
     /**
      * Get settlement history for a specific user across all Nex groups.
      * 
      * @param userId        The user ID
-     * @param page          Page number (0-based)
+     * @param cursor        Cursor from the previous page (omit for the first page)
      * @param size          Page size
-     * @param sortBy        Sort field
-     * @param sortDirection Sort direction (ASC/DESC)
      * @param userDetails   The authenticated user
-     * @return Page of settlement history records
+     * @return Page of settlement history records, newest first, with the cursor
+     *         for the next page
      */
     @GetMapping("/history")
     @Operation(summary = "Get user settlement history", description = "Get settlement history for a specific user across all Nex groups", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<ApiResponse<Page<SettlementHistoryView>>> getUserSettlementHistory(
+    public ResponseEntity<ApiResponse<PaginatedResponse<SettlementHistoryView>>> getUserSettlementHistory(
             @Parameter(description = "User ID") @PathVariable String userId,
-            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
-            @Parameter(description = "Sort field") @RequestParam(defaultValue = "settledAt") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "DESC") String sortDirection,
             @AuthenticationPrincipal UserDetails userDetails) {
 
         log.info("Getting settlement history for user: {} by user: {}", userId, userDetails.getUsername());
 
-        // Create Pageable with validation
-        Pageable pageable = PageRequest.of(page, size,
-                sortDirection.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending()
-                        : Sort.by(sortBy).ascending());
-
-        Page<SettlementHistoryView> history = settlementService.getSettlementHistoryByUserId(userId, pageable);
+        PaginatedResponse<SettlementHistoryView> history = settlementService.getSettlementHistoryByUserId(userId, cursor, size);
 
         return ResponseEntity.ok(ApiResponse.success(history, "User settlement history retrieved successfully"));
     }
@@ -112,4 +103,48 @@ public class UserSettlementController {
 
         return ResponseEntity.ok(ApiResponse.success(summary, "User settlement summary retrieved successfully"));
     }
+
+    /**
+     * Preview cross-Nex netting of a user's debts.
+     * 
+     * @param userId      The user ID
+     * @param userDetails The authenticated user
+     * @return Global netting plan
+     */
+    @GetMapping("/global-netting")
+    @Operation(summary = "Preview global netting", description = "Net a user's debts across all Nex groups into one position per counterparty and show the resulting transfers", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ApiResponse<GlobalNettingService.GlobalNettingResponse>> previewGlobalNetting(
+            @Parameter(description = "User ID") @PathVariable String userId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        log.info("Previewing global netting for user: {} by user: {}", userId, userDetails.getUsername());
+
+        GlobalNettingService.GlobalNettingResponse response = globalNettingService.previewGlobalNetting(
+                userId, userDetails.getUsername());
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Global netting plan retrieved successfully"));
+    }
+
+    /**
+     * Execute cross-Nex netting of a user's debts.
+     * 
+     * @param userId      The user ID
+     * @param request     Payment details recorded on the settled debts
+     * @param userDetails The authenticated user
+     * @return Executed global netting plan
+     */
+    @PostMapping("/global-netting/execute")
+    @Operation(summary = "Execute global netting", description = "Net a user's debts across all Nex groups and settle every underlying debt", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ApiResponse<GlobalNettingService.GlobalNettingResponse>> executeGlobalNetting(
+            @Parameter(description = "User ID") @PathVariable String userId,
+            @RequestBody GlobalNettingService.GlobalNettingRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        log.info("Executing global netting for user: {} by user: {}", userId, userDetails.getUsername());
+
+        GlobalNettingService.GlobalNettingResponse response = globalNettingService.executeGlobalNetting(
+                userId, request, userDetails.getUsername());
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Global netting executed successfully"));
+    }
 }
@@ -33,6 +33,7 @@ public enum ErrorCode {
     NEX_ALREADY_MEMBER("NEX_003", "BUSINESS_ERROR"),
     NEX_NOT_MEMBER("NEX_004", "BUSINESS_ERROR"),
     NEX_ARCHIVED("NEX_005", "BUSINESS_ERROR"),
+    NEX_WRITE_BUSY("NEX_006", "BUSINESS_ERROR"),
 
     // Expense Errors
     EXPENSE_NOT_FOUND("EXP_001", "BUSINESS_ERROR"),
@@ -40,11 +41,14 @@ public enum ErrorCode {
     EXPENSE_CATEGORY_NOT_FOUND("EXP_003", "BUSINESS_ERROR"),
     EXPENSE_PAYER_NOT_MEMBER("EXP_004", "BUSINESS_ERROR"),
     EXPENSE_SPLIT_INVALID("EXP_005", "BUSINESS_ERROR"),
+    EXPENSE_IMPORT_TOO_LARGE("EXP_006", "BUSINESS_ERROR"),
 
     // Debt/Settlement Errors
     DEBT_NOT_FOUND("DEBT_001", "BUSINESS_ERROR"),
     DEBT_ALREADY_SETTLED("DEBT_002", "BUSINESS_ERROR"),
     SETTLEMENT_INVALID_AMOUNT("DEBT_003", "BUSINESS_ERROR"),
+    SETTLEMENT_NETTING_TOO_LARGE("DEBT_004", "BUSINESS_ERROR"),
+    SETTLEMENT_ENGINE_BUSY("DEBT_005", "BUSINESS_ERROR"),
 
     // Category Errors
     CATEGORY_NOT_FOUND("CAT_001", "BUSINESS_ERROR"),
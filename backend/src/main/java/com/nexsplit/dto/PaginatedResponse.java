@@ -26,5 +26,6 @@ public class PaginatedResponse<T> {
         private boolean hasPrevious;
         private String nextPageUrl;
         private String previousPageUrl;
+        private String nextCursor;
     }
 }
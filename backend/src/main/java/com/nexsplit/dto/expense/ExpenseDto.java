@@ -50,6 +50,16 @@ public class ExpenseDto {
      */
     private List<DebtDto> debts;
 
+    /**
+     * Whether every debt generated from this expense is settled.
+     */
+    private Boolean fullySettled;
+
+    /**
+     * Total of the debts generated from this expense that are not settled.
+     */
+    private BigDecimal unsettledAmount;
+
     /**
      * DTO for split information.
      */
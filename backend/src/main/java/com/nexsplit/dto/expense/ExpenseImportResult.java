@@ -0,0 +1,49 @@
+package com.nexsplit.dto.expense;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a bulk expense import.
+ * Valid rows are imported even when other rows fail; failed rows are listed
+ * with the reason they were skipped.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseImportResult {
+
+    private String nexId;
+    private int totalRows;
+    private int importedCount;
+    private int failedCount;
+
+    /**
+     * Errors of failed rows, in row order. Limited to the configured maximum;
+     * see {@link #errorsTruncated}.
+     */
+    private List<RowError> errors;
+
+    private boolean errorsTruncated;
+
+    /**
+     * Reason a single row was not imported.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        /**
+         * 1-based data row number, not counting the CSV header or blank lines.
+         */
+        private int rowNumber;
+        private String message;
+    }
+}
@@ -6,6 +6,9 @@ import com.nexsplit.dto.expense.ExpenseSummaryDto;
 import com.nexsplit.dto.expense.UpdateExpenseRequest;
 import com.nexsplit.model.Expense;
 import com.nexsplit.model.Debt;
+import com.nexsplit.repository.DebtRepository;
+import com.nexsplit.repository.ExpenseRepository;
+import com.nexsplit.repository.SplitRepository;
 import org.mapstruct.*;
 
 import java.util.List;
@@ -60,8 +63,41 @@ public interface ExpenseMapStruct {
     @Mapping(target = "expenseDate", expression = "java(expense.getExpenseDate() != null ? expense.getExpenseDate().toLocalDate() : null)")
     @Mapping(target = "splits", source = "splits")
     @Mapping(target = "debts", source = "debts")
+    @Mapping(target = "fullySettled", expression = "java(isFullySettled(expense))")
+    @Mapping(target = "unsettledAmount", expression = "java(calculateUnsettledAmount(expense))")
     ExpenseDto toDto(Expense expense);
 
+    /**
+     * Convert an expense list row to ExpenseDto.
+     * Splits, debts and settlement totals are loaded for the whole page and
+     * set by the caller.
+     * 
+     * @param row The expense list row
+     * @return ExpenseDto without splits and debts
+     */
+    @Mapping(target = "expenseDate", expression = "java(row.getExpenseDate() != null ? row.getExpenseDate().toLocalDate() : null)")
+    @Mapping(target = "splits", ignore = true)
+    @Mapping(target = "debts", ignore = true)
+    @Mapping(target = "fullySettled", ignore = true)
+    @Mapping(target = "unsettledAmount", ignore = true)
+    ExpenseDto toListDto(ExpenseRepository.ExpenseRow row);
+
+    /**
+     * Convert a split row of a listed expense to SplitDto.
+     * 
+     * @param row The split row
+     * @return SplitDto
+     */
+    ExpenseDto.SplitDto toSplitDto(SplitRepository.ExpenseSplitRow row);
+
+    /**
+     * Convert a debt row of a listed expense to DebtDto.
+     * 
+     * @param row The debt row
+     * @return DebtDto
+     */
+    ExpenseDto.DebtDto toDebtDto(DebtRepository.ExpenseDebtRow row);
+
     /**
      * Convert Expense entity to ExpenseSummaryDto.
      * 
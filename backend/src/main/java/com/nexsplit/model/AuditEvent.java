@@ -11,6 +11,8 @@ import java.time.LocalDateTime;
 /**
  * Audit event entity for storing business and security events
  * Provides comprehensive audit trail for compliance and security monitoring
+ * Rows are inserted in batches by AuditEventWriter; audit_events is range
+ * partitioned by month on timestamp
  */
 @Entity
 @Table(name = "audit_events")
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -85,7 +86,9 @@ public class Bill extends BaseEntity {
     @JoinColumn(name = "created_by", insertable = false, updatable = false)
     private User creator;
 
+    // Batch-loaded so listing bills does not query per bill
     @OneToMany(mappedBy = "bill", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<BillParticipant> participants;
 
     public enum Frequency {
@@ -0,0 +1,240 @@
+package com.nexsplit.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable monetary amount backed by a long count of minor units (cents).
+ *
+ * Used on hot paths such as balance aggregation and split calculation where
+ * BigDecimal arithmetic allocates on every operation. Amounts always have two
+ * decimal places, matching the DECIMAL(x,2) columns they are stored in.
+ * Allocation methods distribute rounding remainders cent by cent, so the
+ * parts always add up to the original amount exactly.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public final class Money implements Comparable<Money> {
+
+    /**
+     * Number of decimal places held by every Money amount.
+     */
+    public static final int SCALE = 2;
+
+    private static final long PERCENT_BASIS_POINTS = 10_000L;
+
+    private final long minorUnits;
+    private final String currency;
+
+    private Money(long minorUnits, String currency) {
+        this.minorUnits = minorUnits;
+        this.currency = Objects.requireNonNull(currency, "currency");
+    }
+
+    /**
+     * Create an amount from minor units.
+     *
+     * @param minorUnits Amount in cents
+     * @param currency   ISO currency code
+     * @return The amount
+     */
+    public static Money ofMinor(long minorUnits, String currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * Create an amount from a decimal value, rounding half up to two decimal
+     * places.
+     *
+     * @param amount   Decimal amount
+     * @param currency ISO currency code
+     * @return The amount
+     */
+    public static Money of(BigDecimal amount, String currency) {
+        return new Money(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact(), currency);
+    }
+
+    /**
+     * Zero amount in the given currency.
+     *
+     * @param currency ISO currency code
+     * @return Zero amount
+     */
+    public static Money zero(String currency) {
+        return new Money(0, currency);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    /**
+     * Convert to a BigDecimal with two decimal places.
+     *
+     * @return Decimal amount
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), currency);
+    }
+
+    public Money abs() {
+        return minorUnits < 0 ? negate() : this;
+    }
+
+    public Money min(Money other) {
+        return compareTo(other) <= 0 ? this : other;
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    /**
+     * Split the amount into equal parts. The leftover cents go one each to the
+     * first parts, so the parts differ by at most one cent and sum exactly to
+     * this amount.
+     *
+     * @param parts Number of parts
+     * @return The parts
+     */
+    public Money[] allocate(int parts) {
+        if (parts <= 0) {
+            throw new IllegalArgumentException("Number of parts must be positive: " + parts);
+        }
+        long[] ratios = new long[parts];
+        Arrays.fill(ratios, 1);
+        return allocate(ratios);
+    }
+
+    /**
+     * Split the amount by percentages with two decimal places (for example
+     * 33.33). The percentages must sum to 100.
+     *
+     * @param percentages Percentage of each part
+     * @return The parts, summing exactly to this amount
+     */
+    public Money[] allocateByPercentages(BigDecimal[] percentages) {
+        long[] basisPoints = new long[percentages.length];
+        long total = 0;
+        for (int i = 0; i < percentages.length; i++) {
+            basisPoints[i] = percentages[i].movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+            total += basisPoints[i];
+        }
+        if (total != PERCENT_BASIS_POINTS) {
+            throw new IllegalArgumentException("Percentages must sum to 100");
+        }
+        return allocate(basisPoints);
+    }
+
+    /**
+     * Split the amount in proportion to the given ratios using the largest
+     * remainder method. Each part gets its floor share, and the leftover cents
+     * go to the parts with the largest fractional remainders. Ties go to the
+     * earlier part.
+     *
+     * @param ratios Non-negative ratio of each part
+     * @return The parts, summing exactly to this amount
+     */
+    public Money[] allocate(long[] ratios) {
+        long ratioTotal = 0;
+        for (long ratio : ratios) {
+            if (ratio < 0) {
+                throw new IllegalArgumentException("Ratios must not be negative");
+            }
+            ratioTotal = Math.addExact(ratioTotal, ratio);
+        }
+        if (ratioTotal == 0) {
+            throw new IllegalArgumentException("Ratios must not all be zero");
+        }
+
+        long sign = minorUnits < 0 ? -1 : 1;
+        long amount = Math.abs(minorUnits);
+        long[] shares = new long[ratios.length];
+        long[] remainders = new long[ratios.length];
+        long allocated = 0;
+        for (int i = 0; i < ratios.length; i++) {
+            // amount * ratio can overflow for very large amounts, so use exact math
+            long product = Math.multiplyExact(amount, ratios[i]);
+            shares[i] = product / ratioTotal;
+            remainders[i] = product % ratioTotal;
+            allocated += shares[i];
+        }
+
+        for (long leftover = amount - allocated; leftover > 0; leftover--) {
+            int largest = 0;
+            for (int i = 1; i < remainders.length; i++) {
+                if (remainders[i] > remainders[largest]) {
+                    largest = i;
+                }
+            }
+            shares[largest]++;
+            remainders[largest] = -1;
+        }
+
+        Money[] parts = new Money[ratios.length];
+        for (int i = 0; i < ratios.length; i++) {
+            parts[i] = new Money(sign * shares[i], currency);
+        }
+        return parts;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money other)) {
+            return false;
+        }
+        return minorUnits == other.minorUnits && currency.equals(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(minorUnits, currency);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency;
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException(
+                    "Currency mismatch: " + currency + " vs " + other.currency);
+        }
+    }
+}
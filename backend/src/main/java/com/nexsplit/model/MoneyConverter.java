@@ -0,0 +1,31 @@
+package com.nexsplit.model;
+
+import com.nexsplit.util.CurrencyUtil;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * JPA converter storing {@link Money} in DECIMAL(x,2) columns.
+ * 
+ * The columns hold no currency, so values read back use the configured
+ * default currency.
+ * 
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money != null ? money.toBigDecimal() : null;
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal amount) {
+        return amount != null ? Money.of(amount, CurrencyUtil.getDefaultCurrency()) : null;
+    }
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.GenericGenerator;
 
 import java.util.List;
@@ -17,6 +18,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
+@BatchSize(size = 100)
 public class Nex extends BaseEntity {
 
     @Id
@@ -52,13 +54,16 @@ public class Nex extends BaseEntity {
     @JoinColumn(name = "created_by", insertable = false, updatable = false)
     private User creator;
 
+    // Batch-loaded so listing a page of Nexes does not query per Nex
     @OneToMany(mappedBy = "nex", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<NexMember> members;
 
     @OneToMany(mappedBy = "nex", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Category> categories;
 
     @OneToMany(mappedBy = "nex", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<Expense> expenses;
 
     @OneToMany(mappedBy = "nex", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -0,0 +1,99 @@
+package com.nexsplit.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Analytics rollup of a Nex.
+ *
+ * Holds the member, expense, debt, category and bill figures of one Nex.
+ * Rows are maintained incrementally by the writes that change those tables,
+ * so analytics reads never aggregate the source tables.
+ *
+ * Database table: nex_analytics_rollups
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Entity
+@Table(name = "nex_analytics_rollups")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NexAnalyticsRollup {
+
+    @Id
+    @Column(name = "nex_id")
+    private String nexId;
+
+    // Member statistics
+    @Column(name = "total_members", nullable = false)
+    private Long totalMembers;
+
+    @Column(name = "active_members", nullable = false)
+    private Long activeMembers;
+
+    @Column(name = "admin_count", nullable = false)
+    private Long adminCount;
+
+    // Expense statistics
+    @Column(name = "total_expenses", nullable = false)
+    private Long totalExpenses;
+
+    @Column(name = "total_expense_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalExpenseAmount;
+
+    @Column(name = "max_expense_amount", precision = 15, scale = 2)
+    private BigDecimal maxExpenseAmount;
+
+    @Column(name = "min_expense_amount", precision = 15, scale = 2)
+    private BigDecimal minExpenseAmount;
+
+    // Debt statistics
+    @Column(name = "total_debts", nullable = false)
+    private Long totalDebts;
+
+    @Column(name = "unsettled_debts", nullable = false)
+    private Long unsettledDebts;
+
+    @Column(name = "unsettled_debt_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal unsettledDebtAmount;
+
+    // Category statistics
+    @Column(name = "total_categories", nullable = false)
+    private Long totalCategories;
+
+    @Column(name = "default_categories", nullable = false)
+    private Long defaultCategories;
+
+    // Bill statistics
+    @Column(name = "total_bills", nullable = false)
+    private Long totalBills;
+
+    @Column(name = "paid_bills", nullable = false)
+    private Long paidBills;
+
+    @Column(name = "total_bill_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalBillAmount;
+
+    // Recent activity
+    @Column(name = "last_expense_date")
+    private LocalDateTime lastExpenseDate;
+
+    @Column(name = "last_debt_date")
+    private LocalDateTime lastDebtDate;
+
+    @Column(name = "last_bill_date")
+    private LocalDateTime lastBillDate;
+
+    @Column(name = "modified_at", nullable = false)
+    private LocalDateTime modifiedAt;
+}
@@ -0,0 +1,41 @@
+package com.nexsplit.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ledger entry holding a user's net balance inside a Nex.
+ * 
+ * Positive balances mean the user is owed money, negative balances mean the
+ * user owes money. Rows are maintained incrementally whenever debts are
+ * created, removed or settled, so balance reads never scan the debts table.
+ * 
+ * Database table: nex_member_balances
+ * 
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Entity
+@Table(name = "nex_member_balances")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NexMemberBalance {
+
+    @EmbeddedId
+    private NexMemberBalanceId id;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "net_balance", nullable = false, precision = 15, scale = 2)
+    private Money netBalance;
+
+    @Column(name = "modified_at", nullable = false)
+    private LocalDateTime modifiedAt;
+}
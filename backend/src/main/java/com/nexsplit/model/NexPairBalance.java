@@ -0,0 +1,41 @@
+package com.nexsplit.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ledger entry holding the outstanding amount a debtor owes a creditor inside
+ * a Nex.
+ * 
+ * The amount is the sum of all unsettled debts for the (debtor, creditor) pair
+ * and is maintained incrementally alongside the debts table.
+ * 
+ * Database table: nex_pair_balances
+ * 
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Entity
+@Table(name = "nex_pair_balances")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NexPairBalance {
+
+    @EmbeddedId
+    private NexPairBalanceId id;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "amount", nullable = false, precision = 15, scale = 2)
+    private Money amount;
+
+    @Column(name = "modified_at", nullable = false)
+    private LocalDateTime modifiedAt;
+}
@@ -16,7 +16,9 @@ import java.time.LocalDateTime;
  * invites, reminders, and informational messages. Notifications are
  * associated with users and optionally with specific nex groups.
  * 
- * Database table: notifications
+ * Database table: notifications (range partitioned by month on created_at;
+ * the primary key is (id, created_at), so lookups by id alone check the
+ * primary key index of every partition)
  * 
  * @author NexSplit Team
  * @version 1.0
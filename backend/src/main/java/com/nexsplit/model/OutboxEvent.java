@@ -0,0 +1,91 @@
+package com.nexsplit.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain event recorded in the transactional outbox.
+ *
+ * Events are inserted in the same transaction as the change they describe
+ * and dispatched after commit by the outbox dispatcher, which retries failed
+ * events with backoff and keeps the events of one Nex in order.
+ *
+ * Database table: outbox_events
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 50)
+    private EventType eventType;
+
+    @Column(name = "nex_id", columnDefinition = "CHAR(36)")
+    private String nexId;
+
+    @Column(name = "aggregate_id", columnDefinition = "CHAR(36)")
+    private String aggregateId;
+
+    @Column(name = "actor_id", columnDefinition = "CHAR(36)")
+    private String actorId;
+
+    /**
+     * Event details as a JSON object.
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    /**
+     * Kinds of domain events written to the outbox.
+     */
+    public enum EventType {
+        EXPENSE_CREATED, EXPENSE_UPDATED, EXPENSE_DELETED, EXPENSES_IMPORTED
+    }
+
+    /**
+     * Dispatch state of an event.
+     *
+     * PENDING: Waiting to be dispatched, possibly after a failed attempt
+     * PROCESSED: Dispatched successfully
+     * FAILED: Gave up after the maximum number of attempts
+     */
+    public enum Status {
+        PENDING, PROCESSED, FAILED
+    }
+}
@@ -1,10 +1,16 @@
 package com.nexsplit.model;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,7 +21,7 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Split {
+public class Split implements Persistable<SplitId> {
 
     @EmbeddedId
     private SplitId id;
@@ -43,6 +49,31 @@ public class Split {
     @JoinColumn(name = "user_id")
     private User user;
 
+    /**
+     * Splits have an assigned ID, so Spring Data cannot tell new ones from
+     * detached ones by the ID alone. Tracking it here lets save() persist new
+     * splits directly instead of selecting each one first for a merge, which
+     * also lets their inserts be batched.
+     */
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newSplit = true;
+
+    @Override
+    public boolean isNew() {
+        return newSplit;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        newSplit = false;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,54 @@
+package com.nexsplit.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Rollup of a user's unsettled debts and credits across all Nexes.
+ * 
+ * Rows are maintained by the balance ledger whenever debts are created,
+ * settled or deleted, so balance reads and filters never aggregate the debts
+ * table. The net balance is a generated column.
+ * 
+ * Database table: user_balance_rollups
+ * 
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Entity
+@Table(name = "user_balance_rollups")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBalanceRollup {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Column(name = "total_debt", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalDebt;
+
+    @Column(name = "total_credit", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalCredit;
+
+    @Column(name = "net_balance", precision = 15, scale = 2, insertable = false, updatable = false)
+    private BigDecimal netBalance;
+
+    @Column(name = "active_debt_count", nullable = false)
+    private Long activeDebtCount;
+
+    @Column(name = "active_credit_count", nullable = false)
+    private Long activeCreditCount;
+
+    @Column(name = "modified_at", nullable = false)
+    private LocalDateTime modifiedAt;
+}
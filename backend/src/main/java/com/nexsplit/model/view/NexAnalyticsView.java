@@ -12,6 +12,8 @@ import java.time.LocalDateTime;
  * 
  * This entity provides optimized access to nex analytics and insights
  * with comprehensive statistics for nex group management and reporting.
+ * The statistics come from the incrementally maintained
+ * nex_analytics_rollups table.
  * 
  * @author NexSplit Team
  * @version 1.0
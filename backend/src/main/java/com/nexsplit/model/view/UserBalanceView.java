@@ -11,7 +11,8 @@ import java.math.BigDecimal;
  * 
  * This entity provides optimized access to user balance calculations
  * showing total debts, credits, and net balance for comprehensive user
- * financial tracking.
+ * financial tracking. Debt and credit figures are read from the
+ * user_balance_rollups table, which the balance ledger keeps up to date.
  * 
  * @author NexSplit Team
  * @version 1.0
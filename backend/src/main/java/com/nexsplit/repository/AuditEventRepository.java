@@ -11,7 +11,8 @@ import java.util.List;
 
 /**
  * Repository for audit event operations
- * Provides methods for storing and querying audit events
+ * Provides methods for querying audit events and maintaining the monthly
+ * partitions of audit_events; events are inserted by AuditEventWriter
  */
 @Repository
 public interface AuditEventRepository extends JpaRepository<AuditEvent, String> {
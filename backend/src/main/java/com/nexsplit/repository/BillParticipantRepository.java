@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -309,4 +310,23 @@ public interface BillParticipantRepository extends JpaRepository<BillParticipant
     @Query("UPDATE BillParticipant bp SET bp.isDeleted = true, bp.deletedBy = :deletedBy, bp.deletedAt = :deletedAt WHERE bp.id.userId = :userId AND bp.isDeleted = false")
     void softDeleteByUserId(@Param("userId") String userId, @Param("deletedBy") String deletedBy,
             @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Count the participants of several bills, and how many of them have paid.
+     *
+     * @param billIds The bill IDs
+     * @return Participant counts over all the bills
+     */
+    @Query("SELECT COUNT(bp) AS total, COALESCE(SUM(CASE WHEN bp.paid = true THEN 1 ELSE 0 END), 0) AS paid "
+            + "FROM BillParticipant bp WHERE bp.id.billId IN :billIds AND bp.isDeleted = false")
+    ParticipantCounts countParticipantsByBillIds(@Param("billIds") Collection<String> billIds);
+
+    /**
+     * Participant counts of a set of bills.
+     */
+    interface ParticipantCounts {
+        long getTotal();
+
+        long getPaid();
+    }
 }
@@ -25,6 +25,14 @@ public interface CategoryRepository extends SoftDeleteRepository<Category, Strin
         @Query("SELECT c FROM Category c WHERE c.nexId = :nexId AND c.isDeleted = false")
         List<Category> findByNexId(@Param("nexId") String nexId);
 
+        /**
+         * Find IDs of categories an expense in the nex may use: the nex's own
+         * categories, default categories and the user's personal categories
+         */
+        @Query("SELECT c.id FROM Category c WHERE (c.nexId = :nexId OR c.isDefault = true " +
+                        "OR (c.createdBy = :userId AND c.nexId IS NULL)) AND c.isDeleted = false")
+        List<String> findUsableCategoryIds(@Param("nexId") String nexId, @Param("userId") String userId);
+
         /**
          * Find categories by nex ID with pagination (group categories)
          */
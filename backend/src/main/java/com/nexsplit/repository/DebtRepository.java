@@ -9,6 +9,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -16,7 +18,7 @@ import java.util.List;
  * Provides database operations for debt management.
  */
 @Repository
-public interface DebtRepository extends JpaRepository<Debt, String> {
+public interface DebtRepository extends JpaRepository<Debt, String>, DebtRepositoryCustom {
 
     /**
      * Find debts by debtor ID.
@@ -168,6 +170,35 @@ public interface DebtRepository extends JpaRepository<Debt, String> {
     @Query("SELECT d FROM Debt d WHERE (d.debtorId = :userId OR d.creditorId = :userId) AND d.settledAt IS NULL ORDER BY d.createdAt DESC")
     List<Debt> findUnsettledByUserId(@Param("userId") String userId);
 
+    /**
+     * Count unsettled debts by user ID.
+     * 
+     * @param userId The user ID
+     * @return Number of unsettled debts
+     */
+    @Query("SELECT COUNT(d) FROM Debt d WHERE (d.debtorId = :userId OR d.creditorId = :userId) AND d.settledAt IS NULL")
+    long countUnsettledByUserId(@Param("userId") String userId);
+
+    /**
+     * Find the nex groups in which a user has unsettled debts.
+     * 
+     * @param userId The user ID
+     * @return List of nex IDs
+     */
+    @Query("SELECT DISTINCT e.nexId FROM Debt d JOIN d.expense e WHERE (d.debtorId = :userId OR d.creditorId = :userId) AND d.settledAt IS NULL")
+    List<String> findUnsettledNexIdsByUserId(@Param("userId") String userId);
+
+    /**
+     * Find unsettled debts by user ID together with their nex group, without
+     * loading the debt entities.
+     * 
+     * @param userId The user ID
+     * @return List of unsettled debt rows
+     */
+    @Query("SELECT d.id AS id, d.debtorId AS debtorId, d.creditorId AS creditorId, d.amount AS amount, e.nexId AS nexId "
+            + "FROM Debt d JOIN d.expense e WHERE (d.debtorId = :userId OR d.creditorId = :userId) AND d.settledAt IS NULL")
+    List<UnsettledDebtRow> findUnsettledRowsByUserId(@Param("userId") String userId);
+
     /**
      * Find settled debts by user ID.
      * 
@@ -256,4 +287,67 @@ public interface DebtRepository extends JpaRepository<Debt, String> {
     @Query("SELECT d FROM Debt d JOIN d.expense e WHERE d.debtorId = :debtorId AND d.creditorId = :creditorId AND e.nexId = :nexId AND d.settledAt IS NULL ORDER BY d.createdAt DESC")
     List<Debt> findUnsettledDebtsBetweenUsers(@Param("debtorId") String debtorId,
             @Param("creditorId") String creditorId, @Param("nexId") String nexId);
+
+    /**
+     * Find the debts of several expenses with the display names of the
+     * debtor and creditor, without loading the debt or user entities.
+     * 
+     * @param expenseIds The expense IDs
+     * @return List of debt rows
+     */
+    @Query("SELECT d.id AS id, d.expenseId AS expenseId, d.debtorId AS debtorId, "
+            + "CASE WHEN dr.firstName IS NOT NULL AND dr.lastName IS NOT NULL "
+            + "THEN CONCAT(dr.firstName, ' ', dr.lastName) "
+            + "ELSE COALESCE(dr.firstName, dr.lastName, dr.username) END AS debtorName, "
+            + "d.creditorId AS creditorId, "
+            + "CASE WHEN cr.firstName IS NOT NULL AND cr.lastName IS NOT NULL "
+            + "THEN CONCAT(cr.firstName, ' ', cr.lastName) "
+            + "ELSE COALESCE(cr.firstName, cr.lastName, cr.username) END AS creditorName, "
+            + "d.amount AS amount, d.paymentMethod AS paymentMethod, d.settledAt AS settledAt, "
+            + "d.createdAt AS createdAt, d.modifiedAt AS modifiedAt "
+            + "FROM Debt d LEFT JOIN d.debtor dr LEFT JOIN d.creditor cr "
+            + "WHERE d.expenseId IN :expenseIds AND d.isDeleted = false ORDER BY d.createdAt, d.id")
+    List<ExpenseDebtRow> findRowsByExpenseIds(@Param("expenseIds") Collection<String> expenseIds);
+
+    /**
+     * Unsettled debt of a user together with its nex group.
+     */
+    interface UnsettledDebtRow {
+        String getId();
+
+        String getDebtorId();
+
+        String getCreditorId();
+
+        BigDecimal getAmount();
+
+        String getNexId();
+    }
+
+    /**
+     * Debt of a listed expense with the display names of both parties.
+     */
+    interface ExpenseDebtRow {
+        String getId();
+
+        String getExpenseId();
+
+        String getDebtorId();
+
+        String getDebtorName();
+
+        String getCreditorId();
+
+        String getCreditorName();
+
+        BigDecimal getAmount();
+
+        String getPaymentMethod();
+
+        LocalDateTime getSettledAt();
+
+        LocalDateTime getCreatedAt();
+
+        LocalDateTime getModifiedAt();
+    }
 }
@@ -0,0 +1,55 @@
+package com.nexsplit.repository;
+
+import com.nexsplit.model.Debt;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bulk settlement operations on debts that return the updated rows.
+ *
+ * Spring Data only allows void or int return types on modifying queries,
+ * so these UPDATE ... RETURNING statements are implemented in
+ * {@link DebtRepositoryCustomImpl}, which flushes and clears the persistence
+ * context around them the way a modifying query would.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public interface DebtRepositoryCustom {
+
+    /**
+     * Settle every unsettled debt of the given (debtor, creditor) pairs in a
+     * Nex group with a single statement.
+     * 
+     * Pairs are passed as two arrays of the same length, where the debtor and
+     * creditor at the same index form one pair. The updated rows are returned
+     * so callers can update balances and emit events without reloading them.
+     * 
+     * @param nexId         The nex ID
+     * @param debtorIds     Debtor of each pair
+     * @param creditorIds   Creditor of each pair
+     * @param settledAt     Settlement timestamp
+     * @param paymentMethod Payment method recorded on each debt
+     * @param notes         Notes recorded on each debt
+     * @return List of debts that were settled
+     */
+    List<Debt> settleUnsettledDebtsBetweenPairs(String nexId, String[] debtorIds, String[] creditorIds,
+            LocalDateTime settledAt, String paymentMethod, String notes);
+
+    /**
+     * Settle the given debts with a single statement, skipping any that are
+     * already settled. The updated rows are returned so callers can update
+     * balances without reloading them.
+     * 
+     * @param debtIds       IDs of the debts to settle
+     * @param settledAt     Settlement timestamp
+     * @param paymentMethod Payment method recorded on each debt
+     * @param notes         Notes recorded on each debt
+     * @return List of debts that were settled
+     */
+    List<Debt> settleUnsettledDebtsByIds(Collection<String> debtIds, LocalDateTime settledAt,
+            String paymentMethod, String notes);
+}
@@ -0,0 +1,104 @@
+package com.nexsplit.repository;
+
+import com.nexsplit.model.Debt;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of {@link DebtRepositoryCustom}.
+ *
+ * Pending changes are flushed and the persistence context is cleared before
+ * each statement. Otherwise a Debt already loaded in the session would be
+ * returned in its stale unsettled state instead of the RETURNING row.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public class DebtRepositoryCustomImpl implements DebtRepositoryCustom {
+
+    /**
+     * Pairs are matched as row values against the unnested arrays, so the
+     * partial (debtor_id, creditor_id) index on unsettled debts can be used.
+     * The arrays are cast to the column type to keep the comparison indexable.
+     */
+    private static final String SETTLE_BETWEEN_PAIRS = """
+            UPDATE debts d
+            SET settled_at = :settledAt,
+                payment_method = :paymentMethod,
+                notes = :notes,
+                modified_at = CURRENT_TIMESTAMP
+            FROM expenses e
+            WHERE d.expense_id = e.id
+            AND e.nex_id = :nexId
+            AND d.settled_at IS NULL
+            AND (d.debtor_id, d.creditor_id) IN (
+                SELECT * FROM unnest(CAST(:debtorIds AS CHAR(36)[]), CAST(:creditorIds AS CHAR(36)[])))
+            RETURNING d.*
+            """;
+
+    private static final String SETTLE_BY_IDS = """
+            UPDATE debts
+            SET settled_at = :settledAt,
+                payment_method = :paymentMethod,
+                notes = :notes,
+                modified_at = CURRENT_TIMESTAMP
+            WHERE id IN (:debtIds)
+            AND settled_at IS NULL
+            RETURNING *
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Debt> settleUnsettledDebtsBetweenPairs(String nexId, String[] debtorIds, String[] creditorIds,
+            LocalDateTime settledAt, String paymentMethod, String notes) {
+        if (debtorIds.length != creditorIds.length) {
+            throw new IllegalArgumentException("Debtor and creditor arrays must have the same length");
+        }
+        if (debtorIds.length == 0) {
+            return List.of();
+        }
+
+        flushAndClear();
+        return castList(entityManager.createNativeQuery(SETTLE_BETWEEN_PAIRS, Debt.class)
+                .setParameter("nexId", nexId)
+                .setParameter("debtorIds", debtorIds)
+                .setParameter("creditorIds", creditorIds)
+                .setParameter("settledAt", settledAt)
+                .setParameter("paymentMethod", paymentMethod)
+                .setParameter("notes", notes)
+                .getResultList());
+    }
+
+    @Override
+    public List<Debt> settleUnsettledDebtsByIds(Collection<String> debtIds, LocalDateTime settledAt,
+            String paymentMethod, String notes) {
+        if (debtIds.isEmpty()) {
+            return List.of();
+        }
+
+        flushAndClear();
+        return castList(entityManager.createNativeQuery(SETTLE_BY_IDS, Debt.class)
+                .setParameter("debtIds", debtIds)
+                .setParameter("settledAt", settledAt)
+                .setParameter("paymentMethod", paymentMethod)
+                .setParameter("notes", notes)
+                .getResultList());
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Debt> castList(List<?> rows) {
+        return (List<Debt>) rows;
+    }
+}
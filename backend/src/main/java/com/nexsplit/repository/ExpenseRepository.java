@@ -10,6 +10,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,187 @@ import java.util.Optional;
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, String> {
 
+        /**
+         * Select list of {@link ExpenseRow}: expense columns plus the display
+         * names of the category, Nex, creator and payer. Full names follow
+         * User.getFullName.
+         */
+        String EXPENSE_ROW_SELECT = "SELECT e.id AS id, e.title AS title, e.amount AS amount, e.currency AS currency, "
+                        + "e.categoryId AS categoryId, cat.name AS categoryName, e.description AS description, "
+                        + "e.nexId AS nexId, n.name AS nexName, e.createdBy AS createdBy, "
+                        + "CASE WHEN c.firstName IS NOT NULL AND c.lastName IS NOT NULL "
+                        + "THEN CONCAT(c.firstName, ' ', c.lastName) "
+                        + "ELSE COALESCE(c.firstName, c.lastName, c.username) END AS createdByName, "
+                        + "e.payerId AS payerId, "
+                        + "CASE WHEN p.firstName IS NOT NULL AND p.lastName IS NOT NULL "
+                        + "THEN CONCAT(p.firstName, ' ', p.lastName) "
+                        + "ELSE COALESCE(p.firstName, p.lastName, p.username) END AS payerName, "
+                        + "e.splitType AS splitType, e.isInitialPayerHas AS isInitialPayerHas, "
+                        + "e.expenseDate AS expenseDate, e.createdAt AS createdAt, e.modifiedAt AS modifiedAt "
+                        + "FROM Expense e "
+                        + "LEFT JOIN e.category cat LEFT JOIN e.nex n LEFT JOIN e.creator c LEFT JOIN e.payer p ";
+
+        /**
+         * Find expense list rows by nex ID with pagination.
+         * 
+         * @param nexId    The nex ID
+         * @param pageable Pagination information
+         * @return Page of expense rows
+         */
+        @Query(value = EXPENSE_ROW_SELECT + "WHERE e.nexId = :nexId AND e.isDeleted = false",
+                        countQuery = "SELECT COUNT(e) FROM Expense e WHERE e.nexId = :nexId AND e.isDeleted = false")
+        Page<ExpenseRow> findRowsByNexId(@Param("nexId") String nexId, Pageable pageable);
+
+        /**
+         * Find expense list rows where a user is the payer or has a split,
+         * with pagination.
+         * 
+         * @param userId   The user ID
+         * @param pageable Pagination information
+         * @return Page of expense rows
+         */
+        @Query(value = EXPENSE_ROW_SELECT + "WHERE e.isDeleted = false AND (e.payerId = :userId "
+                        + "OR EXISTS (SELECT 1 FROM Split s WHERE s.id.expenseId = e.id AND s.id.userId = :userId))",
+                        countQuery = "SELECT COUNT(e) FROM Expense e WHERE e.isDeleted = false AND (e.payerId = :userId "
+                                        + "OR EXISTS (SELECT 1 FROM Split s WHERE s.id.expenseId = e.id AND s.id.userId = :userId))")
+        Page<ExpenseRow> findRowsByUserInvolvement(@Param("userId") String userId, Pageable pageable);
+
+        /**
+         * Find expense list rows by expense date range with pagination.
+         * 
+         * @param startDate Start of the range
+         * @param endDate   End of the range
+         * @param pageable  Pagination information
+         * @return Page of expense rows
+         */
+        @Query(value = EXPENSE_ROW_SELECT
+                        + "WHERE e.expenseDate BETWEEN :startDate AND :endDate AND e.isDeleted = false",
+                        countQuery = "SELECT COUNT(e) FROM Expense e "
+                                        + "WHERE e.expenseDate BETWEEN :startDate AND :endDate AND e.isDeleted = false")
+        Page<ExpenseRow> findRowsByExpenseDateBetween(@Param("startDate") LocalDateTime startDate,
+                        @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+        /**
+         * Find expense list rows by ID, leaving out deleted expenses. Rows
+         * come back in no particular order.
+         * 
+         * @param expenseIds The expense IDs
+         * @return List of expense rows
+         */
+        @Query(EXPENSE_ROW_SELECT + "WHERE e.id IN :expenseIds AND e.isDeleted = false")
+        List<ExpenseRow> findRowsByIds(@Param("expenseIds") Collection<String> expenseIds);
+
+        /**
+         * Count expenses where a user is the payer or has a split.
+         * 
+         * @param userId The user ID
+         * @return Number of expenses
+         */
+        @Query("SELECT COUNT(e) FROM Expense e WHERE e.isDeleted = false AND (e.payerId = :userId "
+                        + "OR EXISTS (SELECT 1 FROM Split s WHERE s.id.expenseId = e.id AND s.id.userId = :userId))")
+        long countByUserInvolvement(@Param("userId") String userId);
+
+        /**
+         * Find the IDs of the first page of a nex's expense feed, newest
+         * expense date first. Ordered by (expense_date, id) so later pages can
+         * continue from a keyset cursor.
+         * 
+         * @param nexId The nex ID
+         * @param limit Maximum number of expenses
+         * @return Expense IDs in feed order
+         */
+        @Query(value = """
+                        SELECT e.id FROM expenses e
+                        WHERE e.nex_id = :nexId AND e.is_deleted = false
+                        ORDER BY e.expense_date DESC, e.id DESC
+                        LIMIT :limit
+                        """, nativeQuery = true)
+        List<String> findFeedIdsByNexId(@Param("nexId") String nexId, @Param("limit") int limit);
+
+        /**
+         * Find the IDs of the page of a nex's expense feed that follows a
+         * keyset cursor.
+         * 
+         * @param nexId             The nex ID
+         * @param cursorExpenseDate Expense date of the last expense on the
+         *                          previous page
+         * @param cursorExpenseId   ID of the last expense on the previous page
+         * @param limit             Maximum number of expenses
+         * @return Expense IDs in feed order
+         */
+        @Query(value = """
+                        SELECT e.id FROM expenses e
+                        WHERE e.nex_id = :nexId AND e.is_deleted = false
+                        AND (e.expense_date, e.id) < (:cursorExpenseDate, :cursorExpenseId)
+                        ORDER BY e.expense_date DESC, e.id DESC
+                        LIMIT :limit
+                        """, nativeQuery = true)
+        List<String> findFeedIdsByNexIdAfter(@Param("nexId") String nexId,
+                        @Param("cursorExpenseDate") LocalDateTime cursorExpenseDate,
+                        @Param("cursorExpenseId") String cursorExpenseId,
+                        @Param("limit") int limit);
+
+        /**
+         * Find the IDs of the first page of a user's involvement feed, newest
+         * expense date first. Expenses the user paid and expenses the user has
+         * a split in are each limited in feed order before they are merged.
+         * 
+         * @param userId The user ID
+         * @param limit  Maximum number of expenses
+         * @return Expense IDs in feed order
+         */
+        @Query(value = """
+                        SELECT f.id FROM (
+                            (SELECT e.id, e.expense_date FROM expenses e
+                             WHERE e.payer_id = :userId AND e.is_deleted = false
+                             ORDER BY e.expense_date DESC, e.id DESC
+                             LIMIT :limit)
+                            UNION
+                            (SELECT e.id, e.expense_date FROM splits s
+                             JOIN expenses e ON e.id = s.expense_id
+                             WHERE s.user_id = :userId AND e.is_deleted = false
+                             ORDER BY e.expense_date DESC, e.id DESC
+                             LIMIT :limit)
+                        ) f
+                        ORDER BY f.expense_date DESC, f.id DESC
+                        LIMIT :limit
+                        """, nativeQuery = true)
+        List<String> findFeedIdsByUserInvolvement(@Param("userId") String userId, @Param("limit") int limit);
+
+        /**
+         * Find the IDs of the page of a user's involvement feed that follows a
+         * keyset cursor.
+         * 
+         * @param userId            The user ID
+         * @param cursorExpenseDate Expense date of the last expense on the
+         *                          previous page
+         * @param cursorExpenseId   ID of the last expense on the previous page
+         * @param limit             Maximum number of expenses
+         * @return Expense IDs in feed order
+         */
+        @Query(value = """
+                        SELECT f.id FROM (
+                            (SELECT e.id, e.expense_date FROM expenses e
+                             WHERE e.payer_id = :userId AND e.is_deleted = false
+                             AND (e.expense_date, e.id) < (:cursorExpenseDate, :cursorExpenseId)
+                             ORDER BY e.expense_date DESC, e.id DESC
+                             LIMIT :limit)
+                            UNION
+                            (SELECT e.id, e.expense_date FROM splits s
+                             JOIN expenses e ON e.id = s.expense_id
+                             WHERE s.user_id = :userId AND e.is_deleted = false
+                             AND (e.expense_date, e.id) < (:cursorExpenseDate, :cursorExpenseId)
+                             ORDER BY e.expense_date DESC, e.id DESC
+                             LIMIT :limit)
+                        ) f
+                        ORDER BY f.expense_date DESC, f.id DESC
+                        LIMIT :limit
+                        """, nativeQuery = true)
+        List<String> findFeedIdsByUserInvolvementAfter(@Param("userId") String userId,
+                        @Param("cursorExpenseDate") LocalDateTime cursorExpenseDate,
+                        @Param("cursorExpenseId") String cursorExpenseId,
+                        @Param("limit") int limit);
+
         /**
          * Find expenses by nex ID with pagination.
          * 
@@ -45,6 +227,15 @@ public interface ExpenseRepository extends JpaRepository<Expense, String> {
          */
         Optional<Expense> findByIdAndIsDeletedFalse(String expenseId);
 
+        /**
+         * Find the nex ID of an expense without loading the entity.
+         * 
+         * @param expenseId The expense ID
+         * @return Optional nex ID
+         */
+        @Query("SELECT e.nexId FROM Expense e WHERE e.id = :expenseId")
+        Optional<String> findNexIdById(@Param("expenseId") String expenseId);
+
         /**
          * Find expenses by category ID.
          * 
@@ -61,6 +252,33 @@ public interface ExpenseRepository extends JpaRepository<Expense, String> {
          */
         List<Expense> findByPayerIdAndIsDeletedFalseOrderByCreatedAtDesc(String payerId);
 
+        /**
+         * Find expense list rows by payer ID in Nexes where a user is an
+         * active member, with pagination.
+         * 
+         * @param payerId  The payer ID
+         * @param userId   The user the expenses must be visible to
+         * @param pageable Pagination information
+         * @return Page of expense rows
+         */
+        @Query(value = EXPENSE_ROW_SELECT + """
+                        WHERE e.payerId = :payerId
+                        AND e.isDeleted = false
+                        AND EXISTS (SELECT 1 FROM NexMember nm
+                                WHERE nm.id.nexId = e.nexId AND nm.id.userId = :userId
+                                AND nm.status = 'ACTIVE' AND nm.isDeleted = false)
+                        ORDER BY e.createdAt DESC
+                        """, countQuery = """
+                        SELECT COUNT(e) FROM Expense e
+                        WHERE e.payerId = :payerId
+                        AND e.isDeleted = false
+                        AND EXISTS (SELECT 1 FROM NexMember nm
+                                WHERE nm.id.nexId = e.nexId AND nm.id.userId = :userId
+                                AND nm.status = 'ACTIVE' AND nm.isDeleted = false)
+                        """)
+        Page<ExpenseRow> findVisibleRowsByPayerId(@Param("payerId") String payerId, @Param("userId") String userId,
+                        Pageable pageable);
+
         /**
          * Find expenses by creator ID.
          * 
@@ -187,6 +405,37 @@ public interface ExpenseRepository extends JpaRepository<Expense, String> {
                         @Param("userId") String userId,
                         Pageable pageable);
 
+        /**
+         * Full-text search of expenses in Nexes where a user is an active
+         * member, ranked by relevance and then by creation time. Returns the
+         * IDs only; the list rows are fetched with {@link #findRowsByIds}.
+         * 
+         * @param userId   The user the expenses must be visible to
+         * @param tsQuery  tsquery text, see ExpenseSearchQuery
+         * @param pageable Pagination information (unsorted)
+         * @return Page of expense IDs in rank order
+         */
+        @Query(value = """
+                        SELECT e.id FROM expenses e
+                        JOIN nex_members nm ON nm.nex_id = e.nex_id
+                        WHERE nm.user_id = :userId
+                        AND nm.status = 'ACTIVE'
+                        AND nm.is_deleted = false
+                        AND e.is_deleted = false
+                        AND e.search_vector @@ to_tsquery('simple', :tsQuery)
+                        ORDER BY ts_rank(e.search_vector, to_tsquery('simple', :tsQuery)) DESC, e.created_at DESC, e.id
+                        """, countQuery = """
+                        SELECT COUNT(*) FROM expenses e
+                        JOIN nex_members nm ON nm.nex_id = e.nex_id
+                        WHERE nm.user_id = :userId
+                        AND nm.status = 'ACTIVE'
+                        AND nm.is_deleted = false
+                        AND e.is_deleted = false
+                        AND e.search_vector @@ to_tsquery('simple', :tsQuery)
+                        """, nativeQuery = true)
+        Page<String> searchVisibleIdsByFullText(@Param("userId") String userId, @Param("tsQuery") String tsQuery,
+                        Pageable pageable);
+
         /**
          * Search expenses by title or description.
          * 
@@ -267,4 +516,45 @@ public interface ExpenseRepository extends JpaRepository<Expense, String> {
         @Query("UPDATE Expense e SET e.isDeleted = true, e.deletedAt = CURRENT_TIMESTAMP, e.deletedBy = :deletedBy " +
                         "WHERE e.id = :expenseId")
         void softDeleteById(@Param("expenseId") String expenseId, @Param("deletedBy") String deletedBy);
+
+        /**
+         * Expense with the display fields of a list entry.
+         */
+        interface ExpenseRow {
+                String getId();
+
+                String getTitle();
+
+                BigDecimal getAmount();
+
+                String getCurrency();
+
+                String getCategoryId();
+
+                String getCategoryName();
+
+                String getDescription();
+
+                String getNexId();
+
+                String getNexName();
+
+                String getCreatedBy();
+
+                String getCreatedByName();
+
+                String getPayerId();
+
+                String getPayerName();
+
+                Expense.SplitType getSplitType();
+
+                Boolean getIsInitialPayerHas();
+
+                LocalDateTime getExpenseDate();
+
+                LocalDateTime getCreatedAt();
+
+                LocalDateTime getModifiedAt();
+        }
 }
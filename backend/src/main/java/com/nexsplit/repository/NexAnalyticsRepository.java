@@ -15,7 +15,9 @@ import java.util.Optional;
  * Repository for nex analytics operations using database views.
  * 
  * This repository provides optimized queries for nex analytics and insights
- * using the nex_analytics_view as the primary data access method.
+ * using the nex_analytics_view as the primary data access method. The view
+ * reads the figures from the nex_analytics_rollups table and never
+ * aggregates the source tables.
  * 
  * @author NexSplit Team
  * @version 1.0
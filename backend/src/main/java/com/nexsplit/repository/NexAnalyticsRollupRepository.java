@@ -0,0 +1,182 @@
+package com.nexsplit.repository;
+
+import com.nexsplit.model.NexAnalyticsRollup;
+import com.nexsplit.service.analytics.NexAnalyticsDelta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the per-Nex analytics rollup.
+ *
+ * Rollups are adjusted with atomic upserts so concurrent writers on the same
+ * Nex never lose an update. nex_analytics_source_view computes the same
+ * figures from the source tables for rebuilds and re-checks.
+ */
+@Repository
+public interface NexAnalyticsRollupRepository extends JpaRepository<NexAnalyticsRollup, String> {
+
+        /**
+         * Add a delta to the rollup of a Nex, creating the row if needed.
+         * Expense extremes and activity dates are widened, never narrowed.
+         *
+         * @param nexId The nex ID
+         * @param delta The change to apply
+         */
+        @Modifying
+        @Query(value = """
+                        INSERT INTO nex_analytics_rollups (nex_id, total_members, active_members, admin_count,
+                            total_expenses, total_expense_amount, max_expense_amount, min_expense_amount,
+                            total_debts, unsettled_debts, unsettled_debt_amount, total_categories,
+                            default_categories, total_bills, paid_bills, total_bill_amount,
+                            last_expense_date, last_debt_date, last_bill_date, modified_at)
+                        VALUES (:nexId, :#{#delta.members}, :#{#delta.activeMembers}, :#{#delta.admins},
+                            :#{#delta.expenses}, :#{#delta.expenseAmount},
+                            CAST(:#{#delta.maxExpenseAmount} AS DECIMAL(15,2)),
+                            CAST(:#{#delta.minExpenseAmount} AS DECIMAL(15,2)),
+                            :#{#delta.debts}, :#{#delta.unsettledDebts}, :#{#delta.unsettledDebtAmount},
+                            :#{#delta.categories}, :#{#delta.defaultCategories},
+                            :#{#delta.bills}, :#{#delta.paidBills}, :#{#delta.billAmount},
+                            CAST(:#{#delta.lastExpenseAt} AS TIMESTAMP),
+                            CAST(:#{#delta.lastDebtAt} AS TIMESTAMP),
+                            CAST(:#{#delta.lastBillAt} AS TIMESTAMP),
+                            CURRENT_TIMESTAMP)
+                        ON CONFLICT (nex_id) DO UPDATE SET
+                            total_members = nex_analytics_rollups.total_members + EXCLUDED.total_members,
+                            active_members = nex_analytics_rollups.active_members + EXCLUDED.active_members,
+                            admin_count = nex_analytics_rollups.admin_count + EXCLUDED.admin_count,
+                            total_expenses = nex_analytics_rollups.total_expenses + EXCLUDED.total_expenses,
+                            total_expense_amount = nex_analytics_rollups.total_expense_amount
+                                + EXCLUDED.total_expense_amount,
+                            max_expense_amount = GREATEST(nex_analytics_rollups.max_expense_amount,
+                                EXCLUDED.max_expense_amount),
+                            min_expense_amount = LEAST(nex_analytics_rollups.min_expense_amount,
+                                EXCLUDED.min_expense_amount),
+                            total_debts = nex_analytics_rollups.total_debts + EXCLUDED.total_debts,
+                            unsettled_debts = nex_analytics_rollups.unsettled_debts + EXCLUDED.unsettled_debts,
+                            unsettled_debt_amount = nex_analytics_rollups.unsettled_debt_amount
+                                + EXCLUDED.unsettled_debt_amount,
+                            total_categories = nex_analytics_rollups.total_categories + EXCLUDED.total_categories,
+                            default_categories = nex_analytics_rollups.default_categories
+                                + EXCLUDED.default_categories,
+                            total_bills = nex_analytics_rollups.total_bills + EXCLUDED.total_bills,
+                            paid_bills = nex_analytics_rollups.paid_bills + EXCLUDED.paid_bills,
+                            total_bill_amount = nex_analytics_rollups.total_bill_amount + EXCLUDED.total_bill_amount,
+                            last_expense_date = GREATEST(nex_analytics_rollups.last_expense_date,
+                                EXCLUDED.last_expense_date),
+                            last_debt_date = GREATEST(nex_analytics_rollups.last_debt_date, EXCLUDED.last_debt_date),
+                            last_bill_date = GREATEST(nex_analytics_rollups.last_bill_date, EXCLUDED.last_bill_date),
+                            modified_at = CURRENT_TIMESTAMP
+                        """, nativeQuery = true)
+        void applyDelta(@Param("nexId") String nexId, @Param("delta") NexAnalyticsDelta delta);
+
+        /**
+         * Recompute the expense extremes and the expense and debt activity
+         * dates of a Nex, which deltas cannot narrow after a removal.
+         *
+         * @param nexId The nex ID
+         */
+        @Modifying
+        @Query(value = """
+                        UPDATE nex_analytics_rollups
+                        SET max_expense_amount = (SELECT MAX(x.amount) FROM expenses x
+                                                  WHERE x.nex_id = :nexId AND x.is_deleted = false),
+                            min_expense_amount = (SELECT MIN(x.amount) FROM expenses x
+                                                  WHERE x.nex_id = :nexId AND x.is_deleted = false),
+                            last_expense_date = (SELECT MAX(x.created_at) FROM expenses x
+                                                 WHERE x.nex_id = :nexId AND x.is_deleted = false),
+                            last_debt_date = (SELECT MAX(d.created_at) FROM debts d
+                                              JOIN expenses x ON d.expense_id = x.id
+                                              WHERE x.nex_id = :nexId AND x.is_deleted = false
+                                              AND d.is_deleted = false),
+                            modified_at = CURRENT_TIMESTAMP
+                        WHERE nex_id = :nexId
+                        """, nativeQuery = true)
+        void refreshExpenseExtremes(@Param("nexId") String nexId);
+
+        /**
+         * Recompute the rollup of a Nex from the source tables.
+         *
+         * @param nexId The nex ID
+         */
+        @Modifying
+        @Query(value = """
+                        INSERT INTO nex_analytics_rollups (nex_id, total_members, active_members, admin_count,
+                            total_expenses, total_expense_amount, max_expense_amount, min_expense_amount,
+                            total_debts, unsettled_debts, unsettled_debt_amount, total_categories,
+                            default_categories, total_bills, paid_bills, total_bill_amount,
+                            last_expense_date, last_debt_date, last_bill_date, modified_at)
+                        SELECT nex_id, total_members, active_members, admin_count,
+                            total_expenses, total_expense_amount, max_expense_amount, min_expense_amount,
+                            total_debts, unsettled_debts, unsettled_debt_amount, total_categories,
+                            default_categories, total_bills, paid_bills, total_bill_amount,
+                            last_expense_date, last_debt_date, last_bill_date, CURRENT_TIMESTAMP
+                        FROM nex_analytics_source_view
+                        WHERE nex_id = :nexId
+                        ON CONFLICT (nex_id) DO UPDATE SET
+                            total_members = EXCLUDED.total_members,
+                            active_members = EXCLUDED.active_members,
+                            admin_count = EXCLUDED.admin_count,
+                            total_expenses = EXCLUDED.total_expenses,
+                            total_expense_amount = EXCLUDED.total_expense_amount,
+                            max_expense_amount = EXCLUDED.max_expense_amount,
+                            min_expense_amount = EXCLUDED.min_expense_amount,
+                            total_debts = EXCLUDED.total_debts,
+                            unsettled_debts = EXCLUDED.unsettled_debts,
+                            unsettled_debt_amount = EXCLUDED.unsettled_debt_amount,
+                            total_categories = EXCLUDED.total_categories,
+                            default_categories = EXCLUDED.default_categories,
+                            total_bills = EXCLUDED.total_bills,
+                            paid_bills = EXCLUDED.paid_bills,
+                            total_bill_amount = EXCLUDED.total_bill_amount,
+                            last_expense_date = EXCLUDED.last_expense_date,
+                            last_debt_date = EXCLUDED.last_debt_date,
+                            last_bill_date = EXCLUDED.last_bill_date,
+                            modified_at = EXCLUDED.modified_at
+                        """, nativeQuery = true)
+        void rebuild(@Param("nexId") String nexId);
+
+        /**
+         * Compare the rollups of the next batch of Nexes with the source
+         * tables, in Nex ID order.
+         *
+         * @param afterNexId Last Nex ID of the previous batch ("" for the first)
+         * @param limit      Batch size
+         * @return One row per Nex, flagged when its rollup differs
+         */
+        @Query(value = """
+                        SELECT s.nex_id as nexId,
+                               (a.nex_id IS NULL
+                                OR (s.total_members, s.active_members, s.admin_count, s.total_expenses,
+                                    s.total_expense_amount, s.max_expense_amount, s.min_expense_amount,
+                                    s.total_debts, s.unsettled_debts, s.unsettled_debt_amount,
+                                    s.total_categories, s.default_categories, s.total_bills, s.paid_bills,
+                                    s.total_bill_amount, s.last_expense_date, s.last_debt_date, s.last_bill_date)
+                                IS DISTINCT FROM
+                                   (a.total_members, a.active_members, a.admin_count, a.total_expenses,
+                                    a.total_expense_amount, a.max_expense_amount, a.min_expense_amount,
+                                    a.total_debts, a.unsettled_debts, a.unsettled_debt_amount,
+                                    a.total_categories, a.default_categories, a.total_bills, a.paid_bills,
+                                    a.total_bill_amount, a.last_expense_date, a.last_debt_date, a.last_bill_date)
+                               ) as drifted
+                        FROM nex_analytics_source_view s
+                        LEFT JOIN nex_analytics_rollups a ON a.nex_id = s.nex_id
+                        WHERE s.nex_id > :afterNexId
+                        ORDER BY s.nex_id
+                        LIMIT :limit
+                        """, nativeQuery = true)
+        List<RecheckRow> recheckBatch(@Param("afterNexId") String afterNexId, @Param("limit") int limit);
+
+        /**
+         * Result of comparing one rollup with the source tables.
+         */
+        interface RecheckRow {
+                String getNexId();
+
+                Boolean getDrifted();
+        }
+}
@@ -0,0 +1,78 @@
+package com.nexsplit.repository;
+
+import com.nexsplit.model.NexMemberBalance;
+import com.nexsplit.model.NexMemberBalanceId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Repository for the per-Nex member balance ledger.
+ * 
+ * Balances are adjusted with atomic upserts so concurrent writers on the same
+ * Nex never lose an update.
+ */
+@Repository
+public interface NexMemberBalanceRepository extends JpaRepository<NexMemberBalance, NexMemberBalanceId> {
+
+        /**
+         * Find all members of a Nex with a non-zero net balance.
+         * 
+         * @param nexId The nex ID
+         * @return List of member balances
+         */
+        @Query("SELECT b FROM NexMemberBalance b WHERE b.id.nexId = :nexId AND b.netBalance <> 0")
+        List<NexMemberBalance> findNonZeroByNexId(@Param("nexId") String nexId);
+
+        /**
+         * Add a delta to a member's net balance, creating the row if needed.
+         * 
+         * @param nexId  The nex ID
+         * @param userId The user ID
+         * @param delta  Amount to add (negative to subtract)
+         */
+        @Modifying
+        @Query(value = """
+                        INSERT INTO nex_member_balances (nex_id, user_id, net_balance, modified_at)
+                        VALUES (:nexId, :userId, :delta, CURRENT_TIMESTAMP)
+                        ON CONFLICT (nex_id, user_id)
+                        DO UPDATE SET net_balance = nex_member_balances.net_balance + EXCLUDED.net_balance,
+                                      modified_at = CURRENT_TIMESTAMP
+                        """, nativeQuery = true)
+        void applyDelta(@Param("nexId") String nexId, @Param("userId") String userId,
+                        @Param("delta") BigDecimal delta);
+
+        /**
+         * Remove all member balances for a Nex.
+         * 
+         * @param nexId The nex ID
+         */
+        @Modifying
+        @Query(value = "DELETE FROM nex_member_balances WHERE nex_id = :nexId", nativeQuery = true)
+        void deleteByNexId(@Param("nexId") String nexId);
+
+        /**
+         * Recompute member balances for a Nex from the pair ledger.
+         * 
+         * @param nexId The nex ID
+         */
+        @Modifying
+        @Query(value = """
+                        INSERT INTO nex_member_balances (nex_id, user_id, net_balance, modified_at)
+                        SELECT nex_id, user_id, SUM(delta), CURRENT_TIMESTAMP
+                        FROM (
+                            SELECT nex_id, creditor_id AS user_id, amount AS delta
+                            FROM nex_pair_balances WHERE nex_id = :nexId
+                            UNION ALL
+                            SELECT nex_id, debtor_id AS user_id, -amount AS delta
+                            FROM nex_pair_balances WHERE nex_id = :nexId
+                        ) deltas
+                        GROUP BY nex_id, user_id
+                        """, nativeQuery = true)
+        void rebuildFromPairBalances(@Param("nexId") String nexId);
+}
@@ -0,0 +1,144 @@
+package com.nexsplit.repository;
+
+import com.nexsplit.model.NexPairBalance;
+import com.nexsplit.model.NexPairBalanceId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Repository for the per-Nex (debtor, creditor) balance ledger.
+ * 
+ * Balances are adjusted with atomic upserts so concurrent writers on the same
+ * Nex never lose an update.
+ */
+@Repository
+public interface NexPairBalanceRepository extends JpaRepository<NexPairBalance, NexPairBalanceId> {
+
+        /**
+         * Find all outstanding (debtor, creditor) balances in a Nex.
+         * 
+         * @param nexId The nex ID
+         * @return List of pair balances with a non-zero amount
+         */
+        @Query("SELECT b FROM NexPairBalance b WHERE b.id.nexId = :nexId AND b.amount <> 0")
+        List<NexPairBalance> findNonZeroByNexId(@Param("nexId") String nexId);
+
+        /**
+         * Add a delta to a pair balance, creating the row if needed.
+         * 
+         * @param nexId      The nex ID
+         * @param debtorId   The debtor ID
+         * @param creditorId The creditor ID
+         * @param delta      Amount to add (negative to subtract)
+         */
+        @Modifying
+        @Query(value = """
+                        INSERT INTO nex_pair_balances (nex_id, debtor_id, creditor_id, amount, modified_at)
+                        VALUES (:nexId, :debtorId, :creditorId, :delta, CURRENT_TIMESTAMP)
+                        ON CONFLICT (nex_id, debtor_id, creditor_id)
+                        DO UPDATE SET amount = nex_pair_balances.amount + EXCLUDED.amount,
+                                      modified_at = CURRENT_TIMESTAMP
+                        """, nativeQuery = true)
+        void applyDelta(@Param("nexId") String nexId, @Param("debtorId") String debtorId,
+                        @Param("creditorId") String creditorId, @Param("delta") BigDecimal delta);
+
+        /**
+         * Remove all pair balances for a Nex.
+         * 
+         * @param nexId The nex ID
+         */
+        @Modifying
+        @Query(value = "DELETE FROM nex_pair_balances WHERE nex_id = :nexId", nativeQuery = true)
+        void deleteByNexId(@Param("nexId") String nexId);
+
+        /**
+         * Recompute pair balances for a Nex from its unsettled debts.
+         * 
+         * @param nexId The nex ID
+         */
+        @Modifying
+        @Query(value = """
+                        INSERT INTO nex_pair_balances (nex_id, debtor_id, creditor_id, amount, modified_at)
+                        SELECT e.nex_id, d.debtor_id, d.creditor_id, SUM(d.amount), CURRENT_TIMESTAMP
+                        FROM debts d
+                        JOIN expenses e ON d.expense_id = e.id
+                        WHERE e.nex_id = :nexId AND d.settled_at IS NULL
+                        GROUP BY e.nex_id, d.debtor_id, d.creditor_id
+                        """, nativeQuery = true)
+        void rebuildFromDebts(@Param("nexId") String nexId);
+
+        /**
+         * Compare the pair and member ledgers of the next batch of Nexes with
+         * their unsettled debts, in Nex ID order. Zero balances are ignored on
+         * both sides, like in {@link #findNonZeroByNexId}.
+         *
+         * @param afterNexId Last Nex ID of the previous batch ("" for the first)
+         * @param limit      Batch size
+         * @return One row per Nex, flagged when its ledger differs
+         */
+        @Query(value = """
+                        SELECT n.id as nexId,
+                               (EXISTS (
+                                    SELECT 1
+                                    FROM (
+                                        SELECT d.debtor_id, d.creditor_id, SUM(d.amount) as amount
+                                        FROM debts d
+                                        JOIN expenses e ON d.expense_id = e.id
+                                        WHERE e.nex_id = n.id AND d.settled_at IS NULL
+                                        GROUP BY d.debtor_id, d.creditor_id
+                                        HAVING SUM(d.amount) <> 0
+                                    ) s
+                                    FULL JOIN (
+                                        SELECT debtor_id, creditor_id, amount
+                                        FROM nex_pair_balances
+                                        WHERE nex_id = n.id AND amount <> 0
+                                    ) b ON b.debtor_id = s.debtor_id AND b.creditor_id = s.creditor_id
+                                    WHERE s.amount IS DISTINCT FROM b.amount
+                                )
+                                OR EXISTS (
+                                    SELECT 1
+                                    FROM (
+                                        SELECT user_id, SUM(delta) as net_balance
+                                        FROM (
+                                            SELECT d.creditor_id as user_id, d.amount as delta
+                                            FROM debts d
+                                            JOIN expenses e ON d.expense_id = e.id
+                                            WHERE e.nex_id = n.id AND d.settled_at IS NULL
+                                            UNION ALL
+                                            SELECT d.debtor_id as user_id, -d.amount as delta
+                                            FROM debts d
+                                            JOIN expenses e ON d.expense_id = e.id
+                                            WHERE e.nex_id = n.id AND d.settled_at IS NULL
+                                        ) deltas
+                                        GROUP BY user_id
+                                        HAVING SUM(delta) <> 0
+                                    ) s
+                                    FULL JOIN (
+                                        SELECT user_id, net_balance
+                                        FROM nex_member_balances
+                                        WHERE nex_id = n.id AND net_balance <> 0
+                                    ) b ON b.user_id = s.user_id
+                                    WHERE s.net_balance IS DISTINCT FROM b.net_balance
+                                )) as drifted
+                        FROM nex n
+                        WHERE n.id > :afterNexId
+                        ORDER BY n.id
+                        LIMIT :limit
+                        """, nativeQuery = true)
+        List<RecheckRow> recheckBatch(@Param("afterNexId") String afterNexId, @Param("limit") int limit);
+
+        /**
+         * Result of comparing one Nex's ledger with its debts.
+         */
+        interface RecheckRow {
+                String getNexId();
+
+                Boolean getDrifted();
+        }
+}
@@ -4,6 +4,7 @@ import com.nexsplit.model.Nex;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -31,4 +32,11 @@ public interface NexRepository extends SoftDeleteRepository<Nex, String> {
 
     @Query("SELECT n FROM Nex n WHERE n.nexType = :nexType AND n.isDeleted = false")
     List<Nex> findByNexType(@Param("nexType") Nex.NexType nexType);
+
+    @Query(value = "SELECT ledger_version FROM nex WHERE id = :nexId", nativeQuery = true)
+    Optional<Long> findLedgerVersion(@Param("nexId") String nexId);
+
+    @Modifying
+    @Query(value = "UPDATE nex SET ledger_version = ledger_version + 1 WHERE id = :nexId", nativeQuery = true)
+    int incrementLedgerVersion(@Param("nexId") String nexId);
 }
@@ -117,24 +117,4 @@ public interface NotificationRepository extends JpaRepository<Notification, Stri
                         "LEFT JOIN FETCH n.nex " +
                         "WHERE n.userId = :userId AND n.isRead = false ORDER BY n.createdAt DESC")
         Page<Notification> findUnreadByUserIdPaginated(@Param("userId") String userId, Pageable pageable);
-
-        /**
-         * Count read notifications created before the specified date.
-         * Used for scheduled cleanup to track how many notifications will be deleted.
-         * 
-         * @param cutoffDate The cutoff date
-         * @return Count of read notifications older than cutoff date
-         */
-        @Query("SELECT COUNT(n) FROM Notification n WHERE n.createdAt < :cutoffDate AND n.isRead = true")
-        long countByCreatedAtBeforeAndIsReadTrue(@Param("cutoffDate") java.time.LocalDateTime cutoffDate);
-
-        /**
-         * Delete read notifications created before the specified date.
-         * Used for scheduled cleanup to remove old read notifications.
-         * 
-         * @param cutoffDate The cutoff date
-         */
-        @Modifying
-        @Query("DELETE FROM Notification n WHERE n.createdAt < :cutoffDate AND n.isRead = true")
-        void deleteByCreatedAtBeforeAndIsReadTrue(@Param("cutoffDate") java.time.LocalDateTime cutoffDate);
 }
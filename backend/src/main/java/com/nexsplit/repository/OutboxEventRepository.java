@@ -0,0 +1,104 @@
+package com.nexsplit.repository;
+
+import com.nexsplit.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the transactional outbox.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+        /**
+         * Take the dispatcher lock for the current transaction. Only one
+         * instance dispatches at a time, which keeps per-Nex ordering across
+         * instances.
+         *
+         * @param lockKey Advisory lock key
+         * @return true if the lock was taken
+         */
+        @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+        boolean tryDispatcherLock(@Param("lockKey") long lockKey);
+
+        /**
+         * Find due pending events in id order. An event is skipped while an
+         * earlier event of the same Nex is still waiting for a retry, so the
+         * events of one Nex are never dispatched out of order.
+         *
+         * @param now   Current time
+         * @param limit Maximum number of events
+         * @return Dispatchable events in id order
+         */
+        @Query(value = """
+                        SELECT e.* FROM outbox_events e
+                        WHERE e.status = 'PENDING'
+                          AND e.next_attempt_at <= :now
+                          AND NOT EXISTS (
+                              SELECT 1 FROM outbox_events b
+                              WHERE b.status = 'PENDING'
+                                AND b.nex_id = e.nex_id
+                                AND b.id < e.id
+                                AND b.next_attempt_at > :now)
+                        ORDER BY e.id
+                        LIMIT :limit
+                        """, nativeQuery = true)
+        List<OutboxEvent> findDispatchable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+        /**
+         * Creation time of the oldest pending event, for lag monitoring.
+         *
+         * @return Oldest pending creation time, empty if none is pending
+         */
+        @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.status = com.nexsplit.model.OutboxEvent.Status.PENDING")
+        Optional<LocalDateTime> findOldestPendingCreatedAt();
+
+        /**
+         * Mark an event as dispatched.
+         *
+         * @param id          The event ID
+         * @param processedAt Dispatch time
+         */
+        @Modifying
+        @Query(value = """
+                        UPDATE outbox_events
+                        SET status = 'PROCESSED', attempts = attempts + 1, processed_at = :processedAt, last_error = NULL
+                        WHERE id = :id
+                        """, nativeQuery = true)
+        void markProcessed(@Param("id") Long id, @Param("processedAt") LocalDateTime processedAt);
+
+        /**
+         * Record a failed dispatch attempt.
+         *
+         * @param id            The event ID
+         * @param status        PENDING to retry, FAILED to give up
+         * @param nextAttemptAt Time of the next attempt
+         * @param lastError     Failure message
+         */
+        @Modifying
+        @Query(value = """
+                        UPDATE outbox_events
+                        SET status = :status, attempts = attempts + 1, next_attempt_at = :nextAttemptAt,
+                            last_error = :lastError
+                        WHERE id = :id
+                        """, nativeQuery = true)
+        void markAttemptFailed(@Param("id") Long id, @Param("status") String status,
+                        @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("lastError") String lastError);
+
+        /**
+         * Delete processed events older than the cutoff.
+         *
+         * @param cutoff Events processed before this time are deleted
+         * @return Number of deleted events
+         */
+        @Modifying
+        @Query(value = "DELETE FROM outbox_events WHERE status = 'PROCESSED' AND processed_at < :cutoff", nativeQuery = true)
+        int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -214,30 +215,163 @@ public interface SettlementRepository extends JpaRepository<SettlementHistoryVie
         Page<SettlementHistoryView> findAllPaginated(Pageable pageable);
 
         /**
-         * Find all settlements for a specific user with pagination.
+         * Find the first page of settlements for a specific user, newest first.
+         * Ordered by (debt_created_at, debt_id) so later pages can continue from
+         * a keyset cursor.
          * 
-         * @param userId   The user ID
-         * @param pageable Pagination parameters
-         * @return Page of settlement history records
+         * @param userId The user ID
+         * @param limit  Maximum number of records
+         * @return Settlement history records
+         */
+        @Query(value = """
+                        SELECT * FROM (
+                            (SELECT * FROM settlement_history_view
+                             WHERE debtor_id = :userId
+                             ORDER BY debt_created_at DESC, debt_id DESC
+                             LIMIT :limit)
+                            UNION ALL
+                            (SELECT * FROM settlement_history_view
+                             WHERE creditor_id = :userId AND debtor_id <> :userId
+                             ORDER BY debt_created_at DESC, debt_id DESC
+                             LIMIT :limit)
+                        ) h
+                        ORDER BY debt_created_at DESC, debt_id DESC
+                        LIMIT :limit
+                        """, nativeQuery = true)
+        List<SettlementHistoryView> findFirstPageByUserId(@Param("userId") String userId, @Param("limit") int limit);
+
+        /**
+         * Find the page of settlements for a specific user that follows a keyset
+         * cursor, newest first.
+         * 
+         * @param userId          The user ID
+         * @param cursorCreatedAt Creation time of the last record on the previous
+         *                        page
+         * @param cursorDebtId    Debt ID of the last record on the previous page
+         * @param limit           Maximum number of records
+         * @return Settlement history records
+         */
+        @Query(value = """
+                        SELECT * FROM (
+                            (SELECT * FROM settlement_history_view
+                             WHERE debtor_id = :userId
+                             AND (debt_created_at, debt_id) < (:cursorCreatedAt, :cursorDebtId)
+                             ORDER BY debt_created_at DESC, debt_id DESC
+                             LIMIT :limit)
+                            UNION ALL
+                            (SELECT * FROM settlement_history_view
+                             WHERE creditor_id = :userId AND debtor_id <> :userId
+                             AND (debt_created_at, debt_id) < (:cursorCreatedAt, :cursorDebtId)
+                             ORDER BY debt_created_at DESC, debt_id DESC
+                             LIMIT :limit)
+                        ) h
+                        ORDER BY debt_created_at DESC, debt_id DESC
+                        LIMIT :limit
+                        """, nativeQuery = true)
+        List<SettlementHistoryView> findPageByUserIdAfter(@Param("userId") String userId,
+                        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                        @Param("cursorDebtId") String cursorDebtId,
+                        @Param("limit") int limit);
+
+        /**
+         * Find the first page of settlements for a specific nex group, newest
+         * first. Ordered by (debt_created_at, debt_id) so later pages can
+         * continue from a keyset cursor.
+         * 
+         * @param nexId The nex ID
+         * @param limit Maximum number of records
+         * @return Settlement history records
          */
         @Query(value = """
                         SELECT * FROM settlement_history_view
-                        WHERE debtor_id = :userId OR creditor_id = :userId
-                        ORDER BY debt_created_at DESC, settled_at DESC
-                        """, countQuery = "SELECT COUNT(*) FROM settlement_history_view WHERE debtor_id = :userId OR creditor_id = :userId", nativeQuery = true)
-        Page<SettlementHistoryView> findByUserId(@Param("userId") String userId, Pageable pageable);
+                        WHERE nex_id = :nexId
+                        ORDER BY debt_created_at DESC, debt_id DESC
+                        LIMIT :limit
+                        """, nativeQuery = true)
+        List<SettlementHistoryView> findFirstPageByNexId(@Param("nexId") String nexId, @Param("limit") int limit);
 
         /**
-         * Find all settlements for a specific nex with pagination.
+         * Find the page of settlements for a specific nex group that follows a
+         * keyset cursor, newest first.
          * 
-         * @param nexId    The nex ID
-         * @param pageable Pagination parameters
-         * @return Page of settlement history records
+         * @param nexId           The nex ID
+         * @param cursorCreatedAt Creation time of the last record on the previous
+         *                        page
+         * @param cursorDebtId    Debt ID of the last record on the previous page
+         * @param limit           Maximum number of records
+         * @return Settlement history records
          */
         @Query(value = """
                         SELECT * FROM settlement_history_view
                         WHERE nex_id = :nexId
-                        ORDER BY debt_created_at DESC, settled_at DESC
-                        """, countQuery = "SELECT COUNT(*) FROM settlement_history_view WHERE nex_id = :nexId", nativeQuery = true)
-        Page<SettlementHistoryView> findByNexId(@Param("nexId") String nexId, Pageable pageable);
+                        AND (debt_created_at, debt_id) < (:cursorCreatedAt, :cursorDebtId)
+                        ORDER BY debt_created_at DESC, debt_id DESC
+                        LIMIT :limit
+                        """, nativeQuery = true)
+        List<SettlementHistoryView> findPageByNexIdAfter(@Param("nexId") String nexId,
+                        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                        @Param("cursorDebtId") String cursorDebtId,
+                        @Param("limit") int limit);
+
+        /**
+         * Aggregate settlement counts, amounts and timings for a nex group in a
+         * single pass.
+         * 
+         * @param nexId The nex ID
+         * @return Settlement aggregate
+         */
+        @Query(value = """
+                        SELECT
+                            COUNT(*) AS total_count,
+                            COUNT(settled_at) AS settled_count,
+                            COALESCE(SUM(amount), 0) AS total_amount,
+                            COALESCE(SUM(amount) FILTER (WHERE settled_at IS NOT NULL), 0) AS settled_amount,
+                            COALESCE(SUM(amount) FILTER (WHERE settled_at IS NULL), 0) AS unsettled_amount,
+                            CAST(COALESCE(AVG(settlement_hours) FILTER (WHERE settled_at IS NOT NULL), 0) AS DOUBLE PRECISION) AS average_settlement_hours,
+                            MAX(settled_at) AS last_settled_at
+                        FROM settlement_history_view
+                        WHERE nex_id = :nexId
+                        """, nativeQuery = true)
+        SettlementAggregate aggregateByNexId(@Param("nexId") String nexId);
+
+        /**
+         * Aggregate settlement counts, amounts and timings for a user (as debtor
+         * or creditor) in a single pass.
+         * 
+         * @param userId The user ID
+         * @return Settlement aggregate
+         */
+        @Query(value = """
+                        SELECT
+                            COUNT(*) AS total_count,
+                            COUNT(settled_at) AS settled_count,
+                            COALESCE(SUM(amount), 0) AS total_amount,
+                            COALESCE(SUM(amount) FILTER (WHERE settled_at IS NOT NULL), 0) AS settled_amount,
+                            COALESCE(SUM(amount) FILTER (WHERE settled_at IS NULL), 0) AS unsettled_amount,
+                            CAST(COALESCE(AVG(settlement_hours) FILTER (WHERE settled_at IS NOT NULL), 0) AS DOUBLE PRECISION) AS average_settlement_hours,
+                            MAX(settled_at) AS last_settled_at
+                        FROM settlement_history_view
+                        WHERE debtor_id = :userId OR creditor_id = :userId
+                        """, nativeQuery = true)
+        SettlementAggregate aggregateByUserId(@Param("userId") String userId);
+
+        /**
+         * Projection of a settlement aggregate row.
+         */
+        interface SettlementAggregate {
+
+                Long getTotalCount();
+
+                Long getSettledCount();
+
+                BigDecimal getTotalAmount();
+
+                BigDecimal getSettledAmount();
+
+                BigDecimal getUnsettledAmount();
+
+                Double getAverageSettlementHours();
+
+                LocalDateTime getLastSettledAt();
+        }
 }
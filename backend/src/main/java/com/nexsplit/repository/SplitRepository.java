@@ -7,6 +7,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -84,4 +87,38 @@ public interface SplitRepository extends JpaRepository<Split, SplitId> {
      * @return True if split exists
      */
     boolean existsByIdExpenseIdAndIdUserId(String expenseId, String userId);
+
+    /**
+     * Find the splits of several expenses with the display names of their
+     * users, without loading the split or user entities.
+     * 
+     * @param expenseIds The expense IDs
+     * @return List of split rows
+     */
+    @Query("SELECT s.id.expenseId AS expenseId, s.id.userId AS userId, "
+            + "CASE WHEN u.firstName IS NOT NULL AND u.lastName IS NOT NULL "
+            + "THEN CONCAT(u.firstName, ' ', u.lastName) "
+            + "ELSE COALESCE(u.firstName, u.lastName, u.username) END AS userName, "
+            + "s.percentage AS percentage, s.amount AS amount, s.createdAt AS createdAt, s.modifiedAt AS modifiedAt "
+            + "FROM Split s JOIN s.user u WHERE s.id.expenseId IN :expenseIds ORDER BY s.id.userId")
+    List<ExpenseSplitRow> findRowsByExpenseIds(@Param("expenseIds") Collection<String> expenseIds);
+
+    /**
+     * Split of a listed expense with the user's display name.
+     */
+    interface ExpenseSplitRow {
+        String getExpenseId();
+
+        String getUserId();
+
+        String getUserName();
+
+        BigDecimal getPercentage();
+
+        BigDecimal getAmount();
+
+        LocalDateTime getCreatedAt();
+
+        LocalDateTime getModifiedAt();
+    }
 }
@@ -14,7 +14,9 @@ import java.util.Optional;
  * Repository for user balance operations using database views.
  * 
  * This repository provides optimized queries for user balance calculations
- * using the user_balance_view as the primary data access method.
+ * using the user_balance_view as the primary data access method. Balance
+ * filters select users through the indexed user_balance_rollups table and
+ * only read the view for the matching users.
  * 
  * @author NexSplit Team
  * @version 1.0
@@ -41,9 +43,10 @@ public interface UserBalanceRepository extends JpaRepository<UserBalanceView, St
      * @return List of users with positive net balance
      */
     @Query(value = """
-            SELECT * FROM user_balance_view
-            WHERE net_balance > 0
-            ORDER BY net_balance DESC
+            SELECT v.* FROM user_balance_rollups r
+            JOIN user_balance_view v ON v.user_id = r.user_id
+            WHERE r.net_balance > 0
+            ORDER BY r.net_balance DESC
             """, nativeQuery = true)
     List<UserBalanceView> findUsersWithPositiveBalance();
 
@@ -53,9 +56,10 @@ public interface UserBalanceRepository extends JpaRepository<UserBalanceView, St
      * @return List of users with negative net balance
      */
     @Query(value = """
-            SELECT * FROM user_balance_view
-            WHERE net_balance < 0
-            ORDER BY net_balance ASC
+            SELECT v.* FROM user_balance_rollups r
+            JOIN user_balance_view v ON v.user_id = r.user_id
+            WHERE r.net_balance < 0
+            ORDER BY r.net_balance ASC
             """, nativeQuery = true)
     List<UserBalanceView> findUsersWithNegativeBalance();
 
@@ -77,9 +81,10 @@ public interface UserBalanceRepository extends JpaRepository<UserBalanceView, St
      * @return List of users with active debts
      */
     @Query(value = """
-            SELECT * FROM user_balance_view
-            WHERE active_debt_count > 0
-            ORDER BY active_debt_count DESC
+            SELECT v.* FROM user_balance_rollups r
+            JOIN user_balance_view v ON v.user_id = r.user_id
+            WHERE r.active_debt_count > 0
+            ORDER BY r.active_debt_count DESC
             """, nativeQuery = true)
     List<UserBalanceView> findUsersWithActiveDebts();
 
@@ -89,22 +94,29 @@ public interface UserBalanceRepository extends JpaRepository<UserBalanceView, St
      * @return List of users with active credits
      */
     @Query(value = """
-            SELECT * FROM user_balance_view
-            WHERE active_credit_count > 0
-            ORDER BY active_credit_count DESC
+            SELECT v.* FROM user_balance_rollups r
+            JOIN user_balance_view v ON v.user_id = r.user_id
+            WHERE r.active_credit_count > 0
+            ORDER BY r.active_credit_count DESC
             """, nativeQuery = true)
     List<UserBalanceView> findUsersWithActiveCredits();
 
     /**
-     * Find users with net balance within a range.
+     * Find users with net balance within a range. Users without a rollup row
+     * have a zero balance and are included when the range covers zero.
      * 
      * @param minBalance The minimum balance
      * @param maxBalance The maximum balance
      * @return List of users with balance within the range
      */
     @Query(value = """
-            SELECT * FROM user_balance_view
-            WHERE net_balance BETWEEN :minBalance AND :maxBalance
+            SELECT v.* FROM user_balance_rollups r
+            JOIN user_balance_view v ON v.user_id = r.user_id
+            WHERE r.net_balance BETWEEN :minBalance AND :maxBalance
+            UNION ALL
+            SELECT v.* FROM user_balance_view v
+            WHERE 0 BETWEEN :minBalance AND :maxBalance
+            AND NOT EXISTS (SELECT 1 FROM user_balance_rollups r WHERE r.user_id = v.user_id)
             ORDER BY net_balance DESC
             """, nativeQuery = true)
     List<UserBalanceView> findByBalanceRange(@Param("minBalance") BigDecimal minBalance,
@@ -117,9 +129,10 @@ public interface UserBalanceRepository extends JpaRepository<UserBalanceView, St
      * @return List of users with debt above threshold
      */
     @Query(value = """
-            SELECT * FROM user_balance_view
-            WHERE total_debt > :threshold
-            ORDER BY total_debt DESC
+            SELECT v.* FROM user_balance_rollups r
+            JOIN user_balance_view v ON v.user_id = r.user_id
+            WHERE r.total_debt > :threshold
+            ORDER BY r.total_debt DESC
             """, nativeQuery = true)
     List<UserBalanceView> findUsersWithDebtAbove(@Param("threshold") BigDecimal threshold);
 
@@ -130,43 +143,69 @@ public interface UserBalanceRepository extends JpaRepository<UserBalanceView, St
      * @return List of users with credit above threshold
      */
     @Query(value = """
-            SELECT * FROM user_balance_view
-            WHERE total_credit > :threshold
-            ORDER BY total_credit DESC
+            SELECT v.* FROM user_balance_rollups r
+            JOIN user_balance_view v ON v.user_id = r.user_id
+            WHERE r.total_credit > :threshold
+            ORDER BY r.total_credit DESC
             """, nativeQuery = true)
     List<UserBalanceView> findUsersWithCreditAbove(@Param("threshold") BigDecimal threshold);
 
     /**
      * Get overall balance statistics.
      * 
+     * Aggregates the rollup rather than the view; users without a rollup row
+     * count as having a zero balance.
+     * 
      * @return Overall balance statistics
      */
     @Query(value = """
+            WITH users_total AS (
+                SELECT COUNT(*) as total_users FROM users WHERE is_deleted = false
+            ),
+            balances AS (
+                SELECT
+                    COUNT(*) as users_with_row,
+                    COALESCE(SUM(r.total_debt), 0) as total_debt_amount,
+                    COALESCE(SUM(r.total_credit), 0) as total_credit_amount,
+                    COALESCE(SUM(r.net_balance), 0) as total_net_balance,
+                    MAX(r.net_balance) as max_net_balance,
+                    MIN(r.net_balance) as min_net_balance,
+                    COUNT(*) FILTER (WHERE r.net_balance > 0) as users_with_positive_balance,
+                    COUNT(*) FILTER (WHERE r.net_balance < 0) as users_with_negative_balance
+                FROM user_balance_rollups r
+                JOIN users u ON u.id = r.user_id AND u.is_deleted = false
+            )
             SELECT
-                COUNT(*) as total_users,
-                SUM(total_debt) as total_debt_amount,
-                SUM(total_credit) as total_credit_amount,
-                SUM(net_balance) as total_net_balance,
-                AVG(net_balance) as average_net_balance,
-                MAX(net_balance) as max_net_balance,
-                MIN(net_balance) as min_net_balance,
-                COUNT(CASE WHEN net_balance > 0 THEN 1 END) as users_with_positive_balance,
-                COUNT(CASE WHEN net_balance < 0 THEN 1 END) as users_with_negative_balance,
-                COUNT(CASE WHEN net_balance = 0 THEN 1 END) as users_with_zero_balance
-            FROM user_balance_view
+                t.total_users,
+                b.total_debt_amount,
+                b.total_credit_amount,
+                b.total_net_balance,
+                b.total_net_balance / NULLIF(t.total_users, 0) as average_net_balance,
+                CASE WHEN t.total_users > b.users_with_row THEN GREATEST(b.max_net_balance, 0)
+                     ELSE b.max_net_balance END as max_net_balance,
+                CASE WHEN t.total_users > b.users_with_row THEN LEAST(b.min_net_balance, 0)
+                     ELSE b.min_net_balance END as min_net_balance,
+                b.users_with_positive_balance,
+                b.users_with_negative_balance,
+                t.total_users - b.users_with_positive_balance - b.users_with_negative_balance
+                    as users_with_zero_balance
+            FROM users_total t
+            CROSS JOIN balances b
             """, nativeQuery = true)
     Optional<Object[]> getOverallBalanceStatistics();
 
     /**
-     * Find all user balances for a specific nex group.
+     * Find the balances of all members of a specific nex group. Balances
+     * cover the members' debts in every nex.
      * 
      * @param nexId The nex ID
      * @return List of user balance records
      */
     @Query(value = """
-            SELECT * FROM user_balance_view
-            WHERE nex_id = :nexId
-            ORDER BY net_balance DESC
+            SELECT v.* FROM nex_members nm
+            JOIN user_balance_view v ON v.user_id = nm.user_id
+            WHERE nm.nex_id = :nexId AND nm.is_deleted = false
+            ORDER BY v.net_balance DESC
             """, nativeQuery = true)
     List<UserBalanceView> findByNexId(@Param("nexId") String nexId);
 }
@@ -0,0 +1,125 @@
+package com.nexsplit.repository;
+
+import com.nexsplit.model.UserBalanceRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Repository for the per-user balance rollup.
+ * 
+ * Rollups are adjusted with atomic upserts so concurrent writers never lose
+ * an update, even when they change debts of the same user in different
+ * Nexes.
+ */
+@Repository
+public interface UserBalanceRollupRepository extends JpaRepository<UserBalanceRollup, String> {
+
+        /**
+         * Add deltas to a user's rollup, creating the row if needed.
+         * 
+         * @param userId           The user ID
+         * @param debtDelta        Amount to add to the user's unsettled debts
+         * @param creditDelta      Amount to add to the user's unsettled credits
+         * @param debtCountDelta   Number to add to the user's unsettled debt count
+         * @param creditCountDelta Number to add to the user's unsettled credit count
+         */
+        @Modifying
+        @Query(value = """
+                        INSERT INTO user_balance_rollups (user_id, total_debt, total_credit, active_debt_count,
+                            active_credit_count, modified_at)
+                        VALUES (:userId, :debtDelta, :creditDelta, :debtCountDelta, :creditCountDelta,
+                            CURRENT_TIMESTAMP)
+                        ON CONFLICT (user_id)
+                        DO UPDATE SET total_debt = user_balance_rollups.total_debt + EXCLUDED.total_debt,
+                                      total_credit = user_balance_rollups.total_credit + EXCLUDED.total_credit,
+                                      active_debt_count = user_balance_rollups.active_debt_count
+                                          + EXCLUDED.active_debt_count,
+                                      active_credit_count = user_balance_rollups.active_credit_count
+                                          + EXCLUDED.active_credit_count,
+                                      modified_at = CURRENT_TIMESTAMP
+                        """, nativeQuery = true)
+        void applyDelta(@Param("userId") String userId, @Param("debtDelta") BigDecimal debtDelta,
+                        @Param("creditDelta") BigDecimal creditDelta, @Param("debtCountDelta") long debtCountDelta,
+                        @Param("creditCountDelta") long creditCountDelta);
+
+        /**
+         * Create an empty rollup for every member of a Nex who has none, so
+         * {@link #lockForNexMembers} can lock all of them. Rows are inserted in
+         * user ID order.
+         * 
+         * @param nexId The nex ID
+         */
+        @Modifying
+        @Query(value = """
+                        INSERT INTO user_balance_rollups (user_id, modified_at)
+                        SELECT nm.user_id, CURRENT_TIMESTAMP
+                        FROM nex_members nm
+                        WHERE nm.nex_id = :nexId
+                        ORDER BY nm.user_id
+                        ON CONFLICT (user_id) DO NOTHING
+                        """, nativeQuery = true)
+        void insertMissingForNexMembers(@Param("nexId") String nexId);
+
+        /**
+         * Lock the rollups of every member of a Nex until the transaction
+         * ends. Rows are locked in user ID order, like applyDelta calls, so
+         * concurrent rebuilds and updates cannot deadlock.
+         * 
+         * @param nexId The nex ID
+         * @return The IDs of the locked users
+         */
+        @Query(value = """
+                        SELECT r.user_id
+                        FROM user_balance_rollups r
+                        WHERE r.user_id IN (SELECT nm.user_id FROM nex_members nm WHERE nm.nex_id = :nexId)
+                        ORDER BY r.user_id
+                        FOR UPDATE
+                        """, nativeQuery = true)
+        List<String> lockForNexMembers(@Param("nexId") String nexId);
+
+        /**
+         * Recompute the rollups of every member of a Nex from all of their
+         * unsettled debts, including debts in other Nexes.
+         * 
+         * The totals are absolute, so the rows must be locked with
+         * {@link #lockForNexMembers} first. Otherwise a delta that another
+         * Nex's write lane commits after this statement read the debts would
+         * be overwritten. With the locks held, this statement sees every delta
+         * committed before them, and later deltas wait until the rebuild
+         * commits.
+         * 
+         * @param nexId The nex ID
+         */
+        @Modifying
+        @Query(value = """
+                        INSERT INTO user_balance_rollups (user_id, total_debt, total_credit, active_debt_count,
+                            active_credit_count, modified_at)
+                        SELECT nm.user_id, owed.total, lent.total, owed.count, lent.count, CURRENT_TIMESTAMP
+                        FROM nex_members nm
+                        CROSS JOIN LATERAL (
+                            SELECT COALESCE(SUM(d.amount), 0) as total, COUNT(*) as count
+                            FROM debts d
+                            WHERE d.debtor_id = nm.user_id AND d.is_deleted = false AND d.settled_at IS NULL
+                        ) owed
+                        CROSS JOIN LATERAL (
+                            SELECT COALESCE(SUM(d.amount), 0) as total, COUNT(*) as count
+                            FROM debts d
+                            WHERE d.creditor_id = nm.user_id AND d.is_deleted = false AND d.settled_at IS NULL
+                        ) lent
+                        WHERE nm.nex_id = :nexId
+                        ORDER BY nm.user_id
+                        ON CONFLICT (user_id)
+                        DO UPDATE SET total_debt = EXCLUDED.total_debt,
+                                      total_credit = EXCLUDED.total_credit,
+                                      active_debt_count = EXCLUDED.active_debt_count,
+                                      active_credit_count = EXCLUDED.active_credit_count,
+                                      modified_at = CURRENT_TIMESTAMP
+                        """, nativeQuery = true)
+        void rebuildForNexMembers(@Param("nexId") String nexId);
+}
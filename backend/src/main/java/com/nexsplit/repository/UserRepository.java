@@ -1,8 +1,6 @@
 package com.nexsplit.repository;
 
 import com.nexsplit.model.User;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -38,50 +36,50 @@ public interface UserRepository extends JpaRepository<User, String> {
     boolean existsActiveUserByUsername(@Param("username") String username);
 
     /**
-     * Search users by email, username, first name, or last name.
+     * Search users by email, username or full name, ranked by trigram
+     * similarity to the search term.
      * Only returns active (non-deleted) users.
      * 
-     * @param searchTerm The search term to match against
-     * @param pageable   Pagination parameters
-     * @return Page of matching users
+     * @param searchTerm Lowercased search term
+     * @param pattern    LIKE pattern containing the escaped search term
+     * @param limit      Maximum number of users to return
+     * @return List of matching users, best match first
      */
-    @Query("SELECT u FROM User u WHERE " +
-            "u.deletedAt IS NULL AND " +
-            "u.status = 'ACTIVE' AND " +
-            "(LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(u.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    Page<User> searchActiveUsers(@Param("searchTerm") String searchTerm, Pageable pageable);
+    @Query(value = """
+            SELECT u.* FROM users u
+            WHERE u.deleted_at IS NULL
+            AND u.status = 'ACTIVE'
+            AND (LOWER(u.username) LIKE :pattern
+                OR LOWER(u.email) LIKE :pattern
+                OR LOWER(COALESCE(u.first_name, '') || ' ' || COALESCE(u.last_name, '')) LIKE :pattern)
+            ORDER BY GREATEST(
+                    word_similarity(:searchTerm, LOWER(u.username)),
+                    word_similarity(:searchTerm, LOWER(u.email)),
+                    word_similarity(:searchTerm, LOWER(COALESCE(u.first_name, '') || ' ' || COALESCE(u.last_name, '')))) DESC,
+                LOWER(u.username)
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<User> searchActiveUsersRanked(@Param("searchTerm") String searchTerm, @Param("pattern") String pattern,
+            @Param("limit") int limit);
 
     /**
-     * Search users by email, username, first name, or last name.
+     * Search users by email only, ranked by trigram similarity to the search
+     * term.
      * Only returns active (non-deleted) users.
      * 
-     * @param searchTerm The search term to match against
-     * @return List of matching users (limited to 20 results)
+     * @param email   Lowercased email search term
+     * @param pattern LIKE pattern containing the escaped search term
+     * @param limit   Maximum number of users to return
+     * @return List of matching users, best match first
      */
-    @Query("SELECT u FROM User u WHERE " +
-            "u.deletedAt IS NULL AND " +
-            "u.status = 'ACTIVE' AND " +
-            "(LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(u.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
-            "ORDER BY u.firstName, u.lastName, u.username")
-    List<User> searchActiveUsers(@Param("searchTerm") String searchTerm);
-
-    /**
-     * Search users by email only.
-     * Only returns active (non-deleted) users.
-     * 
-     * @param email The email to search for
-     * @return List of matching users
-     */
-    @Query("SELECT u FROM User u WHERE " +
-            "u.deletedAt IS NULL AND " +
-            "u.status = 'ACTIVE' AND " +
-            "LOWER(u.email) LIKE LOWER(CONCAT('%', :email, '%')) " +
-            "ORDER BY u.firstName, u.lastName, u.username")
-    List<User> searchActiveUsersByEmail(@Param("email") String email);
+    @Query(value = """
+            SELECT u.* FROM users u
+            WHERE u.deleted_at IS NULL
+            AND u.status = 'ACTIVE'
+            AND LOWER(u.email) LIKE :pattern
+            ORDER BY similarity(:email, LOWER(u.email)) DESC, LOWER(u.email)
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<User> searchActiveUsersByEmailRanked(@Param("email") String email, @Param("pattern") String pattern,
+            @Param("limit") int limit);
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.nexsplit.service;
+
+import com.nexsplit.dto.expense.ExpenseImportResult;
+import com.nexsplit.service.expense.ExpenseImportFormat;
+
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk expense import.
+ *
+ * An import streams CSV or NDJSON rows into one Nex. Each row is validated
+ * against a snapshot of the Nex's members and usable categories taken when
+ * the import starts. Valid rows are written with their splits and debts in
+ * JDBC batches, and members get one summary notification per import instead
+ * of one per expense.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public interface ExpenseImportService {
+
+    /**
+     * Import expenses into a Nex.
+     *
+     * @param nexId  The Nex the expenses belong to
+     * @param format Input format
+     * @param input  Import stream
+     * @param userId The importing user, recorded as creator of every expense
+     * @return Counts of imported and failed rows, with per-row errors
+     */
+    ExpenseImportResult importExpenses(String nexId, ExpenseImportFormat format, InputStream input, String userId);
+}
@@ -64,6 +64,38 @@ public interface ExpenseService {
      */
     PaginatedResponse<ExpenseDto> getExpensesByUserInvolvement(String userId, int page, int size);
 
+    /**
+     * Get a page of a nex's expense feed, newest expense date first.
+     * Pages are keyed by cursor instead of page number.
+     * 
+     * @param nexId        The nex ID
+     * @param userId       The ID of the user requesting expenses
+     * @param cursor       Cursor from the previous page, or null for the first
+     *                     page
+     * @param size         Page size
+     * @param includeTotal Whether to count all expenses of the feed
+     * @return Cursor-paginated response of expense DTOs
+     */
+    PaginatedResponse<ExpenseDto> getExpenseFeedByNexId(String nexId, String userId, String cursor, int size,
+            boolean includeTotal);
+
+    /**
+     * Get a page of the feed of expenses where a user is involved (as payer
+     * or in splits), newest expense date first.
+     * Pages are keyed by cursor instead of page number. Only the user may
+     * read their own feed.
+     * 
+     * @param userId           The ID of the user
+     * @param requestingUserId The ID of the user making the request
+     * @param cursor           Cursor from the previous page, or null for the
+     *                         first page
+     * @param size             Page size
+     * @param includeTotal     Whether to count all expenses of the feed
+     * @return Cursor-paginated response of expense DTOs
+     */
+    PaginatedResponse<ExpenseDto> getExpenseFeedByUserInvolvement(String userId, String requestingUserId,
+            String cursor, int size, boolean includeTotal);
+
     /**
      * Update an existing expense.
      * This will recalculate splits and debts if necessary.
@@ -0,0 +1,78 @@
+package com.nexsplit.service;
+
+import com.nexsplit.service.SettlementService.SettlementTransaction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for cross-Nex netting of a user's debts.
+ *
+ * Global netting is opt-in. It combines a user's unsettled debts across all
+ * of their Nex groups into one net position per counterparty. It then settles
+ * each position with one transfer between the user and that counterparty, so
+ * a user who shares several Nexes with the same friends pays each of them
+ * once instead of once per Nex.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public interface GlobalNettingService {
+
+    /**
+     * Compute the cross-Nex netting plan for a user without settling anything.
+     *
+     * @param userId           The user whose debts are netted
+     * @param requestingUserId The authenticated user
+     * @return The netting plan
+     */
+    GlobalNettingResponse previewGlobalNetting(String userId, String requestingUserId);
+
+    /**
+     * Net a user's debts across all of their Nex groups and settle every
+     * underlying per-Nex debt in bulk.
+     *
+     * @param userId           The user whose debts are netted
+     * @param request          Payment details recorded on the settled debts
+     * @param requestingUserId The authenticated user
+     * @return The executed netting plan
+     */
+    GlobalNettingResponse executeGlobalNetting(String userId, GlobalNettingRequest request,
+            String requestingUserId);
+
+    /**
+     * Global netting execution request data class.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    class GlobalNettingRequest {
+        private String paymentMethod; // Recorded on every settled debt
+        private String notes; // Recorded on every settled debt
+        private LocalDateTime settlementDate; // Defaults to now
+    }
+
+    /**
+     * Global netting plan data class.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    class GlobalNettingResponse {
+        private String userId;
+        private List<SettlementTransaction> transfers; // One transfer per counterparty across all Nexes
+        private List<String> nexIds; // Nex groups whose debts are covered
+        private int debtCount; // Unsettled debts covered by the plan
+        private int counterpartyCount;
+        private BigDecimal grossDebtAmount; // Sum of the covered debts before netting
+        private BigDecimal netTransferAmount; // Sum of the transfers after netting
+        private boolean optimal; // Whether the transfer count is proven minimal
+        private boolean executed;
+        private LocalDateTime executionDate;
+    }
+}
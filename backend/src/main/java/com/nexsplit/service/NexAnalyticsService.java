@@ -0,0 +1,35 @@
+package com.nexsplit.service;
+
+import com.nexsplit.service.analytics.NexAnalyticsDelta;
+
+/**
+ * Service interface for the incrementally maintained per-Nex analytics
+ * rollup.
+ * 
+ * Writes to members, expenses, debts, categories and bills of a Nex record
+ * their effect as a delta. Like the balance ledger, every call must run
+ * inside the transaction that changes the underlying rows so the rollup and
+ * the source tables always commit together.
+ * 
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public interface NexAnalyticsService {
+
+    /**
+     * Apply a delta to the rollup of a Nex. Empty deltas are ignored.
+     * 
+     * @param nexId The Nex group ID
+     * @param delta The change made by the current write
+     */
+    void apply(String nexId, NexAnalyticsDelta delta);
+
+    /**
+     * Recompute the rollup of a Nex from the source tables.
+     * Used to repair drift; normal writes never need it.
+     * 
+     * @param nexId The Nex group ID
+     */
+    void rebuild(String nexId);
+}
@@ -0,0 +1,92 @@
+package com.nexsplit.service;
+
+import com.nexsplit.model.Debt;
+import com.nexsplit.model.Money;
+import com.nexsplit.model.NexPairBalance;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service interface for the incrementally maintained per-Nex balance ledger.
+ * 
+ * The ledger stores both the net balance of each member and the outstanding
+ * amount of each (debtor, creditor) pair. Every method that records a change
+ * must run inside the transaction that mutates the underlying debts so the
+ * ledger and the debts table always commit together.
+ * 
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public interface NexBalanceLedgerService {
+
+    /**
+     * Record newly inserted debts.
+     * 
+     * @param nexId The Nex group ID
+     * @param debts The debts that were created
+     */
+    void recordDebtsCreated(String nexId, List<Debt> debts);
+
+    /**
+     * Record debts that are about to be deleted.
+     * Settled debts are ignored since they no longer contribute to balances.
+     * 
+     * @param nexId The Nex group ID
+     * @param debts The debts being removed
+     */
+    void recordDebtsRemoved(String nexId, List<Debt> debts);
+
+    /**
+     * Record debts that were previously unsettled and have just been settled.
+     * 
+     * @param nexId The Nex group ID
+     * @param debts The debts that were settled
+     */
+    void recordDebtsSettled(String nexId, List<Debt> debts);
+
+    /**
+     * Get the non-zero net balance of every member of a Nex.
+     * 
+     * @param nexId The Nex group ID
+     * @return Mutable map of user ID to net balance
+     */
+    Map<String, Money> getNetBalances(String nexId);
+
+    /**
+     * Get all outstanding (debtor, creditor) balances of a Nex.
+     * 
+     * @param nexId The Nex group ID
+     * @return List of non-zero pair balances
+     */
+    List<NexPairBalance> getPairBalances(String nexId);
+
+    /**
+     * Recompute the ledger of a Nex from its unsettled debts.
+     * Used by the scheduled re-check to repair drift; normal writes never
+     * need it. Callers run it in the Nex write lane.
+     * 
+     * @param nexId The Nex group ID
+     */
+    void rebuildLedger(String nexId);
+
+    /**
+     * Get the current ledger version of a Nex.
+     * The version changes whenever the Nex's balances may have changed, so
+     * anything derived from the ledger can be cached per version.
+     * 
+     * @param nexId The Nex group ID
+     * @return The ledger version
+     */
+    long getLedgerVersion(String nexId);
+
+    /**
+     * Bump the ledger version of a Nex.
+     * Recording debt changes already does this; call it directly only for
+     * changes that bypass the ledger, such as soft-deleting an expense.
+     * 
+     * @param nexId The Nex group ID
+     */
+    void bumpLedgerVersion(String nexId);
+}
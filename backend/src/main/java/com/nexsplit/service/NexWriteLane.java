@@ -0,0 +1,243 @@
+package com.nexsplit.service;
+
+import com.nexsplit.config.SettlementConfig;
+import com.nexsplit.dto.ErrorCode;
+import com.nexsplit.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes balance-changing writes per Nex.
+ *
+ * Nexes are striped over a fixed number of lanes. Each lane admits one writer
+ * of this instance at a time in arrival order, while Nexes on different lanes
+ * proceed in parallel. The lane then opens the write's transaction and takes
+ * a transaction-scoped advisory lock per Nex as its first statement, so
+ * settlement execution and debt regeneration for the same Nex never
+ * interleave across instances either. The in-memory lane keeps writers of
+ * one instance from each holding a connection while they wait for the
+ * database lock.
+ *
+ * Work runs on the caller's thread, which keeps the security context and
+ * logging MDC intact. A transaction the action opens itself joins the lane's
+ * transaction, so the locks are held until commit.
+ *
+ * A writer that cannot enter its lane and take the database lock within the
+ * configured maximum wait is rejected with {@link ErrorCode#NEX_WRITE_BUSY}.
+ *
+ * Metrics: nex.write.lane.wait (timer), nex.write.lane.rejections and
+ * nex.write.lane.queue.depth.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Service
+@Slf4j
+public class NexWriteLane {
+
+    /**
+     * First key of the two-key advisory locks ("NEX"), separating them from
+     * the single-key locks such as the outbox dispatcher's.
+     */
+    static final int ADVISORY_LOCK_NAMESPACE = 0x4E4558;
+
+    /**
+     * Locks the Nexes in key order, so two multi-Nex writers cannot deadlock.
+     */
+    private static final String LOCK_NEXES_SQL = "SELECT pg_advisory_xact_lock(?, keys.key) FROM ("
+            + "SELECT DISTINCT hashtext(nex_id) AS key FROM unnest(string_to_array(?, ',')) AS nex_id "
+            + "ORDER BY key) keys";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] lanes;
+    private final long maxWaitMs;
+    private final Timer waitTimer;
+    private final Counter rejections;
+
+    public NexWriteLane(SettlementConfig settlementConfig, JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.lanes = new ReentrantLock[Math.max(1, settlementConfig.getWriteLaneStripes())];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ReentrantLock(true);
+        }
+        this.maxWaitMs = settlementConfig.getWriteLaneMaxWaitMs();
+        this.waitTimer = Timer.builder("nex.write.lane.wait")
+                .description("Time spent waiting to enter a Nex write lane")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("nex.write.lane.rejections")
+                .description("Writes rejected because their Nex write lane stayed busy")
+                .register(meterRegistry);
+        Gauge.builder("nex.write.lane.queue.depth", this, NexWriteLane::getQueueDepth)
+                .description("Writes currently waiting for a Nex write lane")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run an action inside the write lane of a Nex and a transaction.
+     * Nested calls for a Nex whose lane the thread already holds join its
+     * transaction.
+     *
+     * @param nexId  The Nex ID
+     * @param action The write to perform
+     * @return The action's result
+     * @throws BusinessException if the lane stays busy longer than the maximum
+     *                           wait
+     */
+    public <T> T execute(String nexId, Supplier<T> action) {
+        ReentrantLock lane = laneFor(nexId);
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        boolean acquired;
+        try {
+            acquired = lane.tryLock(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            rejections.increment();
+            log.warn("Rejected write for Nex {} after waiting {} ms for its write lane", nexId, maxWaitMs);
+            throw new BusinessException("Nex is busy processing other changes, please retry",
+                    ErrorCode.NEX_WRITE_BUSY);
+        }
+
+        try {
+            return inLockedTransaction(List.of(nexId), deadline, action);
+        } finally {
+            lane.unlock();
+        }
+    }
+
+    /**
+     * Run an action without a result inside the write lane of a Nex.
+     *
+     * @param nexId  The Nex ID
+     * @param action The write to perform
+     */
+    public void run(String nexId, Runnable action) {
+        execute(nexId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run an action inside the write lanes of several Nexes at once and a
+     * transaction. Lanes are entered in a fixed order so two multi-Nex
+     * writers cannot deadlock, and the maximum wait applies to all lanes and
+     * database locks together.
+     *
+     * @param nexIds The Nex IDs
+     * @param action The write to perform
+     * @return The action's result
+     * @throws BusinessException if any lane stays busy longer than the maximum
+     *                           wait
+     */
+    public <T> T executeAll(Collection<String> nexIds, Supplier<T> action) {
+        int[] laneIndices = nexIds.stream()
+                .mapToInt(this::laneIndexFor)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        int held = 0;
+        try {
+            for (int laneIndex : laneIndices) {
+                boolean acquired;
+                try {
+                    acquired = lanes[laneIndex].tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    acquired = false;
+                }
+                if (!acquired) {
+                    waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    rejections.increment();
+                    log.warn("Rejected write for {} Nexes after waiting {} ms for their write lanes",
+                            nexIds.size(), maxWaitMs);
+                    throw new BusinessException("Nex is busy processing other changes, please retry",
+                            ErrorCode.NEX_WRITE_BUSY);
+                }
+                held++;
+            }
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            return inLockedTransaction(nexIds, deadline, action);
+        } finally {
+            for (int i = held - 1; i >= 0; i--) {
+                lanes[laneIndices[i]].unlock();
+            }
+        }
+    }
+
+    /**
+     * Run an action in a transaction that first takes the advisory locks of
+     * the Nexes. The wait for the locks is bounded by lock_timeout, set for
+     * that statement only, so later statements of the action keep the
+     * session's timeout.
+     */
+    private <T> T inLockedTransaction(Collection<String> nexIds, long deadline, Supplier<T> action) {
+        return transactionTemplate.execute(status -> {
+            long remainingMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            String previousTimeout = jdbcTemplate.queryForObject("SELECT current_setting('lock_timeout')",
+                    String.class);
+            jdbcTemplate.queryForObject("SELECT set_config('lock_timeout', ?, true)", String.class,
+                    remainingMs + "ms");
+            try {
+                jdbcTemplate.query(LOCK_NEXES_SQL, rs -> {
+                }, ADVISORY_LOCK_NAMESPACE, String.join(",", nexIds));
+            } catch (CannotAcquireLockException e) {
+                rejections.increment();
+                log.warn("Rejected write for {} Nexes after waiting {} ms for their database locks",
+                        nexIds.size(), maxWaitMs);
+                throw new BusinessException("Nex is busy processing other changes, please retry",
+                        ErrorCode.NEX_WRITE_BUSY);
+            }
+            jdbcTemplate.queryForObject("SELECT set_config('lock_timeout', ?, true)", String.class,
+                    previousTimeout);
+
+            return action.get();
+        });
+    }
+
+    /**
+     * Number of writers currently waiting across all lanes.
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (ReentrantLock lane : lanes) {
+            depth += lane.getQueueLength();
+        }
+        return depth;
+    }
+
+    private ReentrantLock laneFor(String nexId) {
+        return lanes[laneIndexFor(nexId)];
+    }
+
+    private int laneIndexFor(String nexId) {
+        return Math.floorMod(nexId.hashCode(), lanes.length);
+    }
+}
@@ -6,6 +6,8 @@ import com.nexsplit.dto.notification.CreateNotificationRequest;
 import com.nexsplit.dto.notification.UpdateNotificationRequest;
 import com.nexsplit.model.Notification;
 
+import java.util.Collection;
+
 /**
  * Service interface for managing user notifications.
  * 
@@ -128,6 +130,28 @@ public interface NotificationService {
      */
     void createExpenseUpdatedNotification(String nexId, String userId, String nexName, String expenseTitle);
 
+    /**
+     * Create expense added notifications for several users in one batch.
+     * 
+     * @param nexId        The Nex ID
+     * @param userIds      The users to notify
+     * @param nexName      The Nex name
+     * @param expenseTitle The expense title
+     */
+    void createExpenseAddedNotifications(String nexId, Collection<String> userIds, String nexName,
+            String expenseTitle);
+
+    /**
+     * Create one summary notification per user for a bulk expense import.
+     * 
+     * @param nexId        The Nex ID
+     * @param userIds      The users to notify
+     * @param nexName      The Nex name
+     * @param expenseCount Number of imported expenses
+     */
+    void createExpensesImportedNotifications(String nexId, Collection<String> userIds, String nexName,
+            int expenseCount);
+
     /**
      * Create a settlement executed notification.
      * 
@@ -0,0 +1,34 @@
+package com.nexsplit.service;
+
+import com.nexsplit.model.OutboxEvent;
+
+import java.util.Map;
+
+/**
+ * Service interface for writing domain events to the transactional outbox.
+ *
+ * Events are written in the caller's transaction, so they exist if and only
+ * if the change they describe commits. Side effects such as notifications,
+ * SSE broadcasts and audit entries are then produced by the outbox
+ * dispatcher after commit.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public interface OutboxService {
+
+    /**
+     * Write a domain event to the outbox. Must be called inside a
+     * transaction.
+     *
+     * @param eventType   Kind of event
+     * @param nexId       Nex the event belongs to; events of one Nex are
+     *                    dispatched in order
+     * @param aggregateId ID of the changed entity
+     * @param actorId     User who made the change
+     * @param payload     Event details, serialized as JSON
+     */
+    void publish(OutboxEvent.EventType eventType, String nexId, String aggregateId, String actorId,
+            Map<String, Object> payload);
+}
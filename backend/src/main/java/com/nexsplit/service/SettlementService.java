@@ -1,8 +1,11 @@
 package com.nexsplit.service;
 
+import com.nexsplit.dto.PaginatedResponse;
 import com.nexsplit.model.view.SettlementHistoryView;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -45,22 +48,39 @@ public interface SettlementService {
     AvailableSettlementsResponse getAvailableSettlements(String nexId, String settlementType, String userId);
 
     /**
-     * Get settlement history for a specific Nex group.
+     * Simulate how settlements would look after hypothetical operations, such
+     * as removing a member or settling a pair, without writing anything.
+     * Every scenario is applied to one in-memory snapshot of the Nex's
+     * balances.
      * 
-     * @param nexId    The Nex group ID
-     * @param pageable Pagination parameters
-     * @return Page of settlement history records
+     * @param nexId   The Nex group ID
+     * @param request The scenarios to simulate
+     * @param userId  The requesting user (must be a Nex admin)
+     * @return Baseline and per-scenario settlement plans
+     */
+    SimulationResponse simulateSettlements(String nexId, SimulationRequest request, String userId);
+
+    /**
+     * Get settlement history for a specific Nex group, newest first.
+     * Pages are addressed by keyset cursor rather than page number.
+     * 
+     * @param nexId  The Nex group ID
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param size   Page size
+     * @return Page of settlement history records with the next cursor
      */
-    Page<SettlementHistoryView> getSettlementHistoryByNexId(String nexId, Pageable pageable);
+    PaginatedResponse<SettlementHistoryView> getSettlementHistoryByNexId(String nexId, String cursor, int size);
 
     /**
-     * Get settlement history for a specific user across all Nex groups.
+     * Get settlement history for a specific user across all Nex groups, newest
+     * first. Pages are addressed by keyset cursor rather than page number.
      * 
-     * @param userId   The user ID
-     * @param pageable Pagination parameters
-     * @return Page of settlement history records
+     * @param userId The user ID
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param size   Page size
+     * @return Page of settlement history records with the next cursor
      */
-    Page<SettlementHistoryView> getSettlementHistoryByUserId(String userId, Pageable pageable);
+    PaginatedResponse<SettlementHistoryView> getSettlementHistoryByUserId(String userId, String cursor, int size);
 
     /**
      * Get settlement analytics for a specific Nex group.
@@ -681,6 +701,255 @@ public interface SettlementService {
         }
     }
 
+    /**
+     * Settlement simulation request data class.
+     */
+    class SimulationRequest {
+        private String settlementType; // SIMPLIFIED, DETAILED; defaults to the Nex's type
+        @NotEmpty
+        @Size(max = 20)
+        @Valid
+        private List<SimulationScenario> scenarios; // Each scenario is applied to the same snapshot
+
+        // Constructors
+        public SimulationRequest() {
+        }
+
+        public SimulationRequest(String settlementType, List<SimulationScenario> scenarios) {
+            this.settlementType = settlementType;
+            this.scenarios = scenarios;
+        }
+
+        // Getters and setters
+        public String getSettlementType() {
+            return settlementType;
+        }
+
+        public void setSettlementType(String settlementType) {
+            this.settlementType = settlementType;
+        }
+
+        public List<SimulationScenario> getScenarios() {
+            return scenarios;
+        }
+
+        public void setScenarios(List<SimulationScenario> scenarios) {
+            this.scenarios = scenarios;
+        }
+    }
+
+    /**
+     * Named list of hypothetical operations.
+     */
+    class SimulationScenario {
+        private String name;
+        @NotNull
+        @Size(max = 50)
+        @Valid
+        private List<SimulationOperation> operations; // Applied in order
+
+        // Constructors
+        public SimulationScenario() {
+        }
+
+        public SimulationScenario(String name, List<SimulationOperation> operations) {
+            this.name = name;
+            this.operations = operations;
+        }
+
+        // Getters and setters
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<SimulationOperation> getOperations() {
+            return operations;
+        }
+
+        public void setOperations(List<SimulationOperation> operations) {
+            this.operations = operations;
+        }
+    }
+
+    /**
+     * Hypothetical operation applied to a balance snapshot.
+     */
+    class SimulationOperation {
+        @NotNull
+        private SimulationOperationType type;
+        private String userId; // For REMOVE_MEMBER
+        private String debtorId; // For SETTLE_PAIR
+        private String creditorId; // For SETTLE_PAIR
+
+        // Constructors
+        public SimulationOperation() {
+        }
+
+        public SimulationOperation(SimulationOperationType type, String userId, String debtorId, String creditorId) {
+            this.type = type;
+            this.userId = userId;
+            this.debtorId = debtorId;
+            this.creditorId = creditorId;
+        }
+
+        // Getters and setters
+        public SimulationOperationType getType() {
+            return type;
+        }
+
+        public void setType(SimulationOperationType type) {
+            this.type = type;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public void setUserId(String userId) {
+            this.userId = userId;
+        }
+
+        public String getDebtorId() {
+            return debtorId;
+        }
+
+        public void setDebtorId(String debtorId) {
+            this.debtorId = debtorId;
+        }
+
+        public String getCreditorId() {
+            return creditorId;
+        }
+
+        public void setCreditorId(String creditorId) {
+            this.creditorId = creditorId;
+        }
+    }
+
+    /**
+     * Settlement simulation response data class.
+     */
+    class SimulationResponse {
+        private String nexId;
+        private long ledgerVersion; // Version of the balances the simulation ran on
+        private String settlementType;
+        private SimulationResult baseline; // Plan with no operations applied
+        private List<SimulationResult> scenarios;
+
+        // Constructors
+        public SimulationResponse() {
+        }
+
+        public SimulationResponse(String nexId, long ledgerVersion, String settlementType, SimulationResult baseline,
+                List<SimulationResult> scenarios) {
+            this.nexId = nexId;
+            this.ledgerVersion = ledgerVersion;
+            this.settlementType = settlementType;
+            this.baseline = baseline;
+            this.scenarios = scenarios;
+        }
+
+        // Getters and setters
+        public String getNexId() {
+            return nexId;
+        }
+
+        public void setNexId(String nexId) {
+            this.nexId = nexId;
+        }
+
+        public long getLedgerVersion() {
+            return ledgerVersion;
+        }
+
+        public void setLedgerVersion(long ledgerVersion) {
+            this.ledgerVersion = ledgerVersion;
+        }
+
+        public String getSettlementType() {
+            return settlementType;
+        }
+
+        public void setSettlementType(String settlementType) {
+            this.settlementType = settlementType;
+        }
+
+        public SimulationResult getBaseline() {
+            return baseline;
+        }
+
+        public void setBaseline(SimulationResult baseline) {
+            this.baseline = baseline;
+        }
+
+        public List<SimulationResult> getScenarios() {
+            return scenarios;
+        }
+
+        public void setScenarios(List<SimulationResult> scenarios) {
+            this.scenarios = scenarios;
+        }
+    }
+
+    /**
+     * Settlement plan resulting from one scenario.
+     */
+    class SimulationResult {
+        private String name;
+        private List<SettlementTransaction> settlements;
+        private int settlementCount;
+        private BigDecimal totalAmount;
+
+        // Constructors
+        public SimulationResult() {
+        }
+
+        public SimulationResult(String name, List<SettlementTransaction> settlements, int settlementCount,
+                BigDecimal totalAmount) {
+            this.name = name;
+            this.settlements = settlements;
+            this.settlementCount = settlementCount;
+            this.totalAmount = totalAmount;
+        }
+
+        // Getters and setters
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<SettlementTransaction> getSettlements() {
+            return settlements;
+        }
+
+        public void setSettlements(List<SettlementTransaction> settlements) {
+            this.settlements = settlements;
+        }
+
+        public int getSettlementCount() {
+            return settlementCount;
+        }
+
+        public void setSettlementCount(int settlementCount) {
+            this.settlementCount = settlementCount;
+        }
+
+        public BigDecimal getTotalAmount() {
+            return totalAmount;
+        }
+
+        public void setTotalAmount(BigDecimal totalAmount) {
+            this.totalAmount = totalAmount;
+        }
+    }
+
     /**
      * Settlement type enum.
      */
@@ -694,4 +963,14 @@ public interface SettlementService {
     enum SettlementStatus {
         PENDING, SETTLED
     }
+
+    /**
+     * Simulation operation type enum.
+     * 
+     * REMOVE_MEMBER: The member squares up with each counterparty and leaves
+     * SETTLE_PAIR: The debtor pays off everything owed to the creditor
+     */
+    enum SimulationOperationType {
+        REMOVE_MEMBER, SETTLE_PAIR
+    }
 }
\ No newline at end of file
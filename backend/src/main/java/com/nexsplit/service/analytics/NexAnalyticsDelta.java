@@ -0,0 +1,205 @@
+package com.nexsplit.service.analytics;
+
+import com.nexsplit.model.Debt;
+import com.nexsplit.model.NexMember;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Change to the analytics rollup of one Nex.
+ *
+ * A write collects everything it changed into one delta, so it costs one
+ * rollup upsert however many rows it touched. Counters and amounts are
+ * added to the rollup. The largest and smallest added expense and the
+ * latest activity dates only ever widen the stored values, so a delta that
+ * removes an expense or changes its amount marks the expense extremes stale
+ * and they are recomputed from the expenses of the Nex.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Getter
+public class NexAnalyticsDelta {
+
+    private long members;
+    private long activeMembers;
+    private long admins;
+
+    private long expenses;
+    private BigDecimal expenseAmount = BigDecimal.ZERO;
+    private BigDecimal maxExpenseAmount;
+    private BigDecimal minExpenseAmount;
+    private boolean expenseExtremesStale;
+
+    private long debts;
+    private long unsettledDebts;
+    private BigDecimal unsettledDebtAmount = BigDecimal.ZERO;
+
+    private long categories;
+    private long defaultCategories;
+
+    private long bills;
+    private long paidBills;
+    private BigDecimal billAmount = BigDecimal.ZERO;
+
+    private LocalDateTime lastExpenseAt;
+    private LocalDateTime lastDebtAt;
+    private LocalDateTime lastBillAt;
+
+    private boolean empty = true;
+
+    /**
+     * Count a member row that was added.
+     */
+    public NexAnalyticsDelta memberAdded(NexMember.MemberRole role, NexMember.MemberStatus status) {
+        return member(role, status, 1);
+    }
+
+    /**
+     * Uncount a member row that was removed, or the old state of a member
+     * whose role or status changed.
+     */
+    public NexAnalyticsDelta memberRemoved(NexMember.MemberRole role, NexMember.MemberStatus status) {
+        return member(role, status, -1);
+    }
+
+    /**
+     * Count an expense that was added.
+     */
+    public NexAnalyticsDelta expenseAdded(BigDecimal amount, LocalDateTime createdAt) {
+        expenses++;
+        expenseAmount = expenseAmount.add(amount);
+        maxExpenseAmount = maxExpenseAmount == null ? amount : maxExpenseAmount.max(amount);
+        minExpenseAmount = minExpenseAmount == null ? amount : minExpenseAmount.min(amount);
+        lastExpenseAt = latest(lastExpenseAt, createdAt);
+        empty = false;
+        return this;
+    }
+
+    /**
+     * Uncount an expense that was removed.
+     */
+    public NexAnalyticsDelta expenseRemoved(BigDecimal amount) {
+        expenses--;
+        expenseAmount = expenseAmount.subtract(amount);
+        expenseExtremesStale = true;
+        empty = false;
+        return this;
+    }
+
+    /**
+     * Record a change of an expense's amount.
+     */
+    public NexAnalyticsDelta expenseAmountChanged(BigDecimal previousAmount, BigDecimal amount) {
+        if (previousAmount.compareTo(amount) != 0) {
+            expenseAmount = expenseAmount.add(amount).subtract(previousAmount);
+            expenseExtremesStale = true;
+            empty = false;
+        }
+        return this;
+    }
+
+    /**
+     * Count debts that were added.
+     */
+    public NexAnalyticsDelta debtsAdded(List<Debt> added) {
+        for (Debt debt : added) {
+            debt(debt, 1);
+            lastDebtAt = latest(lastDebtAt, debt.getCreatedAt());
+        }
+        return this;
+    }
+
+    /**
+     * Uncount debts that were removed, or the old values of debts that were
+     * changed in place.
+     */
+    public NexAnalyticsDelta debtsRemoved(List<Debt> removed) {
+        for (Debt debt : removed) {
+            debt(debt, -1);
+        }
+        return this;
+    }
+
+    /**
+     * Move debts that were just settled out of the unsettled figures.
+     */
+    public NexAnalyticsDelta debtsSettled(List<Debt> settled) {
+        for (Debt debt : settled) {
+            unsettledDebts--;
+            unsettledDebtAmount = unsettledDebtAmount.subtract(debt.getAmount());
+            empty = false;
+        }
+        return this;
+    }
+
+    /**
+     * Count a category that was added (+1) or removed (-1).
+     */
+    public NexAnalyticsDelta category(boolean isDefault, int sign) {
+        categories += sign;
+        if (isDefault) {
+            defaultCategories += sign;
+        }
+        empty = false;
+        return this;
+    }
+
+    /**
+     * Count a bill that was added, or the new state of a changed bill.
+     */
+    public NexAnalyticsDelta billAdded(BigDecimal amount, boolean paid, LocalDateTime createdAt) {
+        bill(amount, paid, 1);
+        lastBillAt = latest(lastBillAt, createdAt);
+        return this;
+    }
+
+    /**
+     * Uncount a bill that was removed, or the old state of a changed bill.
+     */
+    public NexAnalyticsDelta billRemoved(BigDecimal amount, boolean paid) {
+        return bill(amount, paid, -1);
+    }
+
+    private NexAnalyticsDelta member(NexMember.MemberRole role, NexMember.MemberStatus status, int sign) {
+        members += sign;
+        if (status == NexMember.MemberStatus.ACTIVE) {
+            activeMembers += sign;
+        }
+        if (role == NexMember.MemberRole.ADMIN) {
+            admins += sign;
+        }
+        empty = false;
+        return this;
+    }
+
+    private void debt(Debt debt, int sign) {
+        debts += sign;
+        if (!debt.isSettled()) {
+            unsettledDebts += sign;
+            BigDecimal amount = debt.getAmount();
+            unsettledDebtAmount = sign > 0 ? unsettledDebtAmount.add(amount) : unsettledDebtAmount.subtract(amount);
+        }
+        empty = false;
+    }
+
+    private NexAnalyticsDelta bill(BigDecimal amount, boolean paid, int sign) {
+        bills += sign;
+        if (paid) {
+            paidBills += sign;
+        }
+        BigDecimal billValue = amount != null ? amount : BigDecimal.ZERO;
+        billAmount = sign > 0 ? billAmount.add(billValue) : billAmount.subtract(billValue);
+        empty = false;
+        return this;
+    }
+
+    private static LocalDateTime latest(LocalDateTime current, LocalDateTime candidate) {
+        LocalDateTime value = candidate != null ? candidate : LocalDateTime.now();
+        return current == null || value.isAfter(current) ? value : current;
+    }
+}
@@ -0,0 +1,111 @@
+package com.nexsplit.service.analytics;
+
+import com.nexsplit.config.NexAnalyticsConfig;
+import com.nexsplit.repository.NexAnalyticsRollupRepository;
+import com.nexsplit.repository.NexAnalyticsRollupRepository.RecheckRow;
+import com.nexsplit.service.NexAnalyticsService;
+import com.nexsplit.service.NexWriteLane;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Scheduled consistency re-check of the Nex analytics rollups.
+ *
+ * Writes that bypass the services, such as manual SQL fixes, can leave a
+ * rollup out of line with its source tables. The job walks all Nexes in ID
+ * order in batches, compares each rollup with nex_analytics_source_view and
+ * rebuilds the ones that differ. Rebuilds run in the Nex write lane, so they
+ * do not interleave with expense and settlement writes of the same Nex.
+ *
+ * Metrics: nex.analytics.rollups.checked and nex.analytics.rollups.repaired.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Component
+@Slf4j
+public class NexAnalyticsRecheckJob {
+
+    private final NexAnalyticsRollupRepository nexAnalyticsRollupRepository;
+    private final NexAnalyticsService nexAnalyticsService;
+    private final NexAnalyticsConfig nexAnalyticsConfig;
+    private final NexWriteLane nexWriteLane;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter checked;
+    private final Counter repaired;
+
+    public NexAnalyticsRecheckJob(NexAnalyticsRollupRepository nexAnalyticsRollupRepository,
+            NexAnalyticsService nexAnalyticsService, NexAnalyticsConfig nexAnalyticsConfig,
+            NexWriteLane nexWriteLane, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.nexAnalyticsRollupRepository = nexAnalyticsRollupRepository;
+        this.nexAnalyticsService = nexAnalyticsService;
+        this.nexAnalyticsConfig = nexAnalyticsConfig;
+        this.nexWriteLane = nexWriteLane;
+        this.transactionTemplate = transactionTemplate;
+        this.checked = Counter.builder("nex.analytics.rollups.checked")
+                .description("Nex analytics rollups compared with their source tables")
+                .register(meterRegistry);
+        this.repaired = Counter.builder("nex.analytics.rollups.repaired")
+                .description("Nex analytics rollups rebuilt because they differed from their source tables")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compare every rollup with its source tables and rebuild the ones that
+     * drifted.
+     */
+    @Scheduled(cron = "${nexsplit.nex-analytics.recheck-cron:0 0 4 * * ?}") // Daily at 4:00 AM
+    public void recheck() {
+        if (!nexAnalyticsConfig.isRecheckEnabled()) {
+            return;
+        }
+
+        int batchSize = Math.max(1, nexAnalyticsConfig.getRecheckBatchSize());
+        String afterNexId = "";
+        int total = 0;
+        int drifted = 0;
+        try {
+            while (true) {
+                String after = afterNexId;
+                List<RecheckRow> batch = transactionTemplate.execute(
+                        status -> nexAnalyticsRollupRepository.recheckBatch(after, batchSize));
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+
+                for (RecheckRow row : batch) {
+                    if (Boolean.TRUE.equals(row.getDrifted())) {
+                        nexWriteLane.run(row.getNexId(), () -> transactionTemplate.executeWithoutResult(
+                                status -> nexAnalyticsService.rebuild(row.getNexId())));
+                        repaired.increment();
+                        drifted++;
+                    }
+                }
+                checked.increment(batch.size());
+                total += batch.size();
+                afterNexId = batch.get(batch.size() - 1).getNexId();
+
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Nex analytics re-check failed after {} Nexes: {}", total, e.getMessage(), e);
+            return;
+        }
+
+        if (drifted > 0) {
+            log.warn("Rebuilt {} of {} Nex analytics rollups that differed from their source tables", drifted,
+                    total);
+        } else {
+            log.info("Checked {} Nex analytics rollups, none differed", total);
+        }
+    }
+}
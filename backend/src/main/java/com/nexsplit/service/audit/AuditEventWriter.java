@@ -0,0 +1,248 @@
+package com.nexsplit.service.audit;
+
+import com.nexsplit.config.AuditConfig;
+import com.nexsplit.model.AuditEvent;
+import com.nexsplit.util.StructuredLoggingUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffered writer of audit events.
+ *
+ * Callers only enqueue events into a bounded in-memory queue. A dedicated
+ * writer thread blocks on the queue and inserts whatever has accumulated, up
+ * to the batch size, with one multi-row INSERT. It does not share the Spring
+ * scheduler, so long-running scheduled jobs cannot hold up the writes and
+ * fill the queue. When a batch fails, its events are retried one by one so a
+ * single bad event does not lose the others. When the queue is full, the
+ * configured {@link AuditConfig.OverflowPolicy} decides what happens to the
+ * event. Remaining events are written on shutdown.
+ *
+ * Every insert runs in its own read-write transaction. An event written on
+ * a caller's thread therefore goes to the primary database, is committed
+ * even if the caller rolls back, and cannot abort the caller's transaction
+ * when it fails.
+ *
+ * Metrics: audit.events.written, audit.events.dropped, audit.events.failed
+ * and audit.queue.size.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Component
+@Slf4j
+public class AuditEventWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_events (id, user_id, event_type, event_category, "
+            + "event_details, ip_address, user_agent, severity_level, timestamp, created_at) VALUES ";
+
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final AuditConfig auditConfig;
+    private final BlockingQueue<AuditEvent> queue;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuditEventWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            AuditConfig auditConfig, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.writeTransaction.setReadOnly(false);
+        this.auditConfig = auditConfig;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, auditConfig.getQueueCapacity()));
+        this.written = Counter.builder("audit.events.written")
+                .description("Audit events inserted into audit_events")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("audit.events.dropped")
+                .description("Audit events discarded because the queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("audit.events.failed")
+                .description("Audit events that could not be inserted")
+                .register(meterRegistry);
+        Gauge.builder("audit.queue.size", queue, BlockingQueue::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue an audit event for writing.
+     *
+     * @param auditEvent The event, with ID and timestamps set
+     */
+    public void enqueue(AuditEvent auditEvent) {
+        if (queue.offer(auditEvent)) {
+            return;
+        }
+
+        switch (auditConfig.getOverflowPolicy()) {
+            case DROP_OLDEST -> {
+                AuditEvent oldest = queue.poll();
+                if (oldest != null) {
+                    recordDropped(oldest);
+                }
+                if (!queue.offer(auditEvent)) {
+                    recordDropped(auditEvent);
+                }
+            }
+            case CALLER_WRITES -> insertOneByOne(List.of(auditEvent));
+            default -> recordDropped(auditEvent);
+        }
+    }
+
+    /**
+     * Start the writer thread.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = Thread.ofPlatform()
+                .name("audit-writer")
+                .daemon(true)
+                .start(this::writeLoop);
+    }
+
+    /**
+     * Stop the writer thread and write the events still queued.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (writerThread != null) {
+            try {
+                writerThread.join(Math.max(1000, auditConfig.getFlushIntervalMs() * 5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Write all queued events, one batch at a time.
+     */
+    public synchronized void flush() {
+        int batchSize = Math.max(1, auditConfig.getBatchSize());
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Wait for the next event and write it together with the events queued
+     * behind it, until the writer is stopped.
+     */
+    private void writeLoop() {
+        int batchSize = Math.max(1, auditConfig.getBatchSize());
+        long pollMs = Math.max(1, auditConfig.getFlushIntervalMs());
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditEvent first = queue.poll(pollMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                synchronized (this) {
+                    write(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Audit writer failed to write {} events: {}", batch.size(), e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        try {
+            insert(batch);
+            written.increment(batch.size());
+        } catch (Exception e) {
+            log.warn("Audit batch of {} events failed, retrying one by one: {}", batch.size(), e.getMessage());
+            insertOneByOne(batch);
+        }
+    }
+
+    private void insertOneByOne(List<AuditEvent> auditEvents) {
+        for (AuditEvent auditEvent : auditEvents) {
+            try {
+                insert(List.of(auditEvent));
+                written.increment();
+            } catch (Exception e) {
+                failed.increment();
+                log.error("Failed to write audit event {} of type {}", auditEvent.getId(),
+                        auditEvent.getEventType(), e);
+                StructuredLoggingUtil.logErrorEvent(
+                        "AUDIT_FAILURE",
+                        "Failed to write audit event",
+                        e.getMessage(),
+                        Map.of("auditId", auditEvent.getId(), "eventType", auditEvent.getEventType()));
+            }
+        }
+    }
+
+    private void insert(List<AuditEvent> auditEvents) {
+        writeTransaction.executeWithoutResult(status -> insertRows(auditEvents));
+    }
+
+    private void insertRows(List<AuditEvent> auditEvents) {
+        String sql = INSERT_SQL + String.join(", ", Collections.nCopies(auditEvents.size(), ROW_PLACEHOLDERS));
+        List<Object> args = new ArrayList<>(auditEvents.size() * 10);
+        for (AuditEvent auditEvent : auditEvents) {
+            args.add(auditEvent.getId());
+            args.add(auditEvent.getUserId());
+            args.add(auditEvent.getEventType());
+            args.add(auditEvent.getEventCategory());
+            args.add(auditEvent.getEventDetails());
+            args.add(auditEvent.getIpAddress());
+            args.add(auditEvent.getUserAgent());
+            args.add(auditEvent.getSeverityLevel());
+            args.add(Timestamp.valueOf(auditEvent.getTimestamp()));
+            args.add(Timestamp.valueOf(auditEvent.getCreatedAt()));
+        }
+        jdbcTemplate.update(sql, args.toArray());
+    }
+
+    private void recordDropped(AuditEvent auditEvent) {
+        dropped.increment();
+        StructuredLoggingUtil.logErrorEvent(
+                "AUDIT_DROPPED",
+                "Audit queue full, event not written to the database",
+                auditEvent.getEventDetails() != null ? auditEvent.getEventDetails() : "",
+                Map.of("auditId", auditEvent.getId(),
+                        "eventType", auditEvent.getEventType(),
+                        "eventCategory", auditEvent.getEventCategory(),
+                        "userId", String.valueOf(auditEvent.getUserId())));
+    }
+}
@@ -0,0 +1,47 @@
+package com.nexsplit.service.audit;
+
+import com.nexsplit.config.AuditConfig;
+import com.nexsplit.service.partition.MonthlyPartitionMaintenance;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintenance of the monthly audit_events partitions.
+ *
+ * Creates the partitions of the coming months, so batched inserts always
+ * find one, and drops the partitions of months past the retention window
+ * when a retention is configured. The job also runs at startup, in case the
+ * application was down while a month began.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Component
+public class AuditPartitionJob {
+
+    private static final String TABLE = "audit_events";
+
+    private final MonthlyPartitionMaintenance partitionMaintenance;
+    private final AuditConfig auditConfig;
+
+    public AuditPartitionJob(MonthlyPartitionMaintenance partitionMaintenance, AuditConfig auditConfig) {
+        this.partitionMaintenance = partitionMaintenance;
+        this.auditConfig = auditConfig;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    /**
+     * Create upcoming partitions and drop expired ones.
+     */
+    @Scheduled(cron = "${nexsplit.audit.maintenance-cron:0 15 2 * * ?}") // Daily at 2:15 AM
+    public void maintainPartitions() {
+        partitionMaintenance.maintain(TABLE, auditConfig.getPartitionMonthsAhead(), auditConfig.getRetentionMonths());
+    }
+}
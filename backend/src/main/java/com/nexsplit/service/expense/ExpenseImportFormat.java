@@ -0,0 +1,47 @@
+package com.nexsplit.service.expense;
+
+/**
+ * Input formats accepted by the bulk expense import.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public enum ExpenseImportFormat {
+
+    /** Comma-separated values with a header row. */
+    CSV("text/csv"),
+
+    /** One JSON expense object per line. */
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    ExpenseImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Resolve the format from a request content type.
+     *
+     * @param contentType Content type header, parameters allowed
+     * @return The format
+     * @throws IllegalArgumentException if the content type is not supported
+     */
+    public static ExpenseImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String mediaType = contentType.split(";", 2)[0].trim();
+            for (ExpenseImportFormat format : values()) {
+                if (format.mediaType.equalsIgnoreCase(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType
+                + ". Use text/csv or application/x-ndjson");
+    }
+}
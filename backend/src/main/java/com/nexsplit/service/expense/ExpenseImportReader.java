@@ -0,0 +1,346 @@
+package com.nexsplit.service.expense;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexsplit.dto.expense.CreateExpenseRequest;
+import com.nexsplit.model.Expense;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads expense rows one at a time from a CSV or NDJSON stream.
+ *
+ * Only the current row is held in memory, so imports of any size are read in
+ * constant space. A row that cannot be parsed is returned with an error
+ * instead of a request, so one bad row does not stop the import.
+ *
+ * CSV input needs a header row naming the columns title, amount, categoryId,
+ * payerId, splitType, expenseDate and splits, plus optional currency and
+ * description columns. The splits column lists participants separated by
+ * semicolons, each as {@code userId} for EQUALLY splits or
+ * {@code userId:value} for PERCENTAGE and AMOUNT splits. NDJSON lines hold
+ * the same fields as {@link CreateExpenseRequest}.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public final class ExpenseImportReader implements Closeable {
+
+    static final List<String> REQUIRED_CSV_COLUMNS = List.of("title", "amount", "categoryid", "payerid",
+            "splittype", "expensedate", "splits");
+
+    private static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    private final ExpenseImportFormat format;
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> csvColumns;
+    private int rowNumber;
+    private boolean lineTooLong;
+
+    /**
+     * One data row of the import.
+     *
+     * @param rowNumber 1-based number of the data row, not counting the CSV
+     *                  header or blank lines
+     * @param request   Parsed expense, or null if the row could not be parsed
+     * @param error     Parse error, or null if the row was parsed
+     */
+    public record Row(int rowNumber, CreateExpenseRequest request, String error) {
+    }
+
+    private ExpenseImportReader(ExpenseImportFormat format, InputStream input, ObjectMapper objectMapper) {
+        this.format = format;
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Open a reader over an import stream. CSV input has its header read
+     * immediately.
+     *
+     * @param format       Input format
+     * @param input        Import stream, closed with the reader
+     * @param objectMapper Mapper used for NDJSON rows
+     * @return The reader
+     * @throws IOException              if the stream cannot be read
+     * @throws IllegalArgumentException if the CSV header is missing or lacks a
+     *                                  required column
+     */
+    public static ExpenseImportReader open(ExpenseImportFormat format, InputStream input,
+            ObjectMapper objectMapper) throws IOException {
+        ExpenseImportReader importReader = new ExpenseImportReader(format, input, objectMapper);
+        if (format == ExpenseImportFormat.CSV) {
+            importReader.readCsvHeader();
+        }
+        return importReader;
+    }
+
+    /**
+     * Read the next data row.
+     *
+     * @return The row, or null at the end of the stream
+     * @throws IOException if the stream cannot be read
+     */
+    public Row next() throws IOException {
+        return format == ExpenseImportFormat.CSV ? nextCsvRow() : nextNdjsonRow();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readCsvHeader() throws IOException {
+        List<String> header = readCsvRecord();
+        while (header != null && isBlank(header)) {
+            header = readCsvRecord();
+        }
+        if (header == null) {
+            throw new IllegalArgumentException("CSV import is empty; a header row is required");
+        }
+
+        csvColumns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            csvColumns.putIfAbsent(name, i);
+        }
+        for (String column : REQUIRED_CSV_COLUMNS) {
+            if (!csvColumns.containsKey(column)) {
+                throw new IllegalArgumentException("CSV header is missing required column: " + column);
+            }
+        }
+    }
+
+    private Row nextCsvRow() throws IOException {
+        List<String> record = readCsvRecord();
+        while (record != null && isBlank(record)) {
+            record = readCsvRecord();
+        }
+        if (record == null) {
+            return null;
+        }
+
+        rowNumber++;
+        try {
+            return new Row(rowNumber, toRequest(record), null);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return new Row(rowNumber, null, e.getMessage());
+        }
+    }
+
+    private Row nextNdjsonRow() throws IOException {
+        String line = readNdjsonLine();
+        while (line != null && line.isBlank() && !lineTooLong) {
+            line = readNdjsonLine();
+        }
+        if (line == null) {
+            return null;
+        }
+
+        rowNumber++;
+        if (lineTooLong) {
+            return new Row(rowNumber, null, "Line exceeds " + MAX_RECORD_CHARS + " characters");
+        }
+        try {
+            return new Row(rowNumber, objectMapper.readValue(line, CreateExpenseRequest.class), null);
+        } catch (JsonProcessingException e) {
+            return new Row(rowNumber, null, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private CreateExpenseRequest toRequest(List<String> record) {
+        Expense.SplitType splitType = splitType(required(record, "splittype"));
+        String currency = value(record, "currency");
+
+        CreateExpenseRequest.CreateExpenseRequestBuilder builder = CreateExpenseRequest.builder()
+                .title(value(record, "title"))
+                .amount(decimal(required(record, "amount"), "amount"))
+                .categoryId(required(record, "categoryid"))
+                .payerId(required(record, "payerid"))
+                .splitType(splitType)
+                .expenseDate(LocalDate.parse(required(record, "expensedate")))
+                .description(value(record, "description"))
+                .splits(parseSplits(required(record, "splits"), splitType));
+        if (currency != null) {
+            builder.currency(currency);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Parse a splits cell such as {@code u1:40;u2:60} into split requests.
+     */
+    static List<CreateExpenseRequest.CreateSplitRequest> parseSplits(String cell, Expense.SplitType splitType) {
+        List<CreateExpenseRequest.CreateSplitRequest> splits = new ArrayList<>();
+        for (String part : cell.split(";")) {
+            if (part.isBlank()) {
+                continue;
+            }
+
+            String[] userAndValue = part.split(":", 2);
+            CreateExpenseRequest.CreateSplitRequest.CreateSplitRequestBuilder split = CreateExpenseRequest.CreateSplitRequest
+                    .builder()
+                    .userId(userAndValue[0].trim());
+            if (splitType != Expense.SplitType.EQUALLY) {
+                if (userAndValue.length < 2 || userAndValue[1].isBlank()) {
+                    throw new IllegalArgumentException("Split for user " + userAndValue[0].trim()
+                            + " needs a value for " + splitType + " splits");
+                }
+                BigDecimal value = decimal(userAndValue[1].trim(), "split value");
+                if (splitType == Expense.SplitType.PERCENTAGE) {
+                    split.percentage(value);
+                } else {
+                    split.amount(value);
+                }
+            }
+            splits.add(split.build());
+        }
+        return splits;
+    }
+
+    private String value(List<String> record, String column) {
+        Integer index = csvColumns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private String required(List<String> record, String column) {
+        String value = value(record, column);
+        if (value == null) {
+            throw new IllegalArgumentException("Column " + column + " is required");
+        }
+        return value;
+    }
+
+    private static Expense.SplitType splitType(String value) {
+        try {
+            return Expense.SplitType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid splitType: " + value
+                    + ". Use EQUALLY, PERCENTAGE or AMOUNT");
+        }
+    }
+
+    private static BigDecimal decimal(String value, String name) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static boolean isBlank(List<String> record) {
+        return record.size() == 1 && record.get(0).isBlank();
+    }
+
+    /**
+     * Read one NDJSON line without its line terminator. A line longer than
+     * {@link #MAX_RECORD_CHARS} is skipped up to the next line break rather
+     * than buffered, and sets {@link #lineTooLong}.
+     *
+     * @return The line, empty if it was too long, or null at the end of the
+     *         stream
+     */
+    private String readNdjsonLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        boolean read = false;
+        lineTooLong = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            read = true;
+            if (c == '\n') {
+                break;
+            }
+            if (line.length() >= MAX_RECORD_CHARS) {
+                while ((c = reader.read()) != -1 && c != '\n') {
+                    // Discard the rest of the line
+                }
+                lineTooLong = true;
+                return "";
+            }
+            line.append((char) c);
+        }
+
+        if (!read) {
+            return null;
+        }
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\r') {
+            line.setLength(end - 1);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Read one RFC 4180 record; quoted fields may contain commas, doubled
+     * quotes and line breaks.
+     *
+     * @return The fields, or null at the end of the stream
+     */
+    private List<String> readCsvRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean read = false;
+        int length = 0;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            read = true;
+            if (++length > MAX_RECORD_CHARS) {
+                throw new IllegalArgumentException("CSV row " + (rowNumber + 1) + " exceeds "
+                        + MAX_RECORD_CHARS + " characters");
+            }
+
+            char ch = (char) c;
+            if (quoted) {
+                if (ch != '"') {
+                    field.append(ch);
+                    continue;
+                }
+                reader.mark(1);
+                if (reader.read() == '"') {
+                    field.append('"');
+                } else {
+                    quoted = false;
+                    reader.reset();
+                }
+            } else if (ch == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (ch != '\r') {
+                field.append(ch);
+            }
+        }
+
+        if (!read) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
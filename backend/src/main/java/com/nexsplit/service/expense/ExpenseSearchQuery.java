@@ -0,0 +1,43 @@
+package com.nexsplit.service.expense;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Builds PostgreSQL tsquery text from a user's search term.
+ *
+ * The term is split into words of letters and digits, so operators and
+ * quotes typed by the user cannot change the query. Every word is matched as
+ * a prefix and all words must match, which suits typeahead: "din par"
+ * matches "Dinner party".
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public final class ExpenseSearchQuery {
+
+    private ExpenseSearchQuery() {
+    }
+
+    /**
+     * Convert a search term to tsquery text.
+     *
+     * @param searchTerm The search term
+     * @param maxTerms   Maximum number of words to keep
+     * @return tsquery text, or null if the term contains no words
+     */
+    public static String toTsQuery(String searchTerm, int maxTerms) {
+        if (searchTerm == null) {
+            return null;
+        }
+
+        String query = Arrays.stream(searchTerm.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .limit(Math.max(1, maxTerms))
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+}
@@ -0,0 +1,136 @@
+package com.nexsplit.service.expense;
+
+import com.nexsplit.dto.ErrorCode;
+import com.nexsplit.dto.expense.CreateExpenseRequest;
+import com.nexsplit.exception.BusinessException;
+import com.nexsplit.model.Expense;
+import com.nexsplit.model.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Computes the share of each participant in an expense.
+ *
+ * Shares are computed in minor units so they always add up to the expense
+ * amount exactly, using {@link Money#allocate(long[])}. Leftover cents go to
+ * the shares with the largest fractional remainders, and ties go to the
+ * earlier participant. In an equal split all remainders tie, so the leftover
+ * cents go to the first participants. The calculator does no I/O, so callers
+ * can run it over many expenses before writing anything.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public final class ExpenseSplitCalculator {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private ExpenseSplitCalculator() {
+    }
+
+    /**
+     * One participant's share of an expense.
+     */
+    public record Share(String userId, BigDecimal percentage, BigDecimal amount) {
+    }
+
+    /**
+     * Calculate the shares of an expense.
+     *
+     * @param splitType     How the expense is split
+     * @param amount        Expense amount
+     * @param currency      Expense currency
+     * @param splitRequests Participants, with a percentage or amount when the
+     *                      split type needs one
+     * @return Shares in participant order
+     * @throws BusinessException with {@link ErrorCode#EXPENSE_SPLIT_INVALID} if
+     *                           the splits do not describe the whole amount
+     */
+    public static List<Share> calculate(Expense.SplitType splitType, BigDecimal amount, String currency,
+            List<CreateExpenseRequest.CreateSplitRequest> splitRequests) {
+        if (splitRequests == null || splitRequests.isEmpty()) {
+            throw new BusinessException("No users specified for split", ErrorCode.EXPENSE_SPLIT_INVALID);
+        }
+
+        Set<String> userIds = new HashSet<>();
+        for (CreateExpenseRequest.CreateSplitRequest request : splitRequests) {
+            if (!userIds.add(request.getUserId())) {
+                throw new BusinessException("User " + request.getUserId() + " appears more than once in splits",
+                        ErrorCode.EXPENSE_SPLIT_INVALID);
+            }
+        }
+
+        return switch (splitType) {
+            case EQUALLY -> equalShares(amount, currency, splitRequests);
+            case PERCENTAGE -> percentageShares(amount, currency, splitRequests);
+            case AMOUNT -> amountShares(amount, splitRequests);
+        };
+    }
+
+    private static List<Share> equalShares(BigDecimal amount, String currency,
+            List<CreateExpenseRequest.CreateSplitRequest> splitRequests) {
+        int userCount = splitRequests.size();
+        Money[] shares = Money.of(amount, currency).allocate(userCount);
+        BigDecimal percentagePerPerson = HUNDRED.divide(BigDecimal.valueOf(userCount), 2, RoundingMode.HALF_UP);
+
+        List<Share> result = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            result.add(new Share(splitRequests.get(i).getUserId(), percentagePerPerson, shares[i].toBigDecimal()));
+        }
+        return result;
+    }
+
+    private static List<Share> percentageShares(BigDecimal amount, String currency,
+            List<CreateExpenseRequest.CreateSplitRequest> splitRequests) {
+        BigDecimal totalPercentage = BigDecimal.ZERO;
+        BigDecimal[] percentages = new BigDecimal[splitRequests.size()];
+        for (int i = 0; i < percentages.length; i++) {
+            percentages[i] = splitRequests.get(i).getPercentage();
+            if (percentages[i] == null) {
+                throw new BusinessException("Percentage is required for every split",
+                        ErrorCode.EXPENSE_SPLIT_INVALID);
+            }
+            totalPercentage = totalPercentage.add(percentages[i]);
+        }
+
+        if (totalPercentage.compareTo(HUNDRED) != 0) {
+            throw new BusinessException("Total percentage must equal 100%", ErrorCode.EXPENSE_SPLIT_INVALID);
+        }
+
+        Money[] shares = Money.of(amount, currency).allocateByPercentages(percentages);
+        List<Share> result = new ArrayList<>(percentages.length);
+        for (int i = 0; i < percentages.length; i++) {
+            result.add(new Share(splitRequests.get(i).getUserId(), percentages[i], shares[i].toBigDecimal()));
+        }
+        return result;
+    }
+
+    private static List<Share> amountShares(BigDecimal amount,
+            List<CreateExpenseRequest.CreateSplitRequest> splitRequests) {
+        BigDecimal totalSplitAmount = BigDecimal.ZERO;
+        for (CreateExpenseRequest.CreateSplitRequest request : splitRequests) {
+            if (request.getAmount() == null) {
+                throw new BusinessException("Amount is required for every split", ErrorCode.EXPENSE_SPLIT_INVALID);
+            }
+            totalSplitAmount = totalSplitAmount.add(request.getAmount());
+        }
+
+        if (totalSplitAmount.compareTo(amount) != 0) {
+            throw new BusinessException("Total split amount must equal expense amount",
+                    ErrorCode.EXPENSE_SPLIT_INVALID);
+        }
+
+        List<Share> result = new ArrayList<>(splitRequests.size());
+        for (CreateExpenseRequest.CreateSplitRequest request : splitRequests) {
+            BigDecimal percentage = request.getAmount().multiply(HUNDRED).divide(amount, 2, RoundingMode.HALF_UP);
+            result.add(new Share(request.getUserId(), percentage, request.getAmount()));
+        }
+        return result;
+    }
+}
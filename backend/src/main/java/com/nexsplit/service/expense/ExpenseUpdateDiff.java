@@ -0,0 +1,211 @@
+package com.nexsplit.service.expense;
+
+import com.nexsplit.model.Debt;
+import com.nexsplit.model.Split;
+import com.nexsplit.service.expense.ExpenseSplitCalculator.Share;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Works out which split and debt rows an expense update has to write.
+ *
+ * The new shares of an expense are compared with its current splits and
+ * debts per participant. Rows whose values do not change are left alone, so
+ * a settled debt keeps its settlement as long as the debtor still owes the
+ * same payer the same amount. Unsettled debts and splits that change are
+ * updated in place. Settled debts are never changed or removed: what was
+ * already paid is netted against the new shares, and only the difference
+ * is owed, either as a new debt or as a reverse debt when too much was paid.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public final class ExpenseUpdateDiff {
+
+    private ExpenseUpdateDiff() {
+    }
+
+    /**
+     * Split rows to write.
+     *
+     * @param inserted  Shares of participants who had no split
+     * @param updated   Existing splits whose percentage or amount was changed in
+     *                  place
+     * @param removed   Splits of participants who are no longer in the expense
+     * @param unchanged Number of splits left as they were
+     */
+    public record SplitChanges(List<Share> inserted, List<Split> updated, List<Split> removed, int unchanged) {
+
+        public int rowsWritten() {
+            return inserted.size() + updated.size() + removed.size();
+        }
+    }
+
+    /**
+     * Debt rows to write.
+     *
+     * @param inserted  New unsettled debts
+     * @param updated   Existing unsettled debts whose creditor or amount was
+     *                  changed in place
+     * @param previous  Copies of the updated debts as they were before the
+     *                  change, in the same order
+     * @param removed   Unsettled debts that no longer apply
+     * @param unchanged Number of debts left as they were
+     */
+    public record DebtChanges(List<Debt> inserted, List<Debt> updated, List<Debt> previous, List<Debt> removed,
+            int unchanged) {
+
+        public int rowsWritten() {
+            return inserted.size() + updated.size() + removed.size();
+        }
+    }
+
+    /**
+     * Compare the current splits of an expense with its new shares. Changed
+     * splits are updated in place.
+     *
+     * @param existing Current splits of the expense
+     * @param shares   New shares
+     * @return Split rows to write
+     */
+    public static SplitChanges diffSplits(List<Split> existing, List<Share> shares) {
+        Map<String, Split> existingByUser = new HashMap<>();
+        for (Split split : existing) {
+            existingByUser.put(split.getId().getUserId(), split);
+        }
+
+        List<Share> inserted = new ArrayList<>();
+        List<Split> updated = new ArrayList<>();
+        int unchanged = 0;
+        for (Share share : shares) {
+            Split split = existingByUser.remove(share.userId());
+            if (split == null) {
+                inserted.add(share);
+            } else if (sameAmount(split.getAmount(), share.amount())
+                    && sameAmount(split.getPercentage(), share.percentage())) {
+                unchanged++;
+            } else {
+                split.setAmount(share.amount());
+                split.setPercentage(share.percentage());
+                updated.add(split);
+            }
+        }
+        return new SplitChanges(inserted, updated, new ArrayList<>(existingByUser.values()), unchanged);
+    }
+
+    /**
+     * Compare the current debts of an expense with the debts its new shares
+     * call for: every participant other than the payer owes the payer their
+     * share, less whatever was already settled between the two. When more was
+     * settled than is now owed, as when the payer changes or a participant
+     * leaves the split, the receiving side owes the difference back.
+     * Changed unsettled debts are updated in place.
+     *
+     * @param existing  Current debts of the expense
+     * @param expenseId The expense ID
+     * @param payerId   The payer after the update
+     * @param shares    New shares
+     * @return Debt rows to write
+     */
+    public static DebtChanges diffDebts(List<Debt> existing, String expenseId, String payerId, List<Share> shares) {
+        // Net amount owed per pair, positive when the first user owes the second
+        Map<UserPair, BigDecimal> owed = new LinkedHashMap<>();
+        for (Share share : shares) {
+            if (!share.userId().equals(payerId)) {
+                addOwed(owed, share.userId(), payerId, share.amount());
+            }
+        }
+
+        Map<String, List<Debt>> unsettledByDebtor = new HashMap<>();
+        int unchanged = 0;
+        for (Debt debt : existing) {
+            if (debt.isDeleted()) {
+                continue;
+            }
+            if (debt.isSettled()) {
+                addOwed(owed, debt.getDebtorId(), debt.getCreditorId(), debt.getAmount().negate());
+                unchanged++;
+            } else {
+                unsettledByDebtor.computeIfAbsent(debt.getDebtorId(), id -> new ArrayList<>()).add(debt);
+            }
+        }
+
+        List<Debt> inserted = new ArrayList<>();
+        List<Debt> updated = new ArrayList<>();
+        List<Debt> previous = new ArrayList<>();
+        List<Debt> removed = new ArrayList<>();
+        for (Map.Entry<UserPair, BigDecimal> entry : owed.entrySet()) {
+            int sign = entry.getValue().signum();
+            if (sign == 0) {
+                continue;
+            }
+            String debtorId = sign > 0 ? entry.getKey().first() : entry.getKey().second();
+            String creditorId = sign > 0 ? entry.getKey().second() : entry.getKey().first();
+            BigDecimal amount = entry.getValue().abs();
+
+            List<Debt> candidates = unsettledByDebtor.getOrDefault(debtorId, new ArrayList<>());
+            Debt match = candidates.stream()
+                    .filter(debt -> creditorId.equals(debt.getCreditorId()) && sameAmount(debt.getAmount(), amount))
+                    .findFirst()
+                    .or(() -> candidates.stream().findFirst())
+                    .orElse(null);
+
+            if (match == null) {
+                inserted.add(newDebt(expenseId, debtorId, creditorId, amount));
+                continue;
+            }
+            candidates.removeIf(debt -> debt == match);
+
+            if (creditorId.equals(match.getCreditorId()) && sameAmount(match.getAmount(), amount)) {
+                unchanged++;
+            } else {
+                previous.add(newDebt(expenseId, match.getDebtorId(), match.getCreditorId(), match.getAmount()));
+                match.setCreditorId(creditorId);
+                match.setAmount(amount);
+                updated.add(match);
+            }
+        }
+
+        unsettledByDebtor.values().forEach(removed::addAll);
+        return new DebtChanges(inserted, updated, previous, removed, unchanged);
+    }
+
+    /**
+     * Add an amount owed by one user to another, keyed by the unordered pair.
+     */
+    private static void addOwed(Map<UserPair, BigDecimal> owed, String debtorId, String creditorId,
+            BigDecimal amount) {
+        if (debtorId.compareTo(creditorId) < 0) {
+            owed.merge(new UserPair(debtorId, creditorId), amount, BigDecimal::add);
+        } else {
+            owed.merge(new UserPair(creditorId, debtorId), amount.negate(), BigDecimal::add);
+        }
+    }
+
+    /**
+     * Two users, ordered by ID.
+     */
+    private record UserPair(String first, String second) {
+    }
+
+    private static Debt newDebt(String expenseId, String debtorId, String creditorId, BigDecimal amount) {
+        return Debt.builder()
+                .debtorId(debtorId)
+                .creditorId(creditorId)
+                .creditorType(Debt.CreditorType.USER)
+                .amount(amount)
+                .expenseId(expenseId)
+                .build();
+    }
+
+    private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+        return a == null || b == null ? Objects.equals(a, b) : a.compareTo(b) == 0;
+    }
+}
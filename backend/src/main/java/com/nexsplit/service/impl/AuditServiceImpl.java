@@ -1,12 +1,11 @@
 package com.nexsplit.service.impl;
 
 import com.nexsplit.model.AuditEvent;
-import com.nexsplit.repository.AuditEventRepository;
 import com.nexsplit.service.AuditService;
+import com.nexsplit.service.audit.AuditEventWriter;
 import com.nexsplit.util.StructuredLoggingUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -15,7 +14,8 @@ import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Audit service implementation with async operations
- * Uses virtual threads for better scalability and performance
+ * Events are queued for the batching AuditEventWriter, so callers never wait
+ * for the database
  * Provides comprehensive audit logging for compliance and security
  */
 @Service
@@ -23,7 +23,7 @@ import java.util.concurrent.ThreadLocalRandom;
 @Slf4j
 public class AuditServiceImpl implements AuditService {
 
-    private final AuditEventRepository auditEventRepository;
+    private final AuditEventWriter auditEventWriter;
 
     /**
      * Generate a thread-safe unique ID for audit events
@@ -36,11 +36,14 @@ public class AuditServiceImpl implements AuditService {
     }
 
     /**
-     * Save audit event with direct persistence
-     * Uses repository save() for async compatibility
+     * Queue audit event for the batched writer
+     * created_at is set here since the writer bypasses JPA callbacks
      */
     private void saveAuditEvent(AuditEvent auditEvent) {
-        auditEventRepository.save(auditEvent);
+        if (auditEvent.getCreatedAt() == null) {
+            auditEvent.setCreatedAt(LocalDateTime.now());
+        }
+        auditEventWriter.enqueue(auditEvent);
     }
 
     /**
@@ -52,7 +55,6 @@ public class AuditServiceImpl implements AuditService {
      * - Comprehensive security tracking
      * - Fallback to structured logging
      */
-    @Async("asyncExecutor")
     @Override
     public void logSecurityEventAsync(String userId, String eventType, String details) {
         try {
@@ -69,7 +71,7 @@ public class AuditServiceImpl implements AuditService {
                     .timestamp(LocalDateTime.now())
                     .build();
 
-            // Save to database with direct persistence
+            // Queue for the batched database writer
             saveAuditEvent(auditEvent);
 
             // Also log to structured logging for monitoring
@@ -107,7 +109,6 @@ public class AuditServiceImpl implements AuditService {
      * - User behavior analytics
      * - Compliance requirements
      */
-    @Async("asyncExecutor")
     @Override
     public void logUserActionAsync(String userId, String action, String details) {
         try {
@@ -124,7 +125,7 @@ public class AuditServiceImpl implements AuditService {
                     .timestamp(LocalDateTime.now())
                     .build();
 
-            // Save to database with direct persistence
+            // Queue for the batched database writer
             saveAuditEvent(auditEvent);
 
             // Also log to structured logging for monitoring
@@ -162,7 +163,6 @@ public class AuditServiceImpl implements AuditService {
      * - Maintenance logging
      * - Performance monitoring
      */
-    @Async("asyncExecutor")
     @Override
     public void logSystemEventAsync(String eventType, String details) {
         try {
@@ -179,7 +179,7 @@ public class AuditServiceImpl implements AuditService {
                     .timestamp(LocalDateTime.now())
                     .build();
 
-            // Save to database with direct persistence
+            // Queue for the batched database writer
             saveAuditEvent(auditEvent);
 
             // Also log to structured logging for monitoring
@@ -217,7 +217,6 @@ public class AuditServiceImpl implements AuditService {
      * - Login pattern analysis
      * - Fraud detection support
      */
-    @Async("asyncExecutor")
     @Override
     public void logAuthenticationEventAsync(String userId, String eventType, String ipAddress, String userAgent,
             String details) {
@@ -237,7 +236,7 @@ public class AuditServiceImpl implements AuditService {
                     .timestamp(LocalDateTime.now())
                     .build();
 
-            // Save to database with direct persistence
+            // Queue for the batched database writer
             saveAuditEvent(auditEvent);
 
             // Also log to structured logging for monitoring
@@ -18,6 +18,8 @@ import com.nexsplit.model.BillParticipantId;
 import com.nexsplit.repository.BillRepository;
 import com.nexsplit.repository.BillParticipantRepository;
 import com.nexsplit.service.BillService;
+import com.nexsplit.service.NexAnalyticsService;
+import com.nexsplit.service.analytics.NexAnalyticsDelta;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -28,6 +30,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -51,6 +54,7 @@ public class BillServiceImpl implements BillService {
     private final BillParticipantRepository billParticipantRepository;
     private final BillMapStruct billMapStruct;
     private final BillParticipantMapStruct billParticipantMapStruct;
+    private final NexAnalyticsService nexAnalyticsService;
 
     @Override
     public BillDto createBill(CreateBillRequest request, String userId) {
@@ -76,6 +80,10 @@ public class BillServiceImpl implements BillService {
         Bill bill = billMapStruct.toEntity(request);
         bill.setCreatedBy(userId);
         bill = billRepository.save(bill);
+        if (bill.getNexId() != null) {
+            nexAnalyticsService.apply(bill.getNexId(), new NexAnalyticsDelta()
+                    .billAdded(bill.getAmount(), Boolean.TRUE.equals(bill.getIsPaid()), bill.getCreatedAt()));
+        }
 
         log.info("Bill created successfully with ID: {}", bill.getId());
         return billMapStruct.toDto(bill);
@@ -99,8 +107,11 @@ public class BillServiceImpl implements BillService {
         Bill bill = billRepository.findById(billId)
                 .orElseThrow(() -> EntityNotFoundException.billNotFound(billId));
 
+        BigDecimal previousAmount = bill.getAmount();
+        boolean previouslyPaid = Boolean.TRUE.equals(bill.getIsPaid());
         billMapStruct.updateEntityFromRequest(request, bill);
         bill = billRepository.save(bill);
+        recordBillChanged(bill, previousAmount, previouslyPaid);
 
         log.info("Bill updated successfully: {}", billId);
         return billMapStruct.toDto(bill);
@@ -112,11 +123,15 @@ public class BillServiceImpl implements BillService {
 
         Bill bill = billRepository.findById(billId)
                 .orElseThrow(() -> EntityNotFoundException.billNotFound(billId));
+        boolean wasDeleted = bill.isDeleted();
 
         bill.setIsDeleted(true);
         bill.setDeletedAt(LocalDateTime.now());
         bill.setDeletedBy(deletedBy);
         billRepository.save(bill);
+        if (!wasDeleted) {
+            recordBillRemoved(bill);
+        }
 
         log.info("Bill deleted successfully: {}", billId);
     }
@@ -127,10 +142,14 @@ public class BillServiceImpl implements BillService {
 
         Bill bill = billRepository.findById(billId)
                 .orElseThrow(() -> EntityNotFoundException.billNotFound(billId));
+        boolean wasDeleted = bill.isDeleted();
 
         bill.setIsDeleted(true);
         bill.setDeletedAt(LocalDateTime.now());
         billRepository.save(bill);
+        if (!wasDeleted) {
+            recordBillRemoved(bill);
+        }
 
         log.info("Bill deleted successfully: {}", billId);
     }
@@ -230,9 +249,11 @@ public class BillServiceImpl implements BillService {
         Bill bill = billRepository.findById(billId)
                 .orElseThrow(() -> EntityNotFoundException.billNotFound(billId));
 
+        boolean previouslyPaid = Boolean.TRUE.equals(bill.getIsPaid());
         bill.setIsPaid(true);
         // Note: Bill entity doesn't have paidAt field, only BillParticipant does
         bill = billRepository.save(bill);
+        recordBillChanged(bill, bill.getAmount(), previouslyPaid);
 
         log.info("Bill marked as paid successfully: {}", billId);
         return billMapStruct.toDto(bill);
@@ -245,9 +266,11 @@ public class BillServiceImpl implements BillService {
         Bill bill = billRepository.findById(billId)
                 .orElseThrow(() -> EntityNotFoundException.billNotFound(billId));
 
+        boolean previouslyPaid = Boolean.TRUE.equals(bill.getIsPaid());
         bill.setIsPaid(false);
         // Note: Bill entity doesn't have paidAt field, only BillParticipant does
         bill = billRepository.save(bill);
+        recordBillChanged(bill, bill.getAmount(), previouslyPaid);
 
         log.info("Bill marked as unpaid successfully: {}", billId);
         return billMapStruct.toDto(bill);
@@ -523,6 +546,31 @@ public class BillServiceImpl implements BillService {
         return false;
     }
 
+    /**
+     * Apply a change of a Nex bill's amount or paid state to the Nex
+     * analytics rollup.
+     */
+    private void recordBillChanged(Bill bill, BigDecimal previousAmount, boolean previouslyPaid) {
+        boolean paid = Boolean.TRUE.equals(bill.getIsPaid());
+        if (bill.getNexId() == null || bill.isDeleted()
+                || (paid == previouslyPaid && Objects.equals(previousAmount, bill.getAmount()))) {
+            return;
+        }
+        nexAnalyticsService.apply(bill.getNexId(), new NexAnalyticsDelta()
+                .billRemoved(previousAmount, previouslyPaid)
+                .billAdded(bill.getAmount(), paid, bill.getCreatedAt()));
+    }
+
+    /**
+     * Remove a deleted Nex bill from the Nex analytics rollup.
+     */
+    private void recordBillRemoved(Bill bill) {
+        if (bill.getNexId() != null) {
+            nexAnalyticsService.apply(bill.getNexId(), new NexAnalyticsDelta()
+                    .billRemoved(bill.getAmount(), Boolean.TRUE.equals(bill.getIsPaid())));
+        }
+    }
+
     private void createNewRecurringBill(Bill originalBill) {
         // TODO: Implement logic to create a new bill based on the recurring pattern
         log.info("Creating new recurring bill based on: {}", originalBill.getId());
@@ -549,18 +597,16 @@ public class BillServiceImpl implements BillService {
                 .map(Bill::getAmount)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        // Calculate participant statistics
+        // Calculate participant statistics over all bills in one query
         int totalParticipants = 0;
         int paidParticipants = 0;
-        int unpaidParticipants = 0;
-
-        for (Bill bill : bills) {
-            List<BillParticipant> participants = billParticipantRepository.findByBillIdAndIsDeletedFalse(bill.getId());
-            totalParticipants += participants.size();
-            paidParticipants += (int) participants.stream().filter(BillParticipant::isPaid).count();
-            unpaidParticipants += participants.size()
-                    - (int) participants.stream().filter(BillParticipant::isPaid).count();
+        if (!bills.isEmpty()) {
+            BillParticipantRepository.ParticipantCounts counts = billParticipantRepository
+                    .countParticipantsByBillIds(bills.stream().map(Bill::getId).toList());
+            totalParticipants = (int) counts.getTotal();
+            paidParticipants = (int) counts.getPaid();
         }
+        int unpaidParticipants = totalParticipants - paidParticipants;
 
         return new BillStatistics(
                 totalBills, paidBills, unpaidBills, overdueBills,
@@ -12,7 +12,9 @@ import com.nexsplit.mapper.category.CategoryMapStruct;
 import com.nexsplit.model.Category;
 import com.nexsplit.repository.CategoryRepository;
 import com.nexsplit.service.CategoryService;
+import com.nexsplit.service.NexAnalyticsService;
 import com.nexsplit.service.NexService;
+import com.nexsplit.service.analytics.NexAnalyticsDelta;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -34,6 +36,7 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapStruct categoryMapStruct;
     private final NexService nexService;
+    private final NexAnalyticsService nexAnalyticsService;
 
     @Override
     public CategoryDto createCategory(CreateCategoryRequest request, String userId) {
@@ -64,6 +67,10 @@ public class CategoryServiceImpl implements CategoryService {
 
         // Save category
         Category savedCategory = categoryRepository.save(category);
+        if (savedCategory.getNexId() != null) {
+            nexAnalyticsService.apply(savedCategory.getNexId(),
+                    new NexAnalyticsDelta().category(Boolean.TRUE.equals(savedCategory.getIsDefault()), 1));
+        }
 
         log.info("Category created successfully: {}", savedCategory.getId());
 
@@ -233,6 +240,9 @@ public class CategoryServiceImpl implements CategoryService {
 
         // Soft delete category
         categoryRepository.softDeleteById(categoryId, userId);
+        if (category.getNexId() != null) {
+            nexAnalyticsService.apply(category.getNexId(), new NexAnalyticsDelta().category(false, -1));
+        }
 
         log.info("Category deleted successfully: {}", categoryId);
     }
@@ -0,0 +1,325 @@
+package com.nexsplit.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexsplit.config.ExpenseImportConfig;
+import com.nexsplit.dto.ErrorCode;
+import com.nexsplit.dto.expense.CreateExpenseRequest;
+import com.nexsplit.dto.expense.ExpenseImportResult;
+import com.nexsplit.exception.BusinessException;
+import com.nexsplit.exception.EntityNotFoundException;
+import com.nexsplit.model.Debt;
+import com.nexsplit.model.OutboxEvent;
+import com.nexsplit.repository.CategoryRepository;
+import com.nexsplit.repository.NexMemberRepository;
+import com.nexsplit.repository.NexRepository;
+import com.nexsplit.service.ExpenseImportService;
+import com.nexsplit.service.NexAnalyticsService;
+import com.nexsplit.service.NexBalanceLedgerService;
+import com.nexsplit.service.NexWriteLane;
+import com.nexsplit.service.OutboxService;
+import com.nexsplit.service.analytics.NexAnalyticsDelta;
+import com.nexsplit.service.expense.ExpenseImportFormat;
+import com.nexsplit.service.expense.ExpenseImportReader;
+import com.nexsplit.service.expense.ExpenseSplitCalculator;
+import com.nexsplit.service.expense.ExpenseSplitCalculator.Share;
+import com.nexsplit.util.CurrencyUtil;
+import com.nexsplit.util.StructuredLoggingUtil;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Implementation of ExpenseImportService.
+ *
+ * An import runs in two phases. The stream is first read and validated row by
+ * row outside the Nex write lane, so a slow upload never blocks other writers
+ * of the Nex. Valid rows are then written inside the write lane and one
+ * transaction, in chunks of plain JDBC batch inserts for expenses, splits and
+ * debts. The ledger is updated once for all imported debts, and membership is
+ * re-checked under the lane in case a member left while the upload was read.
+ * A single outbox event records the import, from which each member gets one
+ * summary notification after commit.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExpenseImportServiceImpl implements ExpenseImportService {
+
+    private static final String INSERT_EXPENSE_SQL = "INSERT INTO expenses (id, title, amount, currency, "
+            + "category_id, description, nex_id, created_by, payer_id, split_type, is_initial_payer_has, "
+            + "expense_date, created_at, modified_at, is_deleted) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false)";
+
+    private static final String INSERT_SPLIT_SQL = "INSERT INTO splits (expense_id, user_id, percentage, amount, "
+            + "created_at, modified_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_DEBT_SQL = "INSERT INTO debts (id, debtor_id, creditor_id, creditor_type, "
+            + "amount, expense_id, created_at, modified_at, is_deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, false)";
+
+    private final ExpenseImportConfig expenseImportConfig;
+    private final NexRepository nexRepository;
+    private final NexMemberRepository nexMemberRepository;
+    private final CategoryRepository categoryRepository;
+    private final OutboxService outboxService;
+    private final NexBalanceLedgerService nexBalanceLedgerService;
+    private final NexAnalyticsService nexAnalyticsService;
+    private final NexWriteLane nexWriteLane;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Override
+    public ExpenseImportResult importExpenses(String nexId, ExpenseImportFormat format, InputStream input,
+            String userId) {
+        log.info("Importing {} expenses into Nex: {} for user: {}", format, nexId, userId);
+
+        if (!nexRepository.existsById(nexId)) {
+            throw EntityNotFoundException.nexNotFound(nexId);
+        }
+
+        // Snapshot membership and categories once instead of looking them up per row
+        Set<String> memberIds = new HashSet<>(nexMemberRepository.findActiveMemberIdsByNexId(nexId));
+        if (!memberIds.contains(userId)) {
+            throw new BusinessException("User is not a member of this expense group",
+                    ErrorCode.AUTHZ_NEX_ACCESS_DENIED);
+        }
+        Set<String> categoryIds = new HashSet<>(categoryRepository.findUsableCategoryIds(nexId, userId));
+
+        List<PreparedExpense> prepared = new ArrayList<>();
+        List<ExpenseImportResult.RowError> errors = new ArrayList<>();
+        int totalRows = 0;
+
+        try (ExpenseImportReader reader = ExpenseImportReader.open(format, input, objectMapper)) {
+            ExpenseImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                if (++totalRows > expenseImportConfig.getMaxRows()) {
+                    throw new BusinessException("Import is limited to " + expenseImportConfig.getMaxRows()
+                            + " rows", ErrorCode.EXPENSE_IMPORT_TOO_LARGE);
+                }
+                if (row.error() != null) {
+                    errors.add(rowError(row.rowNumber(), row.error()));
+                    continue;
+                }
+
+                try {
+                    prepared.add(prepare(row.rowNumber(), row.request(), nexId, memberIds, categoryIds));
+                } catch (BusinessException | IllegalArgumentException e) {
+                    errors.add(rowError(row.rowNumber(), e.getMessage()));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read import: " + e.getMessage(), e);
+        }
+
+        List<PreparedExpense> imported = prepared.isEmpty() ? List.of()
+                : nexWriteLane.execute(nexId, () -> transactionTemplate.execute(
+                        status -> writeExpenses(nexId, userId, prepared, errors)));
+
+        StructuredLoggingUtil.logBusinessEvent(
+                "EXPENSES_IMPORTED",
+                userId,
+                "IMPORT_EXPENSES",
+                "SUCCESS",
+                Map.of(
+                        "nexId", nexId,
+                        "format", format.name(),
+                        "totalRows", totalRows,
+                        "importedCount", imported.size(),
+                        "failedCount", errors.size()));
+
+        log.info("Imported {} of {} expense rows into Nex: {}", imported.size(), totalRows, nexId);
+        return buildResult(nexId, totalRows, imported.size(), errors);
+    }
+
+    /**
+     * Validate a row against the snapshots and compute its shares.
+     */
+    private PreparedExpense prepare(int rowNumber, CreateExpenseRequest request, String nexId,
+            Set<String> memberIds, Set<String> categoryIds) {
+        request.setNexId(nexId);
+        if (request.getCurrency() == null) {
+            request.setCurrency(CurrencyUtil.getDefaultCurrency());
+        }
+
+        Set<String> violations = new TreeSet<>();
+        for (ConstraintViolation<CreateExpenseRequest> violation : validator.validate(request)) {
+            violations.add(violation.getMessage());
+        }
+        if (request.getSplits() != null) {
+            for (CreateExpenseRequest.CreateSplitRequest split : request.getSplits()) {
+                for (ConstraintViolation<CreateExpenseRequest.CreateSplitRequest> violation : validator
+                        .validate(split)) {
+                    violations.add(violation.getMessage());
+                }
+            }
+        }
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", violations));
+        }
+
+        if (!categoryIds.contains(request.getCategoryId())) {
+            throw new BusinessException("Category not found: " + request.getCategoryId(),
+                    ErrorCode.EXPENSE_CATEGORY_NOT_FOUND);
+        }
+        if (!memberIds.contains(request.getPayerId())) {
+            throw new BusinessException("Payer is not a member of this expense group",
+                    ErrorCode.EXPENSE_PAYER_NOT_MEMBER);
+        }
+
+        List<Share> shares = ExpenseSplitCalculator.calculate(request.getSplitType(), request.getAmount(),
+                request.getCurrency(), request.getSplits());
+        for (Share share : shares) {
+            if (!memberIds.contains(share.userId())) {
+                throw new BusinessException("User " + share.userId() + " is not a member of this expense group",
+                        ErrorCode.AUTHZ_NEX_ACCESS_DENIED);
+            }
+        }
+
+        return new PreparedExpense(rowNumber, UUID.randomUUID().toString(), request, shares);
+    }
+
+    /**
+     * Write the prepared expenses inside the Nex write lane and a transaction.
+     *
+     * @return The expenses that were written
+     */
+    private List<PreparedExpense> writeExpenses(String nexId, String userId, List<PreparedExpense> prepared,
+            List<ExpenseImportResult.RowError> errors) {
+        // Members may have left while the upload was being read
+        Set<String> memberIds = new HashSet<>(nexMemberRepository.findActiveMemberIdsByNexId(nexId));
+        List<PreparedExpense> writable = new ArrayList<>(prepared.size());
+        for (PreparedExpense expense : prepared) {
+            if (memberIds.contains(userId) && memberIds.contains(expense.request().getPayerId())
+                    && expense.shares().stream().allMatch(share -> memberIds.contains(share.userId()))) {
+                writable.add(expense);
+            } else {
+                errors.add(rowError(expense.rowNumber(), "A participant left the expense group during the import"));
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Debt> debts = new ArrayList<>();
+        int batchSize = Math.max(1, expenseImportConfig.getBatchSize());
+        for (int from = 0; from < writable.size(); from += batchSize) {
+            List<PreparedExpense> chunk = writable.subList(from, Math.min(from + batchSize, writable.size()));
+            debts.addAll(insertChunk(chunk, nexId, userId, now));
+        }
+
+        nexBalanceLedgerService.recordDebtsCreated(nexId, debts);
+
+        NexAnalyticsDelta analyticsDelta = new NexAnalyticsDelta().debtsAdded(debts);
+        for (PreparedExpense expense : writable) {
+            analyticsDelta.expenseAdded(expense.request().getAmount(), now.toLocalDateTime());
+        }
+        nexAnalyticsService.apply(nexId, analyticsDelta);
+
+        // One event for the whole import; members get one summary notification each
+        if (!writable.isEmpty()) {
+            outboxService.publish(OutboxEvent.EventType.EXPENSES_IMPORTED, nexId, null, userId,
+                    Map.of("importedCount", writable.size()));
+        }
+        return writable;
+    }
+
+    /**
+     * Batch-insert one chunk of expenses with their splits and debts.
+     *
+     * @return The debts created for the chunk, for the ledger update
+     */
+    private List<Debt> insertChunk(List<PreparedExpense> chunk, String nexId, String userId, Timestamp now) {
+        List<Object[]> expenseRows = new ArrayList<>(chunk.size());
+        List<Object[]> splitRows = new ArrayList<>();
+        List<Object[]> debtRows = new ArrayList<>();
+        List<Debt> debts = new ArrayList<>();
+
+        for (PreparedExpense expense : chunk) {
+            CreateExpenseRequest request = expense.request();
+            String payerId = request.getPayerId();
+            expenseRows.add(new Object[] { expense.id(), request.getTitle(), request.getAmount(),
+                    request.getCurrency(), request.getCategoryId(), request.getDescription(), nexId, userId,
+                    payerId, request.getSplitType().name(), Boolean.TRUE.equals(request.getIsInitialPayerHas()),
+                    Timestamp.valueOf(request.getExpenseDate().atStartOfDay()), now, now });
+
+            for (Share share : expense.shares()) {
+                splitRows.add(new Object[] { expense.id(), share.userId(), share.percentage(), share.amount(),
+                        now, now });
+
+                // Don't create debt if payer is paying for themselves
+                if (!payerId.equals(share.userId())) {
+                    Debt debt = Debt.builder()
+                            .id(UUID.randomUUID().toString())
+                            .debtorId(share.userId())
+                            .creditorId(payerId)
+                            .creditorType(Debt.CreditorType.USER)
+                            .amount(share.amount())
+                            .expenseId(expense.id())
+                            .build();
+                    debtRows.add(new Object[] { debt.getId(), debt.getDebtorId(), debt.getCreditorId(),
+                            debt.getCreditorType().name(), debt.getAmount(), debt.getExpenseId(), now, now });
+                    debts.add(debt);
+                }
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_EXPENSE_SQL, expenseRows);
+        jdbcTemplate.batchUpdate(INSERT_SPLIT_SQL, splitRows);
+        if (!debtRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_DEBT_SQL, debtRows);
+        }
+
+        log.debug("Inserted {} expenses, {} splits and {} debts for Nex: {}", expenseRows.size(),
+                splitRows.size(), debtRows.size(), nexId);
+        return debts;
+    }
+
+    private ExpenseImportResult buildResult(String nexId, int totalRows, int importedCount,
+            List<ExpenseImportResult.RowError> errors) {
+        errors.sort(Comparator.comparingInt(ExpenseImportResult.RowError::getRowNumber));
+        int maxReportedErrors = expenseImportConfig.getMaxReportedErrors();
+
+        return ExpenseImportResult.builder()
+                .nexId(nexId)
+                .totalRows(totalRows)
+                .importedCount(importedCount)
+                .failedCount(errors.size())
+                .errors(errors.size() > maxReportedErrors ? List.copyOf(errors.subList(0, maxReportedErrors))
+                        : errors)
+                .errorsTruncated(errors.size() > maxReportedErrors)
+                .build();
+    }
+
+    private static ExpenseImportResult.RowError rowError(int rowNumber, String message) {
+        return ExpenseImportResult.RowError.builder()
+                .rowNumber(rowNumber)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * A validated row with its generated expense ID and computed shares.
+     */
+    private record PreparedExpense(int rowNumber, String id, CreateExpenseRequest request, List<Share> shares) {
+    }
+}
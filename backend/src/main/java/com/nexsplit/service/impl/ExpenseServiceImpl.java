@@ -1,5 +1,6 @@
 package com.nexsplit.service.impl;
 
+import com.nexsplit.config.ExpenseSearchConfig;
 import com.nexsplit.dto.PaginatedResponse;
 import com.nexsplit.dto.expense.CreateExpenseRequest;
 import com.nexsplit.dto.expense.ExpenseDto;
@@ -13,8 +14,20 @@ import com.nexsplit.model.*;
 import com.nexsplit.repository.*;
 import com.nexsplit.repository.ExpenseSummaryRepository;
 import com.nexsplit.service.ExpenseService;
-import com.nexsplit.service.NotificationService;
+import com.nexsplit.service.NexAnalyticsService;
+import com.nexsplit.service.NexBalanceLedgerService;
+import com.nexsplit.service.NexWriteLane;
+import com.nexsplit.service.OutboxService;
+import com.nexsplit.service.analytics.NexAnalyticsDelta;
+import com.nexsplit.service.expense.ExpenseSearchQuery;
+import com.nexsplit.service.expense.ExpenseSplitCalculator;
+import com.nexsplit.service.expense.ExpenseUpdateDiff;
+import com.nexsplit.util.CurrencyUtil;
+import com.nexsplit.util.CursorUtil;
+import com.nexsplit.util.PaginationUtil;
 import com.nexsplit.util.StructuredLoggingUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -22,11 +35,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -43,10 +57,16 @@ public class ExpenseServiceImpl implements ExpenseService {
         private final CategoryRepository categoryRepository;
         private final UserRepository userRepository;
         private final NexMemberRepository nexMemberRepository;
-        private final NexRepository nexRepository;
         private final ExpenseMapStruct expenseMapStruct;
         private final ExpenseSummaryRepository expenseSummaryRepository;
-        private final NotificationService notificationService;
+        private final OutboxService outboxService;
+        private final NexBalanceLedgerService nexBalanceLedgerService;
+        private final NexAnalyticsService nexAnalyticsService;
+        private final NexWriteLane nexWriteLane;
+        private final TransactionTemplate transactionTemplate;
+        private final ExpenseSearchConfig expenseSearchConfig;
+        private final DistributionSummary splitRowsWritten;
+        private final DistributionSummary debtRowsWritten;
 
         public ExpenseServiceImpl(ExpenseRepository expenseRepository,
                         SplitRepository splitRepository,
@@ -54,33 +74,61 @@ public class ExpenseServiceImpl implements ExpenseService {
                         CategoryRepository categoryRepository,
                         UserRepository userRepository,
                         NexMemberRepository nexMemberRepository,
-                        NexRepository nexRepository,
                         ExpenseMapStruct expenseMapStruct,
                         ExpenseSummaryRepository expenseSummaryRepository,
-                        NotificationService notificationService) {
+                        OutboxService outboxService,
+                        NexBalanceLedgerService nexBalanceLedgerService,
+                        NexAnalyticsService nexAnalyticsService,
+                        NexWriteLane nexWriteLane,
+                        TransactionTemplate transactionTemplate,
+                        ExpenseSearchConfig expenseSearchConfig,
+                        MeterRegistry meterRegistry) {
                 this.expenseRepository = expenseRepository;
                 this.splitRepository = splitRepository;
                 this.debtRepository = debtRepository;
                 this.categoryRepository = categoryRepository;
                 this.userRepository = userRepository;
                 this.nexMemberRepository = nexMemberRepository;
-                this.nexRepository = nexRepository;
                 this.expenseMapStruct = expenseMapStruct;
                 this.expenseSummaryRepository = expenseSummaryRepository;
-                this.notificationService = notificationService;
+                this.outboxService = outboxService;
+                this.nexBalanceLedgerService = nexBalanceLedgerService;
+                this.nexAnalyticsService = nexAnalyticsService;
+                this.nexWriteLane = nexWriteLane;
+                this.transactionTemplate = transactionTemplate;
+                this.expenseSearchConfig = expenseSearchConfig;
+                this.splitRowsWritten = rowsWrittenSummary(meterRegistry, "splits");
+                this.debtRowsWritten = rowsWrittenSummary(meterRegistry, "debts");
+        }
+
+        private static DistributionSummary rowsWrittenSummary(MeterRegistry meterRegistry, String table) {
+                return DistributionSummary.builder("expense.update.rows.written")
+                                .tag("table", table)
+                                .description("Split or debt rows inserted, updated or deleted by one expense update")
+                                .register(meterRegistry);
         }
 
         @Override
-        @Transactional
         public ExpenseDto createExpense(CreateExpenseRequest request, String userId) {
+                return nexWriteLane.execute(request.getNexId(), () -> transactionTemplate.execute(
+                                status -> doCreateExpense(request, userId)));
+        }
+
+        /**
+         * Create an expense inside the Nex write lane and a transaction.
+         */
+        private ExpenseDto doCreateExpense(CreateExpenseRequest request, String userId) {
                 log.info("Creating expense for user: {}", userId);
 
                 // Validate user exists
                 userRepository.findById(userId)
                                 .orElseThrow(() -> EntityNotFoundException.userNotFound(userId));
 
+                // Resolve the active members once; every membership check below is a set lookup
+                Set<String> memberIds = new HashSet<>(getNexMemberIds(request.getNexId()));
+
                 // Validate nex exists and user is member
-                if (!isNexMember(request.getNexId(), userId)) {
+                if (!memberIds.contains(userId)) {
                         throw new BusinessException("User is not a member of this expense group",
                                         com.nexsplit.dto.ErrorCode.AUTHZ_NEX_ACCESS_DENIED);
                 }
@@ -89,45 +137,44 @@ public class ExpenseServiceImpl implements ExpenseService {
                 categoryRepository.findById(request.getCategoryId())
                                 .orElseThrow(() -> EntityNotFoundException.categoryNotFound(request.getCategoryId()));
 
-                // Validate payer exists and is member of nex
-                userRepository.findById(request.getPayerId())
-                                .orElseThrow(() -> EntityNotFoundException.userNotFound(request.getPayerId()));
-
-                if (!isNexMember(request.getNexId(), request.getPayerId())) {
+                // Validate payer is member of nex
+                if (!memberIds.contains(request.getPayerId())) {
                         throw new BusinessException("Payer is not a member of this expense group",
                                         com.nexsplit.dto.ErrorCode.EXPENSE_PAYER_NOT_MEMBER);
                 }
 
                 // Validate all split users are members of nex
-                if (request.getSplits() != null && !request.getSplits().isEmpty()) {
-                        for (CreateExpenseRequest.CreateSplitRequest split : request.getSplits()) {
-                                if (!isNexMember(request.getNexId(), split.getUserId())) {
-                                        throw new BusinessException(
-                                                        "User " + split.getUserId()
-                                                                        + " is not a member of this expense group",
-                                                        com.nexsplit.dto.ErrorCode.AUTHZ_NEX_ACCESS_DENIED);
-                                }
-                        }
-                }
+                validateSplitMembers(memberIds, request.getSplits(), CreateExpenseRequest.CreateSplitRequest::getUserId);
 
                 // Create expense entity
                 Expense expense = expenseMapStruct.toEntity(request);
                 expense.setCreatedBy(userId);
                 expense.setIsDeleted(false);
+                // Filled in place below; replacing the collections would make the
+                // expense dirty and cost an UPDATE of the row just inserted
+                expense.setSplits(new ArrayList<>());
+                expense.setDebts(new ArrayList<>());
 
                 // Save expense
                 Expense savedExpense = expenseRepository.save(expense);
 
                 // Calculate and create splits
-                List<Split> splits = calculateAndCreateSplits(savedExpense, request.getSplits(), request.getNexId());
-                savedExpense.setSplits(splits);
+                List<Split> splits = calculateAndCreateSplits(savedExpense, request.getSplits());
+                savedExpense.getSplits().addAll(splits);
 
                 // Generate debts from splits
                 List<Debt> debts = generateDebtsFromSplits(savedExpense, splits);
-                savedExpense.setDebts(debts);
+                savedExpense.getDebts().addAll(debts);
 
-                // Create notifications for all Nex members
-                createExpenseNotifications(savedExpense, request.getNexId());
+                // One rollup upsert covers the expense and all of its debts
+                nexAnalyticsService.apply(request.getNexId(), new NexAnalyticsDelta()
+                                .expenseAdded(savedExpense.getAmount(), savedExpense.getCreatedAt())
+                                .debtsAdded(debts));
+
+                // Member notifications and events are fanned out after commit
+                outboxService.publish(OutboxEvent.EventType.EXPENSE_CREATED, request.getNexId(),
+                                savedExpense.getId(), userId,
+                                Map.of("title", Objects.toString(request.getTitle(), "")));
 
                 // Log business event
                 StructuredLoggingUtil.logBusinessEvent(
@@ -173,7 +220,7 @@ public class ExpenseServiceImpl implements ExpenseService {
                 Sort sort = createSort(filter.getSortBy(), filter.getSortDirection());
                 Pageable pageable = PageRequest.of(page, size, sort);
 
-                Page<Expense> expensePage;
+                Page<ExpenseRepository.ExpenseRow> expensePage;
 
                 // Apply filters
                 if (filter.getStartDate() != null && filter.getEndDate() != null) {
@@ -182,8 +229,8 @@ public class ExpenseServiceImpl implements ExpenseService {
                                         filter.getEndDate());
                         LocalDateTime startDateTime = filter.getStartDate().atStartOfDay();
                         LocalDateTime endDateTime = filter.getEndDate().atTime(23, 59, 59, 999999999);
-                        expensePage = expenseRepository.findByExpenseDateBetweenAndIsDeletedFalseOrderByExpenseDateDesc(
-                                        startDateTime, endDateTime, pageable);
+                        expensePage = expenseRepository.findRowsByExpenseDateBetween(startDateTime, endDateTime,
+                                        pageable);
                 } else if (filter.getNexId() != null) {
                         // Check if user is member of nex
                         boolean isMember = isNexMember(filter.getNexId(), userId);
@@ -196,17 +243,15 @@ public class ExpenseServiceImpl implements ExpenseService {
                                 throw new BusinessException("User is not a member of this expense group",
                                                 com.nexsplit.dto.ErrorCode.AUTHZ_NEX_ACCESS_DENIED);
                         }
-                        expensePage = expenseRepository.findByNexIdAndIsDeletedFalse(filter.getNexId(), pageable);
+                        expensePage = expenseRepository.findRowsByNexId(filter.getNexId(), pageable);
                 } else if (filter.getUserId() != null) {
-                        expensePage = expenseRepository.findExpensesByUserInvolvement(filter.getUserId(), pageable);
+                        expensePage = expenseRepository.findRowsByUserInvolvement(filter.getUserId(), pageable);
                 } else {
                         // Get all expenses where user is involved
-                        expensePage = expenseRepository.findExpensesByUserInvolvement(userId, pageable);
+                        expensePage = expenseRepository.findRowsByUserInvolvement(userId, pageable);
                 }
 
-                List<ExpenseDto> expenseDtos = expensePage.getContent().stream()
-                                .map(expenseMapStruct::toDto)
-                                .collect(Collectors.toList());
+                List<ExpenseDto> expenseDtos = toListDtos(expensePage.getContent());
 
                 return PaginatedResponse.<ExpenseDto>builder()
                                 .data(expenseDtos)
@@ -237,11 +282,9 @@ public class ExpenseServiceImpl implements ExpenseService {
                 }
 
                 Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-                Page<Expense> expensePage = expenseRepository.findByNexIdAndIsDeletedFalse(nexId, pageable);
+                Page<ExpenseRepository.ExpenseRow> expensePage = expenseRepository.findRowsByNexId(nexId, pageable);
 
-                List<ExpenseDto> expenseDtos = expensePage.getContent().stream()
-                                .map(expenseMapStruct::toDto)
-                                .collect(Collectors.toList());
+                List<ExpenseDto> expenseDtos = toListDtos(expensePage.getContent());
 
                 return PaginatedResponse.<ExpenseDto>builder()
                                 .data(expenseDtos)
@@ -262,11 +305,10 @@ public class ExpenseServiceImpl implements ExpenseService {
                 log.info("Getting expenses by user involvement: {}, page: {}, size: {}", userId, page, size);
 
                 Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-                Page<Expense> expensePage = expenseRepository.findExpensesByUserInvolvement(userId, pageable);
+                Page<ExpenseRepository.ExpenseRow> expensePage = expenseRepository.findRowsByUserInvolvement(userId,
+                                pageable);
 
-                List<ExpenseDto> expenseDtos = expensePage.getContent().stream()
-                                .map(expenseMapStruct::toDto)
-                                .collect(Collectors.toList());
+                List<ExpenseDto> expenseDtos = toListDtos(expensePage.getContent());
 
                 return PaginatedResponse.<ExpenseDto>builder()
                                 .data(expenseDtos)
@@ -282,8 +324,92 @@ public class ExpenseServiceImpl implements ExpenseService {
         }
 
         @Override
-        @Transactional
+        @Transactional(readOnly = true)
+        public PaginatedResponse<ExpenseDto> getExpenseFeedByNexId(String nexId, String userId, String cursor,
+                        int size, boolean includeTotal) {
+                log.debug("Getting expense feed for nex: {} by user: {}, size: {}", nexId, userId, size);
+
+                if (!isNexMember(nexId, userId)) {
+                        log.warn("Access denied: User {} is not a member of nex {}", userId, nexId);
+                        throw new BusinessException("User is not a member of this expense group",
+                                        com.nexsplit.dto.ErrorCode.AUTHZ_NEX_ACCESS_DENIED);
+                }
+
+                // Fetch one extra ID to learn whether another page follows
+                List<String> expenseIds;
+                if (cursor == null || cursor.isBlank()) {
+                        expenseIds = expenseRepository.findFeedIdsByNexId(nexId, size + 1);
+                } else {
+                        CursorUtil.Position position = CursorUtil.decode(cursor);
+                        expenseIds = expenseRepository.findFeedIdsByNexIdAfter(nexId, position.sortKey(),
+                                        position.id(), size + 1);
+                }
+                Long total = includeTotal ? expenseRepository.countByNexIdAndIsDeletedFalse(nexId) : null;
+                return toFeedPage(expenseIds, size, total);
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public PaginatedResponse<ExpenseDto> getExpenseFeedByUserInvolvement(String userId, String requestingUserId,
+                        String cursor, int size, boolean includeTotal) {
+                log.debug("Getting expense feed by user involvement: {} by user: {}, size: {}", userId,
+                                requestingUserId, size);
+
+                // The feed spans every Nex of the user, so only they may read it
+                if (!userId.equals(requestingUserId)) {
+                        log.warn("Access denied: User {} cannot read the expense feed of user {}", requestingUserId,
+                                        userId);
+                        throw new BusinessException("Users can only read their own expense feed",
+                                        com.nexsplit.dto.ErrorCode.AUTHZ_INSUFFICIENT_PERMISSIONS);
+                }
+
+                // Fetch one extra ID to learn whether another page follows
+                List<String> expenseIds;
+                if (cursor == null || cursor.isBlank()) {
+                        expenseIds = expenseRepository.findFeedIdsByUserInvolvement(userId, size + 1);
+                } else {
+                        CursorUtil.Position position = CursorUtil.decode(cursor);
+                        expenseIds = expenseRepository.findFeedIdsByUserInvolvementAfter(userId, position.sortKey(),
+                                        position.id(), size + 1);
+                }
+                Long total = includeTotal ? expenseRepository.countByUserInvolvement(userId) : null;
+                return toFeedPage(expenseIds, size, total);
+        }
+
+        /**
+         * Build a feed page from expense IDs in feed order, which may include
+         * one ID past the page.
+         */
+        private PaginatedResponse<ExpenseDto> toFeedPage(List<String> expenseIds, int size, Long total) {
+                boolean hasNext = expenseIds.size() > size;
+                List<String> pageIds = hasNext ? expenseIds.subList(0, size) : expenseIds;
+
+                List<ExpenseRepository.ExpenseRow> rows = findRowsInOrder(pageIds);
+
+                String nextCursor = null;
+                if (hasNext && !rows.isEmpty()) {
+                        ExpenseRepository.ExpenseRow last = rows.get(rows.size() - 1);
+                        nextCursor = CursorUtil.encode(last.getExpenseDate(), last.getId());
+                }
+
+                List<ExpenseDto> expenseDtos = toListDtos(rows);
+                return total != null
+                                ? PaginationUtil.createCursorPaginatedResponse(expenseDtos, size, nextCursor, total)
+                                : PaginationUtil.createCursorPaginatedResponse(expenseDtos, size, nextCursor);
+        }
+
+        @Override
         public ExpenseDto updateExpense(String expenseId, UpdateExpenseRequest request, String userId) {
+                String nexId = expenseRepository.findNexIdById(expenseId)
+                                .orElseThrow(() -> EntityNotFoundException.expenseNotFound(expenseId));
+                return nexWriteLane.execute(nexId, () -> transactionTemplate.execute(
+                                status -> doUpdateExpense(expenseId, request, userId)));
+        }
+
+        /**
+         * Update an expense inside the Nex write lane and a transaction.
+         */
+        private ExpenseDto doUpdateExpense(String expenseId, UpdateExpenseRequest request, String userId) {
                 log.info("Updating expense: {} by user: {}", expenseId, userId);
 
                 Expense expense = expenseRepository.findByIdAndIsDeletedFalse(expenseId)
@@ -295,26 +421,61 @@ public class ExpenseServiceImpl implements ExpenseService {
                                         com.nexsplit.dto.ErrorCode.AUTHZ_INSUFFICIENT_PERMISSIONS);
                 }
 
-                // Update expense fields
-                expenseMapStruct.updateEntityFromRequest(request, expense);
+                // The stored shares of another split type do not carry over, e.g. the
+                // percentages of an equal split among three sum to 99.99
+                if (request.getSplits() == null && request.getSplitType() != null
+                                && request.getSplitType() != expense.getSplitType()
+                                && request.getSplitType() != Expense.SplitType.EQUALLY) {
+                        throw new BusinessException(
+                                        "Splits are required when changing split type to " + request.getSplitType(),
+                                        com.nexsplit.dto.ErrorCode.EXPENSE_SPLIT_INVALID);
+                }
 
-                // If splits are provided, recalculate them
-                if (request.getSplits() != null) {
-                        // Delete existing splits and debts
-                        splitRepository.deleteByIdExpenseId(expenseId);
-                        debtRepository.deleteByExpenseId(expenseId);
+                // Shares depend on these fields; compare them after the request is applied
+                BigDecimal previousAmount = expense.getAmount();
+                String previousPayerId = expense.getPayerId();
+                Expense.SplitType previousSplitType = expense.getSplitType();
+                String previousCurrency = expense.getCurrency();
 
-                        // Create new splits
-                        List<Split> newSplits = calculateAndCreateSplits(expense, request.getSplits(),
-                                        expense.getNexId());
-                        expense.setSplits(newSplits);
+                // Update expense fields
+                expenseMapStruct.updateEntityFromRequest(request, expense);
 
-                        // Generate new debts
-                        List<Debt> newDebts = generateDebtsFromSplits(expense, newSplits);
-                        expense.setDebts(newDebts);
+                NexAnalyticsDelta analyticsDelta = new NexAnalyticsDelta()
+                                .expenseAmountChanged(previousAmount, expense.getAmount());
+                boolean sharesChanged = request.getSplits() != null
+                                || previousAmount.compareTo(expense.getAmount()) != 0
+                                || !Objects.equals(previousPayerId, expense.getPayerId())
+                                || previousSplitType != expense.getSplitType()
+                                || !Objects.equals(previousCurrency, expense.getCurrency());
+                if (sharesChanged) {
+                        List<CreateExpenseRequest.CreateSplitRequest> splitRequests;
+                        if (request.getSplits() != null) {
+                                validateSplitMembers(new HashSet<>(getNexMemberIds(expense.getNexId())),
+                                                request.getSplits(), UpdateExpenseRequest.UpdateSplitRequest::getUserId);
+                                splitRequests = request.getSplits().stream()
+                                                .map(split -> CreateExpenseRequest.CreateSplitRequest.builder()
+                                                                .userId(split.getUserId())
+                                                                .percentage(split.getPercentage())
+                                                                .amount(split.getAmount())
+                                                                .build())
+                                                .toList();
+                        } else {
+                                // Re-split the new amount among the current participants
+                                splitRequests = expense.getSplits().stream()
+                                                .map(split -> CreateExpenseRequest.CreateSplitRequest.builder()
+                                                                .userId(split.getId().getUserId())
+                                                                .percentage(split.getPercentage())
+                                                                .amount(split.getAmount())
+                                                                .build())
+                                                .toList();
+                        }
+                        applyShareChanges(expense, splitRequests, analyticsDelta);
                 }
 
                 Expense updatedExpense = expenseRepository.save(expense);
+                nexAnalyticsService.apply(expense.getNexId(), analyticsDelta);
+                outboxService.publish(OutboxEvent.EventType.EXPENSE_UPDATED, expense.getNexId(), expenseId, userId,
+                                Map.of());
 
                 // Log business event
                 StructuredLoggingUtil.logBusinessEvent(
@@ -329,8 +490,17 @@ public class ExpenseServiceImpl implements ExpenseService {
         }
 
         @Override
-        @Transactional
         public void deleteExpense(String expenseId, String userId) {
+                String nexId = expenseRepository.findNexIdById(expenseId)
+                                .orElseThrow(() -> EntityNotFoundException.expenseNotFound(expenseId));
+                nexWriteLane.run(nexId, () -> transactionTemplate.executeWithoutResult(
+                                status -> doDeleteExpense(expenseId, userId)));
+        }
+
+        /**
+         * Soft delete an expense inside the Nex write lane and a transaction.
+         */
+        private void doDeleteExpense(String expenseId, String userId) {
                 log.info("Soft deleting expense: {} by user: {}", expenseId, userId);
 
                 Expense expense = expenseRepository.findByIdAndIsDeletedFalse(expenseId)
@@ -344,6 +514,16 @@ public class ExpenseServiceImpl implements ExpenseService {
 
                 // Soft delete the expense
                 expenseRepository.softDeleteById(expenseId, userId);
+                nexBalanceLedgerService.bumpLedgerVersion(expense.getNexId());
+                // Debts of a deleted expense drop out of the analytics with it
+                List<Debt> expenseDebts = expense.getDebts().stream()
+                                .filter(debt -> !debt.isDeleted())
+                                .toList();
+                nexAnalyticsService.apply(expense.getNexId(), new NexAnalyticsDelta()
+                                .expenseRemoved(expense.getAmount())
+                                .debtsRemoved(expenseDebts));
+                outboxService.publish(OutboxEvent.EventType.EXPENSE_DELETED, expense.getNexId(), expenseId, userId,
+                                Map.of());
 
                 // Log business event
                 StructuredLoggingUtil.logBusinessEvent(
@@ -386,14 +566,29 @@ public class ExpenseServiceImpl implements ExpenseService {
                 log.info("Searching expenses with term: '{}' by user: {}, page: {}, size: {}", searchTerm, userId, page,
                                 size);
 
-                Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-                Page<Expense> expensePage = expenseRepository.searchExpensesByTitleOrDescription(searchTerm, pageable);
-
-                // Filter expenses where user has access
-                List<ExpenseDto> expenseDtos = expensePage.getContent().stream()
-                                .filter(expense -> hasAccessToExpense(expense.getId(), userId))
-                                .map(expenseMapStruct::toDto)
-                                .collect(Collectors.toList());
+                Page<?> expensePage;
+                List<ExpenseDto> expenseDtos;
+                if (expenseSearchConfig.getMode() == ExpenseSearchConfig.Mode.LIKE) {
+                        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+                        Page<Expense> likePage = expenseRepository.searchExpensesByTitleOrDescription(searchTerm,
+                                        pageable);
+                        expensePage = likePage;
+
+                        // Filter expenses where user has access
+                        expenseDtos = likePage.getContent().stream()
+                                        .filter(expense -> hasAccessToExpense(expense.getId(), userId))
+                                        .map(expenseMapStruct::toDto)
+                                        .collect(Collectors.toList());
+                } else {
+                        String tsQuery = ExpenseSearchQuery.toTsQuery(searchTerm, expenseSearchConfig.getMaxTerms());
+                        // Access filtering, ranking and paging all happen in the query
+                        Page<String> idPage = tsQuery == null
+                                        ? Page.empty(PageRequest.of(page, size))
+                                        : expenseRepository.searchVisibleIdsByFullText(userId, tsQuery,
+                                                        PageRequest.of(page, size));
+                        expensePage = idPage;
+                        expenseDtos = toListDtos(findRowsInOrder(idPage.getContent()));
+                }
 
                 return PaginatedResponse.<ExpenseDto>builder()
                                 .data(expenseDtos)
@@ -447,25 +642,21 @@ public class ExpenseServiceImpl implements ExpenseService {
         public PaginatedResponse<ExpenseDto> getExpensesByPayerId(String payerId, String userId, int page, int size) {
                 log.info("Getting expenses by payer: {} for user: {}, page: {}, size: {}", payerId, userId, page, size);
 
-                List<Expense> expenses = expenseRepository.findByPayerIdAndIsDeletedFalseOrderByCreatedAtDesc(payerId);
+                // Access filtering and paging both happen in the query
+                Page<ExpenseRepository.ExpenseRow> expensePage = expenseRepository.findVisibleRowsByPayerId(payerId,
+                                userId, PageRequest.of(page, size));
 
-                // Filter expenses where user has access
-                List<ExpenseDto> expenseDtos = expenses.stream()
-                                .filter(expense -> hasAccessToExpense(expense.getId(), userId))
-                                .skip((long) page * size)
-                                .limit(size)
-                                .map(expenseMapStruct::toDto)
-                                .collect(Collectors.toList());
+                List<ExpenseDto> expenseDtos = toListDtos(expensePage.getContent());
 
                 return PaginatedResponse.<ExpenseDto>builder()
                                 .data(expenseDtos)
                                 .pagination(PaginatedResponse.PaginationInfo.builder()
                                                 .page(page)
                                                 .size(size)
-                                                .totalElements(expenses.size())
-                                                .totalPages((int) Math.ceil((double) expenses.size() / size))
-                                                .hasNext(page < (int) Math.ceil((double) expenses.size() / size) - 1)
-                                                .hasPrevious(page > 0)
+                                                .totalElements(expensePage.getTotalElements())
+                                                .totalPages(expensePage.getTotalPages())
+                                                .hasNext(expensePage.hasNext())
+                                                .hasPrevious(expensePage.hasPrevious())
                                                 .build())
                                 .build();
         }
@@ -497,45 +688,125 @@ public class ExpenseServiceImpl implements ExpenseService {
         /**
          * Calculate and create splits for an expense.
          * 
+         * Participants are attached by reference, so no user rows are loaded;
+         * callers check membership beforehand.
+         * 
          * @param expense       The expense entity
          * @param splitRequests List of split requests
-         * @param nexId         The nex ID
          * @return List of created splits
          */
-        private List<Split> calculateAndCreateSplits(Expense expense, List<?> splitRequests, String nexId) {
-                List<Split> splits = new ArrayList<>();
-
-                if (expense.getSplitType() == Expense.SplitType.EQUALLY) {
-                        @SuppressWarnings("unchecked")
-                        List<CreateExpenseRequest.CreateSplitRequest> equalSplits = (List<CreateExpenseRequest.CreateSplitRequest>) splitRequests;
-                        splits = createEqualSplits(expense, equalSplits);
-                } else if (expense.getSplitType() == Expense.SplitType.PERCENTAGE) {
-                        @SuppressWarnings("unchecked")
-                        List<CreateExpenseRequest.CreateSplitRequest> percentageSplits = (List<CreateExpenseRequest.CreateSplitRequest>) splitRequests;
-                        splits = createPercentageSplits(expense, percentageSplits);
-                } else if (expense.getSplitType() == Expense.SplitType.AMOUNT) {
-                        @SuppressWarnings("unchecked")
-                        List<CreateExpenseRequest.CreateSplitRequest> amountSplits = (List<CreateExpenseRequest.CreateSplitRequest>) splitRequests;
-                        splits = createAmountSplits(expense, amountSplits);
-                }
+        private List<Split> calculateAndCreateSplits(Expense expense,
+                        List<CreateExpenseRequest.CreateSplitRequest> splitRequests) {
+                List<ExpenseSplitCalculator.Share> shares = ExpenseSplitCalculator.calculate(expense.getSplitType(),
+                                expense.getAmount(), currencyOf(expense), splitRequests);
 
-                // Validate that total split amounts equal expense amount (accounting for
-                // rounding)
-                BigDecimal totalSplitAmount = splits.stream()
-                                .map(Split::getAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                List<Split> splits = new ArrayList<>(shares.size());
+                for (ExpenseSplitCalculator.Share share : shares) {
+                        SplitId splitId = SplitId.builder()
+                                        .expenseId(expense.getId())
+                                        .userId(share.userId())
+                                        .build();
 
-                BigDecimal difference = totalSplitAmount.subtract(expense.getAmount()).abs();
-                if (difference.compareTo(BigDecimal.valueOf(0.01)) > 0) { // Allow 1 cent difference for rounding
-                        throw new BusinessException("Split amounts do not equal expense amount. Total: " +
-                                        totalSplitAmount + ", Expense: " + expense.getAmount(),
-                                        com.nexsplit.dto.ErrorCode.EXPENSE_SPLIT_INVALID);
+                        Split split = Split.builder()
+                                        .id(splitId)
+                                        .percentage(share.percentage())
+                                        .amount(share.amount())
+                                        .expense(expense)
+                                        .user(userRepository.getReferenceById(share.userId()))
+                                        .build();
+
+                        splits.add(split);
                 }
 
                 // Save splits
                 return splitRepository.saveAll(splits);
         }
 
+        /**
+         * Bring the splits and debts of an updated expense in line with its
+         * new shares, writing only the rows that change. Unchanged debts keep
+         * their settlement state, and only the debt changes are applied to
+         * the balance ledger and the analytics delta.
+         */
+        private void applyShareChanges(Expense expense,
+                        List<CreateExpenseRequest.CreateSplitRequest> splitRequests, NexAnalyticsDelta analyticsDelta) {
+                List<ExpenseSplitCalculator.Share> shares = ExpenseSplitCalculator.calculate(expense.getSplitType(),
+                                expense.getAmount(), currencyOf(expense), splitRequests);
+
+                ExpenseUpdateDiff.SplitChanges splitChanges = ExpenseUpdateDiff.diffSplits(
+                                new ArrayList<>(expense.getSplits()), shares);
+                ExpenseUpdateDiff.DebtChanges debtChanges = ExpenseUpdateDiff.diffDebts(
+                                new ArrayList<>(expense.getDebts()), expense.getId(), expense.getPayerId(), shares);
+
+                List<Split> insertedSplits = new ArrayList<>(splitChanges.inserted().size());
+                for (ExpenseSplitCalculator.Share share : splitChanges.inserted()) {
+                        insertedSplits.add(Split.builder()
+                                        .id(SplitId.builder().expenseId(expense.getId()).userId(share.userId()).build())
+                                        .percentage(share.percentage())
+                                        .amount(share.amount())
+                                        .expense(expense)
+                                        .user(userRepository.getReferenceById(share.userId()))
+                                        .build());
+                }
+
+                // Detach removed rows from the expense before deleting them, so
+                // saving the expense does not cascade to them. Entity equals
+                // compares fields, so rows are matched by identity
+                Set<Object> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+                removed.addAll(splitChanges.removed());
+                removed.addAll(debtChanges.removed());
+                List<Split> splits = new ArrayList<>(expense.getSplits());
+                splits.removeIf(removed::contains);
+                splits.addAll(insertedSplits);
+                expense.setSplits(splits);
+                List<Debt> debts = new ArrayList<>(expense.getDebts());
+                debts.removeIf(removed::contains);
+                debts.addAll(debtChanges.inserted());
+                expense.setDebts(debts);
+
+                // Updated splits and debts are managed entities and are written on flush
+                splitRepository.deleteAll(splitChanges.removed());
+                splitRepository.saveAll(insertedSplits);
+                debtRepository.deleteAll(debtChanges.removed());
+                debtRepository.saveAll(debtChanges.inserted());
+
+                List<Debt> outgoing = new ArrayList<>(debtChanges.removed());
+                outgoing.addAll(debtChanges.previous());
+                List<Debt> incoming = new ArrayList<>(debtChanges.inserted());
+                incoming.addAll(debtChanges.updated());
+                nexBalanceLedgerService.recordDebtsRemoved(expense.getNexId(), outgoing);
+                nexBalanceLedgerService.recordDebtsCreated(expense.getNexId(), incoming);
+                analyticsDelta.debtsRemoved(outgoing).debtsAdded(incoming);
+
+                splitRowsWritten.record(splitChanges.rowsWritten());
+                debtRowsWritten.record(debtChanges.rowsWritten());
+                log.debug("Expense {} update wrote {} split rows ({} unchanged) and {} debt rows ({} unchanged)",
+                                expense.getId(), splitChanges.rowsWritten(), splitChanges.unchanged(),
+                                debtChanges.rowsWritten(), debtChanges.unchanged());
+        }
+
+        /**
+         * Check that every split user is an active member of the nex.
+         * 
+         * @param memberIds     Active member IDs of the nex
+         * @param splitRequests Split requests, may be null
+         * @param userIdOf      Extracts the user ID of a split request
+         */
+        private <T> void validateSplitMembers(Set<String> memberIds, List<T> splitRequests,
+                        Function<T, String> userIdOf) {
+                if (splitRequests == null) {
+                        return;
+                }
+                for (T split : splitRequests) {
+                        String splitUserId = userIdOf.apply(split);
+                        if (!memberIds.contains(splitUserId)) {
+                                throw new BusinessException(
+                                                "User " + splitUserId + " is not a member of this expense group",
+                                                com.nexsplit.dto.ErrorCode.AUTHZ_NEX_ACCESS_DENIED);
+                        }
+                }
+        }
+
         /**
          * Check if user is a member of the nex group.
          * 
@@ -581,140 +852,10 @@ public class ExpenseServiceImpl implements ExpenseService {
         }
 
         /**
-         * Create equal splits for specified users.
+         * Currency used for split arithmetic on an expense.
          */
-        private List<Split> createEqualSplits(Expense expense,
-                        List<CreateExpenseRequest.CreateSplitRequest> splitRequests) {
-                List<Split> splits = new ArrayList<>();
-                BigDecimal totalAmount = expense.getAmount();
-                int userCount = splitRequests.size();
-
-                if (userCount == 0) {
-                        throw new BusinessException("No users specified for equal split",
-                                        com.nexsplit.dto.ErrorCode.EXPENSE_SPLIT_INVALID);
-                }
-
-                BigDecimal amountPerPerson = totalAmount.divide(BigDecimal.valueOf(userCount), 2,
-                                RoundingMode.HALF_UP);
-                BigDecimal percentagePerPerson = BigDecimal.valueOf(100).divide(BigDecimal.valueOf(userCount), 2,
-                                RoundingMode.HALF_UP);
-
-                for (CreateExpenseRequest.CreateSplitRequest request : splitRequests) {
-                        // Fetch the user entity to set the relationship
-                        User user = userRepository.findById(request.getUserId())
-                                        .orElseThrow(() -> EntityNotFoundException.userNotFound(request.getUserId()));
-
-                        SplitId splitId = SplitId.builder()
-                                        .expenseId(expense.getId())
-                                        .userId(request.getUserId())
-                                        .build();
-
-                        Split split = Split.builder()
-                                        .id(splitId)
-                                        .percentage(percentagePerPerson)
-                                        .amount(amountPerPerson)
-                                        .expense(expense)
-                                        .user(user)
-                                        .build();
-
-                        splits.add(split);
-                }
-
-                return splits;
-        }
-
-        /**
-         * Create percentage-based splits.
-         */
-        private List<Split> createPercentageSplits(Expense expense,
-                        List<CreateExpenseRequest.CreateSplitRequest> splitRequests) {
-                List<Split> splits = new ArrayList<>();
-                BigDecimal totalAmount = expense.getAmount();
-                BigDecimal totalPercentage = BigDecimal.ZERO;
-
-                // Validate total percentage
-                for (CreateExpenseRequest.CreateSplitRequest request : splitRequests) {
-                        totalPercentage = totalPercentage.add(request.getPercentage());
-                }
-
-                if (totalPercentage.compareTo(BigDecimal.valueOf(100)) != 0) {
-                        throw new BusinessException("Total percentage must equal 100%",
-                                        com.nexsplit.dto.ErrorCode.EXPENSE_SPLIT_INVALID);
-                }
-
-                for (CreateExpenseRequest.CreateSplitRequest request : splitRequests) {
-                        // Fetch the user entity to set the relationship
-                        User user = userRepository.findById(request.getUserId())
-                                        .orElseThrow(() -> EntityNotFoundException.userNotFound(request.getUserId()));
-
-                        BigDecimal amount = totalAmount.multiply(request.getPercentage()).divide(
-                                        BigDecimal.valueOf(100), 2,
-                                        RoundingMode.HALF_UP);
-
-                        SplitId splitId = SplitId.builder()
-                                        .expenseId(expense.getId())
-                                        .userId(request.getUserId())
-                                        .build();
-
-                        Split split = Split.builder()
-                                        .id(splitId)
-                                        .percentage(request.getPercentage())
-                                        .amount(amount)
-                                        .expense(expense)
-                                        .user(user)
-                                        .build();
-
-                        splits.add(split);
-                }
-
-                return splits;
-        }
-
-        /**
-         * Create amount-based splits.
-         */
-        private List<Split> createAmountSplits(Expense expense,
-                        List<CreateExpenseRequest.CreateSplitRequest> splitRequests) {
-                List<Split> splits = new ArrayList<>();
-                BigDecimal totalAmount = expense.getAmount();
-                BigDecimal totalSplitAmount = BigDecimal.ZERO;
-
-                // Validate total amount
-                for (CreateExpenseRequest.CreateSplitRequest request : splitRequests) {
-                        totalSplitAmount = totalSplitAmount.add(request.getAmount());
-                }
-
-                if (totalSplitAmount.compareTo(totalAmount) != 0) {
-                        throw new BusinessException("Total split amount must equal expense amount",
-                                        com.nexsplit.dto.ErrorCode.EXPENSE_SPLIT_INVALID);
-                }
-
-                for (CreateExpenseRequest.CreateSplitRequest request : splitRequests) {
-                        // Fetch the user entity to set the relationship
-                        User user = userRepository.findById(request.getUserId())
-                                        .orElseThrow(() -> EntityNotFoundException.userNotFound(request.getUserId()));
-
-                        BigDecimal percentage = request.getAmount().multiply(BigDecimal.valueOf(100)).divide(
-                                        totalAmount, 2,
-                                        RoundingMode.HALF_UP);
-
-                        SplitId splitId = SplitId.builder()
-                                        .expenseId(expense.getId())
-                                        .userId(request.getUserId())
-                                        .build();
-
-                        Split split = Split.builder()
-                                        .id(splitId)
-                                        .percentage(percentage)
-                                        .amount(request.getAmount())
-                                        .expense(expense)
-                                        .user(user)
-                                        .build();
-
-                        splits.add(split);
-                }
-
-                return splits;
+        private String currencyOf(Expense expense) {
+                return expense.getCurrency() != null ? expense.getCurrency() : CurrencyUtil.getDefaultCurrency();
         }
 
         /**
@@ -741,7 +882,9 @@ public class ExpenseServiceImpl implements ExpenseService {
                         }
                 }
 
-                return debtRepository.saveAll(debts);
+                List<Debt> savedDebts = debtRepository.saveAll(debts);
+                nexBalanceLedgerService.recordDebtsCreated(expense.getNexId(), savedDebts);
+                return savedDebts;
         }
 
         /**
@@ -752,42 +895,66 @@ public class ExpenseServiceImpl implements ExpenseService {
         }
 
         /**
-         * Create sort object from sort parameters.
+         * Fetch the list rows of expenses in the order of their IDs. An
+         * expense deleted since its ID was read is left out.
          */
-        private Sort createSort(String sortBy, String sortDirection) {
-                Sort.Direction direction = "ASC".equalsIgnoreCase(sortDirection) ? Sort.Direction.ASC
-                                : Sort.Direction.DESC;
-                return Sort.by(direction, sortBy != null ? sortBy : "createdAt");
+        private List<ExpenseRepository.ExpenseRow> findRowsInOrder(List<String> expenseIds) {
+                if (expenseIds.isEmpty()) {
+                        return new ArrayList<>();
+                }
+
+                Map<String, ExpenseRepository.ExpenseRow> rowsById = new HashMap<>();
+                for (ExpenseRepository.ExpenseRow row : expenseRepository.findRowsByIds(expenseIds)) {
+                        rowsById.put(row.getId(), row);
+                }
+                return expenseIds.stream()
+                                .map(rowsById::get)
+                                .filter(Objects::nonNull)
+                                .toList();
         }
 
         /**
-         * Create expense notifications for all Nex members.
+         * Build list entries for a page of expense rows. Splits and debts of
+         * the whole page are loaded with one query each, so a page costs the
+         * same number of queries whatever its size.
          */
-        private void createExpenseNotifications(Expense expense, String nexId) {
-                try {
-                        // Get Nex name
-                        String nexName = "Expense Group"; // Default name
-                        try {
-                                Nex nex = nexRepository.findById(nexId).orElse(null);
-                                if (nex != null) {
-                                        nexName = nex.getName();
-                                }
-                        } catch (Exception e) {
-                                log.warn("Could not fetch Nex name for notifications: {}", e.getMessage());
-                        }
-
-                        // Get all active members
-                        List<String> memberIds = getNexMemberIds(nexId);
+        private List<ExpenseDto> toListDtos(List<ExpenseRepository.ExpenseRow> rows) {
+                if (rows.isEmpty()) {
+                        return new ArrayList<>();
+                }
 
-                        // Create notifications for all members except the creator
-                        for (String memberId : memberIds) {
-                                if (!memberId.equals(expense.getCreatedBy())) {
-                                        notificationService.createExpenseAddedNotification(
-                                                        nexId, memberId, nexName, expense.getTitle());
-                                }
-                        }
-                } catch (Exception e) {
-                        log.error("Failed to create expense notifications: {}", e.getMessage(), e);
+                List<String> expenseIds = rows.stream().map(ExpenseRepository.ExpenseRow::getId).toList();
+                Map<String, List<ExpenseDto.SplitDto>> splitsByExpense = splitRepository
+                                .findRowsByExpenseIds(expenseIds).stream()
+                                .collect(Collectors.groupingBy(SplitRepository.ExpenseSplitRow::getExpenseId,
+                                                Collectors.mapping(expenseMapStruct::toSplitDto, Collectors.toList())));
+                Map<String, List<ExpenseDto.DebtDto>> debtsByExpense = debtRepository
+                                .findRowsByExpenseIds(expenseIds).stream()
+                                .collect(Collectors.groupingBy(DebtRepository.ExpenseDebtRow::getExpenseId,
+                                                Collectors.mapping(expenseMapStruct::toDebtDto, Collectors.toList())));
+
+                List<ExpenseDto> expenseDtos = new ArrayList<>(rows.size());
+                for (ExpenseRepository.ExpenseRow row : rows) {
+                        ExpenseDto expenseDto = expenseMapStruct.toListDto(row);
+                        List<ExpenseDto.DebtDto> debts = debtsByExpense.getOrDefault(row.getId(), new ArrayList<>());
+                        expenseDto.setSplits(splitsByExpense.getOrDefault(row.getId(), new ArrayList<>()));
+                        expenseDto.setDebts(debts);
+                        expenseDto.setFullySettled(debts.stream().allMatch(debt -> debt.getSettledAt() != null));
+                        expenseDto.setUnsettledAmount(debts.stream()
+                                        .filter(debt -> debt.getSettledAt() == null)
+                                        .map(ExpenseDto.DebtDto::getAmount)
+                                        .reduce(BigDecimal.ZERO, BigDecimal::add));
+                        expenseDtos.add(expenseDto);
                 }
+                return expenseDtos;
+        }
+
+        /**
+         * Create sort object from sort parameters.
+         */
+        private Sort createSort(String sortBy, String sortDirection) {
+                Sort.Direction direction = "ASC".equalsIgnoreCase(sortDirection) ? Sort.Direction.ASC
+                                : Sort.Direction.DESC;
+                return Sort.by(direction, sortBy != null ? sortBy : "createdAt");
         }
 }
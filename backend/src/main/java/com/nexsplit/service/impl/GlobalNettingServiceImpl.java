@@ -0,0 +1,297 @@
+package com.nexsplit.service.impl;
+
+import com.nexsplit.config.SettlementConfig;
+import com.nexsplit.dto.ErrorCode;
+import com.nexsplit.exception.BusinessException;
+import com.nexsplit.model.Debt;
+import com.nexsplit.model.Money;
+import com.nexsplit.repository.DebtRepository;
+import com.nexsplit.repository.DebtRepository.UnsettledDebtRow;
+import com.nexsplit.service.GlobalNettingService;
+import com.nexsplit.service.NexAnalyticsService;
+import com.nexsplit.service.NexBalanceLedgerService;
+import com.nexsplit.service.NexWriteLane;
+import com.nexsplit.service.SettlementService.SettlementStatus;
+import com.nexsplit.service.SettlementService.SettlementTransaction;
+import com.nexsplit.service.SettlementService.SettlementType;
+import com.nexsplit.service.analytics.NexAnalyticsDelta;
+import com.nexsplit.util.CurrencyUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of GlobalNettingService.
+ *
+ * Debts are loaded as lightweight rows, and their size is checked against the
+ * configured limits before any netting starts. Each net position is settled
+ * by one transfer between the user and the counterparty, and the netting
+ * runs on the cpuIntensiveExecutor. Execution holds the write lanes of every Nex
+ * involved and settles all underlying debts with one bulk UPDATE.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Service
+@Slf4j
+public class GlobalNettingServiceImpl implements GlobalNettingService {
+
+    private final DebtRepository debtRepository;
+    private final NexBalanceLedgerService nexBalanceLedgerService;
+    private final NexAnalyticsService nexAnalyticsService;
+    private final NexWriteLane nexWriteLane;
+    private final TransactionTemplate transactionTemplate;
+    private final SettlementConfig settlementConfig;
+    private final Executor cpuIntensiveExecutor;
+
+    public GlobalNettingServiceImpl(DebtRepository debtRepository,
+            NexBalanceLedgerService nexBalanceLedgerService,
+            NexAnalyticsService nexAnalyticsService,
+            NexWriteLane nexWriteLane,
+            TransactionTemplate transactionTemplate,
+            SettlementConfig settlementConfig,
+            @Qualifier("cpuIntensiveExecutor") Executor cpuIntensiveExecutor) {
+        this.debtRepository = debtRepository;
+        this.nexBalanceLedgerService = nexBalanceLedgerService;
+        this.nexAnalyticsService = nexAnalyticsService;
+        this.nexWriteLane = nexWriteLane;
+        this.transactionTemplate = transactionTemplate;
+        this.settlementConfig = settlementConfig;
+        this.cpuIntensiveExecutor = cpuIntensiveExecutor;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GlobalNettingResponse previewGlobalNetting(String userId, String requestingUserId) {
+        log.info("Previewing global netting for user: {}", userId);
+        validateUserCanNet(userId, requestingUserId);
+
+        List<UnsettledDebtRow> debts = loadUnsettledDebts(userId);
+        NettingPlan plan = computePlan(userId, debts);
+        return toResponse(userId, debts, plan, null);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public GlobalNettingResponse executeGlobalNetting(String userId, GlobalNettingRequest request,
+            String requestingUserId) {
+        log.info("Executing global netting for user: {}", userId);
+        validateUserCanNet(userId, requestingUserId);
+
+        Set<String> nexIds = new HashSet<>(debtRepository.findUnsettledNexIdsByUserId(userId));
+
+        // Enter the write lanes of every Nex involved before the transaction
+        // starts so they are held until commit
+        return nexWriteLane.executeAll(nexIds, () -> transactionTemplate.execute(
+                status -> doExecuteGlobalNetting(userId, nexIds, request)));
+    }
+
+    /**
+     * Execute global netting inside the write lanes and a transaction.
+     */
+    private GlobalNettingResponse doExecuteGlobalNetting(String userId, Set<String> lockedNexIds,
+            GlobalNettingRequest request) {
+        // Debts added to other Nexes after the lanes were chosen are left for
+        // the next run
+        List<UnsettledDebtRow> debts = loadUnsettledDebts(userId).stream()
+                .filter(debt -> lockedNexIds.contains(debt.getNexId()))
+                .toList();
+        NettingPlan plan = computePlan(userId, debts);
+
+        LocalDateTime settledAt = request.getSettlementDate() != null ? request.getSettlementDate()
+                : LocalDateTime.now();
+        if (debts.isEmpty()) {
+            return toResponse(userId, debts, plan, settledAt);
+        }
+
+        Map<String, String> nexIdByDebtId = debts.stream()
+                .collect(Collectors.toMap(UnsettledDebtRow::getId, UnsettledDebtRow::getNexId));
+        List<Debt> settledDebts = debtRepository.settleUnsettledDebtsByIds(nexIdByDebtId.keySet(), settledAt,
+                request.getPaymentMethod(), request.getNotes());
+
+        // A debt settled outside the write lanes would leave the plan
+        // unbalanced, so roll back and let the user retry
+        if (settledDebts.size() != debts.size()) {
+            throw new BusinessException("Debts changed while netting, please retry",
+                    ErrorCode.DEBT_ALREADY_SETTLED);
+        }
+
+        settledDebts.stream()
+                .collect(Collectors.groupingBy(debt -> nexIdByDebtId.get(debt.getId())))
+                .forEach((nexId, nexDebts) -> {
+                    nexBalanceLedgerService.recordDebtsSettled(nexId, nexDebts);
+                    nexAnalyticsService.apply(nexId, new NexAnalyticsDelta().debtsSettled(nexDebts));
+                });
+
+        for (SettlementTransaction transfer : plan.transfers()) {
+            transfer.setStatus(SettlementStatus.SETTLED);
+            transfer.setExecutedAt(settledAt);
+        }
+
+        log.info("Global netting settled {} debts across {} Nexes with {} transfers for user: {}",
+                settledDebts.size(), nexIdByDebtId.values().stream().distinct().count(),
+                plan.transfers().size(), userId);
+        return toResponse(userId, debts, plan, settledAt);
+    }
+
+    /**
+     * Load a user's unsettled debts, rejecting users with more debts than one
+     * netting run may handle.
+     */
+    private List<UnsettledDebtRow> loadUnsettledDebts(String userId) {
+        long debtCount = debtRepository.countUnsettledByUserId(userId);
+        if (debtCount > settlementConfig.getGlobalNettingMaxDebts()) {
+            throw new BusinessException(
+                    String.format("Too many unsettled debts to net at once (%d, max %d)", debtCount,
+                            settlementConfig.getGlobalNettingMaxDebts()),
+                    ErrorCode.SETTLEMENT_NETTING_TOO_LARGE);
+        }
+        return debtRepository.findUnsettledRowsByUserId(userId);
+    }
+
+    /**
+     * Compute the netting plan on the CPU-intensive executor.
+     */
+    private NettingPlan computePlan(String userId, List<UnsettledDebtRow> debts) {
+        CompletableFuture<NettingPlan> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> net(userId, debts), cpuIntensiveExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new BusinessException("Settlement engine is busy, please retry",
+                    ErrorCode.SETTLEMENT_ENGINE_BUSY, e);
+        }
+
+        try {
+            return future.get(settlementConfig.getGlobalNettingTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Global netting for user {} exceeded {} ms", userId,
+                    settlementConfig.getGlobalNettingTimeoutMs());
+            throw new BusinessException("Settlement engine is busy, please retry",
+                    ErrorCode.SETTLEMENT_ENGINE_BUSY, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Global netting was interrupted", ErrorCode.SETTLEMENT_ENGINE_BUSY, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Global netting failed", e.getCause());
+        }
+    }
+
+    /**
+     * Combine debts into one net position per counterparty and settle each
+     * position with a single transfer between the user and the counterparty.
+     *
+     * Only the user's own debts are settled, so every transfer must be one
+     * the user takes part in. Rerouting money between two counterparties
+     * could save transfers, but would leave them with a debt to each other
+     * that no stored row records.
+     */
+    private NettingPlan net(String userId, List<UnsettledDebtRow> debts) {
+        String currency = CurrencyUtil.getDefaultCurrency();
+
+        // Positive = counterparty owes the user, negative = user owes the
+        // counterparty. Sorted so the same debts always produce the same plan.
+        TreeMap<String, Long> netByCounterparty = new TreeMap<>();
+        Map<String, List<String>> debtIdsByCounterparty = new HashMap<>();
+        long grossDebt = 0;
+        for (UnsettledDebtRow debt : debts) {
+            long amount = Money.of(debt.getAmount(), currency).getMinorUnits();
+            grossDebt += amount;
+            if (debt.getDebtorId().equals(debt.getCreditorId())) {
+                continue;
+            }
+            String counterparty = userId.equals(debt.getCreditorId()) ? debt.getDebtorId() : debt.getCreditorId();
+            netByCounterparty.merge(counterparty, userId.equals(debt.getCreditorId()) ? amount : -amount, Long::sum);
+            debtIdsByCounterparty.computeIfAbsent(counterparty, id -> new ArrayList<>()).add(debt.getId());
+        }
+
+        if (netByCounterparty.size() > settlementConfig.getGlobalNettingMaxCounterparties()) {
+            throw new BusinessException(
+                    String.format("Too many counterparties to net at once (%d, max %d)", netByCounterparty.size(),
+                            settlementConfig.getGlobalNettingMaxCounterparties()),
+                    ErrorCode.SETTLEMENT_NETTING_TOO_LARGE);
+        }
+
+        List<SettlementTransaction> transfers = new ArrayList<>(netByCounterparty.size());
+        long netTransfer = 0;
+        for (Map.Entry<String, Long> entry : netByCounterparty.entrySet()) {
+            long net = entry.getValue();
+            if (net == 0) {
+                continue;
+            }
+            String debtor = net > 0 ? entry.getKey() : userId;
+            String creditor = net > 0 ? userId : entry.getKey();
+            BigDecimal amount = BigDecimal.valueOf(Math.abs(net), Money.SCALE);
+            netTransfer += Math.abs(net);
+
+            // Deterministic ID so a preview and its execution agree
+            String id = UUID.nameUUIDFromBytes(("global:" + userId + ":" + debtor + ":" + creditor + ":" + amount)
+                    .getBytes(StandardCharsets.UTF_8)).toString();
+            SettlementTransaction transfer = new SettlementTransaction(id, debtor, creditor, amount,
+                    SettlementType.SIMPLIFIED, SettlementStatus.PENDING, null);
+            transfer.setRelatedDebtIds(debtIdsByCounterparty.get(entry.getKey()));
+            transfers.add(transfer);
+        }
+
+        // With the user in every transfer, one per non-zero position is the minimum
+        return new NettingPlan(transfers, netByCounterparty.size(), true,
+                BigDecimal.valueOf(grossDebt, Money.SCALE), BigDecimal.valueOf(netTransfer, Money.SCALE));
+    }
+
+    private GlobalNettingResponse toResponse(String userId, List<UnsettledDebtRow> debts, NettingPlan plan,
+            LocalDateTime executionDate) {
+        List<String> nexIds = debts.stream()
+                .map(UnsettledDebtRow::getNexId)
+                .distinct()
+                .sorted()
+                .toList();
+        return new GlobalNettingResponse(
+                userId,
+                plan.transfers(),
+                nexIds,
+                debts.size(),
+                plan.counterpartyCount(),
+                plan.grossDebtAmount(),
+                plan.netTransferAmount(),
+                plan.optimal(),
+                executionDate != null,
+                executionDate);
+    }
+
+    /**
+     * Users may only net their own debts.
+     */
+    private void validateUserCanNet(String userId, String requestingUserId) {
+        if (!userId.equals(requestingUserId)) {
+            throw new BusinessException(
+                    String.format("User %s cannot net debts of user %s", requestingUserId, userId),
+                    ErrorCode.AUTHZ_SETTLEMENT_DENIED);
+        }
+    }
+
+    /**
+     * Result of netting a user's debts.
+     */
+    private record NettingPlan(List<SettlementTransaction> transfers, int counterpartyCount, boolean optimal,
+            BigDecimal grossDebtAmount, BigDecimal netTransferAmount) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.nexsplit.service.impl;
+
+import com.nexsplit.repository.NexAnalyticsRollupRepository;
+import com.nexsplit.service.NexAnalyticsService;
+import com.nexsplit.service.analytics.NexAnalyticsDelta;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of NexAnalyticsService.
+ * 
+ * A delta costs one upsert. Removing an expense or changing its amount adds
+ * one update that recomputes the expense extremes from the expenses of the
+ * Nex, since a delta cannot tell what the next largest or smallest is.
+ * 
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NexAnalyticsServiceImpl implements NexAnalyticsService {
+
+    private final NexAnalyticsRollupRepository nexAnalyticsRollupRepository;
+
+    @Override
+    @Transactional
+    public void apply(String nexId, NexAnalyticsDelta delta) {
+        if (nexId == null || delta.isEmpty()) {
+            return;
+        }
+
+        nexAnalyticsRollupRepository.applyDelta(nexId, delta);
+        if (delta.isExpenseExtremesStale()) {
+            nexAnalyticsRollupRepository.refreshExpenseExtremes(nexId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void rebuild(String nexId) {
+        log.info("Rebuilding analytics rollup for Nex: {}", nexId);
+        nexAnalyticsRollupRepository.rebuild(nexId);
+    }
+}
@@ -0,0 +1,178 @@
+package com.nexsplit.service.impl;
+
+import com.nexsplit.model.Debt;
+import com.nexsplit.model.Money;
+import com.nexsplit.model.NexMemberBalance;
+import com.nexsplit.model.NexPairBalance;
+import com.nexsplit.repository.NexMemberBalanceRepository;
+import com.nexsplit.repository.NexPairBalanceRepository;
+import com.nexsplit.repository.NexRepository;
+import com.nexsplit.repository.UserBalanceRollupRepository;
+import com.nexsplit.service.NexBalanceLedgerService;
+import com.nexsplit.util.CurrencyUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Implementation of NexBalanceLedgerService.
+ * 
+ * Deltas are aggregated per member and per pair before they are written, so
+ * an expense split between N users costs at most one upsert per affected row
+ * regardless of how many debts it produced. Every write also bumps the Nex's
+ * ledger version and updates the per-user balance rollups of the affected
+ * users, which span all Nexes.
+ * 
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NexBalanceLedgerServiceImpl implements NexBalanceLedgerService {
+
+    private final NexMemberBalanceRepository nexMemberBalanceRepository;
+    private final NexPairBalanceRepository nexPairBalanceRepository;
+    private final NexRepository nexRepository;
+    private final UserBalanceRollupRepository userBalanceRollupRepository;
+
+    @Override
+    @Transactional
+    public void recordDebtsCreated(String nexId, List<Debt> debts) {
+        applyDebts(nexId, debts, false);
+    }
+
+    @Override
+    @Transactional
+    public void recordDebtsRemoved(String nexId, List<Debt> debts) {
+        List<Debt> unsettledDebts = debts.stream()
+                .filter(debt -> !debt.isSettled())
+                .toList();
+        applyDebts(nexId, unsettledDebts, true);
+    }
+
+    @Override
+    @Transactional
+    public void recordDebtsSettled(String nexId, List<Debt> debts) {
+        applyDebts(nexId, debts, true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Money> getNetBalances(String nexId) {
+        Map<String, Money> netBalances = new HashMap<>();
+        for (NexMemberBalance balance : nexMemberBalanceRepository.findNonZeroByNexId(nexId)) {
+            netBalances.put(balance.getId().getUserId(), balance.getNetBalance());
+        }
+        return netBalances;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NexPairBalance> getPairBalances(String nexId) {
+        return nexPairBalanceRepository.findNonZeroByNexId(nexId);
+    }
+
+    @Override
+    @Transactional
+    public void rebuildLedger(String nexId) {
+        log.info("Rebuilding balance ledger for Nex: {}", nexId);
+
+        nexMemberBalanceRepository.deleteByNexId(nexId);
+        nexPairBalanceRepository.deleteByNexId(nexId);
+        nexPairBalanceRepository.rebuildFromDebts(nexId);
+        nexMemberBalanceRepository.rebuildFromPairBalances(nexId);
+        // Rollups span all Nexes; lock them so deltas from other write lanes are not overwritten
+        userBalanceRollupRepository.insertMissingForNexMembers(nexId);
+        userBalanceRollupRepository.lockForNexMembers(nexId);
+        userBalanceRollupRepository.rebuildForNexMembers(nexId);
+        nexRepository.incrementLedgerVersion(nexId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getLedgerVersion(String nexId) {
+        return nexRepository.findLedgerVersion(nexId).orElse(0L);
+    }
+
+    @Override
+    @Transactional
+    public void bumpLedgerVersion(String nexId) {
+        nexRepository.incrementLedgerVersion(nexId);
+    }
+
+    /**
+     * Aggregate debt amounts per pair and per member, then apply them to the
+     * ledger and the user balance rollups.
+     */
+    private void applyDebts(String nexId, List<Debt> debts, boolean subtract) {
+        if (debts == null || debts.isEmpty()) {
+            return;
+        }
+
+        String currency = CurrencyUtil.getDefaultCurrency();
+        Map<List<String>, Money> pairDeltas = new LinkedHashMap<>();
+        Map<String, Money> memberDeltas = new LinkedHashMap<>();
+        // Rollup rows are shared across Nexes; writing them in user ID order keeps
+        // concurrent write lanes of different Nexes from deadlocking on them
+        Map<String, UserDelta> userDeltas = new TreeMap<>();
+        int sign = subtract ? -1 : 1;
+
+        for (Debt debt : debts) {
+            Money amount = Money.of(debt.getAmount(), currency);
+            if (subtract) {
+                amount = amount.negate();
+            }
+
+            pairDeltas.merge(List.of(debt.getDebtorId(), debt.getCreditorId()), amount, Money::plus);
+            memberDeltas.merge(debt.getDebtorId(), amount.negate(), Money::plus);
+            memberDeltas.merge(debt.getCreditorId(), amount, Money::plus);
+
+            UserDelta debtor = userDeltas.computeIfAbsent(debt.getDebtorId(), id -> new UserDelta(currency));
+            debtor.debt = debtor.debt.plus(amount);
+            debtor.debtCount += sign;
+            UserDelta creditor = userDeltas.computeIfAbsent(debt.getCreditorId(), id -> new UserDelta(currency));
+            creditor.credit = creditor.credit.plus(amount);
+            creditor.creditCount += sign;
+        }
+
+        pairDeltas.forEach((pair, delta) -> {
+            if (!delta.isZero()) {
+                nexPairBalanceRepository.applyDelta(nexId, pair.get(0), pair.get(1), delta.toBigDecimal());
+            }
+        });
+        memberDeltas.forEach((userId, delta) -> {
+            if (!delta.isZero()) {
+                nexMemberBalanceRepository.applyDelta(nexId, userId, delta.toBigDecimal());
+            }
+        });
+
+        // Counts change even when amounts cancel out, so every user is written
+        userDeltas.forEach((userId, delta) -> userBalanceRollupRepository.applyDelta(userId,
+                delta.debt.toBigDecimal(), delta.credit.toBigDecimal(), delta.debtCount, delta.creditCount));
+
+        nexRepository.incrementLedgerVersion(nexId);
+
+        log.debug("Applied {} pair, {} member and {} user balance deltas for Nex: {}", pairDeltas.size(),
+                memberDeltas.size(), userDeltas.size(), nexId);
+    }
+
+    /**
+     * Change to one user's balance rollup.
+     */
+    private static final class UserDelta {
+        private Money debt;
+        private Money credit;
+        private long debtCount;
+        private long creditCount;
+
+        private UserDelta(String currency) {
+            this.debt = Money.zero(currency);
+            this.credit = Money.zero(currency);
+        }
+    }
+}
@@ -17,8 +17,10 @@ import com.nexsplit.model.User;
 import com.nexsplit.repository.NexMemberRepository;
 import com.nexsplit.repository.NexRepository;
 import com.nexsplit.repository.UserRepository;
+import com.nexsplit.service.NexAnalyticsService;
 import com.nexsplit.service.NexMemberService;
 import com.nexsplit.service.NotificationService;
+import com.nexsplit.service.analytics.NexAnalyticsDelta;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -44,6 +46,7 @@ public class NexMemberServiceImpl implements NexMemberService {
     private final NexMemberMapStruct nexMemberMapStruct;
     private final InvitationMapStruct invitationMapStruct;
     private final NotificationService notificationService;
+    private final NexAnalyticsService nexAnalyticsService;
 
     @Override
     @Transactional
@@ -88,6 +91,7 @@ public class NexMemberServiceImpl implements NexMemberService {
                 .build();
 
         nexMemberRepository.save(member);
+        nexAnalyticsService.apply(nexId, new NexAnalyticsDelta().memberAdded(member.getRole(), member.getStatus()));
 
         // Create notification for the invited user
         notificationService.createInvitationNotification(nexId, userToInvite.getId(), inviterId, nex.getName(),
@@ -112,6 +116,9 @@ public class NexMemberServiceImpl implements NexMemberService {
         member.setStatus(NexMember.MemberStatus.ACTIVE);
         member.setJoinedAt(LocalDateTime.now());
         nexMemberRepository.save(member);
+        nexAnalyticsService.apply(nexId, new NexAnalyticsDelta()
+                .memberRemoved(member.getRole(), NexMember.MemberStatus.PENDING)
+                .memberAdded(member.getRole(), member.getStatus()));
 
         // Create notification for Nex members about new member joining
         Nex nex = nexRepository.findById(nexId).orElseThrow(() -> EntityNotFoundException.nexNotFound(nexId));
@@ -134,6 +141,7 @@ public class NexMemberServiceImpl implements NexMemberService {
         }
 
         nexMemberRepository.delete(member);
+        nexAnalyticsService.apply(nexId, new NexAnalyticsDelta().memberRemoved(member.getRole(), member.getStatus()));
 
         log.info("Invitation declined successfully for user: {} to nex: {}", userId, nexId);
     }
@@ -153,8 +161,14 @@ public class NexMemberServiceImpl implements NexMemberService {
                 .orElseThrow(() -> new BusinessException("Member not found in this expense group",
                         ErrorCode.NEX_NOT_MEMBER));
 
+        NexMember.MemberRole previousRole = member.getRole();
         member.setRole(request.getRole());
         nexMemberRepository.save(member);
+        if (previousRole != member.getRole()) {
+            nexAnalyticsService.apply(nexId, new NexAnalyticsDelta()
+                    .memberRemoved(previousRole, member.getStatus())
+                    .memberAdded(member.getRole(), member.getStatus()));
+        }
 
         log.info("Member role updated successfully for user: {} in nex: {}", memberId, nexId);
     }
@@ -183,6 +197,7 @@ public class NexMemberServiceImpl implements NexMemberService {
                         ErrorCode.NEX_NOT_MEMBER));
 
         nexMemberRepository.delete(member);
+        nexAnalyticsService.apply(nexId, new NexAnalyticsDelta().memberRemoved(member.getRole(), member.getStatus()));
 
         log.info("Member removed successfully: {} from nex: {}", memberId, nexId);
     }
@@ -205,8 +220,12 @@ public class NexMemberServiceImpl implements NexMemberService {
             }
         }
 
+        NexMember.MemberStatus previousStatus = member.getStatus();
         member.setStatus(NexMember.MemberStatus.LEFT);
         nexMemberRepository.save(member);
+        nexAnalyticsService.apply(nexId, new NexAnalyticsDelta()
+                .memberRemoved(member.getRole(), previousStatus)
+                .memberAdded(member.getRole(), member.getStatus()));
 
         log.info("User left nex successfully: {} from nex: {}", userId, nexId);
     }
@@ -18,7 +18,9 @@ import com.nexsplit.repository.NexMemberRepository;
 import com.nexsplit.repository.NexRepository;
 import com.nexsplit.repository.NexAnalyticsRepository;
 import com.nexsplit.repository.UserRepository;
+import com.nexsplit.service.NexAnalyticsService;
 import com.nexsplit.service.NexService;
+import com.nexsplit.service.analytics.NexAnalyticsDelta;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -36,17 +38,20 @@ public class NexServiceImpl implements NexService {
         private final NexRepository nexRepository;
         private final NexMemberRepository nexMemberRepository;
         private final NexAnalyticsRepository nexAnalyticsRepository;
+        private final NexAnalyticsService nexAnalyticsService;
         private final UserRepository userRepository;
         private final NexMapStruct nexMapStruct;
 
         public NexServiceImpl(NexRepository nexRepository,
                         NexMemberRepository nexMemberRepository,
                         NexAnalyticsRepository nexAnalyticsRepository,
+                        NexAnalyticsService nexAnalyticsService,
                         UserRepository userRepository,
                         NexMapStruct nexMapStruct) {
                 this.nexRepository = nexRepository;
                 this.nexMemberRepository = nexMemberRepository;
                 this.nexAnalyticsRepository = nexAnalyticsRepository;
+                this.nexAnalyticsService = nexAnalyticsService;
                 this.userRepository = userRepository;
                 this.nexMapStruct = nexMapStruct;
         }
@@ -85,6 +90,8 @@ public class NexServiceImpl implements NexService {
                                 .build();
 
                 nexMemberRepository.save(creatorMember);
+                nexAnalyticsService.apply(savedNex.getId(), new NexAnalyticsDelta()
+                                .memberAdded(NexMember.MemberRole.ADMIN, NexMember.MemberStatus.ACTIVE));
 
                 log.info("Nex created successfully: {}", savedNex.getId());
                 return nexMapStruct.toDto(savedNex);
@@ -198,7 +205,7 @@ public class NexServiceImpl implements NexService {
                         throw new BusinessException("Access denied", ErrorCode.AUTHZ_NEX_ACCESS_DENIED);
                 }
 
-                // Get nex analytics from view for optimal performance
+                // Analytics come from the incrementally maintained rollup
                 NexAnalyticsView analytics = nexAnalyticsRepository.findByNexId(nexId)
                                 .orElseThrow(() -> EntityNotFoundException.nexNotFound(nexId));
 
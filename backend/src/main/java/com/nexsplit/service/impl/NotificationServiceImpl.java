@@ -17,11 +17,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -264,6 +263,45 @@ public class NotificationServiceImpl implements NotificationService {
                 log.info("Expense updated notification created successfully for nex: {}", nexId);
         }
 
+        @Override
+        @Transactional
+        public void createExpenseAddedNotifications(String nexId, Collection<String> userIds, String nexName,
+                        String expenseTitle) {
+                saveInfoNotifications(nexId, userIds,
+                                String.format("New expense '%s' added to '%s'", expenseTitle, nexName));
+        }
+
+        @Override
+        @Transactional
+        public void createExpensesImportedNotifications(String nexId, Collection<String> userIds, String nexName,
+                        int expenseCount) {
+                saveInfoNotifications(nexId, userIds,
+                                String.format("%d expenses imported into '%s'", expenseCount, nexName));
+        }
+
+        /**
+         * Save the same INFO notification for several users with one batched
+         * insert.
+         */
+        private void saveInfoNotifications(String nexId, Collection<String> userIds, String message) {
+                if (userIds.isEmpty()) {
+                        return;
+                }
+
+                List<Notification> notifications = userIds.stream()
+                                .map(userId -> Notification.builder()
+                                                .userId(userId)
+                                                .nexId(nexId)
+                                                .type(Notification.NotificationType.INFO)
+                                                .message(message)
+                                                .isRead(false)
+                                                .build())
+                                .toList();
+
+                notificationRepository.saveAll(notifications);
+                log.info("Created {} notifications for nex: {}", notifications.size(), nexId);
+        }
+
         @Override
         @Transactional
         public void createSettlementExecutedNotification(String nexId, String userId, String nexName, String amount) {
@@ -356,33 +394,4 @@ public class NotificationServiceImpl implements NotificationService {
                                                 .build())
                                 .build();
         }
-
-        /**
-         * Scheduled cleanup method to delete all read notifications older than 6
-         * months.
-         * Runs daily at 2 AM to maintain database performance and control storage
-         * growth.
-         */
-        @Scheduled(cron = "0 0 2 * * ?")
-        @Transactional
-        public void cleanupOldReadNotifications() {
-                try {
-                        LocalDateTime cutoffDate = LocalDateTime.now().minusMonths(6);
-
-                        // Count notifications to be deleted for logging
-                        long countBefore = notificationRepository.countByCreatedAtBeforeAndIsReadTrue(cutoffDate);
-
-                        if (countBefore > 0) {
-                                // Delete read notifications older than 6 months
-                                notificationRepository.deleteByCreatedAtBeforeAndIsReadTrue(cutoffDate);
-
-                                log.info("Scheduled cleanup completed: Deleted {} read notifications older than 6 months",
-                                                countBefore);
-                        } else {
-                                log.debug("Scheduled cleanup: No read notifications older than 6 months found");
-                        }
-                } catch (Exception e) {
-                        log.error("Error during scheduled notification cleanup", e);
-                }
-        }
 }
@@ -0,0 +1,66 @@
+package com.nexsplit.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexsplit.model.OutboxEvent;
+import com.nexsplit.repository.OutboxEventRepository;
+import com.nexsplit.service.OutboxService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Implementation of OutboxService.
+ *
+ * Metrics: outbox.events.published (tag type).
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEvent.EventType eventType, String nexId, String aggregateId, String actorId,
+            Map<String, Object> payload) {
+        LocalDateTime now = LocalDateTime.now();
+
+        OutboxEvent event = OutboxEvent.builder()
+                .eventType(eventType)
+                .nexId(nexId)
+                .aggregateId(aggregateId)
+                .actorId(actorId)
+                .payload(toJson(payload))
+                .status(OutboxEvent.Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+
+        outboxEventRepository.save(event);
+        meterRegistry.counter("outbox.events.published", "type", eventType.name()).increment();
+        log.debug("Published outbox event {} for Nex: {}", eventType, nexId);
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload is not serializable", e);
+        }
+    }
+}
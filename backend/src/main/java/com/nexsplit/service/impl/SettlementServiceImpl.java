@@ -3,6 +3,7 @@ package com.nexsplit.service.impl;
 import com.nexsplit.exception.BusinessException;
 import com.nexsplit.exception.EntityNotFoundException;
 import com.nexsplit.dto.ErrorCode;
+import com.nexsplit.dto.PaginatedResponse;
 import com.nexsplit.model.Debt;
 import com.nexsplit.model.Nex;
 import com.nexsplit.model.NexMember;
@@ -11,19 +12,26 @@ import com.nexsplit.repository.DebtRepository;
 import com.nexsplit.repository.NexRepository;
 import com.nexsplit.repository.NexMemberRepository;
 import com.nexsplit.repository.SettlementRepository;
+import com.nexsplit.service.NexAnalyticsService;
+import com.nexsplit.service.NexBalanceLedgerService;
+import com.nexsplit.service.NexWriteLane;
 import com.nexsplit.service.SettlementService;
+import com.nexsplit.service.analytics.NexAnalyticsDelta;
+import com.nexsplit.service.settlement.BalanceSnapshot;
+import com.nexsplit.service.settlement.BalanceSnapshotCache;
+import com.nexsplit.service.settlement.SettlementPlanCache;
+import com.nexsplit.service.settlement.SettlementStrategy;
+import com.nexsplit.util.CursorUtil;
+import com.nexsplit.util.PaginationUtil;
 import com.nexsplit.util.StructuredLoggingUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -49,10 +57,29 @@ public class SettlementServiceImpl implements SettlementService {
     private final NexRepository nexRepository;
     private final NexMemberRepository nexMemberRepository;
     private final SettlementRepository settlementRepository;
+    private final NexBalanceLedgerService nexBalanceLedgerService;
+    private final NexAnalyticsService nexAnalyticsService;
+    private final List<SettlementStrategy> settlementStrategies;
+    private final SettlementPlanCache settlementPlanCache;
+    private final BalanceSnapshotCache balanceSnapshotCache;
+    private final NexWriteLane nexWriteLane;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public SettlementExecutionResponse executeSettlements(String nexId, SettlementExecutionRequest request,
             String userId) {
+        // Enter the Nex write lane before the transaction starts so it is held
+        // until commit
+        return nexWriteLane.execute(nexId, () -> transactionTemplate.execute(
+                status -> doExecuteSettlements(nexId, request, userId)));
+    }
+
+    /**
+     * Execute settlements inside the Nex write lane and a transaction.
+     */
+    private SettlementExecutionResponse doExecuteSettlements(String nexId, SettlementExecutionRequest request,
+            String userId) {
         log.info("Executing settlements for Nex: {} by user: {} with type: {}", nexId, userId,
                 request.getSettlementType());
 
@@ -85,24 +112,11 @@ public class SettlementServiceImpl implements SettlementService {
         List<SettlementTransaction> executedSettlements = new ArrayList<>();
         List<SettlementTransaction> remainingSettlements = new ArrayList<>();
 
-        // Execute settlements based on Nex's settlement type
-        if ("SIMPLIFIED".equals(request.getSettlementType())) {
-            executedSettlements = executeSimplifiedSettlements(nexId, request, userId);
-        } else if ("DETAILED".equals(request.getSettlementType())) {
-            executedSettlements = executeDetailedSettlements(nexId, request, userId);
-        } else {
-            // Use Nex's default settlement type
-            if (nex.getSettlementType() == Nex.SettlementType.SIMPLIFIED) {
-                executedSettlements = executeSimplifiedSettlements(nexId, request, userId);
-            } else {
-                executedSettlements = executeDetailedSettlements(nexId, request, userId);
-            }
-        }
+        // Execute settlements based on requested or Nex's settlement type
+        SettlementStrategy strategy = resolveSettlementStrategy(request.getSettlementType(), nex);
+        executedSettlements = executeStrategySettlements(strategy, nexId, request, userId);
 
-        // Force flush to ensure all debt changes are committed to database
-        debtRepository.flush();
-
-        // Get remaining settlements after flush
+        // Get remaining settlements; the bulk update already wrote to the database
         remainingSettlements = getRemainingSettlements(nexId, request.getSettlementType());
 
         // Calculate total settled amount
@@ -146,20 +160,8 @@ public class SettlementServiceImpl implements SettlementService {
         // ErrorCode.AUTHZ_NEX_ACCESS_DENIED);
         // }
 
-        List<SettlementTransaction> availableSettlements;
-
-        if ("SIMPLIFIED".equals(settlementType)) {
-            availableSettlements = generateSimplifiedSettlements(nexId);
-        } else if ("DETAILED".equals(settlementType)) {
-            availableSettlements = generateDetailedSettlements(nexId);
-        } else {
-            // Use Nex's default settlement type
-            if (nex.getSettlementType() == Nex.SettlementType.SIMPLIFIED) {
-                availableSettlements = generateSimplifiedSettlements(nexId);
-            } else {
-                availableSettlements = generateDetailedSettlements(nexId);
-            }
-        }
+        List<SettlementTransaction> availableSettlements = getSettlementPlan(
+                resolveSettlementStrategy(settlementType, nex), nexId);
 
         // Filter settlements based on Nex type
         if (nex.getNexType() == Nex.NexType.PERSONAL) {
@@ -188,200 +190,99 @@ public class SettlementServiceImpl implements SettlementService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<SettlementHistoryView> getSettlementHistoryByNexId(String nexId, Pageable pageable) {
+    public SimulationResponse simulateSettlements(String nexId, SimulationRequest request, String userId) {
+        log.info("Simulating {} settlement scenarios for Nex: {} by user: {}", request.getScenarios().size(), nexId,
+                userId);
+
+        Nex nex = nexRepository.findById(nexId)
+                .orElseThrow(() -> EntityNotFoundException.nexNotFound(nexId));
+
+        if (!isUserAdmin(nexId, userId)) {
+            throw new BusinessException("Only admins can simulate settlements", ErrorCode.AUTHZ_ADMIN_REQUIRED);
+        }
+
+        SettlementStrategy strategy = resolveSettlementStrategy(request.getSettlementType(), nex);
+
+        // Every scenario starts from the same snapshot, which is itself reused
+        // across requests until the ledger changes
+        long ledgerVersion = nexBalanceLedgerService.getLedgerVersion(nexId);
+        BalanceSnapshot snapshot = balanceSnapshotCache.getOrLoad(nexId, ledgerVersion,
+                () -> BalanceSnapshot.of(nexId, ledgerVersion, nexBalanceLedgerService.getPairBalances(nexId)));
+
+        SimulationResult baseline = toSimulationResult("baseline",
+                strategy.generateSettlements(nexId, snapshot));
+
+        List<SimulationResult> results = new ArrayList<>(request.getScenarios().size());
+        for (SimulationScenario scenario : request.getScenarios()) {
+            BalanceSnapshot simulated = snapshot;
+            for (SimulationOperation operation : scenario.getOperations()) {
+                simulated = applySimulationOperation(simulated, operation);
+            }
+            results.add(toSimulationResult(scenario.getName(), strategy.generateSettlements(nexId, simulated)));
+        }
+
+        return new SimulationResponse(nexId, ledgerVersion, strategy.getSettlementType().name(), baseline, results);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginatedResponse<SettlementHistoryView> getSettlementHistoryByNexId(String nexId, String cursor, int size) {
         log.debug("Getting settlement history for Nex: {}", nexId);
-        return settlementRepository.findByNexId(nexId, pageable);
+
+        // Fetch one extra row to learn whether another page follows
+        List<SettlementHistoryView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = settlementRepository.findFirstPageByNexId(nexId, size + 1);
+        } else {
+            CursorUtil.Position position = CursorUtil.decode(cursor);
+            rows = settlementRepository.findPageByNexIdAfter(nexId, position.sortKey(), position.id(), size + 1);
+        }
+        return toCursorPage(rows, size);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<SettlementHistoryView> getSettlementHistoryByUserId(String userId, Pageable pageable) {
+    public PaginatedResponse<SettlementHistoryView> getSettlementHistoryByUserId(String userId, String cursor,
+            int size) {
         log.debug("Getting settlement history for user: {}", userId);
-        return settlementRepository.findByUserId(userId, pageable);
+
+        // Fetch one extra row to learn whether another page follows
+        List<SettlementHistoryView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = settlementRepository.findFirstPageByUserId(userId, size + 1);
+        } else {
+            CursorUtil.Position position = CursorUtil.decode(cursor);
+            rows = settlementRepository.findPageByUserIdAfter(userId, position.sortKey(), position.id(), size + 1);
+        }
+        return toCursorPage(rows, size);
     }
 
     @Override
     @Transactional(readOnly = true)
     public SettlementAnalytics getSettlementAnalyticsByNexId(String nexId) {
         log.debug("Getting settlement analytics for Nex: {}", nexId);
-
-        // Get settlement history for the Nex
-        List<SettlementHistoryView> settlements = settlementRepository.findByNexId(nexId);
-
-        int totalSettlements = settlements.size();
-        int settledCount = (int) settlements.stream().filter(s -> s.getSettledAt() != null).count();
-        int unsettledCount = totalSettlements - settledCount;
-
-        BigDecimal totalSettledAmount = settlements.stream()
-                .filter(s -> s.getSettledAt() != null)
-                .map(SettlementHistoryView::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalUnsettledAmount = settlements.stream()
-                .filter(s -> s.getSettledAt() == null)
-                .map(SettlementHistoryView::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Calculate average settlement time
-        double averageSettlementTimeHours = settlements.stream()
-                .filter(s -> s.getSettledAt() != null)
-                .mapToDouble(s -> {
-                    if (s.getSettlementHours() != null) {
-                        return s.getSettlementHours();
-                    }
-                    return 0.0;
-                })
-                .average()
-                .orElse(0.0);
-
-        return new SettlementAnalytics(
-                totalSettlements,
-                settledCount,
-                unsettledCount,
-                totalSettledAmount,
-                totalUnsettledAmount,
-                averageSettlementTimeHours,
-                nexId,
-                null);
+        return toAnalytics(settlementRepository.aggregateByNexId(nexId), nexId, null);
     }
 
     @Override
     @Transactional(readOnly = true)
     public SettlementAnalytics getSettlementAnalyticsByUserId(String userId) {
         log.debug("Getting settlement analytics for user: {}", userId);
-
-        // Get settlement history for the user
-        List<SettlementHistoryView> settlements = settlementRepository.findByUserId(userId);
-
-        int totalSettlements = settlements.size();
-        int settledCount = (int) settlements.stream().filter(s -> s.getSettledAt() != null).count();
-        int unsettledCount = totalSettlements - settledCount;
-
-        BigDecimal totalSettledAmount = settlements.stream()
-                .filter(s -> s.getSettledAt() != null)
-                .map(SettlementHistoryView::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalUnsettledAmount = settlements.stream()
-                .filter(s -> s.getSettledAt() == null)
-                .map(SettlementHistoryView::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Calculate average settlement time
-        double averageSettlementTimeHours = settlements.stream()
-                .filter(s -> s.getSettledAt() != null)
-                .mapToDouble(s -> {
-                    if (s.getSettlementHours() != null) {
-                        return s.getSettlementHours();
-                    }
-                    return 0.0;
-                })
-                .average()
-                .orElse(0.0);
-
-        return new SettlementAnalytics(
-                totalSettlements,
-                settledCount,
-                unsettledCount,
-                totalSettledAmount,
-                totalUnsettledAmount,
-                averageSettlementTimeHours,
-                null,
-                userId);
+        return toAnalytics(settlementRepository.aggregateByUserId(userId), null, userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public SettlementSummary getSettlementSummaryByNexId(String nexId) {
         log.debug("Getting settlement summary for Nex: {}", nexId);
-
-        // Force flush to ensure we get the latest debt data
-        debtRepository.flush();
-
-        // Get settlement history for the Nex
-        List<SettlementHistoryView> settlements = settlementRepository.findByNexId(nexId);
-
-        int totalDebts = settlements.size();
-        int settledDebts = (int) settlements.stream().filter(s -> s.getSettledAt() != null).count();
-        int unsettledDebts = totalDebts - settledDebts;
-
-        BigDecimal totalAmount = settlements.stream()
-                .map(SettlementHistoryView::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal settledAmount = settlements.stream()
-                .filter(s -> s.getSettledAt() != null)
-                .map(SettlementHistoryView::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal unsettledAmount = settlements.stream()
-                .filter(s -> s.getSettledAt() == null)
-                .map(SettlementHistoryView::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        LocalDateTime lastSettlementDate = settlements.stream()
-                .filter(s -> s.getSettledAt() != null)
-                .map(SettlementHistoryView::getSettledAt)
-                .max(LocalDateTime::compareTo)
-                .orElse(null);
-
-        return new SettlementSummary(
-                nexId,
-                null,
-                totalDebts,
-                settledDebts,
-                unsettledDebts,
-                totalAmount,
-                settledAmount,
-                unsettledAmount,
-                lastSettlementDate);
+        return toSummary(settlementRepository.aggregateByNexId(nexId), nexId, null);
     }
 
     @Override
     @Transactional(readOnly = true)
     public SettlementSummary getSettlementSummaryByUserId(String userId) {
         log.debug("Getting settlement summary for user: {}", userId);
-
-        // Force flush to ensure we get the latest debt data
-        debtRepository.flush();
-
-        // Get settlement history for the user
-        List<SettlementHistoryView> settlements = settlementRepository.findByUserId(userId);
-
-        int totalDebts = settlements.size();
-        int settledDebts = (int) settlements.stream().filter(s -> s.getSettledAt() != null).count();
-        int unsettledDebts = totalDebts - settledDebts;
-
-        BigDecimal totalAmount = settlements.stream()
-                .map(SettlementHistoryView::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal settledAmount = settlements.stream()
-                .filter(s -> s.getSettledAt() != null)
-                .map(SettlementHistoryView::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal unsettledAmount = settlements.stream()
-                .filter(s -> s.getSettledAt() == null)
-                .map(SettlementHistoryView::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        LocalDateTime lastSettlementDate = settlements.stream()
-                .filter(s -> s.getSettledAt() != null)
-                .map(SettlementHistoryView::getSettledAt)
-                .max(LocalDateTime::compareTo)
-                .orElse(null);
-
-        return new SettlementSummary(
-                null,
-                userId,
-                totalDebts,
-                settledDebts,
-                unsettledDebts,
-                totalAmount,
-                settledAmount,
-                unsettledAmount,
-                lastSettlementDate);
+        return toSummary(settlementRepository.aggregateByUserId(userId), null, userId);
     }
 
     @Override
@@ -389,18 +290,10 @@ public class SettlementServiceImpl implements SettlementService {
     public Map<String, BigDecimal> calculateNetBalances(String nexId) {
         log.debug("Calculating net balances for Nex: {}", nexId);
 
-        // Get all unsettled debts for the Nex
-        List<Debt> unsettledDebts = debtRepository.findUnsettledByNexId(nexId);
-
+        // Read balances from the incrementally maintained ledger
         Map<String, BigDecimal> netBalances = new HashMap<>();
-
-        for (Debt debt : unsettledDebts) {
-            // Add to debtor's negative balance
-            netBalances.merge(debt.getDebtorId(), debt.getAmount().negate(), BigDecimal::add);
-
-            // Add to creditor's positive balance
-            netBalances.merge(debt.getCreditorId(), debt.getAmount(), BigDecimal::add);
-        }
+        nexBalanceLedgerService.getNetBalances(nexId)
+                .forEach((userId, balance) -> netBalances.put(userId, balance.toBigDecimal()));
 
         return netBalances;
     }
@@ -408,135 +301,28 @@ public class SettlementServiceImpl implements SettlementService {
     @Override
     @Transactional(readOnly = true)
     public List<SettlementTransaction> generateSimplifiedSettlements(String nexId) {
-        log.debug("Generating simplified settlements for Nex: {}", nexId);
-
-        // Calculate net balances
-        Map<String, BigDecimal> netBalances = calculateNetBalances(nexId);
-
-        // Separate creditors and debtors
-        List<String> creditors = new ArrayList<>();
-        List<String> debtors = new ArrayList<>();
-
-        for (Map.Entry<String, BigDecimal> entry : netBalances.entrySet()) {
-            if (entry.getValue().compareTo(BigDecimal.ZERO) > 0) {
-                creditors.add(entry.getKey());
-            } else if (entry.getValue().compareTo(BigDecimal.ZERO) < 0) {
-                debtors.add(entry.getKey());
-            }
-        }
-
-        // Sort by absolute balance (largest first)
-        creditors.sort((a, b) -> netBalances.get(b).compareTo(netBalances.get(a)));
-        debtors.sort((a, b) -> netBalances.get(a).compareTo(netBalances.get(b)));
-
-        List<SettlementTransaction> settlements = new ArrayList<>();
-
-        // Generate minimum transactions
-        while (!creditors.isEmpty() && !debtors.isEmpty()) {
-            String creditor = creditors.get(0);
-            String debtor = debtors.get(0);
-
-            BigDecimal creditorBalance = netBalances.get(creditor);
-            BigDecimal debtorBalance = netBalances.get(debtor).abs();
-
-            // Calculate settlement amount
-            BigDecimal settlementAmount = creditorBalance.min(debtorBalance);
-
-            // Create settlement transaction with deterministic ID
-            String settlementId = generateSettlementId(nexId, debtor, creditor, settlementAmount);
-            settlements.add(new SettlementTransaction(
-                    settlementId,
-                    debtor,
-                    creditor,
-                    settlementAmount,
-                    SettlementType.SIMPLIFIED,
-                    SettlementStatus.PENDING,
-                    nexId));
-
-            // Update balances
-            creditorBalance = creditorBalance.subtract(settlementAmount);
-            debtorBalance = debtorBalance.subtract(settlementAmount);
-
-            netBalances.put(creditor, creditorBalance);
-            netBalances.put(debtor, debtorBalance.negate());
-
-            // Remove users with zero balance
-            if (creditorBalance.compareTo(BigDecimal.ZERO) == 0) {
-                creditors.remove(0);
-            }
-            if (debtorBalance.compareTo(BigDecimal.ZERO) == 0) {
-                debtors.remove(0);
-            }
-        }
-
-        log.info("Generated {} simplified settlements for Nex: {}", settlements.size(), nexId);
-        return settlements;
+        return getSettlementPlan(getSettlementStrategy(Nex.SettlementType.SIMPLIFIED), nexId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<SettlementTransaction> generateDetailedSettlements(String nexId) {
-        log.debug("Generating detailed settlements for Nex: {}", nexId);
-
-        // Get all unsettled debts
-        List<Debt> unsettledDebts = debtRepository.findUnsettledByNexId(nexId);
-
-        // Group debts by creditor-debtor pairs
-        Map<String, List<Debt>> debtGroups = new HashMap<>();
-
-        for (Debt debt : unsettledDebts) {
-            String key = debt.getCreditorId() + "->" + debt.getDebtorId();
-            debtGroups.computeIfAbsent(key, k -> new ArrayList<>()).add(debt);
-        }
-
-        List<SettlementTransaction> settlements = new ArrayList<>();
-
-        // Create settlement for each group
-        for (Map.Entry<String, List<Debt>> entry : debtGroups.entrySet()) {
-            List<Debt> debts = entry.getValue();
-
-            // Calculate total amount for this creditor-debtor pair
-            BigDecimal totalAmount = debts.stream()
-                    .map(Debt::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            // Get creditor and debtor IDs
-            String[] ids = entry.getKey().split("->");
-            String creditorId = ids[0];
-            String debtorId = ids[1];
-
-            // Create settlement transaction
-            settlements.add(new SettlementTransaction(
-                    UUID.randomUUID().toString(),
-                    debtorId,
-                    creditorId,
-                    totalAmount,
-                    SettlementType.DETAILED,
-                    SettlementStatus.PENDING,
-                    nexId));
-        }
-
-        log.info("Generated {} detailed settlements for Nex: {}", settlements.size(), nexId);
-        return settlements;
+        return getSettlementPlan(getSettlementStrategy(Nex.SettlementType.DETAILED), nexId);
     }
 
     /**
-     * Execute simplified settlements.
+     * Execute settlements generated by the given strategy.
      */
-    private List<SettlementTransaction> executeSimplifiedSettlements(String nexId, SettlementExecutionRequest request,
-            String userId) {
-        log.info("Executing simplified settlements for Nex: {}", nexId);
+    private List<SettlementTransaction> executeStrategySettlements(SettlementStrategy strategy, String nexId,
+            SettlementExecutionRequest request, String userId) {
+        log.info("Executing {} settlements for Nex: {}", strategy.getSettlementType(), nexId);
 
-        List<SettlementTransaction> settlements = generateSimplifiedSettlements(nexId);
-        List<SettlementTransaction> executedSettlements = new ArrayList<>();
+        List<SettlementTransaction> settlements = getSettlementPlan(strategy, nexId);
+        List<SettlementTransaction> selectedSettlements = new ArrayList<>();
 
         if (request.isSettleAll()) {
             // Settle all available settlements
-            for (SettlementTransaction settlement : settlements) {
-                if (executeSettlementTransaction(settlement, request, userId)) {
-                    executedSettlements.add(settlement);
-                }
-            }
+            selectedSettlements.addAll(settlements);
         } else if (request.getSettlementIds() != null && !request.getSettlementIds().isEmpty()) {
             // Validate user can settle these specific settlement transactions
             validateUserCanSettleSettlements(userId, request.getSettlementIds());
@@ -549,93 +335,112 @@ public class SettlementServiceImpl implements SettlementService {
                         .findFirst()
                         .orElseThrow(() -> new BusinessException("Settlement transaction not found: " + settlementId,
                                 ErrorCode.DEBT_NOT_FOUND));
-
-                // Execute the settlement transaction
-                if (executeSettlementTransaction(settlement, request, userId)) {
-                    executedSettlements.add(settlement);
-                }
+                selectedSettlements.add(settlement);
             }
         }
 
-        return executedSettlements;
+        return executeSettlementTransactions(nexId, selectedSettlements, request);
     }
 
     /**
-     * Execute detailed settlements.
+     * Get the settlement plan of a strategy for the Nex's current ledger
+     * version, served from the plan cache when possible.
      */
-    private List<SettlementTransaction> executeDetailedSettlements(String nexId, SettlementExecutionRequest request,
-            String userId) {
-        log.info("Executing detailed settlements for Nex: {}", nexId);
-
-        List<SettlementTransaction> settlements = generateDetailedSettlements(nexId);
-        List<SettlementTransaction> executedSettlements = new ArrayList<>();
-
-        if (request.isSettleAll()) {
-            // Settle all available settlements
-            for (SettlementTransaction settlement : settlements) {
-                if (executeSettlementTransaction(settlement, request, userId)) {
-                    executedSettlements.add(settlement);
-                }
-            }
-        } else if (request.getSettlementIds() != null && !request.getSettlementIds().isEmpty()) {
-            // Validate user can settle these specific settlement transactions
-            validateUserCanSettleSettlements(userId, request.getSettlementIds());
-
-            // Settle specific settlement transactions
-            for (String settlementId : request.getSettlementIds()) {
-                // Find the settlement transaction by ID
-                SettlementTransaction settlement = settlements.stream()
-                        .filter(s -> s.getId().equals(settlementId))
-                        .findFirst()
-                        .orElseThrow(() -> new BusinessException("Settlement transaction not found: " + settlementId,
-                                ErrorCode.DEBT_NOT_FOUND));
+    private List<SettlementTransaction> getSettlementPlan(SettlementStrategy strategy, String nexId) {
+        long ledgerVersion = nexBalanceLedgerService.getLedgerVersion(nexId);
+        return settlementPlanCache.getOrCompute(nexId, ledgerVersion, strategy.getSettlementType(),
+                () -> strategy.generateSettlements(nexId));
+    }
 
-                // Execute the settlement transaction
-                if (executeSettlementTransaction(settlement, request, userId)) {
-                    executedSettlements.add(settlement);
-                }
-            }
+    /**
+     * Resolve the settlement strategy from the requested type, falling back to
+     * the Nex's default settlement type.
+     */
+    private SettlementStrategy resolveSettlementStrategy(String requestedType, Nex nex) {
+        if ("SIMPLIFIED".equals(requestedType)) {
+            return getSettlementStrategy(Nex.SettlementType.SIMPLIFIED);
+        } else if ("DETAILED".equals(requestedType)) {
+            return getSettlementStrategy(Nex.SettlementType.DETAILED);
         }
+        // Use Nex's default settlement type
+        return getSettlementStrategy(nex.getSettlementType() == Nex.SettlementType.SIMPLIFIED
+                ? Nex.SettlementType.SIMPLIFIED
+                : Nex.SettlementType.DETAILED);
+    }
 
-        return executedSettlements;
+    /**
+     * Get the registered strategy for a settlement type.
+     */
+    private SettlementStrategy getSettlementStrategy(Nex.SettlementType settlementType) {
+        return settlementStrategies.stream()
+                .filter(strategy -> strategy.getSettlementType() == settlementType)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No settlement strategy for type: " + settlementType));
     }
 
     /**
-     * Execute a settlement transaction.
+     * Execute settlement transactions in bulk.
+     * 
+     * All debts between the selected (debtor, creditor) pairs are settled by a
+     * single UPDATE statement. A settlement counts as executed when at least one
+     * debt of its pair was settled.
      */
-    private boolean executeSettlementTransaction(SettlementTransaction settlement, SettlementExecutionRequest request,
-            String userId) {
-        try {
-            // Find and settle debts between the two users
-            List<Debt> debtsToSettle = debtRepository.findUnsettledDebtsBetweenUsers(
-                    settlement.getFromUserId(),
-                    settlement.getToUserId(),
-                    settlement.getNexId());
-
-            if (debtsToSettle.isEmpty()) {
-                log.warn("No unsettled debts found between users {} and {} in Nex {}",
-                        settlement.getFromUserId(), settlement.getToUserId(), settlement.getNexId());
-                return false;
+    private List<SettlementTransaction> executeSettlementTransactions(String nexId,
+            List<SettlementTransaction> settlements, SettlementExecutionRequest request) {
+        if (settlements.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<String> pairKeys = new HashSet<>();
+        List<String> debtorIds = new ArrayList<>();
+        List<String> creditorIds = new ArrayList<>();
+        for (SettlementTransaction settlement : settlements) {
+            if (pairKeys.add(pairKey(settlement.getFromUserId(), settlement.getToUserId()))) {
+                debtorIds.add(settlement.getFromUserId());
+                creditorIds.add(settlement.getToUserId());
             }
+        }
+
+        // Mark debts as settled
+        LocalDateTime settledAt = request.getSettlementDate() != null ? request.getSettlementDate()
+                : LocalDateTime.now();
+        List<Debt> settledDebts = debtRepository.settleUnsettledDebtsBetweenPairs(
+                nexId, debtorIds.toArray(String[]::new), creditorIds.toArray(String[]::new), settledAt,
+                request.getPaymentMethod(), request.getNotes());
+        nexBalanceLedgerService.recordDebtsSettled(nexId, settledDebts);
+        nexAnalyticsService.apply(nexId, new NexAnalyticsDelta().debtsSettled(settledDebts));
+
+        Map<String, List<String>> settledDebtIdsByPair = settledDebts.stream()
+                .collect(Collectors.groupingBy(debt -> pairKey(debt.getDebtorId(), debt.getCreditorId()),
+                        Collectors.mapping(Debt::getId, Collectors.toList())));
 
-            // Mark debts as settled
-            LocalDateTime settledAt = request.getSettlementDate() != null ? request.getSettlementDate()
-                    : LocalDateTime.now();
-            for (Debt debt : debtsToSettle) {
-                debt.markAsSettled(settledAt);
-                debt.setPaymentMethod(request.getPaymentMethod());
-                debt.setNotes(request.getNotes());
-                debtRepository.save(debt);
+        List<SettlementTransaction> executedSettlements = new ArrayList<>();
+        for (SettlementTransaction settlement : settlements) {
+            // Each pair is settled once even if several transactions reference it
+            List<String> debtIds = settledDebtIdsByPair.remove(
+                    pairKey(settlement.getFromUserId(), settlement.getToUserId()));
+            if (debtIds == null) {
+                log.warn("No unsettled debts found between users {} and {} in Nex {}",
+                        settlement.getFromUserId(), settlement.getToUserId(), nexId);
+                continue;
             }
 
+            settlement.setRelatedDebtIds(debtIds);
             settlement.setStatus(SettlementStatus.SETTLED);
             settlement.setExecutedAt(settledAt);
-
-            return true;
-        } catch (Exception e) {
-            log.error("Failed to execute settlement transaction: {}", settlement.getId(), e);
-            return false;
+            executedSettlements.add(settlement);
         }
+
+        log.info("Settled {} debts across {} settlement transactions for Nex: {}", settledDebts.size(),
+                executedSettlements.size(), nexId);
+        return executedSettlements;
+    }
+
+    /**
+     * Key identifying a (debtor, creditor) pair.
+     */
+    private static String pairKey(String debtorId, String creditorId) {
+        return debtorId + ":" + creditorId;
     }
 
     /**
@@ -657,6 +462,89 @@ public class SettlementServiceImpl implements SettlementService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Build settlement analytics from an aggregate row.
+     */
+    private SettlementAnalytics toAnalytics(SettlementRepository.SettlementAggregate aggregate, String nexId,
+            String userId) {
+        int totalSettlements = aggregate.getTotalCount().intValue();
+        int settledCount = aggregate.getSettledCount().intValue();
+
+        return new SettlementAnalytics(
+                totalSettlements,
+                settledCount,
+                totalSettlements - settledCount,
+                aggregate.getSettledAmount(),
+                aggregate.getUnsettledAmount(),
+                aggregate.getAverageSettlementHours(),
+                nexId,
+                userId);
+    }
+
+    /**
+     * Build a settlement summary from an aggregate row.
+     */
+    private SettlementSummary toSummary(SettlementRepository.SettlementAggregate aggregate, String nexId,
+            String userId) {
+        int totalDebts = aggregate.getTotalCount().intValue();
+        int settledDebts = aggregate.getSettledCount().intValue();
+
+        return new SettlementSummary(
+                nexId,
+                userId,
+                totalDebts,
+                settledDebts,
+                totalDebts - settledDebts,
+                aggregate.getTotalAmount(),
+                aggregate.getSettledAmount(),
+                aggregate.getUnsettledAmount(),
+                aggregate.getLastSettledAt());
+    }
+
+    /**
+     * Apply one hypothetical operation to a balance snapshot.
+     */
+    private BalanceSnapshot applySimulationOperation(BalanceSnapshot snapshot, SimulationOperation operation) {
+        return switch (operation.getType()) {
+            case REMOVE_MEMBER -> {
+                if (operation.getUserId() == null) {
+                    throw new IllegalArgumentException("REMOVE_MEMBER requires userId");
+                }
+                yield snapshot.withMemberRemoved(operation.getUserId());
+            }
+            case SETTLE_PAIR -> {
+                if (operation.getDebtorId() == null || operation.getCreditorId() == null) {
+                    throw new IllegalArgumentException("SETTLE_PAIR requires debtorId and creditorId");
+                }
+                yield snapshot.withPairSettled(operation.getDebtorId(), operation.getCreditorId());
+            }
+        };
+    }
+
+    /**
+     * Build a simulation result from a generated plan.
+     */
+    private SimulationResult toSimulationResult(String name, List<SettlementTransaction> settlements) {
+        BigDecimal totalAmount = settlements.stream()
+                .map(SettlementTransaction::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new SimulationResult(name, settlements, settlements.size(), totalAmount);
+    }
+
+    /**
+     * Trim a history page fetched with one extra row and point the next cursor
+     * at its last record.
+     */
+    private PaginatedResponse<SettlementHistoryView> toCursorPage(List<SettlementHistoryView> rows, int size) {
+        if (rows.size() <= size) {
+            return PaginationUtil.createCursorPaginatedResponse(rows, size, null);
+        }
+        List<SettlementHistoryView> page = rows.subList(0, size);
+        SettlementHistoryView last = page.get(size - 1);
+        return PaginationUtil.createCursorPaginatedResponse(page, size,
+                CursorUtil.encode(last.getDebtCreatedAt(), last.getDebtId()));
+    }
+
     /**
      * Check if user is admin of the Nex.
      */
@@ -717,26 +605,4 @@ public class SettlementServiceImpl implements SettlementService {
                         || userId.equals(settlement.getToUserId()))
                 .collect(Collectors.toList());
     }
-
-    /**
-     * Generate a deterministic settlement ID based on settlement parameters.
-     * This ensures the same settlement always gets the same ID.
-     */
-    private String generateSettlementId(String nexId, String debtor, String creditor, BigDecimal amount) {
-        // Create a deterministic string from settlement parameters
-        String deterministicString = String.format("%s:%s:%s:%s", nexId, debtor, creditor, amount.toString());
-
-        // Generate UUID from deterministic string
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] hash = md.digest(deterministicString.getBytes(StandardCharsets.UTF_8));
-
-            // Convert to UUID format
-            return UUID.nameUUIDFromBytes(hash).toString();
-        } catch (NoSuchAlgorithmException e) {
-            // Fallback to random UUID if MD5 is not available
-            log.warn("MD5 algorithm not available, using random UUID for settlement ID");
-            return UUID.randomUUID().toString();
-        }
-    }
 }
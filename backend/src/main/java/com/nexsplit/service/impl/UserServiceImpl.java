@@ -1,5 +1,6 @@
 package com.nexsplit.service.impl;
 
+import com.nexsplit.config.UserSearchConfig;
 import com.nexsplit.dto.user.UpdateUserDto;
 import com.nexsplit.dto.user.UpdateUserRequest;
 import com.nexsplit.dto.user.UserDto;
@@ -16,21 +17,23 @@ import com.nexsplit.service.UserService;
 
 import com.nexsplit.service.AuditService;
 import com.nexsplit.service.EmailService;
+import com.nexsplit.service.user.UserSearchCache;
 import com.nexsplit.util.JwtUtil;
 import com.nexsplit.util.LoggingUtil;
 import com.nexsplit.util.PasswordUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import com.nexsplit.util.PaginationUtil;
 
@@ -45,6 +48,9 @@ public class UserServiceImpl implements UserService {
 
     private final AuditService auditService;
     private final EmailService emailService;
+    private final UserSearchCache userSearchCache;
+    private final UserSearchConfig userSearchConfig;
+    private final PlatformTransactionManager transactionManager;
 
     @Transactional
     public User processOAuthUser(OidcUser oidcUser) {
@@ -412,34 +418,77 @@ public class UserServiceImpl implements UserService {
 
     // Search methods
     @Override
-    @Transactional(readOnly = true)
     public PaginatedResponse<UserSearchDto> searchUsers(String searchTerm, int page, int size) {
         log.debug("Searching users with term: {} and pagination: page={}, size={}", searchTerm, page, size);
 
-        Pageable pageable = PageRequest.of(page, size);
-        Page<User> users = userRepository.searchActiveUsers(searchTerm, pageable);
+        String term = normalizeSearchTerm(searchTerm);
+        // The capped result list is cached as a whole and paged in memory, so
+        // typing and paging through a search costs at most one query
+        List<UserSearchDto> matches = userSearchCache.getOrCompute("all:" + term,
+                () -> inReadOnlyTransaction(() -> userRepository.searchActiveUsersRanked(term, containsPattern(term),
+                        userSearchConfig.getMaxResults()).stream()
+                        .map(this::convertToUserSearchDto)
+                        .collect(Collectors.toList())));
 
-        List<UserSearchDto> userDtos = users.getContent().stream()
-                .map(this::convertToUserSearchDto)
-                .collect(Collectors.toList());
+        long from = Math.min((long) page * size, matches.size());
+        List<UserSearchDto> userDtos = matches.subList((int) from, (int) Math.min(from + size, matches.size()));
 
         return PaginationUtil.createPaginatedResponse(
                 userDtos,
                 page,
                 size,
-                users.getTotalElements(),
+                matches.size(),
                 "/api/v1/users/search");
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<UserSearchDto> searchUsersByEmail(String email) {
         log.debug("Searching users by email: {}", LoggingUtil.maskEmail(email));
 
-        List<User> users = userRepository.searchActiveUsersByEmail(email);
-        return users.stream()
-                .map(this::convertToUserSearchDto)
-                .collect(Collectors.toList());
+        String term = normalizeSearchTerm(email);
+        return userSearchCache.getOrCompute("email:" + term,
+                () -> inReadOnlyTransaction(() -> userRepository.searchActiveUsersByEmailRanked(term,
+                        containsPattern(term), userSearchConfig.getMaxResults()).stream()
+                        .map(this::convertToUserSearchDto)
+                        .collect(Collectors.toList())));
+    }
+
+    /**
+     * Run a search on a cache miss in a read-only transaction, so it is
+     * routed to a replica. The search methods are not transactional
+     * themselves, so a cache hit does not begin a transaction or take a
+     * connection.
+     * 
+     * @param search The search to run
+     * @return The matching users
+     */
+    private List<UserSearchDto> inReadOnlyTransaction(Supplier<List<UserSearchDto>> search) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return readOnlyTransaction.execute(status -> search.get());
+    }
+
+    /**
+     * Trim and lowercase a search term and check its length.
+     * 
+     * @param searchTerm The search term
+     * @return Normalized search term
+     */
+    private String normalizeSearchTerm(String searchTerm) {
+        String term = searchTerm == null ? "" : searchTerm.trim().toLowerCase(Locale.ROOT);
+        if (term.length() < userSearchConfig.getMinQueryLength()) {
+            throw new IllegalArgumentException(
+                    "Search query must be at least " + userSearchConfig.getMinQueryLength() + " characters long");
+        }
+        return term;
+    }
+
+    /**
+     * LIKE pattern matching the term anywhere, with LIKE wildcards in the
+     * term escaped.
+     */
+    private static String containsPattern(String term) {
+        return "%" + term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
     }
 
     /**
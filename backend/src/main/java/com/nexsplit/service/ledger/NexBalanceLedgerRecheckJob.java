@@ -0,0 +1,112 @@
+package com.nexsplit.service.ledger;
+
+import com.nexsplit.config.NexBalanceLedgerConfig;
+import com.nexsplit.repository.NexPairBalanceRepository;
+import com.nexsplit.repository.NexPairBalanceRepository.RecheckRow;
+import com.nexsplit.service.NexBalanceLedgerService;
+import com.nexsplit.service.NexWriteLane;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Scheduled consistency re-check of the Nex balance ledger.
+ *
+ * The ledger is only ever adjusted by deltas, so a write that bypasses the
+ * services, such as a manual SQL fix of a debt, leaves it wrong for good.
+ * The job walks all Nexes in ID order in batches, compares each Nex's pair
+ * and member balances with its unsettled debts and rebuilds the ledgers
+ * that differ, together with the balance rollups of their members. Rebuilds
+ * run in the Nex write lane, so they do not interleave with expense and
+ * settlement writes of the same Nex.
+ *
+ * Metrics: nex.balance.ledgers.checked and nex.balance.ledgers.repaired.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Component
+@Slf4j
+public class NexBalanceLedgerRecheckJob {
+
+    private final NexPairBalanceRepository nexPairBalanceRepository;
+    private final NexBalanceLedgerService nexBalanceLedgerService;
+    private final NexBalanceLedgerConfig nexBalanceLedgerConfig;
+    private final NexWriteLane nexWriteLane;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter checked;
+    private final Counter repaired;
+
+    public NexBalanceLedgerRecheckJob(NexPairBalanceRepository nexPairBalanceRepository,
+            NexBalanceLedgerService nexBalanceLedgerService, NexBalanceLedgerConfig nexBalanceLedgerConfig,
+            NexWriteLane nexWriteLane, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.nexPairBalanceRepository = nexPairBalanceRepository;
+        this.nexBalanceLedgerService = nexBalanceLedgerService;
+        this.nexBalanceLedgerConfig = nexBalanceLedgerConfig;
+        this.nexWriteLane = nexWriteLane;
+        this.transactionTemplate = transactionTemplate;
+        this.checked = Counter.builder("nex.balance.ledgers.checked")
+                .description("Nex balance ledgers compared with their unsettled debts")
+                .register(meterRegistry);
+        this.repaired = Counter.builder("nex.balance.ledgers.repaired")
+                .description("Nex balance ledgers rebuilt because they differed from their unsettled debts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compare every ledger with its debts and rebuild the ones that drifted.
+     */
+    @Scheduled(cron = "${nexsplit.balance-ledger.recheck-cron:0 30 4 * * ?}") // Daily at 4:30 AM
+    public void recheck() {
+        if (!nexBalanceLedgerConfig.isRecheckEnabled()) {
+            return;
+        }
+
+        int batchSize = Math.max(1, nexBalanceLedgerConfig.getRecheckBatchSize());
+        String afterNexId = "";
+        int total = 0;
+        int drifted = 0;
+        try {
+            while (true) {
+                String after = afterNexId;
+                List<RecheckRow> batch = transactionTemplate.execute(
+                        status -> nexPairBalanceRepository.recheckBatch(after, batchSize));
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+
+                for (RecheckRow row : batch) {
+                    if (Boolean.TRUE.equals(row.getDrifted())) {
+                        nexWriteLane.run(row.getNexId(), () -> transactionTemplate.executeWithoutResult(
+                                status -> nexBalanceLedgerService.rebuildLedger(row.getNexId())));
+                        repaired.increment();
+                        drifted++;
+                    }
+                }
+                checked.increment(batch.size());
+                total += batch.size();
+                afterNexId = batch.get(batch.size() - 1).getNexId();
+
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Nex balance ledger re-check failed after {} Nexes: {}", total, e.getMessage(), e);
+            return;
+        }
+
+        if (drifted > 0) {
+            log.warn("Rebuilt {} of {} Nex balance ledgers that differed from their unsettled debts", drifted,
+                    total);
+        } else {
+            log.info("Checked {} Nex balance ledgers, none differed", total);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.nexsplit.service.notification;
+
+import com.nexsplit.config.NotificationConfig;
+import com.nexsplit.service.partition.MonthlyPartitionMaintenance;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintenance of the monthly notification partitions.
+ *
+ * Creates the partitions of the coming months and drops the partitions of
+ * months past the retention window, read or unread. The job also runs at
+ * startup, in case the application was down while a month began.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Component
+public class NotificationPartitionJob {
+
+    private static final String TABLE = "notifications";
+
+    private final MonthlyPartitionMaintenance partitionMaintenance;
+    private final NotificationConfig notificationConfig;
+
+    public NotificationPartitionJob(MonthlyPartitionMaintenance partitionMaintenance,
+            NotificationConfig notificationConfig) {
+        this.partitionMaintenance = partitionMaintenance;
+        this.notificationConfig = notificationConfig;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    /**
+     * Create upcoming partitions and drop expired ones.
+     */
+    @Scheduled(cron = "${nexsplit.notifications.maintenance-cron:0 0 2 * * ?}") // Daily at 2:00 AM
+    public void maintainPartitions() {
+        partitionMaintenance.maintain(TABLE, notificationConfig.getPartitionMonthsAhead(),
+                notificationConfig.getRetentionMonths());
+    }
+}
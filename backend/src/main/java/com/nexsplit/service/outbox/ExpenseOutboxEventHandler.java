@@ -0,0 +1,101 @@
+package com.nexsplit.service.outbox;
+
+import com.nexsplit.model.Nex;
+import com.nexsplit.model.OutboxEvent;
+import com.nexsplit.repository.NexMemberRepository;
+import com.nexsplit.repository.NexRepository;
+import com.nexsplit.service.AuditService;
+import com.nexsplit.service.EventService;
+import com.nexsplit.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fans out expense events to members of the Nex.
+ *
+ * Member notifications are inserted in one batch inside the dispatch
+ * transaction. SSE broadcasts and audit entries are sent after it commits.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExpenseOutboxEventHandler implements OutboxEventHandler {
+
+    private final NexMemberRepository nexMemberRepository;
+    private final NexRepository nexRepository;
+    private final NotificationService notificationService;
+    private final EventService eventService;
+    private final AuditService auditService;
+
+    @Override
+    public Set<OutboxEvent.EventType> getEventTypes() {
+        return Set.of(OutboxEvent.EventType.EXPENSE_CREATED, OutboxEvent.EventType.EXPENSE_UPDATED,
+                OutboxEvent.EventType.EXPENSE_DELETED, OutboxEvent.EventType.EXPENSES_IMPORTED);
+    }
+
+    @Override
+    public void handle(OutboxEvent event, Map<String, Object> payload) {
+        String nexId = event.getNexId();
+        String expenseId = event.getAggregateId();
+        String actorId = event.getActorId();
+
+        switch (event.getEventType()) {
+            case EXPENSE_CREATED -> {
+                notificationService.createExpenseAddedNotifications(nexId, otherMembers(nexId, actorId),
+                        nexName(nexId), String.valueOf(payload.get("title")));
+                afterCommit(() -> eventService.broadcastExpenseAdded(nexId, expenseId, actorId));
+            }
+            case EXPENSE_UPDATED -> afterCommit(() -> eventService.broadcastExpenseUpdated(nexId, expenseId, actorId));
+            case EXPENSE_DELETED -> afterCommit(() -> eventService.broadcastExpenseDeleted(nexId, expenseId, actorId));
+            case EXPENSES_IMPORTED -> {
+                int importedCount = ((Number) payload.get("importedCount")).intValue();
+                notificationService.createExpensesImportedNotifications(nexId, otherMembers(nexId, actorId),
+                        nexName(nexId), importedCount);
+                afterCommit(() -> eventService.broadcastExpenseAdded(nexId, null, actorId));
+            }
+            default -> throw new IllegalArgumentException("Unsupported outbox event: " + event.getEventType());
+        }
+
+        afterCommit(() -> auditService.logUserActionAsync(actorId, event.getEventType().name(),
+                "Nex " + nexId + (expenseId != null ? ", expense " + expenseId : "")));
+    }
+
+    /**
+     * Active members of the Nex other than the user who made the change.
+     */
+    private List<String> otherMembers(String nexId, String actorId) {
+        return nexMemberRepository.findActiveMemberIdsByNexId(nexId).stream()
+                .filter(memberId -> !memberId.equals(actorId))
+                .toList();
+    }
+
+    private String nexName(String nexId) {
+        return nexRepository.findById(nexId)
+                .map(Nex::getName)
+                .orElse("Expense Group");
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    action.run();
+                } catch (Exception e) {
+                    log.warn("Post-commit outbox side effect failed: {}", e.getMessage());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,310 @@
+package com.nexsplit.service.outbox;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexsplit.config.OutboxConfig;
+import com.nexsplit.model.OutboxEvent;
+import com.nexsplit.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the transactional outbox.
+ *
+ * Polls run on a dedicated scheduler thread rather than the shared Spring
+ * scheduler, so slow scheduled jobs do not delay delivery and a long
+ * dispatch batch does not delay them. Each poll takes a database advisory
+ * lock, so only one instance dispatches at a time, and loads a batch of due
+ * events. Events are grouped by Nex. The groups are dispatched in parallel
+ * on virtual threads, while the events inside a group are dispatched one
+ * after another in id order. Each event is handled in its own transaction. A
+ * failed event is retried with exponential backoff, and the later events of
+ * its Nex wait until it succeeds or is marked FAILED after the maximum
+ * number of attempts.
+ *
+ * The advisory lock is transaction-scoped, so the poll holds one connection
+ * for its whole duration, and each parallel Nex takes one more. The
+ * parallelism is capped so the dispatcher uses at most half of the primary
+ * pool, but at least two connections, and leaves the rest to request
+ * traffic.
+ *
+ * Metrics: outbox.events.dispatched (tag result=processed|retried|failed),
+ * outbox.dispatch.lag (time from publish to dispatch) and
+ * outbox.pending.age.seconds (age of the oldest pending event).
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    /** Advisory lock key shared by all instances ("NEXOUT"). */
+    static final long DISPATCHER_LOCK_KEY = 0x4E45584F5554L;
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxConfig outboxConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int poolSize;
+    private final Map<OutboxEvent.EventType, OutboxEventHandler> handlers = new EnumMap<>(OutboxEvent.EventType.class);
+    private final AtomicLong oldestPendingAgeMs = new AtomicLong();
+    private final Counter processed;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer lag;
+    private ScheduledExecutorService poller;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository, OutboxConfig outboxConfig,
+            TransactionTemplate transactionTemplate, ObjectMapper objectMapper, List<OutboxEventHandler> handlers,
+            MeterRegistry meterRegistry, @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxConfig = outboxConfig;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.poolSize = poolSize;
+        for (OutboxEventHandler handler : handlers) {
+            for (OutboxEvent.EventType eventType : handler.getEventTypes()) {
+                if (this.handlers.putIfAbsent(eventType, handler) != null) {
+                    throw new IllegalStateException("More than one outbox handler for " + eventType);
+                }
+            }
+        }
+
+        this.processed = dispatchedCounter(meterRegistry, "processed");
+        this.retried = dispatchedCounter(meterRegistry, "retried");
+        this.failed = dispatchedCounter(meterRegistry, "failed");
+        this.lag = Timer.builder("outbox.dispatch.lag")
+                .description("Time from publishing an outbox event to dispatching it")
+                .register(meterRegistry);
+        Gauge.builder("outbox.pending.age.seconds", oldestPendingAgeMs, age -> age.get() / 1000.0)
+                .description("Age of the oldest pending outbox event")
+                .register(meterRegistry);
+    }
+
+    private static Counter dispatchedCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("outbox.events.dispatched")
+                .tag("result", result)
+                .description("Outbox dispatch attempts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start polling on the dispatcher's own thread.
+     */
+    @PostConstruct
+    public void start() {
+        if (!outboxConfig.isDispatcherEnabled()) {
+            return;
+        }
+
+        long intervalMs = Math.max(1, outboxConfig.getPollIntervalMs());
+        poller = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("outbox-dispatcher").daemon(true).factory());
+        poller.scheduleWithFixedDelay(this::dispatch, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop polling and wait for a running poll to finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (poller == null) {
+            return;
+        }
+
+        poller.shutdown();
+        try {
+            if (!poller.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Outbox dispatcher did not stop within 10 seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Dispatch one batch of due events.
+     */
+    public void dispatch() {
+        if (!outboxConfig.isDispatcherEnabled()) {
+            return;
+        }
+
+        try {
+            Integer dispatched = transactionTemplate.execute(status -> dispatchBatch());
+            if (dispatched != null && dispatched > 0) {
+                log.debug("Dispatched {} outbox events", dispatched);
+            }
+        } catch (Exception e) {
+            log.error("Outbox dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Delete processed events past their retention period.
+     */
+    @Scheduled(cron = "0 30 3 * * ?") // Daily at 3:30 AM
+    public void purgeProcessedEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(outboxConfig.getRetentionDays());
+        Integer deleted = transactionTemplate.execute(
+                status -> outboxEventRepository.deleteProcessedBefore(cutoff));
+        log.info("Purged {} processed outbox events older than {}", deleted, cutoff);
+    }
+
+    /**
+     * Load and dispatch a batch while holding the dispatcher lock.
+     *
+     * @return Number of events loaded
+     */
+    private int dispatchBatch() {
+        if (!outboxEventRepository.tryDispatcherLock(DISPATCHER_LOCK_KEY)) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        oldestPendingAgeMs.set(outboxEventRepository.findOldestPendingCreatedAt()
+                .map(createdAt -> Duration.between(createdAt, now).toMillis())
+                .orElse(0L));
+
+        List<OutboxEvent> events = outboxEventRepository.findDispatchable(now, outboxConfig.getBatchSize());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        // Events without a Nex have no ordering constraint and get a group each
+        Map<String, List<OutboxEvent>> groups = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            String key = event.getNexId() != null ? event.getNexId() : "event:" + event.getId();
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(event);
+        }
+
+        Semaphore permits = new Semaphore(maxParallelNexes());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (List<OutboxEvent> group : groups.values()) {
+                executor.submit(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        dispatchInOrder(group);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        return events.size();
+    }
+
+    /**
+     * Number of Nexes dispatched in parallel: the configured value, capped so
+     * that together with the connection holding the lock the dispatcher uses
+     * at most half of the pool.
+     */
+    int maxParallelNexes() {
+        int cap = Math.max(1, poolSize / 2 - 1);
+        return Math.max(1, Math.min(outboxConfig.getMaxParallelNexes(), cap));
+    }
+
+    private void dispatchInOrder(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            if (!dispatchEvent(event)) {
+                // Later events of the Nex wait until this one is dispatched
+                return;
+            }
+        }
+    }
+
+    /**
+     * Handle one event in its own transaction.
+     *
+     * @return true if the event was processed
+     */
+    private boolean dispatchEvent(OutboxEvent event) {
+        try {
+            OutboxEventHandler handler = handlers.get(event.getEventType());
+            if (handler == null) {
+                throw new IllegalStateException("No outbox handler for " + event.getEventType());
+            }
+            Map<String, Object> payload = objectMapper.readValue(event.getPayload(), PAYLOAD_TYPE);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                handler.handle(event, payload);
+                outboxEventRepository.markProcessed(event.getId(), LocalDateTime.now());
+            });
+
+            processed.increment();
+            lag.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            return true;
+        } catch (Exception e) {
+            recordFailedAttempt(event, e);
+            return false;
+        }
+    }
+
+    private void recordFailedAttempt(OutboxEvent event, Exception cause) {
+        int attempts = event.getAttempts() + 1;
+        boolean giveUp = attempts >= outboxConfig.getMaxAttempts();
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(Duration.ofMillis(retryDelayMs(attempts)));
+        String error = String.valueOf(cause.getMessage());
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+
+        String lastError = error;
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.markAttemptFailed(
+                    event.getId(),
+                    (giveUp ? OutboxEvent.Status.FAILED : OutboxEvent.Status.PENDING).name(),
+                    nextAttemptAt, lastError));
+        } catch (Exception e) {
+            log.error("Could not record failed attempt of outbox event {}: {}", event.getId(), e.getMessage());
+        }
+
+        if (giveUp) {
+            failed.increment();
+            log.error("Outbox event {} ({}) failed after {} attempts: {}", event.getId(), event.getEventType(),
+                    attempts, lastError, cause);
+        } else {
+            retried.increment();
+            log.warn("Outbox event {} ({}) failed, attempt {} of {}: {}", event.getId(), event.getEventType(),
+                    attempts, outboxConfig.getMaxAttempts(), lastError);
+        }
+    }
+
+    /**
+     * Exponential backoff: the base delay doubled per previous attempt,
+     * capped at the maximum delay.
+     */
+    long retryDelayMs(int attempts) {
+        int doublings = Math.min(attempts - 1, 30);
+        return Math.min(outboxConfig.getRetryBaseDelayMs() << doublings, outboxConfig.getRetryMaxDelayMs());
+    }
+}
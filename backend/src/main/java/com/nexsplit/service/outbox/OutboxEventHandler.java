@@ -0,0 +1,36 @@
+package com.nexsplit.service.outbox;
+
+import com.nexsplit.model.OutboxEvent;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Produces the side effects of outbox events.
+ *
+ * Handlers run inside the dispatcher's transaction for the event, which also
+ * marks the event processed, so database side effects are written once per
+ * successful dispatch. Side effects outside the database, such as SSE
+ * broadcasts, should be registered to run after commit. A handler that
+ * throws has its event retried later, so handlers must tolerate running
+ * again after a failed attempt.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public interface OutboxEventHandler {
+
+    /**
+     * Event types this handler dispatches.
+     */
+    Set<OutboxEvent.EventType> getEventTypes();
+
+    /**
+     * Dispatch one event.
+     *
+     * @param event   The event
+     * @param payload The event's deserialized JSON payload
+     */
+    void handle(OutboxEvent event, Map<String, Object> payload);
+}
@@ -0,0 +1,83 @@
+package com.nexsplit.service.partition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Maintenance of tables range partitioned by month.
+ *
+ * Creates the partitions of the coming months, so inserts always find one,
+ * and drops the partitions of months past a retention window. Dropping a
+ * partition removes a whole month without a large DELETE. Used by the
+ * scheduled jobs of each partitioned table, through the
+ * create_monthly_partitions and drop_monthly_partitions_before functions.
+ *
+ * Metrics: db.partitions.created and db.partitions.dropped, tagged with the
+ * table.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Component
+@Slf4j
+public class MonthlyPartitionMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public MonthlyPartitionMaintenance(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Create upcoming partitions of a table and drop expired ones. Failures
+     * are logged, not thrown, so a scheduler keeps running the job.
+     *
+     * @param table           The partitioned parent table
+     * @param monthsAhead     Months after the current month to create
+     * @param retentionMonths Months kept, or 0 to keep everything
+     */
+    public void maintain(String table, int monthsAhead, int retentionMonths) {
+        LocalDate today = LocalDate.now();
+
+        try {
+            Integer createdCount = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(
+                    "SELECT create_monthly_partitions(?, ?, ?)", Integer.class, table, today, monthsAhead));
+            counter("db.partitions.created", table, "Monthly partitions created in advance")
+                    .increment(createdCount != null ? createdCount : 0);
+
+            if (retentionMonths <= 0) {
+                log.info("Partition maintenance of {} completed: created {}", table, createdCount);
+                return;
+            }
+
+            LocalDate cutoff = today.minusMonths(retentionMonths).withDayOfMonth(1);
+            Integer droppedCount = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(
+                    "SELECT drop_monthly_partitions_before(?, ?)", Integer.class, table, cutoff));
+            counter("db.partitions.dropped", table, "Monthly partitions dropped after the retention window")
+                    .increment(droppedCount != null ? droppedCount : 0);
+            log.info("Partition maintenance of {} completed: created {}, dropped {} before {}", table,
+                    createdCount, droppedCount, cutoff);
+        } catch (Exception e) {
+            log.error("Error during partition maintenance of {}", table, e);
+        }
+    }
+
+    private Counter counter(String name, String table, String description) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("table", table)
+                .register(meterRegistry);
+    }
+}
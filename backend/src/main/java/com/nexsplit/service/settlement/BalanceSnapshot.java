@@ -0,0 +1,183 @@
+package com.nexsplit.service.settlement;
+
+import com.nexsplit.model.Money;
+import com.nexsplit.model.NexPairBalance;
+import com.nexsplit.util.CurrencyUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable in-memory copy of a Nex's outstanding pair balances at one ledger
+ * version.
+ *
+ * Settlement strategies can plan from a snapshot instead of the live ledger,
+ * which lets what-if scenarios be applied and re-planned without touching the
+ * database. Scenario operations return new snapshots and never modify this
+ * one, so a snapshot can be shared between requests.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public final class BalanceSnapshot {
+
+    private final String nexId;
+    private final long ledgerVersion;
+    private final String currency;
+    private final String[] debtorIds;
+    private final String[] creditorIds;
+    private final long[] amounts;
+
+    private BalanceSnapshot(String nexId, long ledgerVersion, String currency, String[] debtorIds,
+            String[] creditorIds, long[] amounts) {
+        this.nexId = nexId;
+        this.ledgerVersion = ledgerVersion;
+        this.currency = currency;
+        this.debtorIds = debtorIds;
+        this.creditorIds = creditorIds;
+        this.amounts = amounts;
+    }
+
+    /**
+     * Create a snapshot from ledger pair balances.
+     *
+     * @param nexId         The Nex ID
+     * @param ledgerVersion Ledger version the balances were read at
+     * @param pairBalances  Non-zero pair balances of the Nex
+     * @return The snapshot
+     */
+    public static BalanceSnapshot of(String nexId, long ledgerVersion, List<NexPairBalance> pairBalances) {
+        // Sort so the same balances always produce the same plans
+        List<NexPairBalance> sorted = new ArrayList<>(pairBalances);
+        sorted.sort(Comparator.comparing((NexPairBalance pair) -> pair.getId().getDebtorId())
+                .thenComparing(pair -> pair.getId().getCreditorId()));
+
+        String currency = sorted.isEmpty() ? CurrencyUtil.getDefaultCurrency()
+                : sorted.get(0).getAmount().getCurrency();
+        String[] debtorIds = new String[sorted.size()];
+        String[] creditorIds = new String[sorted.size()];
+        long[] amounts = new long[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            NexPairBalance pair = sorted.get(i);
+            debtorIds[i] = pair.getId().getDebtorId();
+            creditorIds[i] = pair.getId().getCreditorId();
+            amounts[i] = pair.getAmount().getMinorUnits();
+        }
+        return new BalanceSnapshot(nexId, ledgerVersion, currency, debtorIds, creditorIds, amounts);
+    }
+
+    public String getNexId() {
+        return nexId;
+    }
+
+    public long getLedgerVersion() {
+        return ledgerVersion;
+    }
+
+    /**
+     * Number of outstanding (debtor, creditor) pairs.
+     */
+    public int getPairCount() {
+        return amounts.length;
+    }
+
+    public String getDebtorId(int pair) {
+        return debtorIds[pair];
+    }
+
+    public String getCreditorId(int pair) {
+        return creditorIds[pair];
+    }
+
+    public Money getAmount(int pair) {
+        return Money.ofMinor(amounts[pair], currency);
+    }
+
+    /**
+     * Net balance of every member with a non-zero position
+     * (positive = owed money, negative = owes money).
+     *
+     * @return Map of user ID to net balance, ordered by user ID
+     */
+    public Map<String, Money> getNetBalances() {
+        Map<String, Long> net = new TreeMap<>();
+        for (int i = 0; i < amounts.length; i++) {
+            net.merge(creditorIds[i], amounts[i], Long::sum);
+            net.merge(debtorIds[i], -amounts[i], Long::sum);
+        }
+
+        Map<String, Money> balances = new TreeMap<>();
+        net.forEach((userId, amount) -> {
+            if (amount != 0) {
+                balances.put(userId, Money.ofMinor(amount, currency));
+            }
+        });
+        return balances;
+    }
+
+    /**
+     * Whether the user takes part in any outstanding pair.
+     *
+     * @param userId The user ID
+     * @return true if the user owes or is owed money
+     */
+    public boolean hasMember(String userId) {
+        for (int i = 0; i < amounts.length; i++) {
+            if (debtorIds[i].equals(userId) || creditorIds[i].equals(userId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Snapshot in which the debtor has paid off everything they owe the
+     * creditor.
+     *
+     * @param debtorId   The debtor ID
+     * @param creditorId The creditor ID
+     * @return New snapshot without the pair
+     */
+    public BalanceSnapshot withPairSettled(String debtorId, String creditorId) {
+        return without(i -> debtorIds[i].equals(debtorId) && creditorIds[i].equals(creditorId));
+    }
+
+    /**
+     * Snapshot in which a member has squared up directly with each of their
+     * counterparties and left the Nex.
+     *
+     * @param userId The user ID
+     * @return New snapshot without any pair involving the member
+     */
+    public BalanceSnapshot withMemberRemoved(String userId) {
+        return without(i -> debtorIds[i].equals(userId) || creditorIds[i].equals(userId));
+    }
+
+    private BalanceSnapshot without(IntPredicate removed) {
+        int[] kept = new int[amounts.length];
+        int size = 0;
+        for (int i = 0; i < amounts.length; i++) {
+            if (!removed.test(i)) {
+                kept[size++] = i;
+            }
+        }
+        if (size == amounts.length) {
+            return this;
+        }
+
+        String[] keptDebtors = new String[size];
+        String[] keptCreditors = new String[size];
+        long[] keptAmounts = new long[size];
+        for (int i = 0; i < size; i++) {
+            keptDebtors[i] = debtorIds[kept[i]];
+            keptCreditors[i] = creditorIds[kept[i]];
+            keptAmounts[i] = amounts[kept[i]];
+        }
+        return new BalanceSnapshot(nexId, ledgerVersion, currency, keptDebtors, keptCreditors, keptAmounts);
+    }
+}
@@ -0,0 +1,93 @@
+package com.nexsplit.service.settlement;
+
+import com.nexsplit.config.SettlementConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of the latest balance snapshot of each Nex.
+ *
+ * A snapshot is reused for as long as the Nex's ledger version is unchanged,
+ * so repeated what-if simulations read the ledger once. Snapshots are
+ * immutable and shared between callers. At most one snapshot is kept per Nex,
+ * and the least recently used Nexes are evicted by size or age.
+ *
+ * Metrics: settlement.snapshot.cache.gets (tag result=hit|miss).
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Component
+@Slf4j
+public class BalanceSnapshotCache {
+
+    private final SettlementConfig settlementConfig;
+    private final Map<String, CachedSnapshot> snapshots;
+    private final Counter hits;
+    private final Counter misses;
+
+    public BalanceSnapshotCache(SettlementConfig settlementConfig, MeterRegistry meterRegistry) {
+        this.settlementConfig = settlementConfig;
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedSnapshot> eldest) {
+                return size() > settlementConfig.getSnapshotCacheMaxEntries();
+            }
+        };
+        this.hits = Counter.builder("settlement.snapshot.cache.gets")
+                .tag("result", "hit")
+                .description("Balance snapshot cache lookups")
+                .register(meterRegistry);
+        this.misses = Counter.builder("settlement.snapshot.cache.gets")
+                .tag("result", "miss")
+                .description("Balance snapshot cache lookups")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the snapshot of a Nex at a ledger version, loading and caching it on
+     * a miss.
+     *
+     * @param nexId         The Nex ID
+     * @param ledgerVersion Current ledger version of the Nex
+     * @param loader        Loads the snapshot on a miss
+     * @return The snapshot
+     */
+    public BalanceSnapshot getOrLoad(String nexId, long ledgerVersion, Supplier<BalanceSnapshot> loader) {
+        long now = System.currentTimeMillis();
+
+        synchronized (snapshots) {
+            CachedSnapshot cached = snapshots.get(nexId);
+            if (cached != null && cached.snapshot.getLedgerVersion() == ledgerVersion
+                    && now - cached.createdAt <= settlementConfig.getSnapshotCacheTtlSeconds() * 1000) {
+                hits.increment();
+                return cached.snapshot;
+            }
+        }
+
+        misses.increment();
+        BalanceSnapshot snapshot = loader.get();
+        synchronized (snapshots) {
+            snapshots.put(nexId, new CachedSnapshot(snapshot, now));
+        }
+        log.debug("Cached balance snapshot for Nex: {} at ledger version {}", nexId, ledgerVersion);
+        return snapshot;
+    }
+
+    private static final class CachedSnapshot {
+        private final BalanceSnapshot snapshot;
+        private final long createdAt;
+
+        private CachedSnapshot(BalanceSnapshot snapshot, long createdAt) {
+            this.snapshot = snapshot;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.nexsplit.service.settlement;
+
+import com.nexsplit.model.Nex;
+import com.nexsplit.model.NexPairBalance;
+import com.nexsplit.service.NexBalanceLedgerService;
+import com.nexsplit.service.SettlementService.SettlementStatus;
+import com.nexsplit.service.SettlementService.SettlementTransaction;
+import com.nexsplit.service.SettlementService.SettlementType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DETAILED settlement strategy: one transaction per debtor-creditor pair with
+ * outstanding debts.
+ * 
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DetailedSettlementStrategy implements SettlementStrategy {
+
+    private final NexBalanceLedgerService nexBalanceLedgerService;
+
+    @Override
+    public Nex.SettlementType getSettlementType() {
+        return Nex.SettlementType.DETAILED;
+    }
+
+    @Override
+    public List<SettlementTransaction> generateSettlements(String nexId) {
+        log.debug("Generating detailed settlements for Nex: {}", nexId);
+
+        // Outstanding amounts per creditor-debtor pair come straight from the ledger
+        List<NexPairBalance> pairBalances = nexBalanceLedgerService.getPairBalances(nexId);
+
+        List<SettlementTransaction> settlements = new ArrayList<>();
+
+        // Create settlement for each pair
+        for (NexPairBalance pairBalance : pairBalances) {
+            settlements.add(new SettlementTransaction(
+                    UUID.randomUUID().toString(),
+                    pairBalance.getId().getDebtorId(),
+                    pairBalance.getId().getCreditorId(),
+                    pairBalance.getAmount().toBigDecimal(),
+                    SettlementType.DETAILED,
+                    SettlementStatus.PENDING,
+                    nexId));
+        }
+
+        log.info("Generated {} detailed settlements for Nex: {}", settlements.size(), nexId);
+        return settlements;
+    }
+
+    @Override
+    public List<SettlementTransaction> generateSettlements(String nexId, BalanceSnapshot snapshot) {
+        List<SettlementTransaction> settlements = new ArrayList<>(snapshot.getPairCount());
+        for (int i = 0; i < snapshot.getPairCount(); i++) {
+            settlements.add(new SettlementTransaction(
+                    UUID.randomUUID().toString(),
+                    snapshot.getDebtorId(i),
+                    snapshot.getCreditorId(i),
+                    snapshot.getAmount(i).toBigDecimal(),
+                    SettlementType.DETAILED,
+                    SettlementStatus.PENDING,
+                    nexId));
+        }
+        return settlements;
+    }
+}
@@ -0,0 +1,120 @@
+package com.nexsplit.service.settlement;
+
+import java.util.Arrays;
+
+/**
+ * Result of a settlement solver run.
+ *
+ * Transfers are stored as parallel primitive arrays of member indices and
+ * amounts in minor currency units (cents), where the indices refer to the
+ * balance array passed to the solver.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public final class SettlementPlan {
+
+    private final int[] debtorIndices;
+    private final int[] creditorIndices;
+    private final long[] amounts;
+    private final int transferCount;
+    private final boolean optimal;
+    private final boolean timedOut;
+
+    private SettlementPlan(int[] debtorIndices, int[] creditorIndices, long[] amounts, int transferCount,
+            boolean optimal, boolean timedOut) {
+        this.debtorIndices = debtorIndices;
+        this.creditorIndices = creditorIndices;
+        this.amounts = amounts;
+        this.transferCount = transferCount;
+        this.optimal = optimal;
+        this.timedOut = timedOut;
+    }
+
+    /**
+     * Number of transfers in this plan.
+     */
+    public int getTransferCount() {
+        return transferCount;
+    }
+
+    /**
+     * Index of the paying member for the given transfer.
+     */
+    public int getDebtorIndex(int transfer) {
+        return debtorIndices[transfer];
+    }
+
+    /**
+     * Index of the receiving member for the given transfer.
+     */
+    public int getCreditorIndex(int transfer) {
+        return creditorIndices[transfer];
+    }
+
+    /**
+     * Amount of the given transfer in minor currency units.
+     */
+    public long getAmount(int transfer) {
+        return amounts[transfer];
+    }
+
+    /**
+     * Whether the plan is proven to use the minimum number of transfers.
+     */
+    public boolean isOptimal() {
+        return optimal;
+    }
+
+    /**
+     * Whether the solver ran out of its time budget and fell back to greedy
+     * matching for part of the input.
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    SettlementPlan withFlags(boolean optimal, boolean timedOut) {
+        return new SettlementPlan(debtorIndices, creditorIndices, amounts, transferCount, optimal, timedOut);
+    }
+
+    /**
+     * Growable buffer used by the solver to collect transfers without boxing.
+     */
+    static final class Builder {
+
+        private int[] debtorIndices;
+        private int[] creditorIndices;
+        private long[] amounts;
+        private int size;
+
+        Builder(int expectedTransfers) {
+            int capacity = Math.max(expectedTransfers, 4);
+            this.debtorIndices = new int[capacity];
+            this.creditorIndices = new int[capacity];
+            this.amounts = new long[capacity];
+        }
+
+        void add(int debtorIndex, int creditorIndex, long amount) {
+            if (size == amounts.length) {
+                int capacity = size << 1;
+                debtorIndices = Arrays.copyOf(debtorIndices, capacity);
+                creditorIndices = Arrays.copyOf(creditorIndices, capacity);
+                amounts = Arrays.copyOf(amounts, capacity);
+            }
+            debtorIndices[size] = debtorIndex;
+            creditorIndices[size] = creditorIndex;
+            amounts[size] = amount;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        SettlementPlan build(boolean optimal, boolean timedOut) {
+            return new SettlementPlan(debtorIndices, creditorIndices, amounts, size, optimal, timedOut);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.nexsplit.service.settlement;
+
+import com.nexsplit.config.SettlementConfig;
+import com.nexsplit.model.Nex;
+import com.nexsplit.service.SettlementService.SettlementTransaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of generated settlement plans.
+ * 
+ * Plans are keyed by (nexId, ledger version, settlement type). Every change to
+ * a Nex's balances bumps its ledger version, so an entry never needs explicit
+ * invalidation; superseded versions simply stop being requested and are
+ * evicted by size (least recently used first) or age.
+ * 
+ * Callers always receive copies of the cached transactions, since settlement
+ * execution updates their status in place.
+ * 
+ * Metrics: settlement.plan.cache.gets (tag result=hit|miss),
+ * settlement.plan.cache.evictions and settlement.plan.cache.size.
+ * 
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Component
+@Slf4j
+public class SettlementPlanCache {
+
+    private final SettlementConfig settlementConfig;
+    private final Map<String, CachedPlan> plans;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public SettlementPlanCache(SettlementConfig settlementConfig, MeterRegistry meterRegistry) {
+        this.settlementConfig = settlementConfig;
+        this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPlan> eldest) {
+                if (size() > settlementConfig.getPlanCacheMaxEntries()) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hits = Counter.builder("settlement.plan.cache.gets")
+                .tag("result", "hit")
+                .description("Settlement plan cache lookups")
+                .register(meterRegistry);
+        this.misses = Counter.builder("settlement.plan.cache.gets")
+                .tag("result", "miss")
+                .description("Settlement plan cache lookups")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("settlement.plan.cache.evictions")
+                .description("Settlement plans evicted by size or age")
+                .register(meterRegistry);
+        Gauge.builder("settlement.plan.cache.size", this, SettlementPlanCache::size)
+                .description("Number of cached settlement plans")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the plan for a ledger version, computing and caching it on a miss.
+     * 
+     * @param nexId          The Nex ID
+     * @param ledgerVersion  Current ledger version of the Nex
+     * @param settlementType Settlement type of the plan
+     * @param loader         Computes the plan on a miss
+     * @return Copies of the plan's settlement transactions
+     */
+    public List<SettlementTransaction> getOrCompute(String nexId, long ledgerVersion,
+            Nex.SettlementType settlementType, Supplier<List<SettlementTransaction>> loader) {
+        String key = nexId + ":" + ledgerVersion + ":" + settlementType;
+        long now = System.currentTimeMillis();
+
+        CachedPlan cached;
+        synchronized (plans) {
+            cached = plans.get(key);
+            if (cached != null && now - cached.createdAt > settlementConfig.getPlanCacheTtlSeconds() * 1000) {
+                plans.remove(key);
+                evictions.increment();
+                cached = null;
+            }
+        }
+
+        if (cached != null) {
+            hits.increment();
+            return copyOf(cached.settlements);
+        }
+
+        misses.increment();
+        // Compute outside the lock; concurrent misses for the same key produce
+        // identical plans, so the last writer winning is harmless
+        List<SettlementTransaction> settlements = copyOf(loader.get());
+        synchronized (plans) {
+            plans.put(key, new CachedPlan(settlements, now));
+        }
+        log.debug("Cached {} settlement plan for Nex: {} at ledger version {}", settlementType, nexId,
+                ledgerVersion);
+        return copyOf(settlements);
+    }
+
+    /**
+     * Number of cached plans.
+     */
+    public int size() {
+        synchronized (plans) {
+            return plans.size();
+        }
+    }
+
+    private static List<SettlementTransaction> copyOf(List<SettlementTransaction> settlements) {
+        List<SettlementTransaction> copies = new ArrayList<>(settlements.size());
+        for (SettlementTransaction settlement : settlements) {
+            SettlementTransaction copy = new SettlementTransaction(
+                    settlement.getId(),
+                    settlement.getFromUserId(),
+                    settlement.getToUserId(),
+                    settlement.getAmount(),
+                    settlement.getSettlementType(),
+                    settlement.getStatus(),
+                    settlement.getNexId());
+            copy.setRelatedDebtIds(settlement.getRelatedDebtIds());
+            copy.setExpenseId(settlement.getExpenseId());
+            copy.setExpenseTitle(settlement.getExpenseTitle());
+            copy.setCreatedAt(settlement.getCreatedAt());
+            copy.setExecutedAt(settlement.getExecutedAt());
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    private static final class CachedPlan {
+        private final List<SettlementTransaction> settlements;
+        private final long createdAt;
+
+        private CachedPlan(List<SettlementTransaction> settlements, long createdAt) {
+            this.settlements = settlements;
+            this.createdAt = createdAt;
+        }
+    }
+}
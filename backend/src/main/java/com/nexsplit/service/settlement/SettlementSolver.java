@@ -0,0 +1,417 @@
+package com.nexsplit.service.settlement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimum-transaction settlement solver.
+ *
+ * Settling n non-zero balances needs n - k transfers, where k is the number of
+ * disjoint zero-sum subgroups the balances can be split into. The solver
+ * maximises k:
+ *
+ * 1. Exact opposite pairs (a, -a) are matched first, which never hurts
+ * optimality
+ * 2. When few members remain, an exhaustive subset search finds the best
+ * partition
+ * 3. Otherwise zero-sum triples and quadruples are extracted with sorted
+ * two-pointer scans, and the exhaustive search is retried on what is left
+ * 4. Each subgroup is settled with the greedy largest-creditor/largest-debtor
+ * matching, giving k - 1 transfers per group of size k
+ *
+ * All work happens on primitive arrays of minor currency units. The solver
+ * checks a wall-clock deadline throughout; once it expires the remaining
+ * members are settled greedily. The plain greedy plan is always computed as a
+ * baseline and returned if it happens to be shorter.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public final class SettlementSolver {
+
+    private static final int DEADLINE_CHECK_MASK = (1 << 12) - 1;
+    private static final int MAX_EXACT_SEARCH_LIMIT = 20;
+
+    private final long timeBudgetNanos;
+    private final int exactSearchLimit;
+
+    /**
+     * @param timeBudgetNanos  Wall-clock budget for the search in nanoseconds
+     * @param exactSearchLimit Largest group searched exhaustively
+     */
+    public SettlementSolver(long timeBudgetNanos, int exactSearchLimit) {
+        this.timeBudgetNanos = Math.max(timeBudgetNanos, 0);
+        this.exactSearchLimit = Math.max(0, Math.min(exactSearchLimit, MAX_EXACT_SEARCH_LIMIT));
+    }
+
+    /**
+     * Compute a settlement plan with as few transfers as possible.
+     *
+     * @param balances Net balances in minor units (positive = owed money)
+     * @return Settlement plan referencing indices of the balances array
+     */
+    public SettlementPlan solve(long[] balances) {
+        long deadline = System.nanoTime() + timeBudgetNanos;
+
+        int[] sorted = nonZeroIndices(balances);
+        sortByBalance(sorted, balances, false);
+
+        SettlementPlan greedyPlan = settleGroups(balances, List.of(sorted));
+        if (sorted.length <= 3) {
+            // Three or fewer non-zero balances can never beat n - 1 transfers
+            return greedyPlan.withFlags(true, false);
+        }
+
+        boolean[] used = new boolean[balances.length];
+        List<int[]> groups = new ArrayList<>();
+        matchOppositePairs(balances, sorted, used, groups);
+
+        boolean heuristic = false;
+        boolean timedOut = false;
+        int[] rest = unused(sorted, used);
+        if (rest.length > exactSearchLimit) {
+            heuristic = true;
+            timedOut = !extractTriples(balances, rest, used, groups, deadline);
+            rest = unused(rest, used);
+            if (!timedOut && rest.length > exactSearchLimit) {
+                timedOut = !extractQuadruples(balances, rest, used, groups, deadline);
+                rest = unused(rest, used);
+            }
+        }
+
+        boolean exact = false;
+        if (!timedOut && rest.length <= exactSearchLimit) {
+            List<int[]> exactGroups = exactPartition(balances, rest, deadline);
+            if (exactGroups != null) {
+                groups.addAll(exactGroups);
+                rest = new int[0];
+                exact = true;
+            } else {
+                timedOut = true;
+            }
+        }
+        if (rest.length > 0) {
+            groups.add(rest);
+        }
+
+        SettlementPlan partitioned = settleGroups(balances, groups);
+        if (partitioned.getTransferCount() <= greedyPlan.getTransferCount()) {
+            return partitioned.withFlags(exact && !heuristic, timedOut);
+        }
+        return greedyPlan.withFlags(false, timedOut);
+    }
+
+    /**
+     * Greedy settlement: repeatedly match the largest creditor with the largest
+     * debtor. Needs at most n - 1 transfers but is not minimal in general.
+     *
+     * @param balances Net balances in minor units (positive = owed money)
+     * @return Settlement plan referencing indices of the balances array
+     */
+    public static SettlementPlan greedy(long[] balances) {
+        return settleGroups(balances, List.of(nonZeroIndices(balances))).withFlags(false, false);
+    }
+
+    // ========================================
+    // PARTITIONING
+    // ========================================
+
+    private static void matchOppositePairs(long[] balances, int[] sorted, boolean[] used, List<int[]> groups) {
+        int lo = 0;
+        int hi = sorted.length - 1;
+        while (lo < hi && balances[sorted[lo]] < 0 && balances[sorted[hi]] > 0) {
+            long sum = balances[sorted[lo]] + balances[sorted[hi]];
+            if (sum == 0) {
+                used[sorted[lo]] = true;
+                used[sorted[hi]] = true;
+                groups.add(new int[] { sorted[lo], sorted[hi] });
+                lo++;
+                hi--;
+            } else if (sum < 0) {
+                lo++;
+            } else {
+                hi--;
+            }
+        }
+    }
+
+    /**
+     * Extract disjoint zero-sum triples from an ascending array.
+     *
+     * @return false if the deadline expired before the scan finished
+     */
+    private static boolean extractTriples(long[] balances, int[] sorted, boolean[] used, List<int[]> groups,
+            long deadline) {
+        for (int i = 0; i < sorted.length - 2; i++) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            if (used[sorted[i]]) {
+                continue;
+            }
+            long target = -balances[sorted[i]];
+            int lo = i + 1;
+            int hi = sorted.length - 1;
+            while (lo < hi) {
+                if (used[sorted[lo]]) {
+                    lo++;
+                } else if (used[sorted[hi]]) {
+                    hi--;
+                } else {
+                    long sum = balances[sorted[lo]] + balances[sorted[hi]];
+                    if (sum == target) {
+                        used[sorted[i]] = true;
+                        used[sorted[lo]] = true;
+                        used[sorted[hi]] = true;
+                        groups.add(new int[] { sorted[i], sorted[lo], sorted[hi] });
+                        break;
+                    } else if (sum < target) {
+                        lo++;
+                    } else {
+                        hi--;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Extract disjoint zero-sum quadruples from an ascending array.
+     *
+     * @return false if the deadline expired before the scan finished
+     */
+    private static boolean extractQuadruples(long[] balances, int[] sorted, boolean[] used, List<int[]> groups,
+            long deadline) {
+        for (int i = 0; i < sorted.length - 3; i++) {
+            if (used[sorted[i]]) {
+                continue;
+            }
+            for (int j = i + 1; j < sorted.length - 2 && !used[sorted[i]]; j++) {
+                if (System.nanoTime() > deadline) {
+                    return false;
+                }
+                if (used[sorted[j]]) {
+                    continue;
+                }
+                long target = -(balances[sorted[i]] + balances[sorted[j]]);
+                int lo = j + 1;
+                int hi = sorted.length - 1;
+                while (lo < hi) {
+                    if (used[sorted[lo]]) {
+                        lo++;
+                    } else if (used[sorted[hi]]) {
+                        hi--;
+                    } else {
+                        long sum = balances[sorted[lo]] + balances[sorted[hi]];
+                        if (sum == target) {
+                            used[sorted[i]] = true;
+                            used[sorted[j]] = true;
+                            used[sorted[lo]] = true;
+                            used[sorted[hi]] = true;
+                            groups.add(new int[] { sorted[i], sorted[j], sorted[lo], sorted[hi] });
+                            break;
+                        } else if (sum < target) {
+                            lo++;
+                        } else {
+                            hi--;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Exhaustive search for the partition with the most zero-sum subgroups.
+     *
+     * best[mask] is the largest number of zero-sum prefixes over all orderings
+     * of the members in mask; consecutive zero-sum prefixes delimit the groups.
+     *
+     * @return The groups, or null if the deadline expired
+     */
+    private static List<int[]> exactPartition(long[] balances, int[] members, long deadline) {
+        int n = members.length;
+        List<int[]> groups = new ArrayList<>();
+        if (n == 0) {
+            return groups;
+        }
+
+        int full = (1 << n) - 1;
+        long[] sums = new long[full + 1];
+        byte[] best = new byte[full + 1];
+        for (int mask = 1; mask <= full; mask++) {
+            if ((mask & DEADLINE_CHECK_MASK) == 0 && System.nanoTime() > deadline) {
+                return null;
+            }
+            int lowest = Integer.numberOfTrailingZeros(mask);
+            sums[mask] = sums[mask & (mask - 1)] + balances[members[lowest]];
+            int bestWithout = 0;
+            for (int bits = mask; bits != 0; bits &= bits - 1) {
+                bestWithout = Math.max(bestWithout, best[mask ^ (bits & -bits)]);
+            }
+            best[mask] = (byte) (bestWithout + (sums[mask] == 0 ? 1 : 0));
+        }
+
+        int mask = full;
+        int boundary = full;
+        while (mask != 0) {
+            int target = best[mask] - (sums[mask] == 0 ? 1 : 0);
+            for (int bits = mask; bits != 0; bits &= bits - 1) {
+                int bit = bits & -bits;
+                if (best[mask ^ bit] == target) {
+                    mask ^= bit;
+                    break;
+                }
+            }
+            if (sums[mask] == 0) {
+                groups.add(membersOf(members, boundary ^ mask));
+                boundary = mask;
+            }
+        }
+        return groups;
+    }
+
+    // ========================================
+    // GREEDY MATCHING
+    // ========================================
+
+    private static SettlementPlan settleGroups(long[] balances, List<int[]> groups) {
+        SettlementPlan.Builder plan = new SettlementPlan.Builder(balances.length);
+        for (int[] group : groups) {
+            settleGroup(balances, group, plan);
+        }
+        return plan.build(false, false);
+    }
+
+    private static void settleGroup(long[] balances, int[] group, SettlementPlan.Builder plan) {
+        int creditorCount = 0;
+        int debtorCount = 0;
+        for (int member : group) {
+            if (balances[member] > 0) {
+                creditorCount++;
+            } else if (balances[member] < 0) {
+                debtorCount++;
+            }
+        }
+        if (creditorCount == 0 || debtorCount == 0) {
+            return;
+        }
+
+        int[] creditors = new int[creditorCount];
+        int[] debtors = new int[debtorCount];
+        creditorCount = 0;
+        debtorCount = 0;
+        for (int member : group) {
+            if (balances[member] > 0) {
+                creditors[creditorCount++] = member;
+            } else if (balances[member] < 0) {
+                debtors[debtorCount++] = member;
+            }
+        }
+        sortByBalance(creditors, balances, true);
+        sortByBalance(debtors, balances, false);
+
+        int c = 0;
+        int d = 0;
+        long credit = balances[creditors[0]];
+        long debt = -balances[debtors[0]];
+        while (c < creditors.length && d < debtors.length) {
+            long amount = Math.min(credit, debt);
+            plan.add(debtors[d], creditors[c], amount);
+            credit -= amount;
+            debt -= amount;
+            if (credit == 0 && ++c < creditors.length) {
+                credit = balances[creditors[c]];
+            }
+            if (debt == 0 && ++d < debtors.length) {
+                debt = -balances[debtors[d]];
+            }
+        }
+    }
+
+    // ========================================
+    // PRIMITIVE ARRAY HELPERS
+    // ========================================
+
+    private static int[] nonZeroIndices(long[] balances) {
+        int count = 0;
+        for (long balance : balances) {
+            if (balance != 0) {
+                count++;
+            }
+        }
+        int[] indices = new int[count];
+        count = 0;
+        for (int i = 0; i < balances.length; i++) {
+            if (balances[i] != 0) {
+                indices[count++] = i;
+            }
+        }
+        return indices;
+    }
+
+    private static int[] unused(int[] members, boolean[] used) {
+        int count = 0;
+        for (int member : members) {
+            if (!used[member]) {
+                count++;
+            }
+        }
+        int[] rest = new int[count];
+        count = 0;
+        for (int member : members) {
+            if (!used[member]) {
+                rest[count++] = member;
+            }
+        }
+        return rest;
+    }
+
+    private static int[] membersOf(int[] members, int mask) {
+        int[] group = new int[Integer.bitCount(mask)];
+        int count = 0;
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            group[count++] = members[Integer.numberOfTrailingZeros(bits)];
+        }
+        return group;
+    }
+
+    /**
+     * Stable merge sort of member indices by their balance.
+     */
+    private static void sortByBalance(int[] indices, long[] balances, boolean descending) {
+        if (indices.length > 1) {
+            mergeSort(indices, new int[indices.length], 0, indices.length, balances, descending);
+        }
+    }
+
+    private static void mergeSort(int[] indices, int[] buffer, int from, int to, long[] balances,
+            boolean descending) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(indices, buffer, from, mid, balances, descending);
+        mergeSort(indices, buffer, mid, to, balances, descending);
+
+        int left = from;
+        int right = mid;
+        int out = from;
+        while (left < mid && right < to) {
+            long leftBalance = balances[indices[left]];
+            long rightBalance = balances[indices[right]];
+            boolean takeRight = descending ? rightBalance > leftBalance : rightBalance < leftBalance;
+            buffer[out++] = takeRight ? indices[right++] : indices[left++];
+        }
+        while (left < mid) {
+            buffer[out++] = indices[left++];
+        }
+        while (right < to) {
+            buffer[out++] = indices[right++];
+        }
+        System.arraycopy(buffer, from, indices, from, to - from);
+    }
+}
@@ -0,0 +1,45 @@
+package com.nexsplit.service.settlement;
+
+import com.nexsplit.model.Nex;
+import com.nexsplit.service.SettlementService.SettlementTransaction;
+
+import java.util.List;
+
+/**
+ * Strategy for turning a Nex's outstanding balances into settlement
+ * transactions.
+ * 
+ * One implementation exists per {@link Nex.SettlementType}; the settlement
+ * service picks the strategy from the request or the Nex's configured type.
+ * 
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public interface SettlementStrategy {
+
+    /**
+     * Settlement type handled by this strategy.
+     * 
+     * @return The Nex settlement type
+     */
+    Nex.SettlementType getSettlementType();
+
+    /**
+     * Generate pending settlement transactions for a Nex.
+     * 
+     * @param nexId The Nex ID
+     * @return List of settlement transactions
+     */
+    List<SettlementTransaction> generateSettlements(String nexId);
+
+    /**
+     * Generate pending settlement transactions from an in-memory balance
+     * snapshot instead of the live ledger. Used for what-if simulations.
+     * 
+     * @param nexId    The Nex ID
+     * @param snapshot Balances to plan from
+     * @return List of settlement transactions
+     */
+    List<SettlementTransaction> generateSettlements(String nexId, BalanceSnapshot snapshot);
+}
@@ -0,0 +1,139 @@
+package com.nexsplit.service.settlement;
+
+import com.nexsplit.config.SettlementConfig;
+import com.nexsplit.model.Money;
+import com.nexsplit.model.Nex;
+import com.nexsplit.service.NexBalanceLedgerService;
+import com.nexsplit.service.SettlementService.SettlementStatus;
+import com.nexsplit.service.SettlementService.SettlementTransaction;
+import com.nexsplit.service.SettlementService.SettlementType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * SIMPLIFIED settlement strategy: nets every member's balance and settles the
+ * Nex with as few transfers as possible.
+ * 
+ * Balances are converted to minor units and handed to the
+ * {@link SettlementSolver}. Members are ordered by user ID so the same
+ * balances always produce the same plan, which keeps the deterministic
+ * settlement IDs stable between listing and executing settlements.
+ * 
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SimplifiedSettlementStrategy implements SettlementStrategy {
+
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(
+            SimplifiedSettlementStrategy::newMd5);
+
+    private final NexBalanceLedgerService nexBalanceLedgerService;
+    private final SettlementConfig settlementConfig;
+
+    @Override
+    public Nex.SettlementType getSettlementType() {
+        return Nex.SettlementType.SIMPLIFIED;
+    }
+
+    @Override
+    public List<SettlementTransaction> generateSettlements(String nexId) {
+        log.debug("Generating simplified settlements for Nex: {}", nexId);
+        return planSettlements(nexId, nexBalanceLedgerService.getNetBalances(nexId));
+    }
+
+    @Override
+    public List<SettlementTransaction> generateSettlements(String nexId, BalanceSnapshot snapshot) {
+        return planSettlements(nexId, snapshot.getNetBalances());
+    }
+
+    /**
+     * Plan the fewest transfers that bring every net balance to zero.
+     */
+    private List<SettlementTransaction> planSettlements(String nexId, Map<String, Money> netBalances) {
+        String[] userIds = netBalances.keySet().toArray(new String[0]);
+        Arrays.sort(userIds);
+        long[] balances = new long[userIds.length];
+        for (int i = 0; i < userIds.length; i++) {
+            balances[i] = netBalances.get(userIds[i]).getMinorUnits();
+        }
+
+        SettlementPlan plan;
+        if (settlementConfig.getSimplificationAlgorithm() == SettlementConfig.SimplificationAlgorithm.GREEDY) {
+            plan = SettlementSolver.greedy(balances);
+        } else {
+            plan = new SettlementSolver(
+                    Duration.ofMillis(settlementConfig.getSolverTimeBudgetMs()).toNanos(),
+                    settlementConfig.getSolverExactSearchLimit()).solve(balances);
+            if (plan.isTimedOut()) {
+                log.warn("Settlement solver exceeded its {} ms budget for Nex: {} ({} members), used greedy fallback",
+                        settlementConfig.getSolverTimeBudgetMs(), nexId, userIds.length);
+            }
+        }
+
+        List<SettlementTransaction> settlements = new ArrayList<>(plan.getTransferCount());
+        for (int i = 0; i < plan.getTransferCount(); i++) {
+            String debtor = userIds[plan.getDebtorIndex(i)];
+            String creditor = userIds[plan.getCreditorIndex(i)];
+            BigDecimal settlementAmount = BigDecimal.valueOf(plan.getAmount(i), Money.SCALE);
+
+            // Create settlement transaction with deterministic ID
+            settlements.add(new SettlementTransaction(
+                    generateSettlementId(nexId, debtor, creditor, settlementAmount),
+                    debtor,
+                    creditor,
+                    settlementAmount,
+                    SettlementType.SIMPLIFIED,
+                    SettlementStatus.PENDING,
+                    nexId));
+        }
+
+        log.info("Generated {} simplified settlements for Nex: {} (optimal: {})", settlements.size(), nexId,
+                plan.isOptimal());
+        return settlements;
+    }
+
+    /**
+     * Generate a deterministic settlement ID based on settlement parameters.
+     * This ensures the same settlement always gets the same ID.
+     */
+    private String generateSettlementId(String nexId, String debtor, String creditor, BigDecimal amount) {
+        // Create a deterministic string from settlement parameters
+        String deterministicString = nexId + ":" + debtor + ":" + creditor + ":" + amount;
+
+        // Generate UUID from deterministic string
+        MessageDigest md = MD5.get();
+        if (md == null) {
+            // Fallback to random UUID if MD5 is not available
+            log.warn("MD5 algorithm not available, using random UUID for settlement ID");
+            return UUID.randomUUID().toString();
+        }
+        byte[] hash = md.digest(deterministicString.getBytes(StandardCharsets.UTF_8));
+
+        // Convert to UUID format
+        return UUID.nameUUIDFromBytes(hash).toString();
+    }
+
+    private static MessageDigest newMd5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+}
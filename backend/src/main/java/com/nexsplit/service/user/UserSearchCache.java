@@ -0,0 +1,129 @@
+package com.nexsplit.service.user;
+
+import com.nexsplit.config.UserSearchConfig;
+import com.nexsplit.dto.user.UserSearchDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived in-memory cache of user search results.
+ * 
+ * Typeahead sends the same few prefixes over and over, so results are kept
+ * for a few seconds keyed by the normalized search. Entries are evicted by
+ * size (least recently used first) or age and are never invalidated
+ * explicitly.
+ * 
+ * Metrics: user.search.cache.gets (tag result=hit|miss),
+ * user.search.cache.evictions and user.search.cache.size.
+ * 
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@Component
+public class UserSearchCache {
+
+    private final UserSearchConfig userSearchConfig;
+    private final Clock clock;
+    private final Map<String, CachedResult> results;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public UserSearchCache(UserSearchConfig userSearchConfig, MeterRegistry meterRegistry) {
+        this(userSearchConfig, meterRegistry, Clock.systemUTC());
+    }
+
+    public UserSearchCache(UserSearchConfig userSearchConfig, MeterRegistry meterRegistry, Clock clock) {
+        this.userSearchConfig = userSearchConfig;
+        this.clock = clock;
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                if (size() > userSearchConfig.getCacheMaxEntries()) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hits = Counter.builder("user.search.cache.gets")
+                .tag("result", "hit")
+                .description("User search cache lookups")
+                .register(meterRegistry);
+        this.misses = Counter.builder("user.search.cache.gets")
+                .tag("result", "miss")
+                .description("User search cache lookups")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("user.search.cache.evictions")
+                .description("User searches evicted by size or age")
+                .register(meterRegistry);
+        Gauge.builder("user.search.cache.size", this, UserSearchCache::size)
+                .description("Number of cached user searches")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the results of a search, running and caching it on a miss.
+     * 
+     * @param key    Normalized search, including the kind of search
+     * @param loader Runs the search on a miss
+     * @return Unmodifiable list of matching users
+     */
+    public List<UserSearchDto> getOrCompute(String key, Supplier<List<UserSearchDto>> loader) {
+        long now = clock.millis();
+
+        CachedResult cached;
+        synchronized (results) {
+            cached = results.get(key);
+            if (cached != null && now - cached.createdAt > userSearchConfig.getCacheTtlSeconds() * 1000) {
+                results.remove(key);
+                evictions.increment();
+                cached = null;
+            }
+        }
+
+        if (cached != null) {
+            hits.increment();
+            return cached.users;
+        }
+
+        misses.increment();
+        // Search outside the lock; concurrent misses for the same key return
+        // the same users, so the last writer winning is harmless
+        List<UserSearchDto> users = List.copyOf(loader.get());
+        synchronized (results) {
+            results.put(key, new CachedResult(users, now));
+        }
+        return users;
+    }
+
+    /**
+     * Number of cached searches.
+     */
+    public int size() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    private static final class CachedResult {
+        private final List<UserSearchDto> users;
+        private final long createdAt;
+
+        private CachedResult(List<UserSearchDto> users, long createdAt) {
+            this.users = users;
+            this.createdAt = createdAt;
+        }
+    }
+}
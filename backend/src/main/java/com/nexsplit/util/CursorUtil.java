@@ -0,0 +1,67 @@
+package com.nexsplit.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Utility class for encoding keyset pagination cursors.
+ *
+ * A cursor marks the last row of a page by its sort key, a timestamp such as
+ * a creation time or an expense date, plus a row ID to break ties. It is
+ * handed to clients as an opaque URL-safe token so the key layout can change
+ * without breaking them.
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+public class CursorUtil {
+
+    private static final char SEPARATOR = '|';
+
+    private CursorUtil() {
+    }
+
+    /**
+     * Position of the last row returned on a page.
+     *
+     * @param sortKey Timestamp the rows are ordered by
+     * @param id      ID of the row
+     */
+    public record Position(LocalDateTime sortKey, String id) {
+    }
+
+    /**
+     * Encode a row position as an opaque cursor token.
+     *
+     * @param sortKey Timestamp the rows are ordered by
+     * @param id      ID of the row
+     * @return Cursor token
+     */
+    public static String encode(LocalDateTime sortKey, String id) {
+        String raw = sortKey.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor token produced by {@link #encode(LocalDateTime, String)}.
+     *
+     * @param cursor Cursor token
+     * @return Row position
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Position(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
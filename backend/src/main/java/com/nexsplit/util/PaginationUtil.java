@@ -43,6 +43,34 @@ public class PaginationUtil {
                 .build();
     }
 
+    /**
+     * Create a cursor-paginated response. Only the page size, whether a next
+     * page exists and the cursor to fetch it are known, so no totals are set.
+     */
+    public static <T> PaginatedResponse<T> createCursorPaginatedResponse(List<T> data, int size, String nextCursor) {
+        return PaginatedResponse.<T>builder()
+                .data(data)
+                .pagination(PaginatedResponse.PaginationInfo.builder()
+                        .size(size)
+                        .hasNext(nextCursor != null)
+                        .nextCursor(nextCursor)
+                        .nextPageUrl(nextCursor != null ? buildCursorUrl(nextCursor, size) : null)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Create a cursor-paginated response that also reports the total number
+     * of elements, counted separately by the caller.
+     */
+    public static <T> PaginatedResponse<T> createCursorPaginatedResponse(List<T> data, int size, String nextCursor,
+            long totalElements) {
+        PaginatedResponse<T> response = createCursorPaginatedResponse(data, size, nextCursor);
+        response.getPagination().setTotalElements(totalElements);
+        response.getPagination().setTotalPages((int) Math.ceil((double) totalElements / size));
+        return response;
+    }
+
     private static PaginatedResponse.PaginationInfo createPaginationInfo(Page<?> page, String endpoint) {
         return PaginatedResponse.PaginationInfo.builder()
                 .page(page.getNumber())
@@ -64,4 +92,12 @@ public class PaginationUtil {
                 .build()
                 .toUriString();
     }
+
+    private static String buildCursorUrl(String cursor, int size) {
+        return ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", cursor)
+                .replaceQueryParam("size", size)
+                .build()
+                .toUriString();
+    }
 }
@@ -0,0 +1,66 @@
+-- ========================================
+-- V13: PER-NEX BALANCE LEDGER
+-- ========================================
+-- Incrementally maintained balances for each Nex so settlement reads no longer
+-- have to rebuild every balance from the debts table.
+-- Rows are updated in the same transaction that inserts, deletes or settles debts.
+
+-- ========================================
+-- NEX MEMBER BALANCES TABLE
+-- ========================================
+-- Net position of each user inside a Nex
+-- (positive = user is owed money, negative = user owes money)
+CREATE TABLE nex_member_balances (
+    nex_id CHAR(36) NOT NULL,
+    user_id CHAR(36) NOT NULL,
+    net_balance DECIMAL(15,2) NOT NULL DEFAULT 0,
+    modified_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (nex_id, user_id),
+
+    -- Foreign key constraints
+    CONSTRAINT fk_nex_member_balances_nex FOREIGN KEY (nex_id) REFERENCES nex(id),
+    CONSTRAINT fk_nex_member_balances_user FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+-- ========================================
+-- NEX PAIR BALANCES TABLE
+-- ========================================
+-- Outstanding amount owed by a debtor to a creditor inside a Nex
+CREATE TABLE nex_pair_balances (
+    nex_id CHAR(36) NOT NULL,
+    debtor_id CHAR(36) NOT NULL,
+    creditor_id CHAR(36) NOT NULL,
+    amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+    modified_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (nex_id, debtor_id, creditor_id),
+
+    -- Foreign key constraints
+    CONSTRAINT fk_nex_pair_balances_nex FOREIGN KEY (nex_id) REFERENCES nex(id),
+    CONSTRAINT fk_nex_pair_balances_debtor FOREIGN KEY (debtor_id) REFERENCES users(id),
+    CONSTRAINT fk_nex_pair_balances_creditor FOREIGN KEY (creditor_id) REFERENCES users(id)
+);
+
+-- ========================================
+-- BACKFILL FROM EXISTING UNSETTLED DEBTS
+-- ========================================
+INSERT INTO nex_pair_balances (nex_id, debtor_id, creditor_id, amount, modified_at)
+SELECT e.nex_id, d.debtor_id, d.creditor_id, SUM(d.amount), CURRENT_TIMESTAMP
+FROM debts d
+JOIN expenses e ON d.expense_id = e.id
+WHERE d.settled_at IS NULL
+GROUP BY e.nex_id, d.debtor_id, d.creditor_id;
+
+INSERT INTO nex_member_balances (nex_id, user_id, net_balance, modified_at)
+SELECT nex_id, user_id, SUM(delta), CURRENT_TIMESTAMP
+FROM (
+    SELECT nex_id, creditor_id AS user_id, amount AS delta FROM nex_pair_balances
+    UNION ALL
+    SELECT nex_id, debtor_id AS user_id, -amount AS delta FROM nex_pair_balances
+) deltas
+GROUP BY nex_id, user_id;
+
+-- ========================================
+-- INDEXES FOR PERFORMANCE
+-- ========================================
+CREATE INDEX idx_nex_member_balances_nex_id_nonzero ON nex_member_balances(nex_id) WHERE net_balance <> 0;
+CREATE INDEX idx_nex_pair_balances_nex_id_nonzero ON nex_pair_balances(nex_id) WHERE amount <> 0;
@@ -0,0 +1,8 @@
+-- ========================================
+-- V14: NEX LEDGER VERSION
+-- ========================================
+-- Monotonic counter bumped in the same transaction as every balance ledger
+-- change (expense create/update/delete, settlement execution).
+-- Settlement plans are cached per (nex_id, ledger_version).
+
+ALTER TABLE nex ADD COLUMN ledger_version BIGINT NOT NULL DEFAULT 0;
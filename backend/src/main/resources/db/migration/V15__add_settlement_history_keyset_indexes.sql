@@ -0,0 +1,21 @@
+-- ========================================
+-- V15: SETTLEMENT HISTORY KEYSET INDEXES
+-- ========================================
+-- Settlement history is paged by cursor on (debt_created_at, debt_id) instead
+-- of OFFSET. These indexes let each page start at the cursor position and read
+-- rows already in page order, so deep pages cost the same as the first one.
+
+-- ========================================
+-- USER HISTORY
+-- ========================================
+-- User history merges the debtor side and the creditor side, each read in
+-- (created_at, id) order from its own index
+CREATE INDEX idx_debts_debtor_keyset ON debts(debtor_id, created_at DESC, id DESC) WHERE is_deleted = false;
+CREATE INDEX idx_debts_creditor_keyset ON debts(creditor_id, created_at DESC, id DESC) WHERE is_deleted = false;
+
+-- ========================================
+-- NEX HISTORY
+-- ========================================
+-- Debts reach their Nex through expenses, so the cursor range is applied per
+-- expense
+CREATE INDEX idx_debts_expense_keyset ON debts(expense_id, created_at DESC, id DESC) WHERE is_deleted = false;
@@ -0,0 +1,40 @@
+-- ========================================
+-- V16: TRANSACTIONAL OUTBOX
+-- ========================================
+-- Domain events written in the same transaction as the change they describe.
+-- A background dispatcher drains them after commit to create notifications,
+-- broadcast SSE events and write audit entries, so request transactions no
+-- longer fan out to every Nex member themselves.
+
+-- ========================================
+-- OUTBOX EVENTS TABLE
+-- ========================================
+-- id is monotonic, so events of one Nex are dispatched in id order
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    nex_id CHAR(36),
+    aggregate_id CHAR(36),
+    actor_id CHAR(36),
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL,
+    processed_at TIMESTAMP,
+
+    CONSTRAINT chk_outbox_events_status CHECK (status IN ('PENDING', 'PROCESSED', 'FAILED'))
+);
+
+-- ========================================
+-- INDEXES
+-- ========================================
+-- Dispatcher poll: due pending events in id order
+CREATE INDEX idx_outbox_events_pending ON outbox_events (next_attempt_at, id) WHERE status = 'PENDING';
+
+-- Per-Nex ordering check: earlier pending events of the same Nex
+CREATE INDEX idx_outbox_events_nex_pending ON outbox_events (nex_id, id) WHERE status = 'PENDING';
+
+-- Retention cleanup of processed events
+CREATE INDEX idx_outbox_events_processed_at ON outbox_events (processed_at) WHERE status = 'PROCESSED';
@@ -0,0 +1,7 @@
+-- ========================================
+-- V17: EXPENSES BY PAYER INDEX
+-- ========================================
+-- Expenses by payer are filtered to the caller's Nexes and paged in SQL. This
+-- index reads a payer's live expenses already in page order, and the
+-- membership check is a primary key probe on nex_members per row.
+CREATE INDEX idx_expenses_payer_created_at ON expenses(payer_id, created_at DESC) WHERE is_deleted = false;
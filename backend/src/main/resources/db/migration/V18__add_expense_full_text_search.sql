@@ -0,0 +1,25 @@
+-- ========================================
+-- V18: EXPENSE FULL-TEXT SEARCH
+-- ========================================
+-- Expense search used LOWER(...) LIKE '%term%' on title and description,
+-- which scans every expense. A stored tsvector over both columns with a GIN
+-- index lets search match terms and term prefixes through the index and rank
+-- the results.
+--
+-- The 'simple' configuration lowercases words without stemming, so prefix
+-- queries match what the user typed. Titles carry weight A and descriptions
+-- weight B, so title matches rank first.
+
+-- ========================================
+-- SEARCH VECTOR
+-- ========================================
+-- A generated column is computed for every existing row when it is added and
+-- kept up to date by PostgreSQL on insert and update, so no backfill job or
+-- trigger is needed
+ALTER TABLE expenses
+ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple'::regconfig, COALESCE(title, '')), 'A') ||
+    setweight(to_tsvector('simple'::regconfig, COALESCE(description, '')), 'B')
+) STORED;
+
+CREATE INDEX idx_expenses_search_vector ON expenses USING GIN (search_vector) WHERE is_deleted = false;
@@ -0,0 +1,21 @@
+-- ========================================
+-- V19: USER SEARCH TRIGRAM INDEXES
+-- ========================================
+-- The invite-member picker searches users on every keystroke with unanchored
+-- LOWER(...) LIKE '%term%' matches, which scan the users table. pg_trgm GIN
+-- indexes serve those matches from the index and provide the similarity
+-- functions used to rank the results.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- ========================================
+-- SEARCHABLE COLUMNS
+-- ========================================
+-- Expressions match the ones in UserRepository exactly, and only searchable
+-- (active, non-deleted) users are indexed
+CREATE INDEX idx_users_username_trgm ON users USING GIN (LOWER(username) gin_trgm_ops)
+    WHERE deleted_at IS NULL AND status = 'ACTIVE';
+CREATE INDEX idx_users_email_trgm ON users USING GIN (LOWER(email) gin_trgm_ops)
+    WHERE deleted_at IS NULL AND status = 'ACTIVE';
+CREATE INDEX idx_users_full_name_trgm ON users
+    USING GIN (LOWER(COALESCE(first_name, '') || ' ' || COALESCE(last_name, '')) gin_trgm_ops)
+    WHERE deleted_at IS NULL AND status = 'ACTIVE';
@@ -0,0 +1,20 @@
+-- ========================================
+-- V20: EXPENSE FEED KEYSET INDEXES
+-- ========================================
+-- Expense feeds are paged by cursor on (expense_date, id) instead of OFFSET.
+-- These indexes let each page start at the cursor position and read rows
+-- already in feed order, so deep pages cost the same as the first one.
+
+-- ========================================
+-- NEX FEED
+-- ========================================
+CREATE INDEX idx_expenses_nex_feed ON expenses(nex_id, expense_date DESC, id DESC) WHERE is_deleted = false;
+
+-- ========================================
+-- USER INVOLVEMENT FEED
+-- ========================================
+-- The feed merges expenses the user paid, read in feed order from the payer
+-- index, with expenses the user has a split in, found through the user's
+-- splits
+CREATE INDEX idx_expenses_payer_feed ON expenses(payer_id, expense_date DESC, id DESC) WHERE is_deleted = false;
+CREATE INDEX idx_splits_user_id_expense_id ON splits(user_id, expense_id);
@@ -0,0 +1,176 @@
+-- ========================================
+-- V21: INCREMENTALLY MAINTAINED NEX ANALYTICS
+-- ========================================
+-- nex_analytics_view joined members, expenses, debts, categories and bills of
+-- a Nex in one row set before aggregating, so every summary read built their
+-- cartesian product and SUM(amount) counted each expense once per member,
+-- debt, category and bill. Analytics now live in a per-Nex rollup table that
+-- writes update in the same transaction as the rows they change.
+
+-- ========================================
+-- NEX ANALYTICS ROLLUPS TABLE
+-- ========================================
+-- One row per Nex. Counters and amounts are adjusted by deltas; the expense
+-- extremes and activity dates are recomputed when an expense is removed
+CREATE TABLE nex_analytics_rollups (
+    nex_id CHAR(36) PRIMARY KEY,
+    total_members BIGINT NOT NULL DEFAULT 0,
+    active_members BIGINT NOT NULL DEFAULT 0,
+    admin_count BIGINT NOT NULL DEFAULT 0,
+    total_expenses BIGINT NOT NULL DEFAULT 0,
+    total_expense_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+    max_expense_amount DECIMAL(15,2),
+    min_expense_amount DECIMAL(15,2),
+    total_debts BIGINT NOT NULL DEFAULT 0,
+    unsettled_debts BIGINT NOT NULL DEFAULT 0,
+    unsettled_debt_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+    total_categories BIGINT NOT NULL DEFAULT 0,
+    default_categories BIGINT NOT NULL DEFAULT 0,
+    total_bills BIGINT NOT NULL DEFAULT 0,
+    paid_bills BIGINT NOT NULL DEFAULT 0,
+    total_bill_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+    last_expense_date TIMESTAMP,
+    last_debt_date TIMESTAMP,
+    last_bill_date TIMESTAMP,
+    modified_at TIMESTAMP NOT NULL,
+
+    -- Foreign key constraints
+    CONSTRAINT fk_nex_analytics_rollups_nex FOREIGN KEY (nex_id) REFERENCES nex(id)
+);
+
+-- ========================================
+-- NEX ANALYTICS SOURCE VIEW
+-- ========================================
+-- The rollup figures computed from the source tables. Each table is
+-- aggregated on its own per Nex, so there is no fan-out, and filtering by
+-- nex_id only aggregates the rows of the selected Nexes. Used to backfill,
+-- rebuild and re-check the rollup, never by request reads
+CREATE VIEW nex_analytics_source_view AS
+SELECT
+    n.id as nex_id,
+    m.total_members,
+    m.active_members,
+    m.admin_count,
+    e.total_expenses,
+    e.total_expense_amount,
+    e.max_expense_amount,
+    e.min_expense_amount,
+    d.total_debts,
+    d.unsettled_debts,
+    d.unsettled_debt_amount,
+    c.total_categories,
+    c.default_categories,
+    b.total_bills,
+    b.paid_bills,
+    b.total_bill_amount,
+    e.last_expense_date,
+    d.last_debt_date,
+    b.last_bill_date
+FROM nex n
+CROSS JOIN LATERAL (
+    SELECT COUNT(*) as total_members,
+           COUNT(*) FILTER (WHERE nm.status = 'ACTIVE') as active_members,
+           COUNT(*) FILTER (WHERE nm.role = 'ADMIN') as admin_count
+    FROM nex_members nm
+    WHERE nm.nex_id = n.id AND nm.is_deleted = false
+) m
+CROSS JOIN LATERAL (
+    SELECT COUNT(*) as total_expenses,
+           COALESCE(SUM(x.amount), 0) as total_expense_amount,
+           MAX(x.amount) as max_expense_amount,
+           MIN(x.amount) as min_expense_amount,
+           MAX(x.created_at) as last_expense_date
+    FROM expenses x
+    WHERE x.nex_id = n.id AND x.is_deleted = false
+) e
+CROSS JOIN LATERAL (
+    SELECT COUNT(*) as total_debts,
+           COUNT(*) FILTER (WHERE dt.settled_at IS NULL) as unsettled_debts,
+           COALESCE(SUM(dt.amount) FILTER (WHERE dt.settled_at IS NULL), 0) as unsettled_debt_amount,
+           MAX(dt.created_at) as last_debt_date
+    FROM debts dt
+    JOIN expenses x ON dt.expense_id = x.id
+    WHERE x.nex_id = n.id AND x.is_deleted = false AND dt.is_deleted = false
+) d
+CROSS JOIN LATERAL (
+    SELECT COUNT(*) as total_categories,
+           COUNT(*) FILTER (WHERE ct.is_default = true) as default_categories
+    FROM categories ct
+    WHERE ct.nex_id = n.id AND ct.is_deleted = false
+) c
+CROSS JOIN LATERAL (
+    SELECT COUNT(*) as total_bills,
+           COUNT(*) FILTER (WHERE bl.is_paid = true) as paid_bills,
+           COALESCE(SUM(bl.amount), 0) as total_bill_amount,
+           MAX(bl.created_at) as last_bill_date
+    FROM bills bl
+    WHERE bl.nex_id = n.id AND bl.is_deleted = false
+) b
+WHERE n.is_deleted = false;
+
+-- ========================================
+-- BACKFILL FROM EXISTING DATA
+-- ========================================
+INSERT INTO nex_analytics_rollups (nex_id, total_members, active_members, admin_count, total_expenses,
+    total_expense_amount, max_expense_amount, min_expense_amount, total_debts, unsettled_debts,
+    unsettled_debt_amount, total_categories, default_categories, total_bills, paid_bills, total_bill_amount,
+    last_expense_date, last_debt_date, last_bill_date, modified_at)
+SELECT nex_id, total_members, active_members, admin_count, total_expenses,
+    total_expense_amount, max_expense_amount, min_expense_amount, total_debts, unsettled_debts,
+    unsettled_debt_amount, total_categories, default_categories, total_bills, paid_bills, total_bill_amount,
+    last_expense_date, last_debt_date, last_bill_date, CURRENT_TIMESTAMP
+FROM nex_analytics_source_view;
+
+-- ========================================
+-- NEX ANALYTICS VIEW
+-- ========================================
+-- Same columns as before, now read from the rollup. Only the Nex and its
+-- creator are joined, both by primary key
+DROP VIEW nex_analytics_view;
+
+CREATE VIEW nex_analytics_view AS
+SELECT
+    n.id as nex_id,
+    n.name as nex_name,
+    n.description,
+    n.settlement_type,
+    n.nex_type,
+    n.is_archived,
+    n.created_by,
+    creator.first_name || ' ' || creator.last_name as creator_name,
+    creator.email as creator_email,
+    n.created_at as nex_created_at,
+    n.modified_at as nex_modified_at,
+    -- Member statistics
+    COALESCE(a.total_members, 0) as total_members,
+    COALESCE(a.active_members, 0) as active_members,
+    COALESCE(a.admin_count, 0) as admin_count,
+    -- Expense statistics
+    COALESCE(a.total_expenses, 0) as total_expenses,
+    COALESCE(a.total_expense_amount, 0) as total_expense_amount,
+    CASE WHEN a.total_expenses > 0 THEN a.total_expense_amount / a.total_expenses ELSE 0 END
+        as average_expense_amount,
+    COALESCE(a.max_expense_amount, 0) as max_expense_amount,
+    COALESCE(a.min_expense_amount, 0) as min_expense_amount,
+    -- Debt statistics
+    COALESCE(a.total_debts, 0) as total_debts,
+    COALESCE(a.unsettled_debts, 0) as unsettled_debts,
+    COALESCE(a.unsettled_debt_amount, 0) as unsettled_debt_amount,
+    -- Category statistics
+    COALESCE(a.total_categories, 0) as total_categories,
+    COALESCE(a.default_categories, 0) as default_categories,
+    -- Bill statistics
+    COALESCE(a.total_bills, 0) as total_bills,
+    COALESCE(a.paid_bills, 0) as paid_bills,
+    COALESCE(a.total_bill_amount, 0) as total_bill_amount,
+    -- Recent activity
+    a.last_expense_date,
+    a.last_debt_date,
+    a.last_bill_date
+FROM nex n
+LEFT JOIN users creator ON n.created_by = creator.id AND creator.is_deleted = false
+LEFT JOIN nex_analytics_rollups a ON n.id = a.nex_id
+WHERE n.is_deleted = false;
+
+COMMENT ON VIEW nex_analytics_view IS 'Analytics for nex groups read from nex_analytics_rollups, with the nex and creator details.';
+COMMENT ON VIEW nex_analytics_source_view IS 'Nex analytics computed from the source tables. Used to backfill, rebuild and re-check nex_analytics_rollups.';
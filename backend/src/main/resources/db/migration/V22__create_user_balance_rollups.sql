@@ -0,0 +1,97 @@
+-- ========================================
+-- V22: INCREMENTALLY MAINTAINED USER BALANCES
+-- ========================================
+-- user_balance_view joined each user's debts, credits, created expenses and
+-- paid expenses in one row set. The row explosion multiplied COUNT and SUM,
+-- SUM(DISTINCT amount) merged different expenses with equal amounts, and
+-- every balance filter aggregated all users and debts before it could be
+-- applied. Unsettled debt and credit totals now live in a per-user rollup
+-- that the balance ledger updates whenever debts are created, settled or
+-- deleted.
+
+-- ========================================
+-- USER BALANCE ROLLUPS TABLE
+-- ========================================
+-- Only users who ever had an unsettled debt or credit have a row
+-- (positive net_balance = user is owed money, negative = user owes money)
+CREATE TABLE user_balance_rollups (
+    user_id CHAR(36) PRIMARY KEY,
+    total_debt DECIMAL(15,2) NOT NULL DEFAULT 0,
+    total_credit DECIMAL(15,2) NOT NULL DEFAULT 0,
+    net_balance DECIMAL(15,2) GENERATED ALWAYS AS (total_credit - total_debt) STORED,
+    active_debt_count BIGINT NOT NULL DEFAULT 0,
+    active_credit_count BIGINT NOT NULL DEFAULT 0,
+    modified_at TIMESTAMP NOT NULL,
+
+    -- Foreign key constraints
+    CONSTRAINT fk_user_balance_rollups_user FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+-- ========================================
+-- BACKFILL FROM EXISTING UNSETTLED DEBTS
+-- ========================================
+INSERT INTO user_balance_rollups (user_id, total_debt, total_credit, active_debt_count, active_credit_count,
+    modified_at)
+SELECT user_id, SUM(debt), SUM(credit), SUM(debt_count), SUM(credit_count), CURRENT_TIMESTAMP
+FROM (
+    SELECT debtor_id AS user_id, amount AS debt, 0 AS credit, 1 AS debt_count, 0 AS credit_count
+    FROM debts WHERE is_deleted = false AND settled_at IS NULL
+    UNION ALL
+    SELECT creditor_id AS user_id, 0 AS debt, amount AS credit, 0 AS debt_count, 1 AS credit_count
+    FROM debts WHERE is_deleted = false AND settled_at IS NULL
+) deltas
+GROUP BY user_id;
+
+-- ========================================
+-- USER BALANCE VIEW
+-- ========================================
+-- Same columns as before. Balances come from the rollup; expense totals are
+-- aggregated per user on their own, so they are neither multiplied nor merged
+DROP VIEW user_balance_view;
+
+CREATE VIEW user_balance_view AS
+SELECT
+    u.id as user_id,
+    u.first_name || ' ' || u.last_name as user_name,
+    u.email as user_email,
+    u.username,
+    -- Total amount user owes to others
+    COALESCE(r.total_debt, 0) as total_debt,
+    -- Total amount others owe to user
+    COALESCE(r.total_credit, 0) as total_credit,
+    -- Net balance (positive = user is owed money, negative = user owes money)
+    COALESCE(r.net_balance, 0) as net_balance,
+    -- Count of active debts and credits
+    COALESCE(r.active_debt_count, 0) as active_debt_count,
+    COALESCE(r.active_credit_count, 0) as active_credit_count,
+    -- Expenses created by user
+    created.total_expenses_created,
+    created.total_expense_amount_created,
+    -- Expenses paid by user
+    paid.total_expenses_paid,
+    paid.total_expense_amount_paid
+FROM users u
+LEFT JOIN user_balance_rollups r ON u.id = r.user_id
+CROSS JOIN LATERAL (
+    SELECT COUNT(*) as total_expenses_created,
+           COALESCE(SUM(e.amount), 0) as total_expense_amount_created
+    FROM expenses e
+    WHERE e.created_by = u.id AND e.is_deleted = false
+) created
+CROSS JOIN LATERAL (
+    SELECT COUNT(*) as total_expenses_paid,
+           COALESCE(SUM(e.amount), 0) as total_expense_amount_paid
+    FROM expenses e
+    WHERE e.payer_id = u.id AND e.is_deleted = false
+) paid
+WHERE u.is_deleted = false;
+
+COMMENT ON VIEW user_balance_view IS 'User balances read from user_balance_rollups, with per-user expense totals.';
+
+-- ========================================
+-- INDEXES FOR PERFORMANCE
+-- ========================================
+-- Balance and threshold filters are range scans on the rollup
+CREATE INDEX idx_user_balance_rollups_net_balance ON user_balance_rollups(net_balance);
+CREATE INDEX idx_user_balance_rollups_total_debt ON user_balance_rollups(total_debt);
+CREATE INDEX idx_user_balance_rollups_total_credit ON user_balance_rollups(total_credit);
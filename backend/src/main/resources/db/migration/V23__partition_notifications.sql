@@ -0,0 +1,113 @@
+-- ========================================
+-- V23: MONTHLY PARTITIONED NOTIFICATIONS
+-- ========================================
+-- Retention used to delete old read notifications with one large DELETE
+-- (after a COUNT over the same predicate), which bloated and locked the
+-- table. Notifications are now range partitioned by month on created_at.
+-- Retention detaches and drops whole months, and future months are created
+-- ahead of time by a scheduled job.
+
+-- ========================================
+-- PARTITION MAINTENANCE FUNCTIONS
+-- ========================================
+-- Shared by every table range partitioned by month. Partitions of
+-- parent_table are named parent_table_YYYY_MM.
+
+-- Create the monthly partitions of parent_table from from_month through
+-- months_ahead months after the current month. Returns the number of
+-- partitions created.
+CREATE OR REPLACE FUNCTION create_monthly_partitions(parent_table TEXT, from_month DATE, months_ahead INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month)::date;
+    last_month DATE := (date_trunc('month', CURRENT_DATE) + make_interval(months => months_ahead))::date;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        partition_name := parent_table || '_' || to_char(month_start, 'YYYY_MM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                partition_name, parent_table, month_start, (month_start + INTERVAL '1 month')::date);
+            created := created + 1;
+        END IF;
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detach and drop the monthly partitions of parent_table that end on or
+-- before cutoff. Returns the number of partitions dropped.
+CREATE OR REPLACE FUNCTION drop_monthly_partitions_before(parent_table TEXT, cutoff DATE)
+RETURNS INTEGER AS $$
+DECLARE
+    part RECORD;
+    dropped INTEGER := 0;
+BEGIN
+    FOR part IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = parent_table::regclass
+        AND c.relname ~ ('^' || parent_table || '_[0-9]{4}_[0-9]{2}$')
+        ORDER BY c.relname
+    LOOP
+        IF (to_date(right(part.relname::text, 7), 'YYYY_MM') + INTERVAL '1 month')::date <= cutoff THEN
+            EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', parent_table, part.relname);
+            EXECUTE format('DROP TABLE %I', part.relname);
+            dropped := dropped + 1;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
+
+-- ========================================
+-- NOTIFICATIONS TABLE
+-- ========================================
+ALTER TABLE notifications RENAME TO notifications_legacy;
+ALTER INDEX notifications_pkey RENAME TO notifications_legacy_pkey;
+DROP INDEX IF EXISTS idx_notifications_user_id;
+DROP INDEX IF EXISTS idx_notifications_nex_id;
+DROP INDEX IF EXISTS idx_notifications_is_read;
+
+-- The partition key has to be part of the primary key
+CREATE TABLE notifications (
+    id CHAR(36) NOT NULL,
+    user_id CHAR(36) NOT NULL,
+    nex_id CHAR(36),
+    type TEXT CHECK (type IN ('INVITE', 'REMINDER', 'INFO')),
+    message TEXT NOT NULL,
+    is_read BOOLEAN DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL,
+    modified_at TIMESTAMP,
+
+    PRIMARY KEY (id, created_at),
+
+    -- Foreign key constraints
+    CONSTRAINT fk_notifications_user FOREIGN KEY (user_id) REFERENCES users(id),
+    CONSTRAINT fk_notifications_nex FOREIGN KEY (nex_id) REFERENCES nex(id)
+) PARTITION BY RANGE (created_at);
+
+SELECT create_monthly_partitions('notifications',
+    COALESCE((SELECT MIN(created_at) FROM notifications_legacy)::date, CURRENT_DATE), 3);
+
+INSERT INTO notifications (id, user_id, nex_id, type, message, is_read, created_at, modified_at)
+SELECT id, user_id, nex_id, type, message, is_read, created_at, modified_at
+FROM notifications_legacy;
+
+DROP TABLE notifications_legacy;
+
+-- ========================================
+-- INDEXES FOR PERFORMANCE
+-- ========================================
+-- Created on the parent, so every partition gets its own local index
+-- User feed, newest first
+CREATE INDEX idx_notifications_user_created ON notifications(user_id, created_at DESC);
+-- Unread feed and unread count
+CREATE INDEX idx_notifications_user_unread ON notifications(user_id, created_at DESC) WHERE is_read = false;
+-- User feed filtered by type
+CREATE INDEX idx_notifications_user_type_created ON notifications(user_id, type, created_at DESC);
+-- Nex feed
+CREATE INDEX idx_notifications_nex_created ON notifications(nex_id, created_at DESC);
@@ -0,0 +1,70 @@
+-- ========================================
+-- V24: MONTHLY PARTITIONED AUDIT EVENTS
+-- ========================================
+-- Audit events were written one row per statement into a table with seven
+-- secondary indexes, so every login paid for eight index inserts. Events
+-- are now written in multi-row batches by a single writer, the table is
+-- range partitioned by month on timestamp, and the indexes are reduced to
+-- the ones the audit queries use. Partitions are maintained with the
+-- monthly partition functions from V23.
+
+-- ========================================
+-- AUDIT EVENTS TABLE
+-- ========================================
+ALTER TABLE audit_events RENAME TO audit_events_legacy;
+ALTER INDEX audit_events_pkey RENAME TO audit_events_legacy_pkey;
+DROP INDEX IF EXISTS idx_audit_events_user_id;
+DROP INDEX IF EXISTS idx_audit_events_event_type;
+DROP INDEX IF EXISTS idx_audit_events_event_category;
+DROP INDEX IF EXISTS idx_audit_events_severity_level;
+DROP INDEX IF EXISTS idx_audit_events_timestamp;
+DROP INDEX IF EXISTS idx_audit_events_ip_address;
+DROP INDEX IF EXISTS idx_audit_events_user_timestamp;
+
+-- The partition key has to be part of the primary key
+CREATE TABLE audit_events (
+    id CHAR(36) NOT NULL,
+    user_id CHAR(36),
+    event_type VARCHAR(255) NOT NULL,
+    event_category VARCHAR(100) NOT NULL,
+    event_details TEXT,
+    ip_address VARCHAR(45), -- IPv6 compatible
+    user_agent TEXT,
+    severity_level VARCHAR(20) NOT NULL, -- LOW, MEDIUM, HIGH, CRITICAL
+    timestamp TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+
+    PRIMARY KEY (id, timestamp),
+
+    -- Foreign key constraint
+    CONSTRAINT fk_audit_events_user_id FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL
+) PARTITION BY RANGE (timestamp);
+
+SELECT create_monthly_partitions('audit_events',
+    COALESCE((SELECT MIN(timestamp) FROM audit_events_legacy)::date, CURRENT_DATE), 3);
+
+INSERT INTO audit_events (id, user_id, event_type, event_category, event_details, ip_address, user_agent,
+    severity_level, timestamp, created_at)
+SELECT id, user_id, event_type, event_category, event_details, ip_address, user_agent,
+    severity_level, timestamp, created_at
+FROM audit_events_legacy;
+
+DROP TABLE audit_events_legacy;
+
+-- ========================================
+-- INDEXES FOR PERFORMANCE
+-- ========================================
+-- Created on the parent, so every partition gets its own local index
+-- Per-user history, time ranges, and per-user type and category filters
+CREATE INDEX idx_audit_events_user_timestamp ON audit_events(user_id, timestamp DESC);
+-- Lookups and counts by event type
+CREATE INDEX idx_audit_events_type_timestamp ON audit_events(event_type, timestamp DESC);
+-- Only authentication events carry an IP address
+CREATE INDEX idx_audit_events_ip_timestamp ON audit_events(ip_address, timestamp DESC)
+    WHERE ip_address IS NOT NULL;
+-- High severity alerts
+CREATE INDEX idx_audit_events_high_severity ON audit_events(timestamp DESC)
+    WHERE severity_level IN ('HIGH', 'CRITICAL');
+-- Recent and time range scans; rows arrive in timestamp order, so a BRIN
+-- index stays small and costs next to nothing per insert
+CREATE INDEX idx_audit_events_timestamp_brin ON audit_events USING BRIN (timestamp);
@@ -0,0 +1,11 @@
+-- ========================================
+-- V25: UNSETTLED DEBT PAIR INDEX
+-- ========================================
+-- Settlement execution settles every unsettled debt of a set of
+-- (debtor, creditor) pairs, matched as row values. Only the single-column
+-- debtor and creditor indexes existed, so each pair was resolved by
+-- intersecting them. This partial index serves the pair lookup directly.
+
+CREATE INDEX IF NOT EXISTS idx_debts_unsettled_pair
+    ON debts(debtor_id, creditor_id)
+    WHERE settled_at IS NULL;
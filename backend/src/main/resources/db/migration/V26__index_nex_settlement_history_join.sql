@@ -0,0 +1,13 @@
+-- ========================================
+-- V26: NEX SETTLEMENT HISTORY JOIN INDEX
+-- ========================================
+-- Debts have no nex_id, so Nex settlement history cannot be read in cursor
+-- order from a debts index alone. The query resolves the Nex to its live
+-- expenses first and then reads each expense's debts past the cursor from
+-- idx_debts_expense_keyset. This index covers that first step, so the
+-- expense IDs of a Nex come from an index-only scan instead of visiting
+-- every expense row, including soft-deleted ones.
+
+CREATE INDEX IF NOT EXISTS idx_expenses_nex_live_ids
+    ON expenses(nex_id, id)
+    WHERE is_deleted = false;
@@ -0,0 +1,222 @@
+package com.nexsplit.benchmark;
+
+import com.nexsplit.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of {@link Money} with the BigDecimal arithmetic it replaced.
+ *
+ * Balance merging follows NexBalanceLedgerServiceImpl.applyDebts: every debt
+ * is merged into a pair delta and two member deltas, and non-zero deltas are
+ * counted. Split allocation follows ExpenseServiceImpl.createEqualSplits and
+ * createPercentageSplits, including the check that the shares add up to the
+ * expense amount.
+ *
+ * Run with a Java 21 {@code java} on the PATH (JMH forks a JVM, so exec:java
+ * does not work):
+ *
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     "-Dexec.args=-cp %classpath com.nexsplit.benchmark.MoneyBenchmark"
+ * </pre>
+ *
+ * @author NexSplit Team
+ * @version 1.0
+ * @since 2.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+
+    private static final String CURRENCY = "USD";
+    private static final int MEMBERS = 20;
+
+    @Param({ "1000" })
+    private int debtCount;
+
+    @Param({ "7" })
+    private int splitCount;
+
+    private String[] debtorIds;
+    private String[] creditorIds;
+    private BigDecimal[] debtAmounts;
+    private Money[] debtMoney;
+    private BigDecimal expenseAmount;
+    private BigDecimal[] percentages;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        debtorIds = new String[debtCount];
+        creditorIds = new String[debtCount];
+        debtAmounts = new BigDecimal[debtCount];
+        debtMoney = new Money[debtCount];
+        for (int i = 0; i < debtCount; i++) {
+            int debtor = random.nextInt(MEMBERS);
+            int creditor = (debtor + 1 + random.nextInt(MEMBERS - 1)) % MEMBERS;
+            debtorIds[i] = "user-" + debtor;
+            creditorIds[i] = "user-" + creditor;
+            debtAmounts[i] = BigDecimal.valueOf(1 + random.nextInt(50_000), Money.SCALE);
+            debtMoney[i] = Money.of(debtAmounts[i], CURRENCY);
+        }
+
+        expenseAmount = new BigDecimal("1000.00");
+        percentages = new BigDecimal[splitCount];
+        BigDecimal share = BigDecimal.valueOf(100).divide(BigDecimal.valueOf(splitCount), 2, RoundingMode.DOWN);
+        BigDecimal remaining = BigDecimal.valueOf(100);
+        for (int i = 0; i < splitCount - 1; i++) {
+            percentages[i] = share;
+            remaining = remaining.subtract(share);
+        }
+        percentages[splitCount - 1] = remaining;
+    }
+
+    @Benchmark
+    public int mergeBalances_BigDecimal() {
+        Map<List<String>, BigDecimal> pairDeltas = new LinkedHashMap<>();
+        Map<String, BigDecimal> memberDeltas = new HashMap<>();
+        for (int i = 0; i < debtCount; i++) {
+            BigDecimal amount = debtAmounts[i];
+            pairDeltas.merge(List.of(debtorIds[i], creditorIds[i]), amount, BigDecimal::add);
+            memberDeltas.merge(debtorIds[i], amount.negate(), BigDecimal::add);
+            memberDeltas.merge(creditorIds[i], amount, BigDecimal::add);
+        }
+        return countNonZero(pairDeltas.values().stream().mapToInt(BigDecimal::signum).toArray())
+                + countNonZero(memberDeltas.values().stream().mapToInt(BigDecimal::signum).toArray());
+    }
+
+    /**
+     * Money merge including the conversion from the debt's BigDecimal amount,
+     * as the ledger does it.
+     */
+    @Benchmark
+    public int mergeBalances_MoneyFromBigDecimal() {
+        Map<List<String>, Money> pairDeltas = new LinkedHashMap<>();
+        Map<String, Money> memberDeltas = new HashMap<>();
+        for (int i = 0; i < debtCount; i++) {
+            Money amount = Money.of(debtAmounts[i], CURRENCY);
+            pairDeltas.merge(List.of(debtorIds[i], creditorIds[i]), amount, Money::plus);
+            memberDeltas.merge(debtorIds[i], amount.negate(), Money::plus);
+            memberDeltas.merge(creditorIds[i], amount, Money::plus);
+        }
+        return countNonZero(pairDeltas.values().stream().mapToInt(Money::signum).toArray())
+                + countNonZero(memberDeltas.values().stream().mapToInt(Money::signum).toArray());
+    }
+
+    @Benchmark
+    public int mergeBalances_Money() {
+        Map<List<String>, Money> pairDeltas = new LinkedHashMap<>();
+        Map<String, Money> memberDeltas = new HashMap<>();
+        for (int i = 0; i < debtCount; i++) {
+            Money amount = debtMoney[i];
+            pairDeltas.merge(List.of(debtorIds[i], creditorIds[i]), amount, Money::plus);
+            memberDeltas.merge(debtorIds[i], amount.negate(), Money::plus);
+            memberDeltas.merge(creditorIds[i], amount, Money::plus);
+        }
+        return countNonZero(pairDeltas.values().stream().mapToInt(Money::signum).toArray())
+                + countNonZero(memberDeltas.values().stream().mapToInt(Money::signum).toArray());
+    }
+
+    /**
+     * The replaced equal split: the rounded per-person amount for everyone,
+     * accepted if the total is within one cent of the expense amount.
+     */
+    @Benchmark
+    public boolean equalSplit_BigDecimal() {
+        BigDecimal amountPerPerson = expenseAmount.divide(BigDecimal.valueOf(splitCount), 2, RoundingMode.HALF_UP);
+        BigDecimal[] shares = new BigDecimal[splitCount];
+        for (int i = 0; i < splitCount; i++) {
+            shares[i] = amountPerPerson;
+        }
+        return withinOneCent(shares);
+    }
+
+    @Benchmark
+    public boolean equalSplit_Money() {
+        Money[] parts = Money.of(expenseAmount, CURRENCY).allocate(splitCount);
+        BigDecimal[] shares = new BigDecimal[splitCount];
+        for (int i = 0; i < splitCount; i++) {
+            shares[i] = parts[i].toBigDecimal();
+        }
+        return addsUpExactly(shares);
+    }
+
+    @Benchmark
+    public boolean percentageSplit_BigDecimal() {
+        BigDecimal[] shares = new BigDecimal[splitCount];
+        for (int i = 0; i < splitCount; i++) {
+            shares[i] = expenseAmount.multiply(percentages[i]).divide(BigDecimal.valueOf(100), 2,
+                    RoundingMode.HALF_UP);
+        }
+        return withinOneCent(shares);
+    }
+
+    @Benchmark
+    public boolean percentageSplit_Money() {
+        Money[] parts = Money.of(expenseAmount, CURRENCY).allocateByPercentages(percentages);
+        BigDecimal[] shares = new BigDecimal[splitCount];
+        for (int i = 0; i < splitCount; i++) {
+            shares[i] = parts[i].toBigDecimal();
+        }
+        return addsUpExactly(shares);
+    }
+
+    private boolean withinOneCent(BigDecimal[] shares) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal share : shares) {
+            total = total.add(share);
+        }
+        return total.subtract(expenseAmount).abs().compareTo(BigDecimal.valueOf(0.01)) <= 0;
+    }
+
+    private boolean addsUpExactly(BigDecimal[] shares) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal share : shares) {
+            total = total.add(share);
+        }
+        return total.compareTo(expenseAmount) == 0;
+    }
+
+    private static int countNonZero(int[] signums) {
+        int count = 0;
+        for (int signum : signums) {
+            if (signum != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MoneyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
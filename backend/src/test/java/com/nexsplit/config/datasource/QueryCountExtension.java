@@ -0,0 +1,68 @@
+package com.nexsplit.config.datasource;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * JUnit extension that counts the JDBC statements of each test method.
+ *
+ * Opens a {@link QueryCounter} scope around the test method and enforces
+ * {@link StatementBudget}. Test methods can take a QueryCounter.Scope
+ * parameter to assert exact counts, e.g. that a service method loads a page
+ * in two statements regardless of its size.
+ */
+public class QueryCountExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback,
+        ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace
+            .create(QueryCountExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        scope(context);
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryCounter.Scope scope = context.getStore(NAMESPACE).remove(context.getUniqueId(), QueryCounter.Scope.class);
+        if (scope == null) {
+            return;
+        }
+        scope.close();
+
+        Optional<StatementBudget> budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(),
+                StatementBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), StatementBudget.class));
+        if (budget.isPresent() && scope.getStatementCount() > budget.get().value()) {
+            fail(String.format("Executed %d JDBC statements, budget is %d", scope.getStatementCount(),
+                    budget.get().value()));
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == QueryCounter.Scope.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return scope(extensionContext);
+    }
+
+    /**
+     * Parameters are resolved before the test executes, so whichever comes
+     * first opens the scope.
+     */
+    private static QueryCounter.Scope scope(ExtensionContext context) {
+        return context.getStore(NAMESPACE).getOrComputeIfAbsent(context.getUniqueId(),
+                key -> QueryCounter.open(), QueryCounter.Scope.class);
+    }
+}
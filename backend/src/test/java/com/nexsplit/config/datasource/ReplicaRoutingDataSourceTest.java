@@ -0,0 +1,109 @@
+package com.nexsplit.config.datasource;
+
+import com.nexsplit.config.datasource.ReplicaRoutingDataSource.Replica;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replicaPool;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private Replica replica;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replicaPool = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replicaPool.getConnection()).thenReturn(replicaConnection);
+
+        replica = new Replica("replica-0", replicaPool);
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(5000,
+                Clock.fixed(Instant.parse("2025-03-01T12:00:00Z"), ZoneOffset.UTC));
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica), tracker,
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getConnection_InReadOnlyTransaction_ShouldUseReplica() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        Connection connection = routingDataSource.getConnection();
+
+        // Then
+        assertSame(replicaConnection, connection);
+    }
+
+    @Test
+    void getConnection_AfterCommittedWrite_ShouldPinUserToPrimary() throws SQLException {
+        // Given - alice commits a write
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+        TransactionSynchronizationManager.initSynchronization();
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // When - alice reads right after
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Connection aliceRead = routingDataSource.getConnection();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("bob", null, List.of()));
+        Connection bobRead = routingDataSource.getConnection();
+
+        // Then - only alice is pinned
+        assertSame(primaryConnection, aliceRead);
+        assertSame(replicaConnection, bobRead);
+    }
+
+    @Test
+    void getConnection_WhenReplicaFails_ShouldFallBackToPrimaryAndTakeReplicaOutOfRotation()
+            throws SQLException {
+        // Given
+        when(replicaPool.getConnection()).thenThrow(new SQLException("connection refused"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        Connection first = routingDataSource.getConnection();
+        Connection second = routingDataSource.getConnection();
+
+        // Then - the second read does not try the replica again
+        assertSame(primaryConnection, first);
+        assertSame(primaryConnection, second);
+        assertFalse(replica.isHealthy());
+        verify(replicaPool, times(1)).getConnection();
+    }
+}
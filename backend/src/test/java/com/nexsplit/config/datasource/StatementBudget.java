@@ -0,0 +1,27 @@
+package com.nexsplit.config.datasource;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails a test that executes more JDBC statements than the budget.
+ *
+ * Only statements executed by the test method itself on the test thread
+ * are counted, through the application DataSource, which is wrapped in a
+ * {@link StatementCountingDataSource}. On a class, the budget applies to
+ * every test method without its own.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryCountExtension.class)
+public @interface StatementBudget {
+
+    /**
+     * Maximum number of statements.
+     */
+    int value();
+}
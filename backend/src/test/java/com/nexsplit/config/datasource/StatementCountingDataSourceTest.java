@@ -0,0 +1,64 @@
+package com.nexsplit.config.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@StatementBudget(2)
+class StatementCountingDataSourceTest {
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> mock(PreparedStatement.class));
+        dataSource = new StatementCountingDataSource(target);
+    }
+
+    @Test
+    void execute_WithBatch_ShouldCountOneStatementPerRoundTrip(QueryCounter.Scope scope) throws SQLException {
+        // When
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("SELECT 1").executeQuery();
+
+            PreparedStatement insert = connection.prepareStatement("INSERT INTO t VALUES (?)");
+            insert.setInt(1, 1);
+            insert.addBatch();
+            insert.setInt(1, 2);
+            insert.addBatch();
+            insert.executeBatch();
+        }
+
+        // Then
+        assertEquals(2, scope.getStatementCount());
+    }
+
+    @Test
+    void execute_InNestedScope_ShouldCountInEveryOpenScope(QueryCounter.Scope scope) throws SQLException {
+        // Given
+        QueryCounter.Scope inner = QueryCounter.open();
+
+        // When
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("SELECT 1").execute();
+        } finally {
+            inner.close();
+        }
+
+        // Then
+        assertEquals(1, inner.getStatementCount());
+        assertEquals(1, scope.getStatementCount());
+        assertSame(scope, QueryCounter.current());
+    }
+}
@@ -0,0 +1,95 @@
+package com.nexsplit.fixture;
+
+import com.nexsplit.model.Category;
+import com.nexsplit.model.Nex;
+import com.nexsplit.model.NexMember;
+import com.nexsplit.model.NexMemberId;
+import com.nexsplit.model.User;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persists the users, Nexes, memberships and categories that embedded
+ * database tests build their data on.
+ *
+ * User {@code i} is named "Member i", so tests can check that display names
+ * were loaded.
+ */
+public final class EntityFixtures {
+
+    private final TestEntityManager entityManager;
+
+    public EntityFixtures(TestEntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Persist user {@code index}.
+     */
+    public User user(int index) {
+        return entityManager.persist(User.builder()
+                .email("member" + index + "@example.com")
+                .username("member" + index)
+                .firstName("Member")
+                .lastName(String.valueOf(index))
+                .contactNumber("0000000000")
+                .build());
+    }
+
+    /**
+     * Persist users 0 to {@code count - 1}.
+     */
+    public List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(i));
+        }
+        return users;
+    }
+
+    public Nex nex(String name, User creator) {
+        return entityManager.persist(Nex.builder()
+                .name(name)
+                .createdBy(creator.getId())
+                .build());
+    }
+
+    /**
+     * Persist a Nex created by the first of its members, with an active
+     * membership for each.
+     */
+    public Nex nexWithMembers(String name, List<User> members) {
+        Nex nex = nex(name, members.get(0));
+        for (User user : members) {
+            member(nex, user);
+        }
+        return nex;
+    }
+
+    public NexMember member(Nex nex, User user) {
+        return entityManager.persist(NexMember.builder()
+                .id(new NexMemberId(nex.getId(), user.getId()))
+                .nex(nex)
+                .user(user)
+                .build());
+    }
+
+    public Category category(String name, Nex nex, User creator) {
+        return entityManager.persist(Category.builder()
+                .name(name)
+                .createdBy(creator.getId())
+                .nexId(nex.getId())
+                .build());
+    }
+
+    /**
+     * Write the fixtures and detach them, so tests load everything from the
+     * database.
+     */
+    public void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
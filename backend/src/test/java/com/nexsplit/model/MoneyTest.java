@@ -0,0 +1,100 @@
+package com.nexsplit.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void of_ShouldStoreMinorUnits() {
+        // When
+        Money money = Money.of(new BigDecimal("12.34"), "USD");
+
+        // Then
+        assertEquals(1234, money.getMinorUnits());
+        assertEquals(new BigDecimal("12.34"), money.toBigDecimal());
+    }
+
+    @Test
+    void plus_ShouldAddMinorUnits() {
+        // Given
+        Money a = Money.ofMinor(150, "USD");
+        Money b = Money.ofMinor(-200, "USD");
+
+        // When
+        Money result = a.plus(b);
+
+        // Then
+        assertEquals(Money.ofMinor(-50, "USD"), result);
+        assertEquals(Money.ofMinor(50, "USD"), result.abs());
+    }
+
+    @Test
+    void plus_WithDifferentCurrency_ShouldThrow() {
+        // Given
+        Money usd = Money.ofMinor(100, "USD");
+        Money eur = Money.ofMinor(100, "EUR");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> usd.plus(eur));
+    }
+
+    @Test
+    void allocate_EqualParts_ShouldDistributeRemainderExactly() {
+        // Given
+        Money total = Money.of(new BigDecimal("100.00"), "USD");
+
+        // When
+        Money[] parts = total.allocate(3);
+
+        // Then
+        assertEquals(3334, parts[0].getMinorUnits());
+        assertEquals(3333, parts[1].getMinorUnits());
+        assertEquals(3333, parts[2].getMinorUnits());
+        assertEquals(total.getMinorUnits(), Arrays.stream(parts).mapToLong(Money::getMinorUnits).sum());
+    }
+
+    @Test
+    void allocateByPercentages_ShouldSumToTotal() {
+        // Given
+        Money total = Money.of(new BigDecimal("10.00"), "USD");
+        BigDecimal[] percentages = {
+                new BigDecimal("33.33"), new BigDecimal("33.33"), new BigDecimal("33.34") };
+
+        // When
+        Money[] parts = total.allocateByPercentages(percentages);
+
+        // Then
+        assertEquals(total.getMinorUnits(), Arrays.stream(parts).mapToLong(Money::getMinorUnits).sum());
+        assertEquals(333, parts[0].getMinorUnits());
+        assertEquals(333, parts[1].getMinorUnits());
+        assertEquals(334, parts[2].getMinorUnits());
+    }
+
+    @Test
+    void allocateByPercentages_NotHundredPercent_ShouldThrow() {
+        // Given
+        Money total = Money.of(new BigDecimal("10.00"), "USD");
+        BigDecimal[] percentages = { new BigDecimal("50"), new BigDecimal("40") };
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> total.allocateByPercentages(percentages));
+    }
+
+    @Test
+    void allocate_NegativeAmount_ShouldKeepSign() {
+        // Given
+        Money total = Money.ofMinor(-101, "USD");
+
+        // When
+        Money[] parts = total.allocate(2);
+
+        // Then
+        assertEquals(-51, parts[0].getMinorUnits());
+        assertEquals(-50, parts[1].getMinorUnits());
+    }
+}
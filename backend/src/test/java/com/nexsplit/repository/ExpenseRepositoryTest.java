@@ -0,0 +1,103 @@
+package com.nexsplit.repository;
+
+import com.nexsplit.fixture.EntityFixtures;
+import com.nexsplit.model.Category;
+import com.nexsplit.model.Expense;
+import com.nexsplit.model.Nex;
+import com.nexsplit.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Expense feed queries against an embedded database.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+class ExpenseRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    private String nexId;
+    private String payerId;
+
+    @BeforeEach
+    void setUp() {
+        EntityFixtures fixtures = new EntityFixtures(entityManager);
+        User payer = fixtures.user(0);
+        Nex nex = fixtures.nexWithMembers("Trip", List.of(payer));
+        Category category = fixtures.category("Food", nex, payer);
+        nexId = nex.getId();
+        payerId = payer.getId();
+
+        LocalDateTime expenseDate = LocalDateTime.of(2025, 3, 1, 12, 0);
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(Expense.builder()
+                    .title("Expense " + i)
+                    .amount(new BigDecimal("10.00"))
+                    .categoryId(category.getId())
+                    .nexId(nexId)
+                    .createdBy(payer.getId())
+                    .payerId(payer.getId())
+                    .expenseDate(expenseDate.plusDays(i))
+                    .build());
+        }
+        fixtures.flushAndClear();
+    }
+
+    @Test
+    void findRowsByIds_WhenExpenseDeletedAfterFeedIdsWereRead_ShouldLeaveItOut() {
+        // Given - the feed IDs are read, newest first
+        List<String> feedIds = expenseRepository.findFeedIdsByNexId(nexId, 10);
+        assertEquals(3, feedIds.size());
+
+        // When - the newest expense is deleted before its row is fetched
+        Expense deleted = entityManager.find(Expense.class, feedIds.get(0));
+        deleted.setIsDeleted(true);
+        deleted.setDeletedAt(LocalDateTime.now());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ExpenseRepository.ExpenseRow> rows = expenseRepository.findRowsByIds(feedIds);
+
+        // Then
+        assertEquals(2, rows.size());
+        assertTrue(rows.stream().noneMatch(row -> row.getId().equals(feedIds.get(0))));
+    }
+
+    @Test
+    void findVisibleRowsByPayerId_ForMember_ShouldReturnRowsWithDisplayNames() {
+        // When
+        Page<ExpenseRepository.ExpenseRow> page = expenseRepository.findVisibleRowsByPayerId(payerId, payerId,
+                PageRequest.of(0, 2));
+
+        // Then
+        assertEquals(3, page.getTotalElements());
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.getContent().stream().allMatch(row -> "Member 0".equals(row.getPayerName())
+                && "Trip".equals(row.getNexName()) && "Food".equals(row.getCategoryName())));
+    }
+
+    @Test
+    void findVisibleRowsByPayerId_ForNonMember_ShouldReturnNothing() {
+        // When
+        Page<ExpenseRepository.ExpenseRow> page = expenseRepository.findVisibleRowsByPayerId(payerId, "outsider",
+                PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(0, page.getTotalElements());
+    }
+}
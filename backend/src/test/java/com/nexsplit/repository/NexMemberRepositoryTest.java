@@ -0,0 +1,59 @@
+package com.nexsplit.repository;
+
+import com.nexsplit.config.datasource.StatementBudget;
+import com.nexsplit.config.datasource.StatementCountingPostProcessor;
+import com.nexsplit.fixture.EntityFixtures;
+import com.nexsplit.model.Nex;
+import com.nexsplit.model.NexMember;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement budgets of member listing against an embedded database, counted
+ * through the same {@link StatementCountingPostProcessor} as the application.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import(StatementCountingPostProcessor.class)
+class NexMemberRepositoryTest {
+
+    private static final int MEMBERS = 12;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private NexMemberRepository nexMemberRepository;
+
+    private String nexId;
+
+    @BeforeEach
+    void setUp() {
+        EntityFixtures fixtures = new EntityFixtures(entityManager);
+        Nex nex = fixtures.nexWithMembers("Trip", fixtures.users(MEMBERS));
+        nexId = nex.getId();
+        fixtures.flushAndClear();
+    }
+
+    @Test
+    @StatementBudget(2)
+    void findAllMembersByNexIdPaginated_ShouldFetchUsersWithoutOneQueryPerMember() {
+        // When - a page smaller than the member count, so the total is counted
+        Page<NexMember> page = nexMemberRepository.findAllMembersByNexIdPaginated(nexId, PageRequest.of(0, 10));
+        long named = page.getContent().stream()
+                .map(member -> member.getUser().getFullName())
+                .filter(name -> name.startsWith("Member"))
+                .count();
+
+        // Then - the page query and the count query, however many members
+        assertEquals(10, named);
+        assertEquals(MEMBERS, page.getTotalElements());
+    }
+}
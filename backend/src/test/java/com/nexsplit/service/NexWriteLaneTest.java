@@ -0,0 +1,85 @@
+package com.nexsplit.service;
+
+import com.nexsplit.config.SettlementConfig;
+import com.nexsplit.dto.ErrorCode;
+import com.nexsplit.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NexWriteLaneTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private NexWriteLane nexWriteLane;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(Object[].class))).thenReturn("0");
+        when(jdbcTemplate.queryForObject("SELECT current_setting('lock_timeout')", String.class)).thenReturn("0");
+        nexWriteLane = new NexWriteLane(new SettlementConfig(), jdbcTemplate,
+                new TransactionTemplate(transactionManager), meterRegistry);
+    }
+
+    @Test
+    void execute_ShouldTakeDatabaseLockInTransactionBeforeAction() {
+        // Given
+        Runnable action = mock(Runnable.class);
+
+        // When
+        nexWriteLane.run("nex-a", action);
+
+        // Then - lock, restore the lock timeout, run, commit
+        InOrder inOrder = inOrder(transactionManager, jdbcTemplate, action);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(jdbcTemplate).query(contains("pg_advisory_xact_lock"), any(RowCallbackHandler.class),
+                eq(NexWriteLane.ADVISORY_LOCK_NAMESPACE), eq("nex-a"));
+        inOrder.verify(jdbcTemplate).queryForObject(anyString(), eq(String.class), eq("0"));
+        inOrder.verify(action).run();
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void executeAll_ShouldLockAllNexesInOneStatement() {
+        // When
+        nexWriteLane.executeAll(List.of("nex-a", "nex-b"), () -> null);
+
+        // Then
+        verify(jdbcTemplate).query(contains("ORDER BY key"), any(RowCallbackHandler.class),
+                eq(NexWriteLane.ADVISORY_LOCK_NAMESPACE), eq("nex-a,nex-b"));
+    }
+
+    @Test
+    void execute_WhenDatabaseLockTimesOut_ShouldRejectAsBusyAndRollBack() {
+        // Given - another instance holds the lock
+        doThrow(new CannotAcquireLockException("lock timeout")).when(jdbcTemplate)
+                .query(contains("pg_advisory_xact_lock"), any(RowCallbackHandler.class), any(Object[].class));
+        Runnable action = mock(Runnable.class);
+
+        // When
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> nexWriteLane.run("nex-a", action));
+
+        // Then
+        assertEquals(ErrorCode.NEX_WRITE_BUSY, exception.getErrorCode());
+        verify(action, never()).run();
+        verify(transactionManager).rollback(any());
+        assertEquals(1.0, meterRegistry.counter("nex.write.lane.rejections").count());
+    }
+}
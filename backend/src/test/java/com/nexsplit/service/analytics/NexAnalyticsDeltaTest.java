@@ -0,0 +1,85 @@
+package com.nexsplit.service.analytics;
+
+import com.nexsplit.model.Debt;
+import com.nexsplit.model.NexMember;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NexAnalyticsDeltaTest {
+
+    @Test
+    void expenseAdded_WithDebts_ShouldCountExpenseOnceAndEveryDebt() {
+        // Given
+        List<Debt> debts = List.of(debt("30.00"), debt("30.00"));
+
+        // When
+        NexAnalyticsDelta delta = new NexAnalyticsDelta()
+                .expenseAdded(new BigDecimal("90.00"), LocalDateTime.of(2025, 3, 1, 12, 0))
+                .debtsAdded(debts);
+
+        // Then - the expense amount is not multiplied by its debts
+        assertEquals(1, delta.getExpenses());
+        assertEquals(new BigDecimal("90.00"), delta.getExpenseAmount());
+        assertEquals(2, delta.getDebts());
+        assertEquals(2, delta.getUnsettledDebts());
+        assertEquals(new BigDecimal("60.00"), delta.getUnsettledDebtAmount());
+        assertFalse(delta.isExpenseExtremesStale());
+    }
+
+    @Test
+    void debtsRemoved_WithSettledDebt_ShouldOnlyUncountTotal() {
+        // Given
+        Debt settled = debt("30.00");
+        settled.markAsSettled(LocalDateTime.of(2025, 3, 2, 12, 0));
+
+        // When
+        NexAnalyticsDelta delta = new NexAnalyticsDelta()
+                .expenseRemoved(new BigDecimal("90.00"))
+                .debtsRemoved(List.of(settled, debt("30.00")));
+
+        // Then
+        assertEquals(-1, delta.getExpenses());
+        assertEquals(-2, delta.getDebts());
+        assertEquals(-1, delta.getUnsettledDebts());
+        assertEquals(new BigDecimal("-30.00"), delta.getUnsettledDebtAmount());
+        assertTrue(delta.isExpenseExtremesStale());
+    }
+
+    @Test
+    void memberStatusChange_ShouldMoveMemberBetweenCounters() {
+        // When
+        NexAnalyticsDelta delta = new NexAnalyticsDelta()
+                .memberRemoved(NexMember.MemberRole.ADMIN, NexMember.MemberStatus.ACTIVE)
+                .memberAdded(NexMember.MemberRole.ADMIN, NexMember.MemberStatus.LEFT);
+
+        // Then
+        assertEquals(0, delta.getMembers());
+        assertEquals(-1, delta.getActiveMembers());
+        assertEquals(0, delta.getAdmins());
+        assertFalse(delta.isEmpty());
+    }
+
+    @Test
+    void expenseAmountChanged_WithSameAmount_ShouldStayEmpty() {
+        // When
+        NexAnalyticsDelta delta = new NexAnalyticsDelta()
+                .expenseAmountChanged(new BigDecimal("10.0"), new BigDecimal("10.00"));
+
+        // Then
+        assertTrue(delta.isEmpty());
+    }
+
+    private static Debt debt(String amount) {
+        return Debt.builder()
+                .debtorId("bob")
+                .creditorId("alice")
+                .creditorType(Debt.CreditorType.USER)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+}
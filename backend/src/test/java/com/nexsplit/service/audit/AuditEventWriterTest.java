@@ -0,0 +1,219 @@
+package com.nexsplit.service.audit;
+
+import com.nexsplit.config.AuditConfig;
+import com.nexsplit.model.AuditEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditEventWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private AuditConfig auditConfig;
+    private List<List<Object>> statements;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        auditConfig = new AuditConfig();
+        statements = new ArrayList<>();
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] args = Arrays.copyOfRange(invocation.getArguments(), 1, invocation.getArguments().length);
+            statements.add(Arrays.asList(args));
+            return args.length / 10;
+        });
+    }
+
+    @Test
+    void flush_WithQueuedEvents_ShouldInsertOneMultiRowStatementPerBatch() {
+        // Given
+        auditConfig.setBatchSize(2);
+        AuditEventWriter writer = new AuditEventWriter(jdbcTemplate, transactionManager, auditConfig, meterRegistry);
+        writer.enqueue(event("a1"));
+        writer.enqueue(event("a2"));
+        writer.enqueue(event("a3"));
+
+        // When
+        writer.flush();
+
+        // Then - two rows, then one
+        assertEquals(2, statements.size());
+        assertEquals(List.of("a1", "a2"), ids(statements.get(0)));
+        assertEquals(List.of("a3"), ids(statements.get(1)));
+    }
+
+    @Test
+    void start_ShouldWriteQueuedEventsOnItsOwnThread() {
+        // Given
+        AuditEventWriter writer = new AuditEventWriter(jdbcTemplate, transactionManager, auditConfig, meterRegistry);
+        writer.start();
+
+        try {
+            // When - no flush is called
+            writer.enqueue(event("a1"));
+
+            // Then
+            verify(jdbcTemplate, timeout(2000)).update(anyString(), any(Object[].class));
+            assertEquals(List.of("a1"), ids(statements.get(0)));
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void shutdown_ShouldWriteEventsStillQueued() {
+        // Given - the writer thread was never started
+        AuditEventWriter writer = new AuditEventWriter(jdbcTemplate, transactionManager, auditConfig, meterRegistry);
+        writer.enqueue(event("a1"));
+        writer.enqueue(event("a2"));
+
+        // When
+        writer.shutdown();
+
+        // Then
+        assertEquals(1, statements.size());
+        assertEquals(List.of("a1", "a2"), ids(statements.get(0)));
+    }
+
+    @Test
+    void flush_WhenBatchFails_ShouldRetryEventsOneByOne() {
+        // Given - the multi-row insert fails, single rows except a2 succeed
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] args = Arrays.copyOfRange(invocation.getArguments(), 1, invocation.getArguments().length);
+            if (args.length > 10 || "a2".equals(args[0])) {
+                throw new DataIntegrityViolationException("violates foreign key constraint");
+            }
+            statements.add(Arrays.asList(args));
+            return 1;
+        });
+        AuditEventWriter writer = new AuditEventWriter(jdbcTemplate, transactionManager, auditConfig, meterRegistry);
+        writer.enqueue(event("a1"));
+        writer.enqueue(event("a2"));
+        writer.enqueue(event("a3"));
+
+        // When
+        writer.flush();
+
+        // Then
+        assertEquals(List.of(List.of("a1"), List.of("a3")), statements.stream().map(this::ids).toList());
+    }
+
+    @Test
+    void enqueue_WithDropOldestWhenFull_ShouldKeepNewestEvents() {
+        // Given
+        auditConfig.setQueueCapacity(2);
+        auditConfig.setOverflowPolicy(AuditConfig.OverflowPolicy.DROP_OLDEST);
+        AuditEventWriter writer = new AuditEventWriter(jdbcTemplate, transactionManager, auditConfig, meterRegistry);
+
+        // When
+        writer.enqueue(event("a1"));
+        writer.enqueue(event("a2"));
+        writer.enqueue(event("a3"));
+        writer.flush();
+
+        // Then
+        assertEquals(1, statements.size());
+        assertEquals(List.of("a2", "a3"), ids(statements.get(0)));
+    }
+
+    @Test
+    void enqueue_WithDropNewestWhenFull_ShouldKeepQueuedEventsAndCountTheDrop() {
+        // Given
+        auditConfig.setQueueCapacity(2);
+        auditConfig.setOverflowPolicy(AuditConfig.OverflowPolicy.DROP_NEWEST);
+        AuditEventWriter writer = new AuditEventWriter(jdbcTemplate, transactionManager, auditConfig, meterRegistry);
+
+        // When
+        writer.enqueue(event("a1"));
+        writer.enqueue(event("a2"));
+        writer.enqueue(event("a3"));
+        writer.flush();
+
+        // Then
+        assertEquals(1, statements.size());
+        assertEquals(List.of("a1", "a2"), ids(statements.get(0)));
+        assertEquals(1.0, meterRegistry.counter("audit.events.dropped").count());
+    }
+
+    @Test
+    void enqueue_WithCallerWritesWhenFull_ShouldInsertInNewReadWriteTransaction() {
+        // Given
+        auditConfig.setQueueCapacity(1);
+        auditConfig.setOverflowPolicy(AuditConfig.OverflowPolicy.CALLER_WRITES);
+        AuditEventWriter writer = new AuditEventWriter(jdbcTemplate, transactionManager, auditConfig, meterRegistry);
+        writer.enqueue(event("a1"));
+
+        // When - a2 does not fit and is written right away
+        writer.enqueue(event("a2"));
+
+        // Then - outside the caller's transaction, on the primary
+        assertEquals(List.of(List.of("a2")), statements.stream().map(this::ids).toList());
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+        assertFalse(definition.getValue().isReadOnly());
+        verify(transactionManager).commit(any());
+
+        // And the queued event is still written by the writer
+        writer.flush();
+        assertEquals(List.of(List.of("a2"), List.of("a1")), statements.stream().map(this::ids).toList());
+    }
+
+    @Test
+    void enqueue_WithCallerWritesWhenInsertFails_ShouldRollBackOnlyItsOwnTransaction() {
+        // Given
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new DataIntegrityViolationException("violates foreign key constraint"));
+        auditConfig.setQueueCapacity(1);
+        auditConfig.setOverflowPolicy(AuditConfig.OverflowPolicy.CALLER_WRITES);
+        AuditEventWriter writer = new AuditEventWriter(jdbcTemplate, transactionManager, auditConfig, meterRegistry);
+        writer.enqueue(event("a1"));
+
+        // When - the failure does not reach the caller
+        assertDoesNotThrow(() -> writer.enqueue(event("a2")));
+
+        // Then
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        assertEquals(1.0, meterRegistry.counter("audit.events.failed").count());
+    }
+
+    private List<Object> ids(List<Object> args) {
+        List<Object> ids = new ArrayList<>();
+        for (int i = 0; i < args.size(); i += 10) {
+            ids.add(args.get(i));
+        }
+        return ids;
+    }
+
+    private static AuditEvent event(String id) {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 12, 0);
+        return AuditEvent.builder()
+                .id(id)
+                .userId("alice")
+                .eventType("LOGIN_SUCCESS")
+                .eventCategory("AUTHENTICATION")
+                .severityLevel("MEDIUM")
+                .timestamp(now)
+                .createdAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.nexsplit.service.expense;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nexsplit.dto.expense.CreateExpenseRequest;
+import com.nexsplit.model.Expense;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpenseImportReaderTest {
+
+    private static final String CSV_HEADER = "title,amount,categoryId,payerId,splitType,expenseDate,splits,description\n";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void next_WithCsv_ShouldParseQuotedFieldsAndSplits() throws IOException {
+        // Given
+        String csv = CSV_HEADER
+                + "\"Dinner, \"\"Luigi's\"\"\",90.00,cat-1,alice,PERCENTAGE,2025-03-01,alice:50;bob:50,\"two\nlines\"\n";
+
+        // When
+        List<ExpenseImportReader.Row> rows = readAll(ExpenseImportFormat.CSV, csv);
+
+        // Then
+        assertEquals(1, rows.size());
+        CreateExpenseRequest request = rows.get(0).request();
+        assertEquals("Dinner, \"Luigi's\"", request.getTitle());
+        assertEquals(new BigDecimal("90.00"), request.getAmount());
+        assertEquals(Expense.SplitType.PERCENTAGE, request.getSplitType());
+        assertEquals(LocalDate.of(2025, 3, 1), request.getExpenseDate());
+        assertEquals("two\nlines", request.getDescription());
+        assertEquals(2, request.getSplits().size());
+        assertEquals("bob", request.getSplits().get(1).getUserId());
+        assertEquals(new BigDecimal("50"), request.getSplits().get(1).getPercentage());
+    }
+
+    @Test
+    void next_WithInvalidCsvRow_ShouldReportErrorAndContinue() throws IOException {
+        // Given
+        String csv = CSV_HEADER
+                + "Taxi,abc,cat-1,alice,EQUALLY,2025-03-01,alice;bob,\n"
+                + "\n"
+                + "Lunch,20.00,cat-1,alice,EQUALLY,2025-03-02,alice;bob,\n";
+
+        // When
+        List<ExpenseImportReader.Row> rows = readAll(ExpenseImportFormat.CSV, csv);
+
+        // Then
+        assertEquals(2, rows.size());
+        assertNull(rows.get(0).request());
+        assertEquals("Invalid amount: abc", rows.get(0).error());
+        assertEquals(2, rows.get(1).rowNumber());
+        assertNull(rows.get(1).request().getSplits().get(0).getAmount());
+    }
+
+    @Test
+    void open_WithMissingCsvColumn_ShouldThrowException() {
+        // Given
+        String csv = "title,amount\nTaxi,10.00\n";
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> readAll(ExpenseImportFormat.CSV, csv));
+    }
+
+    @Test
+    void next_WithNdjson_ShouldParseEachLine() throws IOException {
+        // Given
+        String ndjson = "{\"title\":\"Taxi\",\"amount\":12.50,\"splitType\":\"AMOUNT\",\"expenseDate\":\"2025-03-01\","
+                + "\"splits\":[{\"userId\":\"bob\",\"amount\":12.50}]}\n"
+                + "not json\n";
+
+        // When
+        List<ExpenseImportReader.Row> rows = readAll(ExpenseImportFormat.NDJSON, ndjson);
+
+        // Then
+        assertEquals(2, rows.size());
+        assertEquals("Taxi", rows.get(0).request().getTitle());
+        assertEquals(new BigDecimal("12.50"), rows.get(0).request().getSplits().get(0).getAmount());
+        assertNull(rows.get(1).request());
+        assertTrue(rows.get(1).error().startsWith("Invalid JSON"));
+    }
+
+    @Test
+    void next_WithOverlongNdjsonLine_ShouldReportErrorAndContinue() throws IOException {
+        // Given - a line of more than 64K characters between two valid lines
+        String valid = "{\"title\":\"Taxi\",\"amount\":12.50,\"splitType\":\"EQUALLY\","
+                + "\"expenseDate\":\"2025-03-01\",\"splits\":[{\"userId\":\"bob\"}]}";
+        String overlong = "{\"title\":\"" + "x".repeat(70_000) + "\"}";
+        String ndjson = valid + "\r\n" + overlong + "\r\n" + valid + "\n";
+
+        // When
+        List<ExpenseImportReader.Row> rows = readAll(ExpenseImportFormat.NDJSON, ndjson);
+
+        // Then
+        assertEquals(3, rows.size());
+        assertEquals("Taxi", rows.get(0).request().getTitle());
+        assertNull(rows.get(1).request());
+        assertEquals("Line exceeds 65536 characters", rows.get(1).error());
+        assertEquals(3, rows.get(2).rowNumber());
+        assertEquals("Taxi", rows.get(2).request().getTitle());
+    }
+
+    private List<ExpenseImportReader.Row> readAll(ExpenseImportFormat format, String content) throws IOException {
+        List<ExpenseImportReader.Row> rows = new ArrayList<>();
+        try (ExpenseImportReader reader = ExpenseImportReader.open(format,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), objectMapper)) {
+            ExpenseImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
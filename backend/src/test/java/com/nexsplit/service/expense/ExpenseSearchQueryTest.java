@@ -0,0 +1,42 @@
+package com.nexsplit.service.expense;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpenseSearchQueryTest {
+
+    @Test
+    void toTsQuery_WithWords_ShouldPrefixMatchEveryWord() {
+        // When
+        String query = ExpenseSearchQuery.toTsQuery("  Dinner PARTY ", 8);
+
+        // Then
+        assertEquals("dinner:* & party:*", query);
+    }
+
+    @Test
+    void toTsQuery_WithOperators_ShouldKeepOnlyLettersAndDigits() {
+        // When
+        String query = ExpenseSearchQuery.toTsQuery("café' | !taxi & (2025):*", 8);
+
+        // Then
+        assertEquals("café:* & taxi:* & 2025:*", query);
+    }
+
+    @Test
+    void toTsQuery_WithTooManyWords_ShouldKeepFirstWords() {
+        // When
+        String query = ExpenseSearchQuery.toTsQuery("a b c d", 2);
+
+        // Then
+        assertEquals("a:* & b:*", query);
+    }
+
+    @Test
+    void toTsQuery_WithoutWords_ShouldReturnNull() {
+        // Then
+        assertNull(ExpenseSearchQuery.toTsQuery(" -'& ", 8));
+        assertNull(ExpenseSearchQuery.toTsQuery(null, 8));
+    }
+}
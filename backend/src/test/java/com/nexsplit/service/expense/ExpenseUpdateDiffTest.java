@@ -0,0 +1,175 @@
+package com.nexsplit.service.expense;
+
+import com.nexsplit.model.Debt;
+import com.nexsplit.model.Split;
+import com.nexsplit.model.SplitId;
+import com.nexsplit.service.expense.ExpenseSplitCalculator.Share;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpenseUpdateDiffTest {
+
+    private static final String EXPENSE_ID = "expense-1";
+
+    @Test
+    void diffSplits_WithSameShares_ShouldWriteNothing() {
+        // Given
+        List<Split> existing = List.of(split("alice", "50.00"), split("bob", "50.00"));
+
+        // When
+        ExpenseUpdateDiff.SplitChanges changes = ExpenseUpdateDiff.diffSplits(existing,
+                List.of(share("alice", "50.0"), share("bob", "50")));
+
+        // Then
+        assertEquals(0, changes.rowsWritten());
+        assertEquals(2, changes.unchanged());
+    }
+
+    @Test
+    void diffSplits_WithParticipantSwapped_ShouldInsertAndRemove() {
+        // Given
+        Split bob = split("bob", "50.00");
+        List<Split> existing = List.of(split("alice", "50.00"), bob);
+
+        // When
+        ExpenseUpdateDiff.SplitChanges changes = ExpenseUpdateDiff.diffSplits(existing,
+                List.of(share("alice", "60.00"), share("carol", "40.00")));
+
+        // Then
+        assertEquals(1, changes.updated().size());
+        assertEquals(new BigDecimal("60.00"), changes.updated().get(0).getAmount());
+        assertEquals("carol", changes.inserted().get(0).userId());
+        assertSame(bob, changes.removed().get(0));
+    }
+
+    @Test
+    void diffDebts_WithSettledDebtUnchanged_ShouldKeepSettlement() {
+        // Given
+        Debt settled = debt("bob", "alice", "50.00");
+        settled.markAsSettled(LocalDateTime.of(2025, 3, 1, 12, 0));
+
+        // When
+        ExpenseUpdateDiff.DebtChanges changes = ExpenseUpdateDiff.diffDebts(List.of(settled), EXPENSE_ID, "alice",
+                List.of(share("alice", "50.00"), share("bob", "50.00")));
+
+        // Then
+        assertEquals(0, changes.rowsWritten());
+        assertTrue(settled.isSettled());
+    }
+
+    @Test
+    void diffDebts_WithSettledDebtIncreased_ShouldAddDelta() {
+        // Given
+        Debt settled = debt("bob", "alice", "50.00");
+        settled.markAsSettled(LocalDateTime.of(2025, 3, 1, 12, 0));
+
+        // When
+        ExpenseUpdateDiff.DebtChanges changes = ExpenseUpdateDiff.diffDebts(List.of(settled), EXPENSE_ID, "alice",
+                List.of(share("alice", "40.00"), share("bob", "60.00")));
+
+        // Then - the settlement stays and bob owes alice the remaining 10
+        assertTrue(changes.removed().isEmpty());
+        assertTrue(changes.updated().isEmpty());
+        assertTrue(settled.isSettled());
+        assertEquals(new BigDecimal("50.00"), settled.getAmount());
+        assertEquals(1, changes.inserted().size());
+        Debt delta = changes.inserted().get(0);
+        assertEquals("bob", delta.getDebtorId());
+        assertEquals("alice", delta.getCreditorId());
+        assertEquals(0, new BigDecimal("10.00").compareTo(delta.getAmount()));
+        assertFalse(delta.isSettled());
+    }
+
+    @Test
+    void diffDebts_WithSettledParticipantRemoved_ShouldAddReverseDebt() {
+        // Given
+        Debt settled = debt("bob", "alice", "50.00");
+        settled.markAsSettled(LocalDateTime.of(2025, 3, 1, 12, 0));
+
+        // When
+        ExpenseUpdateDiff.DebtChanges changes = ExpenseUpdateDiff.diffDebts(List.of(settled), EXPENSE_ID, "alice",
+                List.of(share("alice", "100.00")));
+
+        // Then - alice pays back what bob already settled
+        assertTrue(changes.removed().isEmpty());
+        assertTrue(settled.isSettled());
+        Debt reverse = changes.inserted().get(0);
+        assertEquals("alice", reverse.getDebtorId());
+        assertEquals("bob", reverse.getCreditorId());
+        assertEquals(0, new BigDecimal("50.00").compareTo(reverse.getAmount()));
+    }
+
+    @Test
+    void diffDebts_WithPayerChangedAfterSettlement_ShouldKeepSettlementAndNetIt() {
+        // Given
+        Debt settled = debt("bob", "alice", "50.00");
+        settled.markAsSettled(LocalDateTime.of(2025, 3, 1, 12, 0));
+
+        // When - carol paid instead of alice, split three ways
+        ExpenseUpdateDiff.DebtChanges changes = ExpenseUpdateDiff.diffDebts(List.of(settled), EXPENSE_ID, "carol",
+                List.of(share("alice", "30.00"), share("bob", "30.00"), share("carol", "30.00")));
+
+        // Then - bob owes carol his share, alice returns what bob paid her
+        assertTrue(changes.removed().isEmpty());
+        assertTrue(settled.isSettled());
+        assertEquals("alice", settled.getCreditorId());
+        assertEquals(3, changes.inserted().size());
+        assertOwes(changes.inserted(), "alice", "carol", "30.00");
+        assertOwes(changes.inserted(), "bob", "carol", "30.00");
+        assertOwes(changes.inserted(), "alice", "bob", "50.00");
+    }
+
+    @Test
+    void diffDebts_WithUnsettledDebtChanged_ShouldUpdateInPlace() {
+        // Given
+        Debt open = debt("bob", "alice", "50.00");
+
+        // When
+        ExpenseUpdateDiff.DebtChanges changes = ExpenseUpdateDiff.diffDebts(List.of(open), EXPENSE_ID, "carol",
+                List.of(share("alice", "50.00"), share("bob", "25.00"), share("carol", "25.00")));
+
+        // Then - bob now owes carol, and alice owes carol as a new debt
+        assertSame(open, changes.updated().get(0));
+        assertEquals("carol", open.getCreditorId());
+        assertEquals(new BigDecimal("25.00"), open.getAmount());
+        assertEquals("alice", changes.previous().get(0).getCreditorId());
+        assertEquals(new BigDecimal("50.00"), changes.previous().get(0).getAmount());
+        assertEquals("alice", changes.inserted().get(0).getDebtorId());
+        assertTrue(changes.removed().isEmpty());
+    }
+
+    private static void assertOwes(List<Debt> debts, String debtorId, String creditorId, String amount) {
+        assertTrue(debts.stream().anyMatch(debt -> debt.getDebtorId().equals(debtorId)
+                && debt.getCreditorId().equals(creditorId)
+                && debt.getAmount().compareTo(new BigDecimal(amount)) == 0),
+                () -> debtorId + " should owe " + creditorId + " " + amount);
+    }
+
+    private static Split split(String userId, String amount) {
+        return Split.builder()
+                .id(new SplitId(EXPENSE_ID, userId))
+                .amount(new BigDecimal(amount))
+                .percentage(new BigDecimal(amount))
+                .build();
+    }
+
+    private static Share share(String userId, String amount) {
+        return new Share(userId, new BigDecimal(amount), new BigDecimal(amount));
+    }
+
+    private static Debt debt(String debtorId, String creditorId, String amount) {
+        return Debt.builder()
+                .id(debtorId + "-debt")
+                .debtorId(debtorId)
+                .creditorId(creditorId)
+                .creditorType(Debt.CreditorType.USER)
+                .amount(new BigDecimal(amount))
+                .expenseId(EXPENSE_ID)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.nexsplit.service.impl;
+
+import com.nexsplit.config.datasource.StatementBudget;
+import com.nexsplit.config.datasource.StatementCountingPostProcessor;
+import com.nexsplit.dto.bill.BillDto;
+import com.nexsplit.fixture.EntityFixtures;
+import com.nexsplit.mapper.bill.BillMapStructImpl;
+import com.nexsplit.mapper.bill.BillParticipantMapStructImpl;
+import com.nexsplit.model.Bill;
+import com.nexsplit.model.BillParticipant;
+import com.nexsplit.model.BillParticipantId;
+import com.nexsplit.model.User;
+import com.nexsplit.service.BillService;
+import com.nexsplit.service.NexAnalyticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement budgets of bill listing and statistics against an embedded
+ * database. Participant counts, Nex and creator names must not cost a query
+ * per bill.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import({ BillServiceImpl.class, BillMapStructImpl.class, BillParticipantMapStructImpl.class,
+        StatementCountingPostProcessor.class })
+class BillServiceImplStatementBudgetTest {
+
+    private static final int BILLS = 6;
+    private static final int PARTICIPANTS = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BillServiceImpl billService;
+
+    @MockitoBean
+    private NexAnalyticsService nexAnalyticsService;
+
+    private String nexId;
+
+    @BeforeEach
+    void setUp() {
+        EntityFixtures fixtures = new EntityFixtures(entityManager);
+        List<User> users = fixtures.users(PARTICIPANTS);
+        nexId = fixtures.nex("Flat", users.get(0)).getId();
+
+        for (int b = 0; b < BILLS; b++) {
+            // Each bill has its own creator, so creators cannot come from the session
+            User creator = users.get(b % PARTICIPANTS);
+            Bill bill = entityManager.persist(Bill.builder()
+                    .nexId(nexId)
+                    .createdBy(creator.getId())
+                    .title("Bill " + b)
+                    .amount(new BigDecimal("30.00"))
+                    .dueDate(LocalDateTime.now().plusDays(7))
+                    .frequency(Bill.Frequency.MONTHLY)
+                    .billType(Bill.BillType.NEX)
+                    .build());
+            for (int p = 0; p < PARTICIPANTS; p++) {
+                entityManager.persist(BillParticipant.builder()
+                        .id(new BillParticipantId(bill.getId(), users.get(p).getId()))
+                        .bill(bill)
+                        .user(users.get(p))
+                        .shareAmount(new BigDecimal("10.00"))
+                        // The first participant of each bill has paid
+                        .paid(p == 0)
+                        .build());
+            }
+        }
+        fixtures.flushAndClear();
+    }
+
+    @Test
+    @StatementBudget(5)
+    void getBillsByNexId_ShouldNotQueryPerBill() {
+        // When - a page smaller than the bill count, so the total is counted
+        Page<BillDto> page = billService.getBillsByNexId(nexId, PageRequest.of(0, BILLS - 1));
+
+        // Then - page, count, and one batch each for Nexes, creators and participants
+        assertEquals(BILLS - 1, page.getContent().size());
+        assertEquals(BILLS, page.getTotalElements());
+        assertTrue(page.getContent().stream().allMatch(bill -> "Flat".equals(bill.getNexName())
+                && bill.getCreatorName().startsWith("Member ")
+                && bill.getParticipantCount() == PARTICIPANTS
+                && bill.getPaidParticipantCount() == 1
+                && new BigDecimal("10.00").compareTo(bill.getTotalPaidAmount()) == 0));
+    }
+
+    @Test
+    @StatementBudget(2)
+    void getBillStatisticsByNexId_ShouldCountParticipantsInOneQuery() {
+        // When
+        BillService.BillStatistics statistics = billService.getBillStatisticsByNexId(nexId);
+
+        // Then - the bills and one participant count, however many bills
+        assertEquals(BILLS, statistics.getTotalBills());
+        assertEquals(BILLS * PARTICIPANTS, statistics.getTotalParticipants());
+        assertEquals(BILLS, statistics.getPaidParticipants());
+        assertEquals(BILLS * (PARTICIPANTS - 1), statistics.getUnpaidParticipants());
+    }
+}
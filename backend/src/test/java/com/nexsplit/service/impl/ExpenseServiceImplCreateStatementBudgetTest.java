@@ -0,0 +1,114 @@
+package com.nexsplit.service.impl;
+
+import com.nexsplit.config.ExpenseSearchConfig;
+import com.nexsplit.config.JpaBatchConfig;
+import com.nexsplit.config.datasource.StatementBudget;
+import com.nexsplit.config.datasource.StatementCountingPostProcessor;
+import com.nexsplit.dto.expense.CreateExpenseRequest;
+import com.nexsplit.dto.expense.ExpenseDto;
+import com.nexsplit.fixture.EntityFixtures;
+import com.nexsplit.mapper.expense.ExpenseMapStructImpl;
+import com.nexsplit.mapper.expense.SplitMapStructImpl;
+import com.nexsplit.model.Expense;
+import com.nexsplit.model.Nex;
+import com.nexsplit.model.User;
+import com.nexsplit.service.NexAnalyticsService;
+import com.nexsplit.service.NexBalanceLedgerService;
+import com.nexsplit.service.NexWriteLane;
+import com.nexsplit.service.OutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Statement budget of expense creation against an embedded database, with
+ * the JDBC batching of {@link JpaBatchConfig}. Splits and debts must be
+ * inserted in batches, without a query per participant.
+ *
+ * The balance ledger, analytics rollup and outbox are mocked; their writes
+ * are not counted.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import({ ExpenseServiceImpl.class, ExpenseMapStructImpl.class, SplitMapStructImpl.class, JpaBatchConfig.class,
+        SimpleMeterRegistry.class, StatementCountingPostProcessor.class })
+class ExpenseServiceImplCreateStatementBudgetTest {
+
+    private static final int PARTICIPANTS = 30;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExpenseServiceImpl expenseService;
+
+    @MockitoBean
+    private OutboxService outboxService;
+    @MockitoBean
+    private NexBalanceLedgerService nexBalanceLedgerService;
+    @MockitoBean
+    private NexAnalyticsService nexAnalyticsService;
+    @MockitoBean
+    private NexWriteLane nexWriteLane;
+    @MockitoBean
+    private ExpenseSearchConfig expenseSearchConfig;
+
+    private List<User> users;
+    private String nexId;
+    private String categoryId;
+
+    @BeforeEach
+    void setUp() {
+        EntityFixtures fixtures = new EntityFixtures(entityManager);
+        users = fixtures.users(PARTICIPANTS);
+        Nex nex = fixtures.nexWithMembers("Trip", users);
+        nexId = nex.getId();
+        categoryId = fixtures.category("Food", nex, users.get(0)).getId();
+        fixtures.flushAndClear();
+
+        // Writes run inline
+        when(nexWriteLane.execute(anyString(), any()))
+                .thenAnswer(inv -> inv.<Supplier<?>>getArgument(1).get());
+    }
+
+    @Test
+    @StatementBudget(7)
+    void createExpense_WithThirtyParticipants_ShouldBatchSplitsAndDebts() {
+        // Given
+        CreateExpenseRequest request = CreateExpenseRequest.builder()
+                .title("Trip")
+                .amount(new BigDecimal("100.00"))
+                .categoryId(categoryId)
+                .nexId(nexId)
+                .payerId(users.get(0).getId())
+                .splitType(Expense.SplitType.EQUALLY)
+                .expenseDate(LocalDate.of(2025, 3, 1))
+                .splits(users.stream()
+                        .map(user -> CreateExpenseRequest.CreateSplitRequest.builder().userId(user.getId()).build())
+                        .toList())
+                .build();
+
+        // When - the test transaction is rolled back, so flush what the commit would write
+        ExpenseDto expense = expenseService.createExpense(request, users.get(0).getId());
+        entityManager.flush();
+
+        // Then - the creator, the member IDs, the category, one batch of split users for
+        // the names in the DTO, the expense insert, and one batch each for splits and debts
+        assertEquals(PARTICIPANTS, expense.getSplits().size());
+        assertEquals(PARTICIPANTS - 1, expense.getDebts().size());
+    }
+}
@@ -0,0 +1,180 @@
+package com.nexsplit.service.impl;
+
+import com.nexsplit.config.ExpenseSearchConfig;
+import com.nexsplit.config.datasource.QueryCountExtension;
+import com.nexsplit.config.datasource.QueryCounter;
+import com.nexsplit.config.datasource.StatementBudget;
+import com.nexsplit.config.datasource.StatementCountingPostProcessor;
+import com.nexsplit.dto.PaginatedResponse;
+import com.nexsplit.dto.expense.ExpenseDto;
+import com.nexsplit.fixture.EntityFixtures;
+import com.nexsplit.mapper.expense.ExpenseMapStructImpl;
+import com.nexsplit.mapper.expense.SplitMapStructImpl;
+import com.nexsplit.model.Category;
+import com.nexsplit.model.Debt;
+import com.nexsplit.model.Expense;
+import com.nexsplit.model.Nex;
+import com.nexsplit.model.Split;
+import com.nexsplit.model.SplitId;
+import com.nexsplit.model.User;
+import com.nexsplit.service.NexAnalyticsService;
+import com.nexsplit.service.NexBalanceLedgerService;
+import com.nexsplit.service.NexWriteLane;
+import com.nexsplit.service.OutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement budgets of expense listing against an embedded database. Splits,
+ * debts and display names must not cost a query per expense.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import({ ExpenseServiceImpl.class, ExpenseMapStructImpl.class, SplitMapStructImpl.class,
+        SimpleMeterRegistry.class, StatementCountingPostProcessor.class })
+@ExtendWith(QueryCountExtension.class)
+class ExpenseServiceImplStatementBudgetTest {
+
+    private static final int EXPENSES = 6;
+    private static final int MEMBERS = 3;
+    private static final int PAGE_SIZE = EXPENSES - 1;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExpenseServiceImpl expenseService;
+
+    @MockitoBean
+    private OutboxService outboxService;
+    @MockitoBean
+    private NexBalanceLedgerService nexBalanceLedgerService;
+    @MockitoBean
+    private NexAnalyticsService nexAnalyticsService;
+    @MockitoBean
+    private NexWriteLane nexWriteLane;
+    @MockitoBean
+    private ExpenseSearchConfig expenseSearchConfig;
+
+    private String nexId;
+    private String userId;
+
+    @BeforeEach
+    void setUp() {
+        EntityFixtures fixtures = new EntityFixtures(entityManager);
+        List<User> users = fixtures.users(MEMBERS);
+        userId = users.get(0).getId();
+        Nex nex = fixtures.nexWithMembers("Trip", users);
+        nexId = nex.getId();
+        Category category = fixtures.category("Food", nex, users.get(0));
+
+        LocalDateTime expenseDate = LocalDateTime.of(2025, 3, 1, 12, 0);
+        for (int e = 0; e < EXPENSES; e++) {
+            // Each expense has its own payer, so payers cannot come from the session
+            User payer = users.get(e % MEMBERS);
+            Expense expense = entityManager.persist(Expense.builder()
+                    .title("Expense " + e)
+                    .amount(new BigDecimal("30.00"))
+                    .categoryId(category.getId())
+                    .nexId(nexId)
+                    .createdBy(payer.getId())
+                    .payerId(payer.getId())
+                    .splitType(Expense.SplitType.EQUALLY)
+                    .expenseDate(expenseDate.plusDays(e))
+                    .build());
+            for (User user : users) {
+                entityManager.persist(Split.builder()
+                        .id(new SplitId(expense.getId(), user.getId()))
+                        .expense(expense)
+                        .user(user)
+                        .amount(new BigDecimal("10.00"))
+                        .build());
+                if (!user.getId().equals(payer.getId())) {
+                    entityManager.persist(Debt.builder()
+                            .debtorId(user.getId())
+                            .creditorId(payer.getId())
+                            .creditorType(Debt.CreditorType.USER)
+                            .amount(new BigDecimal("10.00"))
+                            .expenseId(expense.getId())
+                            .build());
+                }
+            }
+        }
+        fixtures.flushAndClear();
+
+        // Feed pages link the next page from the current request
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @StatementBudget(5)
+    void getExpensesByNexId_ShouldNotQueryPerExpense() {
+        // When - a page smaller than the expense count, so the total is counted
+        PaginatedResponse<ExpenseDto> response = expenseService.getExpensesByNexId(nexId, userId, 0, PAGE_SIZE);
+
+        // Then - membership, rows, count, and one batch each for splits and debts
+        assertPageLoaded(response.getData());
+        assertEquals(EXPENSES, response.getPagination().getTotalElements());
+    }
+
+    @Test
+    @StatementBudget(5)
+    void getExpenseFeedByNexId_ShouldNotQueryPerExpense() {
+        // When
+        PaginatedResponse<ExpenseDto> response = expenseService.getExpenseFeedByNexId(nexId, userId, null,
+                PAGE_SIZE, false);
+
+        // Then - membership, IDs, rows, and one batch each for splits and debts
+        assertPageLoaded(response.getData());
+        assertNotNull(response.getPagination().getNextCursor());
+    }
+
+    @Test
+    void getExpenseFeedByNexId_AfterCursor_ShouldNotQueryPerExpense(QueryCounter.Scope scope) {
+        // Given - the first page of two
+        String cursor = expenseService.getExpenseFeedByNexId(nexId, userId, null, 2, false)
+                .getPagination().getNextCursor();
+        int firstPageStatements = scope.getStatementCount();
+
+        // When
+        PaginatedResponse<ExpenseDto> response = expenseService.getExpenseFeedByNexId(nexId, userId, cursor,
+                PAGE_SIZE, false);
+
+        // Then - five statements for each page
+        assertEquals(EXPENSES - 2, response.getData().size());
+        assertNull(response.getPagination().getNextCursor());
+        assertEquals(5, firstPageStatements);
+        assertEquals(5, scope.getStatementCount() - firstPageStatements);
+    }
+
+    private void assertPageLoaded(List<ExpenseDto> expenses) {
+        assertEquals(PAGE_SIZE, expenses.size());
+        assertTrue(expenses.stream().allMatch(expense -> "Trip".equals(expense.getNexName())
+                && "Food".equals(expense.getCategoryName())
+                && expense.getPayerName().startsWith("Member ")
+                && expense.getSplits().size() == MEMBERS
+                && expense.getDebts().size() == MEMBERS - 1
+                && new BigDecimal("20.00").compareTo(expense.getUnsettledAmount()) == 0));
+    }
+}
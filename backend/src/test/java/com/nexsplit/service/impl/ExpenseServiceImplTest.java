@@ -0,0 +1,237 @@
+package com.nexsplit.service.impl;
+
+import com.nexsplit.config.ExpenseSearchConfig;
+import com.nexsplit.dto.ErrorCode;
+import com.nexsplit.dto.PaginatedResponse;
+import com.nexsplit.dto.expense.ExpenseDto;
+import com.nexsplit.dto.expense.CreateExpenseRequest;
+import com.nexsplit.dto.expense.UpdateExpenseRequest;
+import com.nexsplit.exception.BusinessException;
+import com.nexsplit.mapper.expense.ExpenseMapStruct;
+import com.nexsplit.model.Category;
+import com.nexsplit.model.Expense;
+import com.nexsplit.model.OutboxEvent;
+import com.nexsplit.model.Split;
+import com.nexsplit.model.User;
+import com.nexsplit.repository.*;
+import com.nexsplit.service.NexAnalyticsService;
+import com.nexsplit.service.NexBalanceLedgerService;
+import com.nexsplit.service.NexWriteLane;
+import com.nexsplit.service.OutboxService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseServiceImplTest {
+
+    private static final String NEX_ID = "nex-1";
+    private static final int PARTICIPANTS = 30;
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+    @Mock
+    private SplitRepository splitRepository;
+    @Mock
+    private DebtRepository debtRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private NexMemberRepository nexMemberRepository;
+    @Mock
+    private ExpenseMapStruct expenseMapStruct;
+    @Mock
+    private ExpenseSummaryRepository expenseSummaryRepository;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private NexBalanceLedgerService nexBalanceLedgerService;
+    @Mock
+    private NexAnalyticsService nexAnalyticsService;
+    @Mock
+    private NexWriteLane nexWriteLane;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ExpenseSearchConfig expenseSearchConfig;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ExpenseServiceImpl expenseService;
+
+    private final List<String> memberIds = IntStream.range(0, PARTICIPANTS).mapToObj(i -> "user-" + i).toList();
+
+    @BeforeEach
+    void setUp() {
+        // Writes run inline; read-only tests never reach them
+        lenient().when(nexWriteLane.execute(eq(NEX_ID), any()))
+                .thenAnswer(inv -> inv.<Supplier<?>>getArgument(1).get());
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private void givenCreatableExpense() {
+        when(userRepository.findById("user-0")).thenReturn(Optional.of(new User()));
+        when(userRepository.getReferenceById(anyString())).thenAnswer(inv -> new User());
+        when(nexMemberRepository.findActiveMemberIdsByNexId(NEX_ID)).thenReturn(memberIds);
+        when(categoryRepository.findById("cat-1")).thenReturn(Optional.of(new Category()));
+        when(expenseMapStruct.toEntity(any())).thenAnswer(inv -> {
+            CreateExpenseRequest request = inv.getArgument(0);
+            return Expense.builder()
+                    .amount(request.getAmount())
+                    .currency(request.getCurrency())
+                    .nexId(request.getNexId())
+                    .payerId(request.getPayerId())
+                    .splitType(request.getSplitType())
+                    .build();
+        });
+        when(expenseRepository.save(any())).thenAnswer(inv -> {
+            Expense expense = inv.getArgument(0);
+            expense.setId("expense-1");
+            return expense;
+        });
+        when(splitRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(debtRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void createExpense_WithManyParticipants_ShouldResolveMembersOnce() {
+        // Given
+        givenCreatableExpense();
+        CreateExpenseRequest request = CreateExpenseRequest.builder()
+                .title("Trip")
+                .amount(new BigDecimal("100.00"))
+                .categoryId("cat-1")
+                .nexId(NEX_ID)
+                .payerId("user-0")
+                .splitType(Expense.SplitType.EQUALLY)
+                .expenseDate(LocalDate.of(2025, 3, 1))
+                .splits(memberIds.stream()
+                        .map(id -> CreateExpenseRequest.CreateSplitRequest.builder().userId(id).build())
+                        .toList())
+                .build();
+
+        // When
+        expenseService.createExpense(request, "user-0");
+
+        // Then - one lookup each for the creator, the members and the category, one save for the
+        // expense, one batch each for splits and debts, one outbox event and one analytics rollup
+        // update, whatever the split size
+        verify(userRepository, times(1)).findById(anyString());
+        verify(nexMemberRepository, never()).findByNexIdAndUserId(anyString(), anyString());
+        verify(outboxService).publish(eq(OutboxEvent.EventType.EXPENSE_CREATED), eq(NEX_ID), eq("expense-1"),
+                eq("user-0"), anyMap());
+        verify(nexAnalyticsService, times(1)).apply(eq(NEX_ID), any());
+        assertEquals(8, repositoryRoundTrips());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Split>> splits = ArgumentCaptor.forClass(List.class);
+        verify(splitRepository).saveAll(splits.capture());
+        assertEquals(PARTICIPANTS, splits.getValue().size());
+        assertTrue(splits.getValue().stream().allMatch(Split::isNew));
+        assertEquals(new BigDecimal("100.00"), splits.getValue().stream()
+                .map(Split::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+    }
+
+    @Test
+    void updateExpense_WhenChangingToPercentageWithoutSplits_ShouldRejectBeforeResplitting() {
+        // Given - an equal split among three stores 33.33% each
+        Expense expense = Expense.builder()
+                .id("expense-1")
+                .nexId(NEX_ID)
+                .createdBy("user-0")
+                .amount(new BigDecimal("100.00"))
+                .splitType(Expense.SplitType.EQUALLY)
+                .build();
+        when(expenseRepository.findNexIdById("expense-1")).thenReturn(Optional.of(NEX_ID));
+        when(expenseRepository.findByIdAndIsDeletedFalse("expense-1")).thenReturn(Optional.of(expense));
+        UpdateExpenseRequest request = UpdateExpenseRequest.builder()
+                .splitType(Expense.SplitType.PERCENTAGE)
+                .build();
+
+        // When
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> expenseService.updateExpense("expense-1", request, "user-0"));
+
+        // Then
+        assertEquals(ErrorCode.EXPENSE_SPLIT_INVALID, exception.getErrorCode());
+        assertEquals("Splits are required when changing split type to PERCENTAGE", exception.getMessage());
+        verify(expenseMapStruct, never()).updateEntityFromRequest(any(), any());
+        verify(expenseRepository, never()).save(any());
+        verifyNoInteractions(splitRepository, debtRepository, outboxService);
+    }
+
+    @Test
+    void searchExpenses_WithFullText_ShouldMapRankedIdsThroughListRows() {
+        // Given - three matches in rank order, whose rows come back in another order
+        List<String> rankedIds = List.of("expense-2", "expense-3", "expense-1");
+        when(expenseSearchConfig.getMode()).thenReturn(ExpenseSearchConfig.Mode.FULL_TEXT);
+        when(expenseSearchConfig.getMaxTerms()).thenReturn(5);
+        when(expenseRepository.searchVisibleIdsByFullText("user-0", "dinner:*", PageRequest.of(0, 10)))
+                .thenReturn(new PageImpl<>(rankedIds, PageRequest.of(0, 10), 3));
+        List<ExpenseRepository.ExpenseRow> rows = List.of(row("expense-1"), row("expense-2"), row("expense-3"));
+        when(expenseRepository.findRowsByIds(rankedIds)).thenReturn(rows);
+        when(expenseMapStruct.toListDto(any())).thenAnswer(inv -> ExpenseDto.builder()
+                .id(inv.<ExpenseRepository.ExpenseRow>getArgument(0).getId())
+                .build());
+
+        // When
+        PaginatedResponse<ExpenseDto> response = expenseService.searchExpenses("Dinner", "user-0", 0, 10);
+
+        // Then - in rank order, with splits and debts loaded once for the page
+        assertEquals(rankedIds, response.getData().stream().map(ExpenseDto::getId).toList());
+        assertEquals(3, response.getPagination().getTotalElements());
+        verify(expenseMapStruct, never()).toDto(any());
+        verify(splitRepository, times(1)).findRowsByExpenseIds(rankedIds);
+        verify(debtRepository, times(1)).findRowsByExpenseIds(rankedIds);
+    }
+
+    private static ExpenseRepository.ExpenseRow row(String id) {
+        ExpenseRepository.ExpenseRow row = mock(ExpenseRepository.ExpenseRow.class);
+        when(row.getId()).thenReturn(id);
+        return row;
+    }
+
+    /**
+     * Repository calls that reach the database, plus the outbox insert and
+     * the analytics rollup upsert.
+     * getReferenceById returns a proxy without querying, so it is not counted.
+     */
+    private int repositoryRoundTrips() {
+        List<Object> repositories = new ArrayList<>(List.of(expenseRepository, splitRepository, debtRepository,
+                categoryRepository, userRepository, nexMemberRepository, outboxService, nexAnalyticsService));
+        return repositories.stream()
+                .mapToInt(repository -> (int) Mockito.mockingDetails(repository).getInvocations().stream()
+                        .filter(invocation -> !invocation.getMethod().getName().equals("getReferenceById"))
+                        .count())
+                .sum();
+    }
+}
@@ -0,0 +1,169 @@
+package com.nexsplit.service.impl;
+
+import com.nexsplit.config.SettlementConfig;
+import com.nexsplit.model.Debt;
+import com.nexsplit.repository.DebtRepository;
+import com.nexsplit.repository.DebtRepository.UnsettledDebtRow;
+import com.nexsplit.service.GlobalNettingService.GlobalNettingRequest;
+import com.nexsplit.service.GlobalNettingService.GlobalNettingResponse;
+import com.nexsplit.service.NexAnalyticsService;
+import com.nexsplit.service.NexBalanceLedgerService;
+import com.nexsplit.service.NexWriteLane;
+import com.nexsplit.service.SettlementService.SettlementStatus;
+import com.nexsplit.service.SettlementService.SettlementTransaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GlobalNettingServiceImplTest {
+
+    private static final String USER_ID = "alice";
+
+    @Mock
+    private DebtRepository debtRepository;
+    @Mock
+    private NexBalanceLedgerService nexBalanceLedgerService;
+    @Mock
+    private NexAnalyticsService nexAnalyticsService;
+    @Mock
+    private NexWriteLane nexWriteLane;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private GlobalNettingServiceImpl globalNettingService;
+
+    @BeforeEach
+    void setUp() {
+        globalNettingService = new GlobalNettingServiceImpl(debtRepository, nexBalanceLedgerService,
+                nexAnalyticsService, nexWriteLane, transactionTemplate, new SettlementConfig(), Runnable::run);
+    }
+
+    @Test
+    void previewGlobalNetting_WithMixedSignCounterparties_ShouldOnlyPlanTransfersWithTheUser() {
+        // Given - alice owes bob, carol owes alice, dave's debts partly cancel
+        List<UnsettledDebtRow> debts = List.of(
+                row("d1", USER_ID, "bob", "30.00", "nex-1"),
+                row("d2", "carol", USER_ID, "50.00", "nex-1"),
+                row("d3", "dave", USER_ID, "20.00", "nex-2"),
+                row("d4", USER_ID, "dave", "5.00", "nex-3"),
+                row("d5", "erin", USER_ID, "10.00", "nex-2"),
+                row("d6", USER_ID, "erin", "10.00", "nex-3"));
+        givenUnsettledDebts(debts);
+
+        // When
+        GlobalNettingResponse response = globalNettingService.previewGlobalNetting(USER_ID, USER_ID);
+
+        // Then - one transfer per non-zero position, none between counterparties
+        List<SettlementTransaction> transfers = response.getTransfers();
+        assertEquals(3, transfers.size());
+        assertTrue(transfers.stream().allMatch(
+                transfer -> USER_ID.equals(transfer.getFromUserId()) || USER_ID.equals(transfer.getToUserId())));
+        assertTransfer(transfers, USER_ID, "bob", "30.00");
+        assertTransfer(transfers, "carol", USER_ID, "50.00");
+        assertTransfer(transfers, "dave", USER_ID, "15.00");
+        assertEquals(4, response.getCounterpartyCount());
+        assertEquals(0, new BigDecimal("125.00").compareTo(response.getGrossDebtAmount()));
+        assertEquals(0, new BigDecimal("95.00").compareTo(response.getNetTransferAmount()));
+        assertTrue(response.isOptimal());
+    }
+
+    @Test
+    void executeGlobalNetting_WithMixedSignCounterparties_ShouldSettleEveryDebtTheTransfersCover() {
+        // Given
+        List<UnsettledDebtRow> debts = List.of(
+                row("d1", USER_ID, "bob", "30.00", "nex-1"),
+                row("d2", "carol", USER_ID, "50.00", "nex-1"),
+                row("d3", "dave", USER_ID, "20.00", "nex-2"),
+                row("d4", USER_ID, "dave", "5.00", "nex-2"));
+        givenUnsettledDebts(debts);
+        when(debtRepository.findUnsettledNexIdsByUserId(USER_ID)).thenReturn(List.of("nex-1", "nex-2"));
+        when(nexWriteLane.executeAll(anyCollection(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(debtRepository.settleUnsettledDebtsByIds(anyCollection(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Collection<String>>getArgument(0).stream()
+                        .map(id -> Debt.builder().id(id).amount(BigDecimal.ONE).build())
+                        .toList());
+
+        // When
+        GlobalNettingResponse response = globalNettingService.executeGlobalNetting(USER_ID,
+                new GlobalNettingRequest(), USER_ID);
+
+        // Then - the user's debts are the only rows written, and each transfer
+        // accounts for the debts it replaces
+        verify(debtRepository).settleUnsettledDebtsByIds(
+                argThat(ids -> ids.size() == 4 && ids.containsAll(List.of("d1", "d2", "d3", "d4"))),
+                any(), any(), any());
+        verify(debtRepository, never()).save(any());
+        verify(debtRepository, never()).saveAll(any());
+        assertTrue(response.isExecuted());
+        assertEquals(3, response.getTransfers().size());
+        for (SettlementTransaction transfer : response.getTransfers()) {
+            assertEquals(SettlementStatus.SETTLED, transfer.getStatus());
+            assertTrue(USER_ID.equals(transfer.getFromUserId()) || USER_ID.equals(transfer.getToUserId()));
+        }
+        SettlementTransaction dave = response.getTransfers().stream()
+                .filter(transfer -> "dave".equals(transfer.getFromUserId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(List.of("d3", "d4"), dave.getRelatedDebtIds());
+    }
+
+    private void givenUnsettledDebts(List<UnsettledDebtRow> debts) {
+        when(debtRepository.countUnsettledByUserId(USER_ID)).thenReturn((long) debts.size());
+        when(debtRepository.findUnsettledRowsByUserId(USER_ID)).thenReturn(debts);
+    }
+
+    private static void assertTransfer(List<SettlementTransaction> transfers, String from, String to,
+            String amount) {
+        assertTrue(transfers.stream().anyMatch(transfer -> transfer.getFromUserId().equals(from)
+                && transfer.getToUserId().equals(to)
+                && transfer.getAmount().compareTo(new BigDecimal(amount)) == 0),
+                () -> "Expected a transfer of " + amount + " from " + from + " to " + to);
+    }
+
+    private static UnsettledDebtRow row(String id, String debtorId, String creditorId, String amount,
+            String nexId) {
+        return new UnsettledDebtRow() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public String getDebtorId() {
+                return debtorId;
+            }
+
+            @Override
+            public String getCreditorId() {
+                return creditorId;
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return new BigDecimal(amount);
+            }
+
+            @Override
+            public String getNexId() {
+                return nexId;
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package com.nexsplit.service.impl;
+
+import com.nexsplit.config.datasource.StatementBudget;
+import com.nexsplit.config.datasource.StatementCountingPostProcessor;
+import com.nexsplit.dto.PaginatedResponse;
+import com.nexsplit.dto.nex.NexDto;
+import com.nexsplit.fixture.EntityFixtures;
+import com.nexsplit.mapper.nex.NexMapStructImpl;
+import com.nexsplit.model.Category;
+import com.nexsplit.model.Expense;
+import com.nexsplit.model.Nex;
+import com.nexsplit.model.User;
+import com.nexsplit.service.NexAnalyticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement budget of the Nex listing against an embedded database. Member
+ * counts, expense totals and creator names must not cost a query per Nex.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import({ NexServiceImpl.class, NexMapStructImpl.class, StatementCountingPostProcessor.class })
+class NexServiceImplStatementBudgetTest {
+
+    private static final int NEXES = 6;
+    private static final int MEMBERS = 3;
+    private static final int EXPENSES = 2;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private NexServiceImpl nexService;
+
+    @MockitoBean
+    private NexAnalyticsService nexAnalyticsService;
+
+    private String userId;
+
+    @BeforeEach
+    void setUp() {
+        EntityFixtures fixtures = new EntityFixtures(entityManager);
+        List<User> users = fixtures.users(MEMBERS);
+        userId = users.get(0).getId();
+
+        for (int n = 0; n < NEXES; n++) {
+            // Each Nex has its own creator, so creators cannot come from the session
+            User creator = users.get(n % MEMBERS);
+            Nex nex = fixtures.nex("Nex " + n, creator);
+            for (User user : users) {
+                fixtures.member(nex, user);
+            }
+            Category category = fixtures.category("Food", nex, creator);
+            for (int e = 0; e < EXPENSES; e++) {
+                entityManager.persist(Expense.builder()
+                        .title("Expense " + e)
+                        .amount(new BigDecimal("12.50"))
+                        .categoryId(category.getId())
+                        .nexId(nex.getId())
+                        .createdBy(creator.getId())
+                        .payerId(creator.getId())
+                        .build());
+            }
+        }
+        fixtures.flushAndClear();
+    }
+
+    @Test
+    @StatementBudget(5)
+    void getUserNexesPaginated_ShouldNotQueryPerNex() {
+        // When - a page smaller than the Nex count, so the total is counted
+        PaginatedResponse<NexDto> page = nexService.getUserNexesPaginated(userId, 0, NEXES - 1);
+
+        // Then - page, count, and one batch each for creators, members and expenses
+        assertEquals(NEXES - 1, page.getData().size());
+        assertEquals(NEXES, page.getPagination().getTotalElements());
+        assertTrue(page.getData().stream().allMatch(nex -> nex.getMemberCount() == MEMBERS
+                && nex.getExpenseCount() == EXPENSES
+                && new BigDecimal("25.00").compareTo(nex.getTotalExpenseAmount()) == 0
+                && nex.getCreatorName().startsWith("Member ")));
+    }
+}
@@ -0,0 +1,132 @@
+package com.nexsplit.service.impl;
+
+import com.nexsplit.config.UserSearchConfig;
+import com.nexsplit.dto.user.UserSearchDto;
+import com.nexsplit.mapper.user.UserMapStruct;
+import com.nexsplit.model.User;
+import com.nexsplit.repository.UserRepository;
+import com.nexsplit.service.AuditService;
+import com.nexsplit.service.EmailService;
+import com.nexsplit.service.user.UserSearchCache;
+import com.nexsplit.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private JwtUtil jwtUtil;
+    @Mock
+    private BCryptPasswordEncoder passwordEncoder;
+    @Mock
+    private UserMapStruct userMapStruct;
+    @Mock
+    private AuditService auditService;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        UserSearchConfig userSearchConfig = new UserSearchConfig();
+        UserSearchCache userSearchCache = new UserSearchCache(userSearchConfig, new SimpleMeterRegistry());
+        userService = new UserServiceImpl(userRepository, jwtUtil, passwordEncoder, userMapStruct, auditService,
+                emailService, userSearchCache, userSearchConfig, transactionManager);
+    }
+
+    @Test
+    void searchUsers_WithDifferentCaseAndWhitespace_ShouldShareOneCachedSearch() {
+        // Given
+        when(userRepository.searchActiveUsersRanked(eq("al"), eq("%al%"), eq(50)))
+                .thenReturn(List.of(user("alice")));
+
+        // When
+        userService.searchUsers("  Al ", 0, 10);
+        List<UserSearchDto> users = userService.searchUsers("al", 0, 10).getData();
+
+        // Then
+        verify(userRepository, times(1)).searchActiveUsersRanked(anyString(), anyString(), anyInt());
+        assertEquals("alice", users.get(0).getUsername());
+    }
+
+    @Test
+    void searchUsers_ShouldRunMissInReadOnlyTransactionAndHitWithoutOne() {
+        // Given
+        when(userRepository.searchActiveUsersRanked(anyString(), anyString(), anyInt()))
+                .thenReturn(List.of(user("alice")));
+
+        // When - a miss, then a hit
+        userService.searchUsers("al", 0, 10);
+        userService.searchUsers("al", 0, 10);
+
+        // Then - only the miss began a transaction
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(1)).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void searchUsersByEmail_WithTermOfNameSearch_ShouldNotShareItsCachedResult() {
+        // Given
+        when(userRepository.searchActiveUsersRanked(anyString(), anyString(), anyInt()))
+                .thenReturn(List.of(user("alice")));
+        when(userRepository.searchActiveUsersByEmailRanked(anyString(), anyString(), anyInt()))
+                .thenReturn(List.of());
+        userService.searchUsers("al", 0, 10);
+
+        // When
+        List<UserSearchDto> users = userService.searchUsersByEmail("AL");
+
+        // Then
+        verify(userRepository).searchActiveUsersByEmailRanked("al", "%al%", 50);
+        assertTrue(users.isEmpty());
+    }
+
+    @Test
+    void searchUsers_WithWildcardsInTerm_ShouldEscapeThemInPattern() {
+        // Given
+        when(userRepository.searchActiveUsersRanked(anyString(), anyString(), anyInt())).thenReturn(List.of());
+
+        // When
+        userService.searchUsers("a_%", 0, 10);
+
+        // Then
+        verify(userRepository).searchActiveUsersRanked("a_%", "%a\\_\\%%", 50);
+    }
+
+    @Test
+    void searchUsers_WithTermShorterThanMinimumAfterTrim_ShouldThrow() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> userService.searchUsers(" a ", 0, 10));
+        verifyNoInteractions(userRepository);
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .id(username + "-id")
+                .email(username + "@example.com")
+                .username(username)
+                .build();
+    }
+}
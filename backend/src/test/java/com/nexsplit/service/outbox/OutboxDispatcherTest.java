@@ -0,0 +1,215 @@
+package com.nexsplit.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexsplit.config.OutboxConfig;
+import com.nexsplit.model.OutboxEvent;
+import com.nexsplit.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxDispatcherTest {
+
+    private OutboxEventRepository outboxEventRepository;
+    private OutboxEventHandler handler;
+    private OutboxConfig outboxConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        handler = mock(OutboxEventHandler.class);
+        outboxConfig = new OutboxConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        when(handler.getEventTypes()).thenReturn(Set.of(OutboxEvent.EventType.EXPENSE_CREATED));
+        when(outboxEventRepository.tryDispatcherLock(OutboxDispatcher.DISPATCHER_LOCK_KEY)).thenReturn(true);
+        when(outboxEventRepository.findOldestPendingCreatedAt()).thenReturn(Optional.empty());
+
+        // A real template over a mocked manager runs each callback inline
+        dispatcher = new OutboxDispatcher(outboxEventRepository, outboxConfig,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new ObjectMapper(),
+                List.of(handler), meterRegistry, 10);
+    }
+
+    @Test
+    void dispatch_WhenEventOfNexFails_ShouldHoldBackLaterEventsOfThatNexOnly() {
+        // Given - event 1 fails, event 2 follows it in the same Nex
+        givenDispatchable(event(1L, "nex-a", 0), event(2L, "nex-a", 0), event(3L, "nex-b", 0));
+        doThrow(new IllegalStateException("handler down")).when(handler)
+                .handle(argThat(event -> event.getId() == 1L), anyMap());
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        verify(handler, never()).handle(argThat(event -> event.getId() == 2L), anyMap());
+        verify(outboxEventRepository, never()).markProcessed(eq(1L), any());
+        verify(outboxEventRepository, never()).markProcessed(eq(2L), any());
+        verify(outboxEventRepository).markProcessed(eq(3L), any());
+        verify(outboxEventRepository).markAttemptFailed(eq(1L), eq("PENDING"), any(), eq("handler down"));
+    }
+
+    @Test
+    void start_ShouldPollOnItsOwnThread() {
+        // Given
+        outboxConfig.setPollIntervalMs(10);
+        givenDispatchable(event(1L, "nex-a", 0));
+
+        // When - dispatch is not called directly
+        dispatcher.start();
+
+        // Then
+        try {
+            verify(outboxEventRepository, timeout(2000).atLeastOnce()).markProcessed(eq(1L), any());
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void start_WhenDispatcherDisabled_ShouldNotPoll() throws InterruptedException {
+        // Given
+        outboxConfig.setDispatcherEnabled(false);
+        outboxConfig.setPollIntervalMs(10);
+
+        // When
+        dispatcher.start();
+        Thread.sleep(100);
+        dispatcher.shutdown();
+
+        // Then
+        verify(outboxEventRepository, never()).tryDispatcherLock(anyLong());
+    }
+
+    @Test
+    void dispatch_WhenEventsOfNexSucceed_ShouldHandleThemInIdOrder() {
+        // Given
+        givenDispatchable(event(1L, "nex-a", 0), event(2L, "nex-a", 0), event(3L, "nex-a", 0));
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        var inOrder = inOrder(handler);
+        for (long id = 1; id <= 3; id++) {
+            long expected = id;
+            inOrder.verify(handler).handle(argThat(event -> event.getId() == expected), anyMap());
+        }
+        assertEquals(3.0, meterRegistry.counter("outbox.events.dispatched", "result", "processed").count());
+    }
+
+    @Test
+    void dispatch_WhenEventFails_ShouldScheduleRetryWithExponentialBackoff() {
+        // Given - third attempt, so the base delay is doubled twice
+        givenDispatchable(event(1L, "nex-a", 2));
+        doThrow(new IllegalStateException("handler down")).when(handler).handle(any(), anyMap());
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        ArgumentCaptor<LocalDateTime> nextAttemptAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxEventRepository).markAttemptFailed(eq(1L), eq("PENDING"), nextAttemptAt.capture(), any());
+        long delayMs = Duration.between(before, nextAttemptAt.getValue()).toMillis();
+        assertTrue(delayMs >= 4000 && delayMs < 5000, "Retry delay was " + delayMs + " ms");
+        assertEquals(1.0, meterRegistry.counter("outbox.events.dispatched", "result", "retried").count());
+    }
+
+    @Test
+    void retryDelayMs_ShouldDoublePerAttemptUpToTheMaximum() {
+        assertEquals(1000, dispatcher.retryDelayMs(1));
+        assertEquals(2000, dispatcher.retryDelayMs(2));
+        assertEquals(8000, dispatcher.retryDelayMs(4));
+        assertEquals(outboxConfig.getRetryMaxDelayMs(), dispatcher.retryDelayMs(20));
+        assertEquals(outboxConfig.getRetryMaxDelayMs(), dispatcher.retryDelayMs(1000));
+    }
+
+    @Test
+    void maxParallelNexes_ShouldBeCappedByPoolSize() {
+        // Given - a pool of 10 leaves 4 parallel Nexes plus the lock connection
+        outboxConfig.setMaxParallelNexes(8);
+
+        // When / Then
+        assertEquals(4, dispatcher.maxParallelNexes());
+        outboxConfig.setMaxParallelNexes(2);
+        assertEquals(2, dispatcher.maxParallelNexes());
+        outboxConfig.setMaxParallelNexes(0);
+        assertEquals(1, dispatcher.maxParallelNexes());
+    }
+
+    @Test
+    void dispatch_WhenLastAttemptFails_ShouldMarkEventFailed() {
+        // Given
+        givenDispatchable(event(1L, "nex-a", outboxConfig.getMaxAttempts() - 1));
+        doThrow(new IllegalStateException("handler down")).when(handler).handle(any(), anyMap());
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        verify(outboxEventRepository).markAttemptFailed(eq(1L), eq("FAILED"), any(), eq("handler down"));
+        assertEquals(1.0, meterRegistry.counter("outbox.events.dispatched", "result", "failed").count());
+    }
+
+    @Test
+    void dispatch_WithoutDispatcherLock_ShouldNotLoadEvents() {
+        // Given - another instance is dispatching
+        when(outboxEventRepository.tryDispatcherLock(OutboxDispatcher.DISPATCHER_LOCK_KEY)).thenReturn(false);
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        verify(outboxEventRepository, never()).findDispatchable(any(), anyInt());
+        verify(handler, never()).handle(any(), anyMap());
+    }
+
+    @Test
+    void purgeProcessedEvents_ShouldDeleteProcessedRowsPastRetention() {
+        // Given
+        outboxConfig.setRetentionDays(7);
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        dispatcher.purgeProcessedEvents();
+
+        // Then
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxEventRepository).deleteProcessedBefore(cutoff.capture());
+        assertFalse(cutoff.getValue().isBefore(before.minusDays(7)));
+        assertTrue(cutoff.getValue().isBefore(before.minusDays(7).plusMinutes(1)));
+    }
+
+    private void givenDispatchable(OutboxEvent... events) {
+        when(outboxEventRepository.findDispatchable(any(), eq(outboxConfig.getBatchSize())))
+                .thenReturn(List.of(events));
+    }
+
+    private static OutboxEvent event(Long id, String nexId, int attempts) {
+        return OutboxEvent.builder()
+                .id(id)
+                .eventType(OutboxEvent.EventType.EXPENSE_CREATED)
+                .nexId(nexId)
+                .payload("{}")
+                .status(OutboxEvent.Status.PENDING)
+                .attempts(attempts)
+                .createdAt(LocalDateTime.now())
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.nexsplit.service.settlement;
+
+import com.nexsplit.model.Money;
+import com.nexsplit.model.NexPairBalance;
+import com.nexsplit.model.NexPairBalanceId;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceSnapshotTest {
+
+    private static final String NEX = "nex-1";
+
+    @Test
+    void getNetBalances_ShouldSumPairsPerMember() {
+        // Given
+        BalanceSnapshot snapshot = snapshot(pair("bob", "alice", 3000), pair("carol", "alice", 2000),
+                pair("carol", "bob", 500));
+
+        // When
+        Map<String, Money> balances = snapshot.getNetBalances();
+
+        // Then
+        assertEquals(5000, balances.get("alice").getMinorUnits());
+        assertEquals(-2500, balances.get("bob").getMinorUnits());
+        assertEquals(-2500, balances.get("carol").getMinorUnits());
+    }
+
+    @Test
+    void withPairSettled_ShouldRemoveOnlyThatPair() {
+        // Given
+        BalanceSnapshot snapshot = snapshot(pair("bob", "alice", 3000), pair("carol", "alice", 2000));
+
+        // When
+        BalanceSnapshot settled = snapshot.withPairSettled("bob", "alice");
+
+        // Then
+        assertEquals(1, settled.getPairCount());
+        assertEquals("carol", settled.getDebtorId(0));
+        assertFalse(settled.getNetBalances().containsKey("bob"));
+        assertEquals(2, snapshot.getPairCount());
+    }
+
+    @Test
+    void withMemberRemoved_ShouldDropEveryPairOfTheMember() {
+        // Given
+        BalanceSnapshot snapshot = snapshot(pair("bob", "alice", 3000), pair("carol", "alice", 2000),
+                pair("carol", "bob", 500));
+
+        // When
+        BalanceSnapshot removed = snapshot.withMemberRemoved("bob");
+
+        // Then
+        assertEquals(1, removed.getPairCount());
+        assertFalse(removed.hasMember("bob"));
+        assertEquals(Map.of("alice", Money.ofMinor(2000, "USD"), "carol", Money.ofMinor(-2000, "USD")),
+                removed.getNetBalances());
+    }
+
+    @Test
+    void withMemberRemoved_WithUnknownMember_ShouldReturnSameSnapshot() {
+        // Given
+        BalanceSnapshot snapshot = snapshot(pair("bob", "alice", 3000));
+
+        // When / Then
+        assertSame(snapshot, snapshot.withMemberRemoved("dave"));
+    }
+
+    private static BalanceSnapshot snapshot(NexPairBalance... pairs) {
+        return BalanceSnapshot.of(NEX, 7, List.of(pairs));
+    }
+
+    private static NexPairBalance pair(String debtorId, String creditorId, long cents) {
+        return NexPairBalance.builder()
+                .id(new NexPairBalanceId(NEX, debtorId, creditorId))
+                .amount(Money.ofMinor(cents, "USD"))
+                .build();
+    }
+}
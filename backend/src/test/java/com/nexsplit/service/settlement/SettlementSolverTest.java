@@ -0,0 +1,139 @@
+package com.nexsplit.service.settlement;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SettlementSolverTest {
+
+    private static final long TIME_BUDGET_NANOS = 1_000_000_000L;
+
+    private final SettlementSolver solver = new SettlementSolver(TIME_BUDGET_NANOS, 18);
+
+    @Test
+    void solve_OppositePairs_ShouldSettleEachPairDirectly() {
+        // Given
+        long[] balances = { 1000, -1000, 2500, -2500 };
+
+        // When
+        SettlementPlan plan = solver.solve(balances);
+
+        // Then
+        assertEquals(2, plan.getTransferCount());
+        assertTrue(plan.isOptimal());
+        assertSettlesAllBalances(balances, plan);
+    }
+
+    @Test
+    void solve_ZeroSumSubgroups_ShouldUseFewerTransfersThanGreedy() {
+        // Given
+        long[] balances = { 1000, -700, -300, 800, -500, -300 };
+
+        // When
+        SettlementPlan greedy = SettlementSolver.greedy(balances);
+        SettlementPlan plan = solver.solve(balances);
+
+        // Then
+        assertTrue(plan.getTransferCount() < greedy.getTransferCount());
+        assertEquals(4, plan.getTransferCount());
+        assertSettlesAllBalances(balances, plan);
+    }
+
+    @Test
+    void solve_ZeroBalances_ShouldBeIgnored() {
+        // Given
+        long[] balances = { 0, 1500, 0, -1500 };
+
+        // When
+        SettlementPlan plan = solver.solve(balances);
+
+        // Then
+        assertEquals(1, plan.getTransferCount());
+        assertEquals(3, plan.getDebtorIndex(0));
+        assertEquals(1, plan.getCreditorIndex(0));
+        assertEquals(1500, plan.getAmount(0));
+    }
+
+    @Test
+    void solve_NoBalances_ShouldReturnEmptyPlan() {
+        // When
+        SettlementPlan plan = solver.solve(new long[0]);
+
+        // Then
+        assertEquals(0, plan.getTransferCount());
+    }
+
+    @Test
+    void solve_LargeGroup_ShouldNeverBeWorseThanGreedy() {
+        // Given
+        long[] balances = randomBalances(200, 42L);
+
+        // When
+        SettlementPlan greedy = SettlementSolver.greedy(balances);
+        SettlementPlan plan = solver.solve(balances);
+
+        // Then
+        assertTrue(plan.getTransferCount() <= greedy.getTransferCount());
+        assertSettlesAllBalances(balances, plan);
+    }
+
+    @Test
+    void solve_ExhaustedTimeBudget_ShouldFallBackToValidPlan() {
+        // Given
+        long[] balances = randomBalances(200, 7L);
+        SettlementSolver impatientSolver = new SettlementSolver(0, 18);
+
+        // When
+        SettlementPlan plan = impatientSolver.solve(balances);
+
+        // Then
+        assertTrue(plan.isTimedOut());
+        assertFalse(plan.isOptimal());
+        assertTrue(plan.getTransferCount() <= balances.length - 1);
+        assertSettlesAllBalances(balances, plan);
+    }
+
+    @Test
+    void solve_SameBalances_ShouldProduceSamePlan() {
+        // Given
+        long[] balances = randomBalances(30, 11L);
+
+        // When
+        SettlementPlan first = solver.solve(balances);
+        SettlementPlan second = solver.solve(balances);
+
+        // Then
+        assertEquals(first.getTransferCount(), second.getTransferCount());
+        for (int i = 0; i < first.getTransferCount(); i++) {
+            assertEquals(first.getDebtorIndex(i), second.getDebtorIndex(i));
+            assertEquals(first.getCreditorIndex(i), second.getCreditorIndex(i));
+            assertEquals(first.getAmount(i), second.getAmount(i));
+        }
+    }
+
+    private static long[] randomBalances(int members, long seed) {
+        Random random = new Random(seed);
+        long[] balances = new long[members];
+        long total = 0;
+        for (int i = 0; i < members - 1; i++) {
+            balances[i] = (random.nextInt(2000) - 1000) * 5L;
+            total += balances[i];
+        }
+        balances[members - 1] = -total;
+        return balances;
+    }
+
+    private static void assertSettlesAllBalances(long[] balances, SettlementPlan plan) {
+        long[] remaining = balances.clone();
+        for (int i = 0; i < plan.getTransferCount(); i++) {
+            assertTrue(plan.getAmount(i) > 0);
+            remaining[plan.getDebtorIndex(i)] += plan.getAmount(i);
+            remaining[plan.getCreditorIndex(i)] -= plan.getAmount(i);
+        }
+        for (long balance : remaining) {
+            assertEquals(0, balance);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.nexsplit.service.user;
+
+import com.nexsplit.config.UserSearchConfig;
+import com.nexsplit.dto.user.UserSearchDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserSearchCacheTest {
+
+    private Clock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private UserSearchConfig userSearchConfig;
+    private UserSearchCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        meterRegistry = new SimpleMeterRegistry();
+        userSearchConfig = new UserSearchConfig();
+        userSearchConfig.setCacheTtlSeconds(30);
+        userSearchConfig.setCacheMaxEntries(2);
+        cache = new UserSearchCache(userSearchConfig, meterRegistry, clock);
+    }
+
+    @Test
+    void getOrCompute_WithinTtl_ShouldReturnCachedUsersWithoutLoading() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        cache.getOrCompute("all:al", loader(loads, "alice"));
+
+        // When - at the last millisecond of the TTL
+        when(clock.millis()).thenReturn(30_000L);
+        List<UserSearchDto> users = cache.getOrCompute("all:al", loader(loads, "other"));
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals("alice", users.get(0).getUsername());
+        assertEquals(1.0, meterRegistry.counter("user.search.cache.gets", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("user.search.cache.gets", "result", "miss").count());
+    }
+
+    @Test
+    void getOrCompute_AfterTtl_ShouldReloadAndCountEviction() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        cache.getOrCompute("all:al", loader(loads, "alice"));
+
+        // When
+        when(clock.millis()).thenReturn(30_001L);
+        List<UserSearchDto> users = cache.getOrCompute("all:al", loader(loads, "albert"));
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals("albert", users.get(0).getUsername());
+        assertEquals(1.0, meterRegistry.counter("user.search.cache.evictions").count());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void getOrCompute_WhenFull_ShouldEvictLeastRecentlyUsedSearch() {
+        // Given - "al" is used after "bo", so "bo" is the eldest
+        AtomicInteger loads = new AtomicInteger();
+        cache.getOrCompute("all:al", loader(loads, "alice"));
+        cache.getOrCompute("all:bo", loader(loads, "bob"));
+        cache.getOrCompute("all:al", loader(loads, "alice"));
+
+        // When
+        cache.getOrCompute("all:ca", loader(loads, "carol"));
+
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals(1.0, meterRegistry.counter("user.search.cache.evictions").count());
+        cache.getOrCompute("all:al", loader(loads, "alice"));
+        assertEquals(3, loads.get());
+        cache.getOrCompute("all:bo", loader(loads, "bob"));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void getOrCompute_ShouldCacheAnUnmodifiableCopy() {
+        // Given
+        List<UserSearchDto> loaded = new ArrayList<>(List.of(user("alice")));
+
+        // When
+        List<UserSearchDto> users = cache.getOrCompute("all:al", () -> loaded);
+        loaded.clear();
+
+        // Then
+        assertEquals(1, cache.getOrCompute("all:al", List::of).size());
+        assertThrows(UnsupportedOperationException.class, () -> users.add(user("mallory")));
+    }
+
+    private static Supplier<List<UserSearchDto>> loader(AtomicInteger loads, String username) {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(user(username));
+        };
+    }
+
+    private static UserSearchDto user(String username) {
+        return UserSearchDto.builder()
+                .id(username + "-id")
+                .username(username)
+                .build();
+    }
+}
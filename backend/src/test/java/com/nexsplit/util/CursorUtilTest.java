@@ -0,0 +1,43 @@
+package com.nexsplit.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorUtilTest {
+
+    @Test
+    void encode_ThenDecode_ShouldReturnSamePosition() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 15, 10, 30, 45, 123456000);
+        String id = "6f1c2b9e-3a4d-4e5f-8a7b-9c0d1e2f3a4b";
+
+        // When
+        String cursor = CursorUtil.encode(createdAt, id);
+        CursorUtil.Position position = CursorUtil.decode(cursor);
+
+        // Then
+        assertEquals(createdAt, position.sortKey());
+        assertEquals(id, position.id());
+    }
+
+    @Test
+    void encode_ShouldProduceUrlSafeToken() {
+        // When
+        String cursor = CursorUtil.encode(LocalDateTime.of(2024, 1, 1, 0, 0), "abc");
+
+        // Then
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void decode_WithMalformedCursor_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> CursorUtil.decode("not a cursor!"));
+        // "no-separator"
+        assertThrows(IllegalArgumentException.class, () -> CursorUtil.decode("bm8tc2VwYXJhdG9y"));
+        // "yesterday|abc"
+        assertThrows(IllegalArgumentException.class, () -> CursorUtil.decode("eWVzdGVyZGF5fGFiYw"));
+    }
+}
@@ -40,7 +40,9 @@ interface SettlementHistoryTableProps {
 export default function SettlementHistoryTable({
   nexId,
 }: SettlementHistoryTableProps) {
-  const [page, setPage] = useState(0);
+  // Cursors of the pages visited so far; the first page has none
+  const [cursors, setCursors] = useState<(string | undefined)[]>([undefined]);
+  const page = cursors.length - 1;
   const pageSize = 10;
 
   const {
@@ -48,15 +50,9 @@ export default function SettlementHistoryTable({
     isLoading,
     error,
   } = useQuery({
-    queryKey: ["settlement-history", nexId, page],
+    queryKey: ["settlement-history", nexId, cursors[page]],
     queryFn: () =>
-      settlementApi.getSettlementHistory(
-        nexId,
-        page,
-        pageSize,
-        "settled_at",
-        "DESC"
-      ),
+      settlementApi.getSettlementHistory(nexId, cursors[page], pageSize),
     enabled: !!nexId,
   });
 
@@ -115,12 +111,7 @@ export default function SettlementHistoryTable({
     );
   }
 
-  const {
-    content: settlements,
-    totalPages,
-    number: currentPage,
-    totalElements,
-  } = history;
+  const { data: settlements, pagination } = history;
 
   return (
     <Card>
@@ -129,9 +120,7 @@ export default function SettlementHistoryTable({
           <History className="h-5 w-5" />
           Settlement History
         </CardTitle>
-        <CardDescription>
-          {totalElements} settlement{totalElements !== 1 ? "s" : ""} found
-        </CardDescription>
+        <CardDescription>Recent settlement transactions</CardDescription>
       </CardHeader>
       <CardContent>
         {settlements.length === 0 ? (
@@ -237,16 +226,14 @@ export default function SettlementHistoryTable({
             </div>
 
             {/* Pagination */}
-            {totalPages > 1 && (
+            {(page > 0 || pagination.hasNext) && (
               <div className="flex items-center justify-between mt-4">
-                <p className="text-sm text-gray-600">
-                  Page {currentPage + 1} of {totalPages}
-                </p>
+                <p className="text-sm text-gray-600">Page {page + 1}</p>
                 <div className="flex space-x-2">
                   <Button
                     variant="outline"
                     size="sm"
-                    onClick={() => setPage(Math.max(0, page - 1))}
+                    onClick={() => setCursors(cursors.slice(0, -1))}
                     disabled={page === 0}
                   >
                     <ChevronLeft className="h-4 w-4" />
@@ -255,8 +242,10 @@ export default function SettlementHistoryTable({
                   <Button
                     variant="outline"
                     size="sm"
-                    onClick={() => setPage(Math.min(totalPages - 1, page + 1))}
-                    disabled={page >= totalPages - 1}
+                    onClick={() =>
+                      setCursors([...cursors, pagination.nextCursor])
+                    }
+                    disabled={!pagination.hasNext}
                   >
                     Next
                     <ChevronRight className="h-4 w-4" />
@@ -111,16 +111,13 @@ export const useValidatePasswordQuery = (
 // Get Settlement History Query
 export const useSettlementHistoryQuery = (
   userId: string,
-  page: number = 0,
+  cursor?: string,
   size: number = 10,
-  sortBy?: string,
-  sortDirection?: string,
   enabled: boolean = true
 ) => {
   return useQuery({
-    queryKey: ["settlement-history", userId, page, size, sortBy, sortDirection],
-    queryFn: () =>
-      userApi.getSettlementHistory(userId, page, size, sortBy, sortDirection),
+    queryKey: ["settlement-history", userId, cursor, size],
+    queryFn: () => userApi.getSettlementHistory(userId, cursor, size),
     enabled: enabled && !!userId,
     staleTime: 30 * 1000,
   });
@@ -6,7 +6,7 @@ import {
   AvailableSettlements,
   SettlementAnalytics,
 } from "@/types/expense";
-import { ApiResponse, PaginatedResponse } from "@/types/api";
+import { ApiResponse, CursorPage } from "@/types/api";
 import apiClient from "./client";
 
 export const settlementApi = {
@@ -29,19 +29,18 @@ export const settlementApi = {
     return response.data.data;
   },
 
-  // Get settlement history
+  // Get settlement history, newest first
   getSettlementHistory: async (
     nexId: string,
-    page: number = 0,
-    size: number = 20,
-    sortBy: string = "settledAt",
-    sortDirection: "ASC" | "DESC" = "DESC"
-  ): Promise<PaginatedResponse<SettlementHistoryItem>> => {
+    cursor?: string,
+    size: number = 20
+  ): Promise<CursorPage<SettlementHistoryItem>> => {
+    const params = new URLSearchParams({ size: size.toString() });
+    if (cursor) params.append("cursor", cursor);
+
     const response = await apiClient.get<
-      ApiResponse<PaginatedResponse<SettlementHistoryItem>>
-    >(
-      `/nex/${nexId}/settlements/history?page=${page}&size=${size}&sortBy=${sortBy}&sortDirection=${sortDirection}`
-    );
+      ApiResponse<CursorPage<SettlementHistoryItem>>
+    >(`/nex/${nexId}/settlements/history?${params.toString()}`);
     return response.data.data;
   },
 
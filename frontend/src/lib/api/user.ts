@@ -14,6 +14,7 @@ import {
   SettlementAnalytics,
 } from "@/types/auth";
 import { PaginatedResponse, NexApiResponse } from "@/types/nex";
+import { CursorPage } from "@/types/api";
 
 // User API functions
 export const userApi = {
@@ -128,23 +129,17 @@ export const userApi = {
     return response.data.data!;
   },
 
-  // Get user settlement history
+  // Get user settlement history, newest first
   getSettlementHistory: async (
     userId: string,
-    page: number = 0,
-    size: number = 10,
-    sortBy?: string,
-    sortDirection?: string
-  ): Promise<PaginatedResponse<SettlementHistoryView>> => {
-    const params = new URLSearchParams({
-      page: page.toString(),
-      size: size.toString(),
-    });
-    if (sortBy) params.append("sortBy", sortBy);
-    if (sortDirection) params.append("sortDirection", sortDirection);
+    cursor?: string,
+    size: number = 10
+  ): Promise<CursorPage<SettlementHistoryView>> => {
+    const params = new URLSearchParams({ size: size.toString() });
+    if (cursor) params.append("cursor", cursor);
 
     const response: AxiosResponse<
-      NexApiResponse<PaginatedResponse<SettlementHistoryView>>
+      NexApiResponse<CursorPage<SettlementHistoryView>>
     > = await api.get(
       `/users/${userId}/settlements/history?${params.toString()}`
     );
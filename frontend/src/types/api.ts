@@ -18,6 +18,16 @@ export interface ApiResponse<T> {
   };
 }
 
+// Keyset page: pass pagination.nextCursor back as ?cursor= for the next page
+export interface CursorPage<T> {
+  data: T[];
+  pagination: {
+    size: number;
+    hasNext: boolean;
+    nextCursor?: string;
+  };
+}
+
 export interface PaginatedResponse<T> {
   content: T[];
   totalElements: number;